@@ -12,6 +12,7 @@ import model.procedure.types.DeleteProcedure;
 import model.procedure.types.MoveProcedure;
 
 import java.nio.file.Path;
+import java.util.Arrays;
 
 
 /**
@@ -31,7 +32,7 @@ public final class CLIMain
     /**
      * The entry point of the application.
      *
-     * @param args command-line arguments passed to the application.
+     * @param args command-line arguments passed to the application, {@code --watch} keeps the move procedure running on the source.
      */
     public static void main(final String[] args)
     {
@@ -50,6 +51,7 @@ public final class CLIMain
                         .sourceDirectory(sourceDirectory)
                         .build())
                 .fileConflictStrategy(new RenameConflictStrategy())
+                .watch(Arrays.asList(args).contains("--watch"))
                 .build();
 
         final Procedure deleteProcedure = DeleteProcedure.builder()
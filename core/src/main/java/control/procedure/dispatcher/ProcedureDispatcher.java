@@ -1,6 +1,7 @@
 package control.procedure.dispatcher;
 
 
+import control.procedure.handler.CopyProcedureHandler;
 import control.procedure.handler.DeleteProcedureHandler;
 import control.procedure.handler.MoveProcedureHandler;
 import control.procedure.handler.ProcedureHandler;
@@ -13,6 +14,7 @@ import model.listener.ListenerCollection;
 import model.listener.ListenerEvent;
 import model.procedure.Procedure;
 import model.procedure.ProcedureType;
+import model.procedure.types.CopyProcedure;
 import model.procedure.types.DeleteProcedure;
 import model.procedure.types.MoveProcedure;
 import model.shared.Registrable;
@@ -36,6 +38,7 @@ public class ProcedureDispatcher implements Registrable<Listener>, Dispatcher<Pr
      */
     private static final Map<Class<? extends Procedure>, Supplier<ProcedureHandler<? extends Procedure>>> handlers = Map.of(
             MoveProcedure.class, MoveProcedureHandler::new,
+            CopyProcedure.class, CopyProcedureHandler::new,
             DeleteProcedure.class, DeleteProcedureHandler::new
 //            ZipProcedureHandler.class, ZipProcedureHandler::new,
 //            UnzipProcedureHandler.class, UnzipProcedureHandler::new,
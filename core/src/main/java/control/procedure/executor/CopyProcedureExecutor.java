@@ -0,0 +1,388 @@
+package control.procedure.executor;
+
+import exception.FileDiscoverException;
+import exception.FileMoverException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.file.FileFilterStrategy;
+import model.file.conflict.FileConflictStrategy;
+import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
+import model.file.discover.FileDiscoverStrategy;
+import model.file.move.MovePlanner;
+import model.file.watch.DirectoryWatcher;
+import model.listener.Listener;
+import model.listener.ListenerCollection;
+import model.listener.ListenerEvent;
+import model.listener.ProgressEvent;
+import model.procedure.types.CopyProcedure;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * The {@code CopyProcedureExecutor} class provides functionality for copying files from a source location to a target location.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CopyProcedureExecutor implements ProcedureExecutor<CopyProcedure>
+{
+    /**
+     * A collection of {@link Listener} objects associated with the {@code CopyProcedureExecutor}. This field manages
+     * the registration and notification of {@link Listener} objects for lifecycle events of the file-copying procedure.
+     */
+    @Builder.Default
+    private final ListenerCollection listeners = ListenerCollection.builder().build();
+
+    /**
+     * The time without further file system events after which the changes observed by {@link #watch(CopyProcedure)} are processed.
+     */
+    @Builder.Default
+    private Duration quietPeriod = Duration.ofMillis(500);
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Files are discovered, filtered and copied in a single pass, so only conflicts are retained in memory. The target of each file
+     * is planned right before it is copied, see {@link MovePlanner}, so conflicts with existing files are resolved without failed
+     * copies. Conflicts between copied files are only resolved in advance if the procedure reserves targets, otherwise they are
+     * resolved by the conflict strategy once all files were copied. If the copy parallelism of the procedure is greater than one,
+     * that many files are copied concurrently on virtual threads, while progress events are still emitted and conflicts collected
+     * on the calling thread.
+     * <br>
+     * The discovery is committed once all files were copied and the conflicts resolved, so an incremental discover strategy reports
+     * unresolved files again in the next execution.
+     */
+    @Override
+    public void execute(final CopyProcedure procedure)
+    {
+        try (final Stream<DiscoveredFile> discoveredFiles = this.discover(procedure))
+        {
+            final AtomicLong discovered = new AtomicLong();
+            final AtomicLong accepted = new AtomicLong();
+            final Stream<DiscoveredFile> filteredFiles = this.filter(discoveredFiles.peek(file -> discovered.incrementAndGet()), procedure)
+                    .peek(file -> accepted.incrementAndGet());
+            final List<FileMove> conflicts = this.copy(filteredFiles, procedure);
+
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Discovering files finished. %s files found.", discovered.get()))
+                    .build());
+            if (discovered.get() == 0)
+            {
+                this.listeners.onCancel(ListenerEvent.builder()
+                        .message(String.format("Cancelling: No files found for procedure: %s", procedure.getName()))
+                        .build());
+                commit(procedure);
+                return;
+            }
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Filtering files finished. %s files remaining.", accepted.get()))
+                    .build());
+            if (accepted.get() == 0)
+            {
+                this.listeners.onCancel(ListenerEvent.builder()
+                        .message(String.format("Cancelling: No files remaining after filtering for procedure: %s", procedure.getName()))
+                        .build());
+                commit(procedure);
+                return;
+            }
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Files copied. %s conflicts occurred.", conflicts.size()))
+                    .build());
+            if (conflicts.isEmpty() || this.resolve(conflicts, procedure).isEmpty())
+            {
+                commit(procedure);
+            }
+        }
+        catch (final Exception exception)
+        {
+            throw new FileMoverException("An error occurred while executing the copy procedure.", exception);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Only the source directory, and its subdirectories if the discover strategy is recursive, are observed instead of discovering
+     * the whole tree. Changes are coalesced for the quiet period and every batch of created or modified files is filtered and
+     * copied like in {@link #execute(CopyProcedure)}.
+     */
+    @Override
+    public void watch(final CopyProcedure procedure)
+    {
+        this.listeners.onStart(ListenerEvent.builder()
+                .message(String.format("Watching source path for procedure: %s", procedure.getName()))
+                .build());
+
+        final boolean recursive = procedure.getDiscoverStrategy().isRecursive();
+        try (final DirectoryWatcher watcher = new DirectoryWatcher(procedure.getSourcePath(), recursive, this.quietPeriod))
+        {
+            watcher.watch(files -> {
+                final List<FileMove> conflicts;
+                try (final Stream<DiscoveredFile> changedFiles = files.stream())
+                {
+                    conflicts = this.copy(this.filter(changedFiles, procedure), procedure);
+                }
+                if (!conflicts.isEmpty())
+                {
+                    this.resolve(conflicts, procedure);
+                }
+            });
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (final IOException exception)
+        {
+            throw new FileMoverException("An error occurred while watching the copy procedure.", exception);
+        }
+
+        this.listeners.onEnd(ListenerEvent.builder()
+                .message(String.format("Watching stopped for procedure: %s", procedure.getName()))
+                .build());
+    }
+
+
+    /**
+     * Opens a lazily populated stream of the file paths found under the source path using the configured discovery strategy.
+     * The stream must be closed by the caller.
+     *
+     * @return a stream of {@code DiscoveredFile} objects representing the discovered files and their attributes.
+     * @throws FileDiscoverException if the discovery process cannot be started.
+     */
+    private Stream<DiscoveredFile> discover(final CopyProcedure procedure) throws FileDiscoverException
+    {
+        this.listeners.onStart(ListenerEvent.builder()
+                .message(String.format("Discovering files for procedure: %s", procedure.getName()))
+                .build());
+
+        final FileDiscoverStrategy strategy = procedure.getDiscoverStrategy();
+        final Path sourcePath = procedure.getSourcePath();
+        return strategy.stream(sourcePath, this.listeners);
+    }
+
+
+    /**
+     * Commits the discovery of the given procedure once none of its files remain unresolved, see
+     * {@link FileDiscoverStrategy#commit(Path)}. Discoveries filtered by filters that are not cacheable are never committed, as a
+     * file rejected now may be accepted later without being modified.
+     */
+    private static void commit(final CopyProcedure procedure) throws IOException
+    {
+        if (procedure.getFilterStrategy().isCacheable())
+        {
+            procedure.getDiscoverStrategy().commit(procedure.getSourcePath());
+        }
+    }
+
+
+    private Stream<DiscoveredFile> filter(final Stream<DiscoveredFile> files, final CopyProcedure procedure)
+    {
+        this.listeners.onStart(ListenerEvent.builder()
+                .message(String.format("Filtering files for procedure: %s", procedure.getName()))
+                .build());
+
+        final FileFilterStrategy strategy = procedure.getFilterStrategy();
+        final Stream<DiscoveredFile> acceptedFiles = procedure.getFilterParallelism() > 1
+                ? ParallelFilter.filter(files, strategy::accept, procedure.getFilterParallelism())
+                : files.filter(strategy::accept);
+        return acceptedFiles.peek(file -> this.listeners.onProgress(ProgressEvent.builder()
+                .progress(ProgressEvent.INDETERMINATE)
+                .message(String.format("Accepted file: %s.", file.path()))
+                .build()));
+    }
+
+
+    private List<FileMove> copy(final Stream<DiscoveredFile> filteredFiles, final CopyProcedure procedure)
+    {
+        this.listeners.onStart(ListenerEvent.builder()
+                .message(String.format("Copying files for procedure: %s", procedure.getName()))
+                .build());
+
+        final List<FileMove> conflicts = new ArrayList<>();
+        final MovePlanner planner = new MovePlanner(procedure.getLayoutStrategy(), procedure.getFileConflictStrategy(),
+                procedure.getTargetDirectory(), procedure.isReserveTargets());
+        final Stream<PlannedCopy> plannedCopies = filteredFiles.map(file -> new PlannedCopy(file, planner.plan(file.path())));
+        if (procedure.getCopyParallelism() > 1)
+        {
+            // Unless targets are reserved, files with the same name may have the same target, so they are never copied concurrently
+            final Lock[] locks = new Lock[Integer.highestOneBit(procedure.getCopyParallelism() * 4)];
+            Arrays.setAll(locks, i -> new ReentrantLock());
+            final ListenerQueue progress = new ListenerQueue(this.listeners);
+            ParallelMap.forEach(plannedCopies, plannedCopy -> {
+                if (procedure.isReserveTargets())
+                {
+                    return copy(plannedCopy, procedure, progress);
+                }
+                final Lock lock = locks[plannedCopy.file().path().getFileName().hashCode() & (locks.length - 1)];
+                lock.lock();
+                try
+                {
+                    return copy(plannedCopy, procedure, progress);
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            }, procedure.getCopyParallelism(),
+                    fileCopy -> {
+                        progress.drain();
+                        this.report(fileCopy, conflicts);
+                    }, progress::drain);
+            return conflicts;
+        }
+
+        final Iterator<PlannedCopy> iterator = plannedCopies.iterator();
+        while (iterator.hasNext())
+        {
+            this.report(copy(iterator.next(), procedure, this.listeners), conflicts);
+        }
+        return conflicts;
+    }
+
+
+    /**
+     * Copies a file to its planned target, or reports the conflict if it was skipped while planning or the layout strategy does not
+     * reveal its target.
+     */
+    private static FileMove copy(final PlannedCopy plannedCopy, final CopyProcedure procedure, final Listener listener)
+    {
+        final FileMove plan = plannedCopy.plan();
+        if (plan == null)
+        {
+            return FileMove.UNRESOLVED(plannedCopy.file().path(), null);
+        }
+        if (!plan.isResolved())
+        {
+            return plan;
+        }
+        return procedure.getFileCopyStrategy().copy(plannedCopy.file(), plan.targetFile(), listener);
+    }
+
+
+    /**
+     * Emits the progress event for the given copy and retains it if it is a conflict.
+     */
+    private void report(final FileMove fileCopy, final List<FileMove> conflicts)
+    {
+        if (fileCopy.isResolved())
+        {
+            this.listeners.onProgress(ProgressEvent.builder()
+                    .progress(ProgressEvent.INDETERMINATE)
+                    .message(String.format("Copied %s -> %s", fileCopy.sourceFile(), fileCopy.targetFile()))
+                    .build());
+        }
+        else
+        {
+            this.listeners.onProgress(ProgressEvent.builder()
+                    .progress(ProgressEvent.INDETERMINATE)
+                    .message(String.format("Conflict %s -> %s.", fileCopy.sourceFile(), fileCopy.targetFile()))
+                    .build());
+            conflicts.add(fileCopy);
+        }
+    }
+
+
+    private List<FileMove> resolve(final List<FileMove> conflicts, final CopyProcedure procedure)
+    {
+        this.listeners.onStart(ListenerEvent.builder()
+                .message(String.format("Resolving conflicts for procedure: %s", procedure.getName()))
+                .build());
+
+        final FileConflictStrategy conflictStrategy = procedure.getFileConflictStrategy();
+        final List<FileMove> remainder = new ArrayList<>(conflicts.size());
+        final int all = conflicts.size();
+        for (int i = 0; i < conflicts.size(); i++)
+        {
+            final int progress = (int) (((double) i / all) * 100);
+            final FileMove conflict = conflicts.get(i);
+            // Targets not revealed by the layout strategy cannot be renamed
+            final FileMove postResolve = conflict.targetFile() == null ? null : conflictStrategy.resolve(conflict);
+            if (postResolve == null || !postResolve.isResolved())
+            {
+                remainder.add(conflict);
+                continue;
+            }
+            final FileMove copied = this.copyResolved(postResolve, procedure);
+            if (copied.isResolved())
+            {
+                this.listeners.onProgress(ProgressEvent.builder()
+                        .progress(progress)
+                        .message(String.format("Resolved conflict %s -> %s.", conflict.sourceFile(), copied.targetFile()))
+                        .build());
+            }
+            else
+            {
+                this.listeners.onProgress(ProgressEvent.builder()
+                        .progress(progress)
+                        .message(String.format("Failed to resolve conflict %s -> %s.", conflict.sourceFile(), conflict.targetFile()))
+                        .build());
+                remainder.add(conflict);
+            }
+        }
+
+        this.listeners.onEnd(ListenerEvent.builder()
+                .message(String.format("Resolving conflicts finished. %s files unresolved.", remainder.size()))
+                .build());
+
+        return remainder;
+    }
+
+
+    /**
+     * Copies a file to the target assigned by the conflict strategy.
+     */
+    private FileMove copyResolved(final FileMove resolved, final CopyProcedure procedure)
+    {
+        try
+        {
+            return procedure.getFileCopyStrategy().copy(DiscoveredFile.of(resolved.sourceFile()), resolved.targetFile(), this.listeners);
+        }
+        catch (final IOException exception)
+        {
+            return FileMove.UNRESOLVED(resolved.sourceFile(), resolved.targetFile());
+        }
+    }
+
+
+    /**
+     * A file together with its planned copy, see {@link MovePlanner#plan(Path)}.
+     */
+    private record PlannedCopy(DiscoveredFile file, FileMove plan) {}
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void register(final Listener listener)
+    {
+        this.listeners.register(listener);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unregister(final Listener listener)
+    {
+        this.listeners.unregister(listener);
+    }
+}
@@ -9,16 +9,26 @@ import lombok.NoArgsConstructor;
 import model.file.FileFilterStrategy;
 import model.file.delete.FileDeleteStrategy;
 import model.file.delete.FileDeletion;
+import model.file.discover.DiscoveredFile;
 import model.file.discover.FileDiscoverStrategy;
+import model.file.watch.DirectoryWatcher;
 import model.listener.Listener;
 import model.listener.ListenerCollection;
 import model.listener.ListenerEvent;
 import model.listener.ProgressEvent;
+import model.procedure.journal.ProcedureJournal;
 import model.procedure.types.DeleteProcedure;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static shared.ListenerMessage.*;
 
@@ -38,30 +48,75 @@ public class DeleteProcedureExecutor implements ProcedureExecutor<DeleteProcedur
     @Builder.Default
     private final ListenerCollection listeners = ListenerCollection.builder().build();
 
+    /**
+     * The time without further file system events after which the changes observed by {@link #watch(DeleteProcedure)} are processed.
+     */
+    @Builder.Default
+    private Duration quietPeriod = Duration.ofMillis(500);
+
+    /**
+     * The directory the journals of running procedures are kept in, or {@code null} to execute procedures without a journal. A
+     * procedure interrupted by a crash continues from its journal the next time it is executed, see {@link ProcedureJournal}.
+     */
+    private Path journalDirectory;
+
+    /**
+     * The maximum time completed deletions are kept in memory before the journal is forced to disk.
+     */
+    @Builder.Default
+    private Duration journalSyncInterval = Duration.ofSeconds(1);
+
 
     /**
      * {@inheritDoc}
+     * <br>
+     * Files are discovered, filtered and deleted in a single pass, so only failed deletions are retained in memory.
+     * <br>
+     * If a journal directory is set, the accepted files are journaled before any of them is deleted, and an interrupted execution
+     * continues with the files that were not deleted yet, without discovering and filtering them again.
+     * <br>
+     * The discovery is committed once all files were deleted, so an incremental discover strategy reports files that could not be
+     * deleted again in the next execution.
      */
     @Override
     public void execute(final DeleteProcedure procedure)
     {
-        try
+        if (this.journalDirectory != null)
+        {
+            this.executeJournaled(procedure);
+            return;
+        }
+
+        try (final Stream<DiscoveredFile> discoveredFiles = this.discover(procedure))
         {
-            final List<Path> discoveredFiles = this.discover(procedure);
-            if (discoveredFiles.isEmpty())
+            final AtomicLong discovered = new AtomicLong();
+            final AtomicLong accepted = new AtomicLong();
+            final Stream<DiscoveredFile> filteredFiles = this.filter(discoveredFiles.peek(file -> discovered.incrementAndGet()), procedure)
+                    .peek(file -> accepted.incrementAndGet());
+            final List<FileDeletion> conflicts = this.delete(filteredFiles, procedure, null);
+
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format(FILE_PROCESSED, procedure.getName(), discovered.get()))
+                    .build());
+            if (discovered.get() == 0)
             {
                 this.listeners.onCancel(ListenerEvent.builder()
                         .message(String.format(NO_FILES_FOUND, procedure.getName())).build());
+                commit(procedure);
                 return;
             }
-            final List<Path> filteredFiles = this.filter(discoveredFiles, procedure);
-            if (filteredFiles.isEmpty())
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format(FILE_PROCESSED, procedure.getName(), accepted.get()))
+                    .build());
+            if (accepted.get() == 0)
             {
                 this.listeners.onCancel(ListenerEvent.builder()
                         .message(String.format(NO_FILES_REMAINING, procedure.getName())).build());
-                return;
             }
-            final List<FileDeletion> deletions = this.delete(filteredFiles, procedure);
+            if (conflicts.isEmpty())
+            {
+                commit(procedure);
+            }
         }
         catch (final Exception exception)
         {
@@ -71,78 +126,205 @@ public class DeleteProcedureExecutor implements ProcedureExecutor<DeleteProcedur
 
 
     /**
-     * Discovers and retrieves a list of file paths from the source path using the configured discovery strategy.
+     * Executes the given procedure backed by a journal. Unless the journal of an interrupted execution can be replayed, the
+     * accepted files are journaled first. The journal is deleted once all files were processed.
+     */
+    private void executeJournaled(final DeleteProcedure procedure)
+    {
+        final Path journalFile = this.journalDirectory.resolve(ProcedureJournal.fileName(procedure));
+        final String key = ProcedureJournal.key(procedure);
+        try (final ProcedureJournal journal = ProcedureJournal.open(journalFile, key, this.journalSyncInterval))
+        {
+            if (journal.isPlanned())
+            {
+                this.listeners.onStart(ListenerEvent.builder()
+                        .message(String.format("Resuming procedure %s from journal. %s files remaining.", procedure.getName(),
+                                journal.getRemaining()))
+                        .build());
+            }
+            else if (!this.plan(procedure, journal))
+            {
+                commit(procedure);
+                journal.discard();
+                return;
+            }
+
+            final List<FileDeletion> conflicts;
+            final LinkOption[] options = procedure.getDiscoverStrategy().isRecursive()
+                    ? new LinkOption[] {LinkOption.NOFOLLOW_LINKS}
+                    : new LinkOption[0];
+            try (final Stream<DiscoveredFile> pendingFiles = journal.pending(procedure.getSourcePath().getFileSystem(), options))
+            {
+                conflicts = this.delete(pendingFiles, procedure, journal);
+            }
+            if (conflicts.isEmpty())
+            {
+                commit(procedure);
+            }
+            journal.discard();
+        }
+        catch (final Exception exception)
+        {
+            throw new FileMoverException("An error occurred while executing the delete procedure.", exception);
+        }
+    }
+
+
+    /**
+     * Discovers and filters the files of the given procedure and journals the accepted ones.
      *
-     * @return a list of {@code Path} objects representing the discovered files.
+     * @return {@code false} if the procedure was cancelled because no files were found or accepted.
+     */
+    private boolean plan(final DeleteProcedure procedure, final ProcedureJournal journal) throws IOException, FileDiscoverException
+    {
+        try (final Stream<DiscoveredFile> discoveredFiles = this.discover(procedure))
+        {
+            final AtomicLong discovered = new AtomicLong();
+            final long accepted = journal.plan(this.filter(discoveredFiles.peek(file -> discovered.incrementAndGet()), procedure));
+
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format(FILE_PROCESSED, procedure.getName(), discovered.get()))
+                    .build());
+            if (discovered.get() == 0)
+            {
+                this.listeners.onCancel(ListenerEvent.builder()
+                        .message(String.format(NO_FILES_FOUND, procedure.getName())).build());
+                return false;
+            }
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format(FILE_PROCESSED, procedure.getName(), accepted))
+                    .build());
+            if (accepted == 0)
+            {
+                this.listeners.onCancel(ListenerEvent.builder()
+                        .message(String.format(NO_FILES_REMAINING, procedure.getName())).build());
+                return false;
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Only the source directory, and its subdirectories if the discover strategy is recursive, are observed instead of discovering
+     * the whole tree. Changes are coalesced for the quiet period and every batch of created or modified files is filtered and
+     * deleted like in {@link #execute(DeleteProcedure)}.
      */
-    private List<Path> discover(final DeleteProcedure procedure) throws FileDiscoverException
+    @Override
+    public void watch(final DeleteProcedure procedure)
     {
         this.listeners.onStart(ListenerEvent.builder()
-                .message(String.format("Discovering files for procedure: %s", procedure.getName()))
+                .message(String.format("Watching source path for procedure: %s", procedure.getName()))
                 .build());
 
-        final FileDiscoverStrategy strategy = procedure.getDiscoverStrategy();
-        final Path sourcePath = procedure.getSourcePath();
-        final List<Path> discovered = strategy.discover(sourcePath, this.listeners);
+        final boolean recursive = procedure.getDiscoverStrategy().isRecursive();
+        try (final DirectoryWatcher watcher = new DirectoryWatcher(procedure.getSourcePath(), recursive, this.quietPeriod))
+        {
+            watcher.watch(files -> {
+                try (final Stream<DiscoveredFile> changedFiles = files.stream())
+                {
+                    this.delete(this.filter(changedFiles, procedure), procedure, null);
+                }
+            });
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (final IOException exception)
+        {
+            throw new FileMoverException("An error occurred while watching the delete procedure.", exception);
+        }
 
         this.listeners.onEnd(ListenerEvent.builder()
-                .message(String.format(FILE_PROCESSED, procedure.getName(), discovered.size()))
+                .message(String.format("Watching stopped for procedure: %s", procedure.getName()))
                 .build());
-        return discovered;
     }
 
 
-    private List<Path> filter(final List<Path> paths, final DeleteProcedure procedure)
+    /**
+     * Opens a lazily populated stream of the file paths found under the source path using the configured discovery strategy.
+     * The stream must be closed by the caller.
+     *
+     * @return a stream of {@code DiscoveredFile} objects representing the discovered files and their attributes.
+     */
+    private Stream<DiscoveredFile> discover(final DeleteProcedure procedure) throws FileDiscoverException
     {
         this.listeners.onStart(ListenerEvent.builder()
-                .message(String.format("Filtering files for procedure: %s", procedure.getName()))
+                .message(String.format("Discovering files for procedure: %s", procedure.getName()))
                 .build());
 
-        final FileFilterStrategy strategy = procedure.getFilterStrategy();
-        final List<Path> filtered = new ArrayList<>();
-        final int all = paths.size();
-        for (int i = 0; i < paths.size(); i++)
+        final FileDiscoverStrategy strategy = procedure.getDiscoverStrategy();
+        final Path sourcePath = procedure.getSourcePath();
+        return strategy.stream(sourcePath, this.listeners);
+    }
+
+
+    /**
+     * Commits the discovery of the given procedure once none of its files remain unresolved, see
+     * {@link FileDiscoverStrategy#commit(Path)}. Discoveries filtered by filters that are not cacheable are never committed, as a
+     * file rejected now may be accepted later without being modified.
+     */
+    private static void commit(final DeleteProcedure procedure) throws IOException
+    {
+        if (procedure.getFilterStrategy().isCacheable())
         {
-            final Path path = paths.get(i);
-            if (strategy.accept(path))
-            {
-                final int progress = (int) (((double) i / all) * 100);
-                filtered.add(path);
-                this.listeners.onProgress(ProgressEvent.builder()
-                        .progress(progress)
-                        .message(String.format("Accepted file: %s.", path))
-                        .build());
-            }
+            procedure.getDiscoverStrategy().commit(procedure.getSourcePath());
         }
+    }
 
-        this.listeners.onEnd(ListenerEvent.builder()
-                .message(String.format(FILE_PROCESSED, procedure.getName(), filtered.size()))
+
+    private Stream<DiscoveredFile> filter(final Stream<DiscoveredFile> files, final DeleteProcedure procedure)
+    {
+        this.listeners.onStart(ListenerEvent.builder()
+                .message(String.format("Filtering files for procedure: %s", procedure.getName()))
                 .build());
-        return filtered;
+
+        final FileFilterStrategy strategy = procedure.getFilterStrategy();
+        final Stream<DiscoveredFile> acceptedFiles = procedure.getFilterParallelism() > 1
+                ? ParallelFilter.filter(files, strategy::accept, procedure.getFilterParallelism())
+                : files.filter(strategy::accept);
+        return acceptedFiles.peek(file -> this.listeners.onProgress(ProgressEvent.builder()
+                .progress(ProgressEvent.INDETERMINATE)
+                .message(String.format("Accepted file: %s.", file.path()))
+                .build()));
     }
 
 
-    private List<FileDeletion> delete(final List<Path> filteredFiles, final DeleteProcedure procedure)
+    private List<FileDeletion> delete(final Stream<DiscoveredFile> filteredFiles, final DeleteProcedure procedure,
+                                      final ProcedureJournal journal)
     {
         final FileDeleteStrategy strategy = procedure.getDeleteStrategy();
-        final List<FileDeletion> conflicts = new ArrayList<>(filteredFiles.size());
-        final int all = filteredFiles.size();
-        for (int i = 0; i < filteredFiles.size(); i++)
+        final List<FileDeletion> conflicts = new ArrayList<>();
+        final Iterator<DiscoveredFile> iterator = filteredFiles.iterator();
+        while (iterator.hasNext())
         {
-            final Path path = filteredFiles.get(i);
-            final int progress = (int) (((double) i / all) * 100);
+            final Path path = iterator.next().path();
             final FileDeletion deletion = strategy.delete(path, this.listeners);
+            if (journal != null)
+            {
+                try
+                {
+                    journal.complete(path, deletion.isResolved());
+                }
+                catch (final IOException exception)
+                {
+                    throw new UncheckedIOException(exception);
+                }
+            }
             if (deletion.isResolved())
             {
                 this.listeners.onProgress(ProgressEvent.builder()
-                        .progress(progress)
+                        .progress(ProgressEvent.INDETERMINATE)
                         .message(String.format("Deleted  %s.", path))
                         .build());
             }
             else
             {
                 this.listeners.onProgress(ProgressEvent.builder()
-                        .progress(progress)
+                        .progress(ProgressEvent.INDETERMINATE)
                         .message(String.format("Conflict %s.", path))
                         .build());
                 conflicts.add(deletion);
@@ -0,0 +1,71 @@
+package control.procedure.executor;
+
+import model.listener.Listener;
+import model.listener.ListenerEvent;
+import model.listener.ProgressEvent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A listener that accepts events on any thread and queues them until they are passed on to the decorated listener by
+ * {@link #drain()}, so events emitted on worker threads reach listeners that are not thread-safe on the thread owning them.
+ */
+final class ListenerQueue implements Listener
+{
+    private final Listener listener;
+
+    private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+
+
+    /**
+     * Creates a new queue passing its events on to the given listener.
+     *
+     * @param listener the listener receiving the events on the draining thread.
+     */
+    ListenerQueue(final Listener listener)
+    {
+        this.listener = listener;
+    }
+
+
+    @Override
+    public void onStart(final ListenerEvent event)
+    {
+        this.events.add(() -> this.listener.onStart(event));
+    }
+
+
+    @Override
+    public void onProgress(final ProgressEvent event)
+    {
+        this.events.add(() -> this.listener.onProgress(event));
+    }
+
+
+    @Override
+    public void onCancel(final ListenerEvent event)
+    {
+        this.events.add(() -> this.listener.onCancel(event));
+    }
+
+
+    @Override
+    public void onEnd(final ListenerEvent event)
+    {
+        this.events.add(() -> this.listener.onEnd(event));
+    }
+
+
+    /**
+     * Passes all queued events on to the decorated listener, in the order they were received.
+     */
+    void drain()
+    {
+        Runnable event;
+        while ((event = this.events.poll()) != null)
+        {
+            event.run();
+        }
+    }
+}
@@ -9,17 +9,31 @@ import lombok.NoArgsConstructor;
 import model.file.FileFilterStrategy;
 import model.file.conflict.FileConflictStrategy;
 import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
 import model.file.discover.FileDiscoverStrategy;
 import model.file.move.FileMoveStrategy;
+import model.file.move.MovePlanner;
+import model.file.watch.DirectoryWatcher;
 import model.listener.Listener;
 import model.listener.ListenerCollection;
 import model.listener.ListenerEvent;
 import model.listener.ProgressEvent;
+import model.procedure.journal.ProcedureJournal;
 import model.procedure.types.MoveProcedure;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 /**
  * The {@code FileMoveHandler} class provides functionality for moving files from a source location to a target location.
@@ -37,37 +51,132 @@ public class MoveProcedureExecutor implements ProcedureExecutor<MoveProcedure>
     @Builder.Default
     private final ListenerCollection listeners = ListenerCollection.builder().build();
 
+    /**
+     * The time without further file system events after which the changes observed by {@link #watch(MoveProcedure)} are processed.
+     */
+    @Builder.Default
+    private Duration quietPeriod = Duration.ofMillis(500);
+
+    /**
+     * The directory the journals of running procedures are kept in, or {@code null} to execute procedures without a journal. A
+     * procedure interrupted by a crash continues from its journal the next time it is executed, see {@link ProcedureJournal}.
+     */
+    private Path journalDirectory;
+
+    /**
+     * The maximum time completed moves are kept in memory before the journal is forced to disk.
+     */
+    @Builder.Default
+    private Duration journalSyncInterval = Duration.ofSeconds(1);
+
 
     /**
      * {@inheritDoc}
+     * <br>
+     * Files are discovered, filtered and moved in a single pass, so only unresolved conflicts are retained in memory. If the move
+     * parallelism of the procedure is greater than one, that many files are moved concurrently on virtual threads, while progress
+     * events are still emitted and conflicts collected on the calling thread.
+     * <br>
+     * If a journal directory is set, the accepted files are journaled before any of them is moved, and an interrupted execution
+     * continues with the files that were not moved yet, without discovering and filtering them again.
+     * <br>
+     * The discovery is committed once all files were moved and the conflicts resolved, so an incremental discover strategy reports
+     * unresolved files again in the next execution.
      */
     @Override
     public void execute(final MoveProcedure procedure)
     {
-        try
+        if (this.journalDirectory != null)
+        {
+            this.executeJournaled(procedure);
+            return;
+        }
+
+        try (final Stream<DiscoveredFile> discoveredFiles = this.discover(procedure))
         {
-            final List<Path> discoveredFiles = this.discover(procedure);
-            if (discoveredFiles.isEmpty())
+            final AtomicLong discovered = new AtomicLong();
+            final AtomicLong accepted = new AtomicLong();
+            final Stream<DiscoveredFile> filteredFiles = this.filter(discoveredFiles.peek(file -> discovered.incrementAndGet()), procedure)
+                    .peek(file -> accepted.incrementAndGet());
+            final List<FileMove> conflicts = this.move(filteredFiles, procedure, null);
+
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Discovering files finished. %s files found.", discovered.get()))
+                    .build());
+            if (discovered.get() == 0)
             {
                 this.listeners.onCancel(ListenerEvent.builder()
                         .message(String.format("Cancelling: No files found for procedure: %s", procedure.getName()))
                         .build());
+                commit(procedure);
                 return;
             }
-            final List<Path> filteredFiles = this.filter(discoveredFiles, procedure);
-            if (filteredFiles.isEmpty())
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Filtering files finished. %s files remaining.", accepted.get()))
+                    .build());
+            if (accepted.get() == 0)
             {
                 this.listeners.onCancel(ListenerEvent.builder()
                         .message(String.format("Cancelling: No files remaining after filtering for procedure: %s", procedure.getName()))
                         .build());
+                commit(procedure);
                 return;
             }
-            final List<FileMove> conflicts = this.move(filteredFiles, procedure);
-            if (conflicts.isEmpty())
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Files moved. %s conflicts occurred.", conflicts.size()))
+                    .build());
+            if (conflicts.isEmpty() || this.resolve(conflicts, procedure).isEmpty())
             {
+                commit(procedure);
+            }
+        }
+        catch (final Exception exception)
+        {
+            throw new FileMoverException("An error occurred while executing the move procedure.", exception);
+        }
+    }
+
+
+    /**
+     * Executes the given procedure backed by a journal. Unless the journal of an interrupted execution can be replayed, the
+     * accepted files are journaled first. The journal is deleted once all files were moved and the conflicts resolved.
+     */
+    private void executeJournaled(final MoveProcedure procedure)
+    {
+        final Path journalFile = this.journalDirectory.resolve(ProcedureJournal.fileName(procedure));
+        final String key = ProcedureJournal.key(procedure);
+        try (final ProcedureJournal journal = ProcedureJournal.open(journalFile, key, this.journalSyncInterval))
+        {
+            if (journal.isPlanned())
+            {
+                this.listeners.onStart(ListenerEvent.builder()
+                        .message(String.format("Resuming procedure %s from journal. %s files remaining.", procedure.getName(),
+                                journal.getRemaining()))
+                        .build());
+            }
+            else if (!this.plan(procedure, journal))
+            {
+                commit(procedure);
+                journal.discard();
                 return;
             }
-            final List<FileMove> remainder = this.resolve(conflicts, procedure);
+
+            final List<FileMove> conflicts;
+            final LinkOption[] options = procedure.getDiscoverStrategy().isRecursive()
+                    ? new LinkOption[] {LinkOption.NOFOLLOW_LINKS}
+                    : new LinkOption[0];
+            try (final Stream<DiscoveredFile> pendingFiles = journal.pending(procedure.getSourcePath().getFileSystem(), options))
+            {
+                conflicts = this.move(pendingFiles, procedure, journal);
+            }
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Files moved. %s conflicts occurred.", conflicts.size()))
+                    .build());
+            if (conflicts.isEmpty() || this.resolve(conflicts, procedure).isEmpty())
+            {
+                commit(procedure);
+            }
+            journal.discard();
         }
         catch (final Exception exception)
         {
@@ -77,93 +186,230 @@ public class MoveProcedureExecutor implements ProcedureExecutor<MoveProcedure>
 
 
     /**
-     * Discovers and retrieves a list of file paths from the source path using the configured discovery strategy.
-     * In case of an error during the discovery process, it wraps the exception in a {@code FileMoverException}.
+     * Discovers and filters the files of the given procedure and journals the accepted ones.
      *
-     * @return a list of {@code Path} objects representing the discovered files.
-     * @throws FileMoverException if the discovery process fails due to a {@code FileDiscoverException}.
+     * @return {@code false} if the procedure was cancelled because no files were found or accepted.
      */
-    private List<Path> discover(final MoveProcedure procedure) throws FileDiscoverException
+    private boolean plan(final MoveProcedure procedure, final ProcedureJournal journal) throws IOException, FileDiscoverException
+    {
+        try (final Stream<DiscoveredFile> discoveredFiles = this.discover(procedure))
+        {
+            final AtomicLong discovered = new AtomicLong();
+            final long accepted = journal.plan(this.filter(discoveredFiles.peek(file -> discovered.incrementAndGet()), procedure));
+
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Discovering files finished. %s files found.", discovered.get()))
+                    .build());
+            if (discovered.get() == 0)
+            {
+                this.listeners.onCancel(ListenerEvent.builder()
+                        .message(String.format("Cancelling: No files found for procedure: %s", procedure.getName()))
+                        .build());
+                return false;
+            }
+            this.listeners.onEnd(ListenerEvent.builder()
+                    .message(String.format("Filtering files finished. %s files remaining.", accepted))
+                    .build());
+            if (accepted == 0)
+            {
+                this.listeners.onCancel(ListenerEvent.builder()
+                        .message(String.format("Cancelling: No files remaining after filtering for procedure: %s", procedure.getName()))
+                        .build());
+                return false;
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Only the source directory, and its subdirectories if the discover strategy is recursive, are observed instead of discovering
+     * the whole tree. Changes are coalesced for the quiet period and every batch of created or modified files is filtered and
+     * moved like in {@link #execute(MoveProcedure)}.
+     */
+    @Override
+    public void watch(final MoveProcedure procedure)
     {
         this.listeners.onStart(ListenerEvent.builder()
-                .message(String.format("Discovering files for procedure: %s", procedure.getName()))
+                .message(String.format("Watching source path for procedure: %s", procedure.getName()))
                 .build());
 
-        final FileDiscoverStrategy strategy = procedure.getDiscoverStrategy();
-        final Path sourcePath = procedure.getSourcePath();
-        final List<Path> discovered = strategy.discover(sourcePath, this.listeners);
+        final boolean recursive = procedure.getDiscoverStrategy().isRecursive();
+        try (final DirectoryWatcher watcher = new DirectoryWatcher(procedure.getSourcePath(), recursive, this.quietPeriod))
+        {
+            watcher.watch(files -> {
+                final List<FileMove> conflicts;
+                try (final Stream<DiscoveredFile> changedFiles = files.stream())
+                {
+                    conflicts = this.move(this.filter(changedFiles, procedure), procedure, null);
+                }
+                if (!conflicts.isEmpty())
+                {
+                    this.resolve(conflicts, procedure);
+                }
+            });
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (final IOException exception)
+        {
+            throw new FileMoverException("An error occurred while watching the move procedure.", exception);
+        }
 
         this.listeners.onEnd(ListenerEvent.builder()
-                .message(String.format("Discovering files finished. %s files found.", discovered.size()))
+                .message(String.format("Watching stopped for procedure: %s", procedure.getName()))
                 .build());
-        return discovered;
     }
 
 
-    private List<Path> filter(final List<Path> paths, final MoveProcedure procedure)
+    /**
+     * Opens a lazily populated stream of the file paths found under the source path using the configured discovery strategy.
+     * The stream must be closed by the caller.
+     *
+     * @return a stream of {@code DiscoveredFile} objects representing the discovered files and their attributes.
+     * @throws FileDiscoverException if the discovery process cannot be started.
+     */
+    private Stream<DiscoveredFile> discover(final MoveProcedure procedure) throws FileDiscoverException
     {
         this.listeners.onStart(ListenerEvent.builder()
-                .message(String.format("Filtering files for procedure: %s", procedure.getName()))
+                .message(String.format("Discovering files for procedure: %s", procedure.getName()))
                 .build());
 
-        final FileFilterStrategy strategy = procedure.getFilterStrategy();
-        final List<Path> filtered = new ArrayList<>();
-        final int all = paths.size();
-        for (int i = 0; i < paths.size(); i++)
+        final FileDiscoverStrategy strategy = procedure.getDiscoverStrategy();
+        final Path sourcePath = procedure.getSourcePath();
+        return strategy.stream(sourcePath, this.listeners);
+    }
+
+
+    /**
+     * Commits the discovery of the given procedure once none of its files remain unresolved, see
+     * {@link FileDiscoverStrategy#commit(Path)}. Discoveries filtered by filters that are not cacheable are never committed, as a
+     * file rejected now may be accepted later without being modified.
+     */
+    private static void commit(final MoveProcedure procedure) throws IOException
+    {
+        if (procedure.getFilterStrategy().isCacheable())
         {
-            final Path path = paths.get(i);
-            if (strategy.accept(path))
-            {
-                final int progress = (int) (((double) i / all) * 100);
-                filtered.add(path);
-                this.listeners.onProgress(ProgressEvent.builder()
-                        .progress(progress)
-                        .message(String.format("Accepted file: %s.", path))
-                        .build());
-            }
+            procedure.getDiscoverStrategy().commit(procedure.getSourcePath());
         }
+    }
 
-        this.listeners.onEnd(ListenerEvent.builder()
-                .message(String.format("Filtering files finished. %s files remaining.", filtered.size()))
+
+    private Stream<DiscoveredFile> filter(final Stream<DiscoveredFile> files, final MoveProcedure procedure)
+    {
+        this.listeners.onStart(ListenerEvent.builder()
+                .message(String.format("Filtering files for procedure: %s", procedure.getName()))
                 .build());
-        return filtered;
+
+        final FileFilterStrategy strategy = procedure.getFilterStrategy();
+        final Stream<DiscoveredFile> acceptedFiles = procedure.getFilterParallelism() > 1
+                ? ParallelFilter.filter(files, strategy::accept, procedure.getFilterParallelism())
+                : files.filter(strategy::accept);
+        return acceptedFiles.peek(file -> this.listeners.onProgress(ProgressEvent.builder()
+                .progress(ProgressEvent.INDETERMINATE)
+                .message(String.format("Accepted file: %s.", file.path()))
+                .build()));
     }
 
 
-    private List<FileMove> move(final List<Path> filteredFiles, final MoveProcedure procedure)
+    private List<FileMove> move(final Stream<DiscoveredFile> filteredFiles, final MoveProcedure procedure, final ProcedureJournal journal)
     {
         this.listeners.onStart(ListenerEvent.builder()
                 .message(String.format("Moving files for procedure: %s", procedure.getName()))
                 .build());
 
         final List<FileMove> actions = new ArrayList<>();
-        final FileMoveStrategy strategy = procedure.getFileMoveStrategy();
-        for (int i = 0; i < filteredFiles.size(); i++)
+        final MovePlanner planner = new MovePlanner(procedure.getFileMoveStrategy(), procedure.getFileConflictStrategy(),
+                procedure.getTargetDirectory(), procedure.isReserveTargets());
+        final Stream<PlannedMove> plannedMoves = filteredFiles.map(file -> new PlannedMove(file, planner.plan(file.path())));
+        if (procedure.getMoveParallelism() > 1)
+        {
+            // Files with the same name may have the same target, so they are never moved concurrently
+            final Lock[] locks = new Lock[Integer.highestOneBit(procedure.getMoveParallelism() * 4)];
+            Arrays.setAll(locks, i -> new ReentrantLock());
+            // Progress reported while moving is passed on to the listeners on the calling thread
+            final ListenerQueue progress = new ListenerQueue(this.listeners);
+            ParallelMap.forEach(plannedMoves, plannedMove -> {
+                final Lock lock = locks[plannedMove.file().path().getFileName().hashCode() & (locks.length - 1)];
+                lock.lock();
+                try
+                {
+                    return move(plannedMove, procedure, progress);
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            }, procedure.getMoveParallelism(), fileMove -> {
+                progress.drain();
+                this.report(fileMove, actions, journal);
+            }, progress::drain);
+            return actions;
+        }
+
+        final Iterator<PlannedMove> iterator = plannedMoves.iterator();
+        while (iterator.hasNext())
+        {
+            this.report(move(iterator.next(), procedure, this.listeners), actions, journal);
+        }
+        return actions;
+    }
+
+
+    /**
+     * Moves a file to its planned target, or reports the conflict if it was skipped while planning.
+     */
+    private static FileMove move(final PlannedMove plannedMove, final MoveProcedure procedure, final Listener listener)
+    {
+        final FileMove plan = plannedMove.plan();
+        if (plan == null)
+        {
+            return procedure.getFileMoveStrategy().move(plannedMove.file(), procedure.getTargetDirectory(), listener);
+        }
+        if (!plan.isResolved())
         {
-            final int progress = (int) (((double) i / filteredFiles.size()) * 100);
+            return plan;
+        }
+        return procedure.getFileMoveStrategy().moveTo(plannedMove.file(), plan.targetFile(), listener);
+    }
 
-            final Path sourcePath = filteredFiles.get(i);
-            final FileMove fileMove = strategy.move(sourcePath, procedure.getTargetDirectory());
-            if (fileMove.isResolved())
+
+    /**
+     * Emits the progress event for the given move, records it in the journal, if any, and retains it if it is a conflict.
+     */
+    private void report(final FileMove fileMove, final List<FileMove> conflicts, final ProcedureJournal journal)
+    {
+        final Path sourcePath = fileMove.sourceFile();
+        if (journal != null)
+        {
+            try
             {
-                this.listeners.onProgress(ProgressEvent.builder()
-                        .progress(progress)
-                        .message(String.format("Moved %s -> %s", sourcePath, fileMove.targetFile()))
-                        .build());
+                journal.complete(sourcePath, fileMove.isResolved());
             }
-            else
+            catch (final IOException exception)
             {
-                this.listeners.onProgress(ProgressEvent.builder()
-                        .progress(progress)
-                        .message(String.format("Conflict %s -> %s.", sourcePath, fileMove.targetFile()))
-                        .build());
-                actions.add(fileMove);
+                throw new UncheckedIOException(exception);
             }
         }
-        this.listeners.onEnd(ListenerEvent.builder()
-                .message(String.format("Files moved. %s conflicts occurred.", actions.size()))
-                .build());
-        return actions;
+        if (fileMove.isResolved())
+        {
+            this.listeners.onProgress(ProgressEvent.builder()
+                    .progress(ProgressEvent.INDETERMINATE)
+                    .message(String.format("Moved %s -> %s", sourcePath, fileMove.targetFile()))
+                    .build());
+        }
+        else
+        {
+            this.listeners.onProgress(ProgressEvent.builder()
+                    .progress(ProgressEvent.INDETERMINATE)
+                    .message(String.format("Conflict %s -> %s.", sourcePath, fileMove.targetFile()))
+                    .build());
+            conflicts.add(fileMove);
+        }
     }
 
 
@@ -182,11 +428,14 @@ public class MoveProcedureExecutor implements ProcedureExecutor<MoveProcedure>
             final int progress = (int) (((double) i / all) * 100);
             final FileMove conflict = conflicts.get(i);
             final FileMove postResolve = conflictStrategy.resolve(conflict);
-            if (postResolve == null)
-            {continue;}
-            if (postResolve.isResolved())
+            if (postResolve == null || !postResolve.isResolved())
+            {
+                // Skipped files remain in the source directory
+                remainder.add(conflict);
+            }
+            else
             {
-                final FileMove moved = strategy.move(postResolve.sourceFile(), postResolve.targetFile());
+                final FileMove moved = this.moveResolved(strategy, postResolve, procedure);
                 if (moved.isResolved())
                 {
                     this.listeners.onProgress(ProgressEvent.builder()
@@ -213,6 +462,32 @@ public class MoveProcedureExecutor implements ProcedureExecutor<MoveProcedure>
     }
 
 
+    /**
+     * Moves a file to the target assigned by the conflict strategy.
+     */
+    private FileMove moveResolved(final FileMoveStrategy strategy, final FileMove resolved, final MoveProcedure procedure)
+    {
+        if (strategy.targetOf(resolved.sourceFile(), procedure.getTargetDirectory()) == null)
+        {
+            return strategy.move(resolved.sourceFile(), resolved.targetFile());
+        }
+        try
+        {
+            return strategy.moveTo(DiscoveredFile.of(resolved.sourceFile()), resolved.targetFile(), this.listeners);
+        }
+        catch (final IOException exception)
+        {
+            return FileMove.UNRESOLVED(resolved.sourceFile(), resolved.targetFile());
+        }
+    }
+
+
+    /**
+     * A file together with its planned move, see {@link MovePlanner#plan(Path)}.
+     */
+    private record PlannedMove(DiscoveredFile file, FileMove plan) {}
+
+
     @Override
     public void register(final Listener listener)
     {
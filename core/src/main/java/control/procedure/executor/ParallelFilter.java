@@ -0,0 +1,106 @@
+package control.procedure.executor;
+
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Filters a sequential stream by evaluating the predicate for several elements concurrently, which pays off for expensive
+ * predicates such as content filters.
+ * <br>
+ * At most twice the parallelism elements are pulled from the source ahead of the consumer, so memory stays bounded. Accepted
+ * elements are passed on in the order of the source, on the consuming thread.
+ */
+final class ParallelFilter
+{
+    private ParallelFilter() {}
+
+
+    /**
+     * Returns a stream of the elements of the source accepted by the given predicate.
+     *
+     * @param source      the sequential stream to be filtered. Closing it also stops the evaluating threads.
+     * @param predicate   the predicate to be evaluated concurrently; must be safe for concurrent use.
+     * @param parallelism the number of concurrent evaluations.
+     * @param <T>         the type of the elements.
+     * @return a sequential stream of the accepted elements, which must be consumed before closing the source.
+     */
+    static <T> Stream<T> filter(final Stream<T> source, final Predicate<? super T> predicate, final int parallelism)
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("filter-", 0).daemon().factory());
+        final Iterator<T> iterator = source.onClose(executor::shutdownNow).iterator();
+        final Deque<Future<T>> pending = new ArrayDeque<>();
+        final int window = parallelism * 2;
+
+        final Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.NONNULL | Spliterator.ORDERED)
+        {
+            @Override
+            public boolean tryAdvance(final Consumer<? super T> action)
+            {
+                while (true)
+                {
+                    while (pending.size() < window && iterator.hasNext())
+                    {
+                        final T element = iterator.next();
+                        pending.add(executor.submit(() -> predicate.test(element) ? element : null));
+                    }
+                    if (pending.isEmpty())
+                    {
+                        executor.shutdown();
+                        return false;
+                    }
+
+                    final T accepted = await(pending.poll());
+                    if (accepted != null)
+                    {
+                        action.accept(accepted);
+                        return true;
+                    }
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+
+    /**
+     * Waits for the result of the given future, rethrowing unchecked exceptions of the task as they are.
+     */
+    static <T> T await(final Future<T> future)
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while filtering files."));
+        }
+        catch (final ExecutionException exception)
+        {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof final RuntimeException runtimeException)
+            {
+                throw runtimeException;
+            }
+            if (cause instanceof final Error error)
+            {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
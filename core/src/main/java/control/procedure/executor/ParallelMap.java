@@ -0,0 +1,112 @@
+package control.procedure.executor;
+
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Applies a function to the elements of a sequential stream on virtual threads, which pays off for functions dominated by I/O
+ * latency such as moving files.
+ * <br>
+ * At most the given number of elements is pulled from the source ahead of the consumer, so both the concurrency and the memory
+ * are bounded. The results are passed to the consumer in the order of their completion, on the calling thread, so consumers
+ * such as listeners and result lists need not be thread-safe.
+ */
+final class ParallelMap
+{
+    /**
+     * The maximum time in milliseconds the calling thread waits for a result before running the idle task.
+     */
+    private static final long IDLE_INTERVAL = 100;
+
+
+    private ParallelMap() {}
+
+
+    /**
+     * Applies the given function to all elements of the source and passes the results to the consumer.
+     *
+     * @param source      the sequential stream of elements; pulled on the calling thread.
+     * @param function    the function to be applied concurrently; must be safe for concurrent use.
+     * @param parallelism the maximum number of concurrent applications.
+     * @param consumer    the consumer of the results, invoked on the calling thread.
+     * @param <T>         the type of the elements.
+     * @param <R>         the type of the results.
+     * @throws UncheckedIOException if the calling thread was interrupted; pending applications are interrupted as well.
+     */
+    static <T, R> void forEach(final Stream<T> source, final Function<? super T, ? extends R> function, final int parallelism,
+                               final Consumer<? super R> consumer)
+    {
+        forEach(source, function, parallelism, consumer, () -> {});
+    }
+
+
+    /**
+     * Applies the given function to all elements of the source and passes the results to the consumer. While waiting for results,
+     * the idle task is run on the calling thread at least every {@value #IDLE_INTERVAL} milliseconds, e.g. to pass on events that
+     * the applications emitted in the meantime.
+     *
+     * @param source      the sequential stream of elements; pulled on the calling thread.
+     * @param function    the function to be applied concurrently; must be safe for concurrent use.
+     * @param parallelism the maximum number of concurrent applications.
+     * @param consumer    the consumer of the results, invoked on the calling thread.
+     * @param idle        the task run periodically on the calling thread while applications are pending.
+     * @param <T>         the type of the elements.
+     * @param <R>         the type of the results.
+     * @throws UncheckedIOException if the calling thread was interrupted; pending applications are interrupted as well.
+     */
+    static <T, R> void forEach(final Stream<T> source, final Function<? super T, ? extends R> function, final int parallelism,
+                               final Consumer<? super R> consumer, final Runnable idle)
+    {
+        try (final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("worker-", 0).factory()))
+        {
+            final CompletionService<R> completion = new ExecutorCompletionService<>(executor);
+            final Iterator<T> iterator = source.iterator();
+            int pending = 0;
+            try
+            {
+                while (true)
+                {
+                    while (pending < parallelism && iterator.hasNext())
+                    {
+                        final T element = iterator.next();
+                        completion.submit(() -> function.apply(element));
+                        pending++;
+                    }
+                    if (pending == 0)
+                    {
+                        return;
+                    }
+
+                    final Future<R> result = completion.poll(IDLE_INTERVAL, TimeUnit.MILLISECONDS);
+                    if (result == null)
+                    {
+                        idle.run();
+                        continue;
+                    }
+                    consumer.accept(ParallelFilter.await(result));
+                    pending--;
+                }
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted while processing files."));
+            }
+            finally
+            {
+                // Stops pending applications if the consumer or an application failed
+                executor.shutdownNow();
+            }
+        }
+    }
+}
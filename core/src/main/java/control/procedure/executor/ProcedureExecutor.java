@@ -18,4 +18,13 @@ public interface ProcedureExecutor<T extends Procedure> extends Registrable<List
      * @param procedure the procedure to be executed, must be a non-null instance of a class extending {@link Procedure}.
      */
     public void execute(T procedure);
+
+
+    /**
+     * Observes the source of the specified procedure and executes it for every file that is created or modified afterwards.
+     * Files that already exist when watching starts are not processed. This method blocks until the calling thread is interrupted.
+     *
+     * @param procedure the procedure to be executed continuously, must be a non-null instance of a class extending {@link Procedure}.
+     */
+    public void watch(T procedure);
 }
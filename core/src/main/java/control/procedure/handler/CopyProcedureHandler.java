@@ -0,0 +1,84 @@
+package control.procedure.handler;
+
+
+import control.procedure.executor.CopyProcedureExecutor;
+import control.procedure.executor.ProcedureExecutor;
+import control.procedure.validator.CopyProcedureValidator;
+import control.procedure.validator.ProcedureValidator;
+import model.listener.Listener;
+import model.listener.ListenerCollection;
+import model.procedure.ProcedureType;
+import model.procedure.types.CopyProcedure;
+
+
+/**
+ * Implementation of {@link ProcedureHandler} that handles procedures of type {@link ProcedureType#COPY}.
+ */
+public final class CopyProcedureHandler implements ProcedureHandler<CopyProcedure>
+{
+    /**
+     * A collection of {@link Listener} objects associated with the {@code CopyProcedureHandler}. This field manages
+     * the registration and notification of {@link Listener} objects for lifecycle events of the file-copying procedure.
+     */
+    private final ListenerCollection listeners = ListenerCollection.builder().build();
+
+    /**
+     * A validator responsible for ensuring that {@link CopyProcedure} instances are properly constructed
+     * and meet all required criteria before execution.
+     *
+     * @see CopyProcedureValidator
+     * @see ProcedureValidator
+     */
+    private final ProcedureValidator<CopyProcedure> validator = new CopyProcedureValidator();
+
+    /**
+     * Responsible for executing {@link CopyProcedure} instances. This functional interface implementation
+     * provides the execution logic required to handle the copying of files between a source path and a
+     * target path as defined in the associated procedure configuration.
+     *
+     * @see CopyProcedure
+     * @see CopyProcedureExecutor
+     * @see ProcedureExecutor
+     */
+    private final ProcedureExecutor<CopyProcedure> executor = new CopyProcedureExecutor();
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handle(final CopyProcedure procedure)
+    {
+        this.validator.register(this.listeners);
+        this.validator.validate(procedure);
+        this.executor.register(this.listeners);
+        if (procedure.isWatch())
+        {
+            this.executor.watch(procedure);
+        }
+        else
+        {
+            this.executor.execute(procedure);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void register(final Listener listener)
+    {
+        this.listeners.register(listener);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unregister(final Listener listener)
+    {
+        this.listeners.unregister(listener);
+    }
+}
@@ -58,7 +58,14 @@ public class DeleteProcedureHandler implements ProcedureHandler<DeleteProcedure>
         this.validator.register(this.listeners);
         this.validator.validate(procedure);
         this.executor.register(this.listeners);
-        this.executor.execute(procedure);
+        if (procedure.isWatch())
+        {
+            this.executor.watch(procedure);
+        }
+        else
+        {
+            this.executor.execute(procedure);
+        }
     }
 
 
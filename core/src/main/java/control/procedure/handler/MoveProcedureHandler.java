@@ -52,7 +52,14 @@ public final class MoveProcedureHandler implements ProcedureHandler<MoveProcedur
         this.validator.register(this.listeners);
         this.validator.validate(procedure);
         this.executor.register(this.listeners);
-        this.executor.execute(procedure);
+        if (procedure.isWatch())
+        {
+            this.executor.watch(procedure);
+        }
+        else
+        {
+            this.executor.execute(procedure);
+        }
     }
 
 
@@ -0,0 +1,57 @@
+package model.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+
+/**
+ * An {@link AttributeFilterStrategy} that accepts files by the time passed since their last modification, e.g. files not modified
+ * in 30 days. The age is determined at the time of the evaluation, which keeps the filter valid in long-running procedures.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class AgeFilterStrategy extends AttributeFilterStrategy
+{
+    /**
+     * The minimum age of an accepted file, inclusive.
+     */
+    @Builder.Default
+    private Duration minAge = Duration.ZERO;
+
+    /**
+     * The maximum age of an accepted file, inclusive, or {@code null} for no upper bound.
+     */
+    private Duration maxAge;
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean accept(final Path file, final BasicFileAttributes attributes)
+    {
+        final long age = System.currentTimeMillis() - attributes.lastModifiedTime().toMillis();
+        return age >= this.minAge.toMillis() && (this.maxAge == null || age <= this.maxAge.toMillis());
+    }
+
+
+    /**
+     * Returns {@code false}, since files age without being modified.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean isCacheable()
+    {
+        return false;
+    }
+}
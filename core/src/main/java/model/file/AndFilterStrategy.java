@@ -0,0 +1,41 @@
+package model.file;
+
+import java.util.List;
+
+/**
+ * A composite filter that accepts a file only if all of its operands accept it. Evaluation stops at the first operand rejecting
+ * the file, and operands that are cheap and reject many files are evaluated first, see {@link CompositeFilterStrategy}.
+ */
+public final class AndFilterStrategy extends CompositeFilterStrategy
+{
+    /**
+     * Creates a new conjunction of the given operands.
+     *
+     * @param filters the operands; must not be empty.
+     */
+    public AndFilterStrategy(final List<? extends FileFilterStrategy> filters)
+    {
+        super(filters);
+    }
+
+
+    /**
+     * Creates a new conjunction of the given operands.
+     *
+     * @param filters the operands; must not be empty.
+     */
+    public AndFilterStrategy(final FileFilterStrategy... filters)
+    {
+        this(List.of(filters));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean decidingResult()
+    {
+        return false;
+    }
+}
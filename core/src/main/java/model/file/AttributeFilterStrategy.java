@@ -0,0 +1,111 @@
+package model.file;
+
+import model.file.discover.DiscoveredFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+
+/**
+ * Base class of filters that decide on the attributes of a file, such as its size or modification time.
+ * <br>
+ * Discovered files are evaluated on the attributes read during the discovery, which costs no further file system query.
+ * Only plain paths require reading the attributes first. Files that no longer exist are rejected.
+ */
+public abstract class AttributeFilterStrategy implements FileFilterStrategy
+{
+    /**
+     * Evaluates whether a file with the given attributes satisfies the conditions of this filter.
+     *
+     * @param file       the path of the file; implementations should not query the file system unless the attributes lack information.
+     * @param attributes the attributes of the file.
+     * @return {@code true} if the file meets the criteria, {@code false} otherwise.
+     * @throws IOException if additional attributes are required and cannot be read.
+     */
+    protected abstract boolean accept(final Path file, final BasicFileAttributes attributes) throws IOException;
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Reads the attributes of the file, prefer {@link #accept(DiscoveredFile)} if they are already known.
+     */
+    @Override
+    public boolean accept(final Path file)
+    {
+        try
+        {
+            return this.accept(file, DiscoveredFile.readAttributes(file));
+        }
+        catch (final NoSuchFileException exception)
+        {
+            return false;
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final DiscoveredFile file)
+    {
+        try
+        {
+            return this.accept(file.path(), file.attributes());
+        }
+        catch (final NoSuchFileException exception)
+        {
+            return false;
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimatedCost()
+    {
+        return 10;
+    }
+
+
+    /**
+     * Returns the POSIX attributes of the given file, reusing the known attributes if they are POSIX attributes already, which is
+     * the case for attributes read by the discover strategies on POSIX file systems, see
+     * {@link DiscoveredFile#readAttributes(Path, java.nio.file.LinkOption...)}. Only otherwise the file system is queried.
+     *
+     * @param file       the path of the file.
+     * @param attributes the known attributes of the file.
+     * @return the POSIX attributes, or {@code null} if the file system does not support them.
+     * @throws IOException if the attributes cannot be read.
+     */
+    protected static PosixFileAttributes readPosixAttributes(final Path file, final BasicFileAttributes attributes) throws IOException
+    {
+        if (attributes instanceof final PosixFileAttributes posixAttributes)
+        {
+            return posixAttributes;
+        }
+        try
+        {
+            return Files.readAttributes(file, PosixFileAttributes.class);
+        }
+        catch (final UnsupportedOperationException exception)
+        {
+            return null;
+        }
+    }
+}
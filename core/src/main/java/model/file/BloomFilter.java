@@ -0,0 +1,88 @@
+package model.file;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * A Bloom filter over 64-bit hashes whose bits are stored off-heap, answering whether a hash was possibly added or definitely not.
+ * <br>
+ * The bit positions are derived from the two halves of the hash by double hashing, so a lookup costs a few multiplications and
+ * memory reads without any allocation. Sized for the expected number of entries and false positive rate, it needs about ten bits
+ * per entry at a rate of one percent.
+ */
+final class BloomFilter
+{
+    private final LongBuffer bits;
+
+    private final long size;
+
+    private final int hashes;
+
+
+    /**
+     * Creates an empty Bloom filter.
+     *
+     * @param entries           the expected number of entries.
+     * @param falsePositiveRate the acceptable rate of false positives at the expected number of entries, between 0 and 1.
+     */
+    BloomFilter(final long entries, final double falsePositiveRate)
+    {
+        final double ln2 = Math.log(2);
+        final long optimalSize = (long) Math.ceil(-Math.max(1, entries) * Math.log(falsePositiveRate) / (ln2 * ln2));
+        final int words = (int) Math.min(Integer.MAX_VALUE / Long.BYTES, (optimalSize + Long.SIZE - 1) / Long.SIZE);
+        this.bits = ByteBuffer.allocateDirect(words * Long.BYTES).asLongBuffer();
+        this.size = (long) words * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) this.size / Math.max(1, entries) * ln2));
+    }
+
+
+    /**
+     * Adds the given hash.
+     *
+     * @param hash the 64-bit hash of an entry.
+     */
+    void add(final long hash)
+    {
+        final int low = (int) hash;
+        final int high = (int) (hash >>> 32);
+        for (int i = 0; i < this.hashes; i++)
+        {
+            final long bit = Math.floorMod(low + (long) i * high, this.size);
+            final int word = (int) (bit >>> 6);
+            this.bits.put(word, this.bits.get(word) | (1L << bit));
+        }
+    }
+
+
+    /**
+     * Returns whether the given hash was possibly added.
+     *
+     * @param hash the 64-bit hash of an entry.
+     * @return {@code false} if the hash was definitely not added, {@code true} if it possibly was.
+     */
+    boolean mightContain(final long hash)
+    {
+        final int low = (int) hash;
+        final int high = (int) (hash >>> 32);
+        for (int i = 0; i < this.hashes; i++)
+        {
+            final long bit = Math.floorMod(low + (long) i * high, this.size);
+            if ((this.bits.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Returns the number of bytes occupied by the bits.
+     *
+     * @return the off-heap memory footprint in bytes.
+     */
+    long byteSize()
+    {
+        return this.size / Byte.SIZE;
+    }
+}
@@ -0,0 +1,189 @@
+package model.file;
+
+import lombok.Getter;
+import lombok.ToString;
+import model.file.discover.DiscoveredFile;
+
+import java.nio.file.Path;
+
+/**
+ * A {@link FileFilterStrategy} decorator that memoizes the decisions of the decorated filter in a bounded, concurrent LRU cache.
+ * Sharing an instance between the procedures of a group, or keeping it across the runs of a watch mode, turns repeated evaluations
+ * of expensive filters into lookups.
+ * <br>
+ * Decisions are cached either by the file name, which suits filters that depend on the name only such as {@link PatternFilterStrategy},
+ * or by the {@link FileVersion} of a discovered file, which suits filters depending on attributes or content. Versions change with
+ * every modification, so cached decisions of such filters do not become stale. Plain paths carry no version and are evaluated
+ * without the cache.
+ * <br>
+ * Decisions of filters that are not {@link FileFilterStrategy#isCacheable() cacheable}, such as {@link AgeFilterStrategy} whose
+ * decisions change as time passes, are never cached and always delegated to the decorated filter.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class CachingFilterStrategy implements FileFilterStrategy
+{
+    /**
+     * The lookup cost of a cached decision in nanoseconds.
+     */
+    private static final long LOOKUP_COST = 50;
+
+    /**
+     * Determines what a decision is cached by.
+     */
+    public enum Key
+    {
+        /**
+         * The name of the file, for filters that depend on the file name only.
+         */
+        FILE_NAME,
+
+        /**
+         * The path, file key, modification time and size of the file, for filters that depend on anything else.
+         */
+        FILE_VERSION
+    }
+
+    /**
+     * The decorated filter.
+     */
+    @Getter
+    @ToString.Include
+    private final FileFilterStrategy filter;
+
+    /**
+     * What the decisions are cached by.
+     */
+    @Getter
+    @ToString.Include
+    private final Key key;
+
+    private final transient LruCache<Object, Boolean> cache;
+
+    /**
+     * Whether the decisions of the decorated filter may be cached at all.
+     */
+    private final transient boolean cacheable;
+
+
+    /**
+     * Creates a new caching decorator, caching by the file name for {@link PatternFilterStrategy} and by the file version otherwise.
+     *
+     * @param filter   the filter whose decisions are cached.
+     * @param capacity the maximum number of cached decisions.
+     */
+    public CachingFilterStrategy(final FileFilterStrategy filter, final int capacity)
+    {
+        this(filter, filter instanceof PatternFilterStrategy ? Key.FILE_NAME : Key.FILE_VERSION, capacity);
+    }
+
+
+    /**
+     * Creates a new caching decorator.
+     *
+     * @param filter   the filter whose decisions are cached.
+     * @param key      what the decisions are cached by; must match what the decisions of the filter depend on.
+     * @param capacity the maximum number of cached decisions.
+     */
+    public CachingFilterStrategy(final FileFilterStrategy filter, final Key key, final int capacity)
+    {
+        this.filter = filter;
+        this.key = key;
+        this.cache = new LruCache<>(capacity);
+        this.cacheable = filter.isCacheable();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path file)
+    {
+        if (this.cacheable && this.key == Key.FILE_NAME && file.getFileName() != null)
+        {
+            return this.cache.computeIfAbsent(file.getFileName().toString(), name -> this.filter.accept(file));
+        }
+        return this.filter.accept(file);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final DiscoveredFile file)
+    {
+        if (!this.cacheable)
+        {
+            return this.filter.accept(file);
+        }
+        final Path fileName = file.path().getFileName();
+        final Object key = this.key == Key.FILE_NAME && fileName != null
+                ? fileName.toString()
+                : FileVersion.of(file.path(), file.attributes());
+        return this.cache.computeIfAbsent(key, absent -> this.filter.accept(file));
+    }
+
+
+    /**
+     * Returns the cost of a lookup plus the cost of the decorated filter weighted by the observed miss rate, or the cost of the
+     * decorated filter alone if its decisions are not cached.
+     *
+     * @return the expected time per evaluation in nanoseconds.
+     */
+    @Override
+    public long estimatedCost()
+    {
+        if (!this.cacheable)
+        {
+            return this.filter.estimatedCost();
+        }
+        final long hits = this.cache.getHits();
+        final long misses = this.cache.getMisses();
+        final double missRate = hits + misses == 0 ? 1 : (double) misses / (hits + misses);
+        return LOOKUP_COST + (long) (missRate * this.filter.estimatedCost());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCacheable()
+    {
+        return this.cacheable;
+    }
+
+
+    /**
+     * Returns the number of evaluations answered from the cache.
+     *
+     * @return the number of cache hits.
+     */
+    public long getHits()
+    {
+        return this.cache.getHits();
+    }
+
+
+    /**
+     * Returns the number of evaluations that were delegated to the decorated filter.
+     *
+     * @return the number of cache misses.
+     */
+    public long getMisses()
+    {
+        return this.cache.getMisses();
+    }
+
+
+    /**
+     * Returns the number of cached decisions.
+     *
+     * @return the current size of the cache.
+     */
+    public int getSize()
+    {
+        return this.cache.size();
+    }
+}
@@ -0,0 +1,391 @@
+package model.file;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A set of regular expressions compiled into a single matcher, answering whether a file name fully matches any of them.
+ * <br>
+ * Patterns that describe a literal name, such as {@code Thumbs\.db}, and patterns that describe a literal suffix starting with a dot,
+ * such as {@code .*\.txt} or {@code .*\.tar\.gz}, are answered by hash lookups. All remaining patterns sharing the same flags are
+ * combined into one alternation, so each file name is matched once instead of once per pattern. The cost of a lookup is therefore
+ * independent of the number of literal and extension patterns, which make up the bulk of typical configurations.
+ * <br>
+ * Depending on the {@link PatternFilterStrategy.Engine}, the remaining patterns are matched by {@link Pattern}, by a
+ * {@link LinearPattern}, or by a {@link LinearPattern} where supported and by {@link Pattern} with a step budget otherwise.
+ * <br>
+ * Matching does not allocate: names are accepted as character sequences, hash lookups work on ranges of them and every thread
+ * reuses its own {@link Matcher} instances, which are {@link Matcher#reset(CharSequence) reset} to each name.
+ */
+final class CompiledPatterns
+{
+    /**
+     * Characters with a special meaning in a regular expression outside a character class.
+     */
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final NameSet names;
+
+    private final NameSet suffixes;
+
+    private final List<Pattern> expressions;
+
+    private final LinearPattern linear;
+
+    private final List<Pattern> budgeted;
+
+    private final long stepBudget;
+
+    /**
+     * The budgeted patterns that exceeded the step budget at least once.
+     */
+    private final Set<Pattern> exceeded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The matchers of the expressions followed by the matchers of the budgeted patterns, per thread.
+     */
+    private final ThreadLocal<Matchers> matchers = ThreadLocal.withInitial(this::createMatchers);
+
+
+    private CompiledPatterns(final NameSet names, final NameSet suffixes, final List<Pattern> expressions,
+                             final LinearPattern linear, final List<Pattern> budgeted, final long stepBudget)
+    {
+        this.names = names;
+        this.suffixes = suffixes;
+        this.expressions = expressions;
+        this.linear = linear;
+        this.budgeted = budgeted;
+        this.stepBudget = stepBudget;
+    }
+
+
+    /**
+     * Compiles the given patterns into a single matcher.
+     *
+     * @param patterns the patterns to be combined; may be empty.
+     * @return a matcher equivalent to testing {@link Pattern#matcher(CharSequence)}{@code .matches()} for each pattern.
+     */
+    static CompiledPatterns compile(final List<Pattern> patterns)
+    {
+        return compile(patterns, PatternFilterStrategy.Engine.BACKTRACKING, 0);
+    }
+
+
+    /**
+     * Compiles the given patterns into a single matcher using the given engine for patterns that are not answered by hash lookups.
+     *
+     * @param patterns   the patterns to be combined; may be empty.
+     * @param engine     the engine matching the patterns that are neither literal names nor literal suffixes.
+     * @param stepBudget the maximum number of characters {@link Pattern} may inspect per budgeted pattern and match.
+     * @return a matcher equivalent to testing {@link Pattern#matcher(CharSequence)}{@code .matches()} for each pattern.
+     * @throws IllegalArgumentException if the engine is {@link PatternFilterStrategy.Engine#LINEAR} and any pattern is not
+     *                                  supported by it.
+     */
+    static CompiledPatterns compile(final List<Pattern> patterns, final PatternFilterStrategy.Engine engine, final long stepBudget)
+    {
+        final Set<String> names = new HashSet<>();
+        final Set<String> suffixes = new HashSet<>();
+        final Map<Integer, List<String>> alternatives = new LinkedHashMap<>();
+        final List<Pattern> expressions = new ArrayList<>();
+        final List<Pattern> linear = new ArrayList<>();
+        final List<Pattern> budgeted = new ArrayList<>();
+        for (final Pattern pattern : patterns)
+        {
+            final String regex = pattern.pattern();
+            if (pattern.flags() == Pattern.LITERAL)
+            {
+                names.add(regex);
+                continue;
+            }
+            if (pattern.flags() == 0)
+            {
+                final String name = literal(regex);
+                if (name != null)
+                {
+                    names.add(name);
+                    continue;
+                }
+                final String suffix = regex.startsWith(".*") ? literal(regex.substring(2)) : null;
+                if (suffix != null && suffix.startsWith("."))
+                {
+                    suffixes.add(suffix);
+                    continue;
+                }
+            }
+            if (engine == PatternFilterStrategy.Engine.LINEAR || engine == PatternFilterStrategy.Engine.LINEAR_WITH_FALLBACK
+                    && LinearPattern.isSupported(pattern))
+            {
+                linear.add(pattern);
+                continue;
+            }
+            if (engine == PatternFilterStrategy.Engine.LINEAR_WITH_FALLBACK)
+            {
+                budgeted.add(pattern);
+                continue;
+            }
+            if ((pattern.flags() & (Pattern.LITERAL | Pattern.COMMENTS)) != 0 || hasGroupReferences(regex))
+            {
+                // Combining would change the meaning of the other alternatives or renumber the groups the pattern refers to
+                expressions.add(pattern);
+                continue;
+            }
+            alternatives.computeIfAbsent(pattern.flags(), flags -> new ArrayList<>()).add(regex);
+        }
+
+        alternatives.forEach((flags, regexes) -> expressions.add(regexes.size() == 1
+                ? Pattern.compile(regexes.getFirst(), flags)
+                : Pattern.compile("(?:" + String.join(")|(?:", regexes) + ")", flags)));
+        return new CompiledPatterns(NameSet.of(names), NameSet.of(suffixes), List.copyOf(expressions),
+                linear.isEmpty() ? null : LinearPattern.compile(linear), List.copyOf(budgeted), stepBudget);
+    }
+
+
+    /**
+     * Returns whether no pattern was compiled into this matcher.
+     *
+     * @return {@code true} if {@link #matches(String, boolean)} never returns {@code true}.
+     */
+    boolean isEmpty()
+    {
+        return this.names.isEmpty() && this.suffixes.isEmpty() && this.expressions.isEmpty() && this.linear == null
+                && this.budgeted.isEmpty();
+    }
+
+
+    /**
+     * Returns whether the given name fully matches any of the compiled patterns.
+     *
+     * @param name         the file name to be matched.
+     * @param whenExceeded the result if no pattern matched, but a budgeted pattern exceeded the step budget.
+     * @return {@code true} if at least one pattern matches.
+     */
+    boolean matches(final CharSequence name, final boolean whenExceeded)
+    {
+        if (this.names.contains(name, 0, name.length()) || this.matchesSuffix(name))
+        {
+            return true;
+        }
+        if (this.linear != null && this.linear.matches(name))
+        {
+            return true;
+        }
+        if (this.expressions.isEmpty() && this.budgeted.isEmpty())
+        {
+            return false;
+        }
+
+        final Matchers matchers = this.matchers.get();
+        for (final Matcher matcher : matchers.expressions())
+        {
+            if (matcher.reset(name).matches())
+            {
+                return true;
+            }
+        }
+
+        boolean exceeded = false;
+        for (int i = 0; i < matchers.budgeted().length; i++)
+        {
+            try
+            {
+                if (matchers.budgeted()[i].reset(matchers.sequence().reset(name, this.stepBudget)).matches())
+                {
+                    return true;
+                }
+            }
+            catch (final BudgetExceededException exception)
+            {
+                this.exceeded.add(this.budgeted.get(i));
+                exceeded = true;
+            }
+        }
+        return exceeded && whenExceeded;
+    }
+
+
+    /**
+     * Returns the budgeted patterns that exceeded the step budget at least once.
+     *
+     * @return a snapshot of the patterns.
+     */
+    Set<Pattern> getBudgetExceeded()
+    {
+        return Set.copyOf(this.exceeded);
+    }
+
+
+    private Matchers createMatchers()
+    {
+        final BudgetedSequence sequence = new BudgetedSequence();
+        return new Matchers(this.expressions.stream().map(pattern -> pattern.matcher("")).toArray(Matcher[]::new),
+                this.budgeted.stream().map(pattern -> pattern.matcher(sequence)).toArray(Matcher[]::new), sequence);
+    }
+
+
+    private boolean matchesSuffix(final CharSequence name)
+    {
+        if (this.suffixes.isEmpty())
+        {
+            return false;
+        }
+        for (int dot = 0; dot < name.length(); dot++)
+        {
+            if (name.charAt(dot) == '.' && this.suffixes.contains(name, dot, name.length()))
+            {
+                // Like the pattern, the leading .* does not match line terminators
+                return !hasLineTerminator(name, dot);
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns the string matched by the given regular expression if it matches exactly one string, i.e. it consists of ordinary
+     * characters and escaped metacharacters only, or {@code null} otherwise.
+     */
+    private static String literal(final String regex)
+    {
+        final StringBuilder literal = new StringBuilder(regex.length());
+        for (int i = 0; i < regex.length(); i++)
+        {
+            final char c = regex.charAt(i);
+            if (c == '\\')
+            {
+                if (i + 1 >= regex.length() || METACHARACTERS.indexOf(regex.charAt(i + 1)) < 0)
+                {
+                    return null;
+                }
+                literal.append(regex.charAt(++i));
+            }
+            else if (METACHARACTERS.indexOf(c) >= 0)
+            {
+                return null;
+            }
+            else
+            {
+                literal.append(c);
+            }
+        }
+        return literal.toString();
+    }
+
+
+    private static boolean hasGroupReferences(final String regex)
+    {
+        for (int i = 0; i + 1 < regex.length(); i++)
+        {
+            final char c = regex.charAt(i);
+            if (c == '\\')
+            {
+                final char next = regex.charAt(i + 1);
+                if (Character.isDigit(next) || next == 'k')
+                {
+                    return true;
+                }
+                i++;
+            }
+            else if (c == '(' && regex.startsWith("?<", i + 1) && i + 3 < regex.length()
+                    && regex.charAt(i + 3) != '=' && regex.charAt(i + 3) != '!')
+            {
+                // Named groups must be unique within a pattern
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private static boolean hasLineTerminator(final CharSequence name, final int end)
+    {
+        for (int i = 0; i < end; i++)
+        {
+            final char c = name.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029')
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * The matchers used by a single thread, see {@link #createMatchers()}.
+     */
+    private record Matchers(Matcher[] expressions, Matcher[] budgeted, BudgetedSequence sequence) {}
+
+
+    /**
+     * A character sequence that allows a limited number of character accesses. {@link Pattern} reads the input through
+     * {@link CharSequence#charAt(int)} only, so the number of accesses bounds the work of a match, backtracking included.
+     */
+    private static final class BudgetedSequence implements CharSequence
+    {
+        private CharSequence value = "";
+
+        private long remaining;
+
+
+        private BudgetedSequence reset(final CharSequence value, final long budget)
+        {
+            this.value = value;
+            this.remaining = budget;
+            return this;
+        }
+
+
+        @Override
+        public char charAt(final int index)
+        {
+            if (--this.remaining < 0)
+            {
+                throw BudgetExceededException.INSTANCE;
+            }
+            return this.value.charAt(index);
+        }
+
+
+        @Override
+        public int length()
+        {
+            return this.value.length();
+        }
+
+
+        @Override
+        public CharSequence subSequence(final int start, final int end)
+        {
+            return this.value.subSequence(start, end);
+        }
+
+
+        @Override
+        public String toString()
+        {
+            return this.value.toString();
+        }
+    }
+
+
+    /**
+     * Aborts a match that exceeded its step budget. Thrown often on hostile input, so it is shared and carries no stack trace.
+     */
+    private static final class BudgetExceededException extends RuntimeException
+    {
+        private static final BudgetExceededException INSTANCE = new BudgetExceededException();
+
+
+        private BudgetExceededException()
+        {
+            super("Step budget exceeded", null, false, false);
+        }
+    }
+}
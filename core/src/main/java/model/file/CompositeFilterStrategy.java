@@ -0,0 +1,187 @@
+package model.file;
+
+import model.file.discover.DiscoveredFile;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Base class of filters that combine several operands with a short-circuiting boolean operator.
+ * <br>
+ * The operands are evaluated in the order that minimizes the expected cost of a decision: an operand is evaluated early if it is
+ * cheap and likely to decide the result on its own. Initially the operands are ordered by their {@link FileFilterStrategy#estimatedCost()},
+ * afterwards the order is recomputed every {@value #REORDER_INTERVAL} evaluations from the costs and acceptance rates observed by
+ * the {@link MeasuredFilterStrategy} wrapping each operand. The result does not depend on the order.
+ */
+public abstract class CompositeFilterStrategy implements FileFilterStrategy
+{
+    /**
+     * The number of evaluations after which the order of the operands is recomputed.
+     */
+    private static final int REORDER_INTERVAL = 1024;
+
+    /**
+     * The acceptance rate assumed for operands that have not been evaluated yet.
+     */
+    private static final double PRIOR_ACCEPTANCE_RATE = 0.5;
+
+    /**
+     * The lower bound of the probability that an operand decides the result, preventing a division by zero.
+     */
+    private static final double MIN_DECISION_RATE = 1e-3;
+
+    private final List<MeasuredFilterStrategy> filters;
+
+    private final transient AtomicLong evaluations = new AtomicLong();
+
+    private transient volatile MeasuredFilterStrategy[] order;
+
+
+    /**
+     * Creates a new composite of the given operands.
+     *
+     * @param filters the operands; must not be empty.
+     */
+    protected CompositeFilterStrategy(final List<? extends FileFilterStrategy> filters)
+    {
+        if (filters.isEmpty())
+        {
+            throw new IllegalArgumentException("A composite filter requires at least one operand.");
+        }
+        this.filters = filters.stream().map(MeasuredFilterStrategy::new).toList();
+        this.order = this.filters.stream()
+                .sorted(Comparator.comparingLong(MeasuredFilterStrategy::estimatedCost))
+                .toArray(MeasuredFilterStrategy[]::new);
+    }
+
+
+    /**
+     * Returns the result of the composite if the given operand result decides it, i.e. {@code false} for a conjunction and
+     * {@code true} for a disjunction.
+     *
+     * @return the deciding operand result.
+     */
+    protected abstract boolean decidingResult();
+
+
+    /**
+     * Returns the operands in their configured order, each wrapped in a {@link MeasuredFilterStrategy} exposing its statistics.
+     *
+     * @return an unmodifiable list of the measured operands.
+     */
+    public List<MeasuredFilterStrategy> getFilters()
+    {
+        return this.filters;
+    }
+
+
+    /**
+     * Returns the operands in the order in which they are currently evaluated.
+     *
+     * @return an unmodifiable list of the measured operands.
+     */
+    public List<MeasuredFilterStrategy> getEvaluationOrder()
+    {
+        return List.of(this.order);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path file)
+    {
+        return this.evaluate(filter -> filter.accept(file));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final DiscoveredFile file)
+    {
+        return this.evaluate(filter -> filter.accept(file));
+    }
+
+
+    /**
+     * Returns the expected cost of an evaluation in the current order, i.e. the cost of each operand weighted by the probability
+     * that it is reached.
+     *
+     * @return the expected time per evaluation in nanoseconds.
+     */
+    @Override
+    public long estimatedCost()
+    {
+        double cost = 0;
+        double reached = 1;
+        for (final MeasuredFilterStrategy filter : this.order)
+        {
+            cost += reached * filter.estimatedCost();
+            reached *= 1 - this.decisionRate(filter);
+        }
+        return Math.max(1, (long) cost);
+    }
+
+
+    /**
+     * Returns whether the decisions of all operands can be cached.
+     *
+     * @return {@code true} if every operand is cacheable, {@code false} otherwise.
+     */
+    @Override
+    public boolean isCacheable()
+    {
+        return this.filters.stream().allMatch(FileFilterStrategy::isCacheable);
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return this.getClass().getSimpleName() + Arrays.toString(this.order);
+    }
+
+
+    private boolean evaluate(final Predicate<MeasuredFilterStrategy> evaluation)
+    {
+        if (this.evaluations.incrementAndGet() % REORDER_INTERVAL == 0)
+        {
+            this.reorder();
+        }
+
+        final boolean decidingResult = this.decidingResult();
+        for (final MeasuredFilterStrategy filter : this.order)
+        {
+            if (evaluation.test(filter) == decidingResult)
+            {
+                return decidingResult;
+            }
+        }
+        return !decidingResult;
+    }
+
+
+    /**
+     * Orders the operands by their cost per decision, which minimizes the expected cost of independent operands.
+     */
+    private void reorder()
+    {
+        final MeasuredFilterStrategy[] order = this.order.clone();
+        Arrays.sort(order, Comparator.comparingDouble(filter -> filter.estimatedCost() / this.decisionRate(filter)));
+        this.order = order;
+    }
+
+
+    private double decisionRate(final MeasuredFilterStrategy filter)
+    {
+        final double acceptanceRate = filter.getAcceptanceRate(PRIOR_ACCEPTANCE_RATE);
+        return Math.max(MIN_DECISION_RATE, this.decidingResult() ? acceptanceRate : 1 - acceptanceRate);
+    }
+}
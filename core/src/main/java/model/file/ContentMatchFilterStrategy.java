@@ -0,0 +1,212 @@
+package model.file;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * An {@link AttributeFilterStrategy} that accepts files containing a given text, e.g. log files containing {@code OutOfMemoryError}.
+ * <br>
+ * The text is encoded once and searched for with the Boyer-Moore-Horspool algorithm, which runs in linear time and stops at the
+ * first occurrence. At most {@link #maxBytes} bytes from the beginning of each file are scanned. Large files are memory-mapped in
+ * windows, which avoids copying their content. Small files, and files on file systems that do not support mapping, are read in
+ * chunks into a direct buffer that is reused by each thread. A file truncated while it is scanned through a mapping is read in
+ * chunks again, as accessing a mapping beyond the end of its file raises an {@link InternalError} on the accessing thread.
+ * <br>
+ * Content filtering is expensive, consider running it in parallel with the filter parallelism of the procedure.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class ContentMatchFilterStrategy extends AttributeFilterStrategy
+{
+    /**
+     * The size from which files are memory-mapped instead of read, as mapping small files costs more than reading them.
+     */
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    /**
+     * The number of bytes mapped at once.
+     */
+    private static final int MAP_WINDOW = 1 << 26;
+
+    /**
+     * The number of bytes read at once.
+     */
+    private static final int READ_SIZE = 1 << 16;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER = new ThreadLocal<>();
+
+    /**
+     * The text an accepted file must contain.
+     */
+    private String text = "";
+
+    /**
+     * The charset the text is encoded with in the files.
+     */
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * The maximum number of bytes scanned from the beginning of each file. Occurrences beyond are not found.
+     */
+    private long maxBytes = 64L << 20;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient HorspoolSearch search = new HorspoolSearch(new byte[0]);
+
+
+    /**
+     * Sets the text an accepted file must contain.
+     *
+     * @param text the text to be searched for.
+     */
+    public void setText(final String text)
+    {
+        this.text = text;
+        this.search = new HorspoolSearch(text.getBytes(this.charset));
+    }
+
+
+    /**
+     * Sets the charset the text is encoded with in the files.
+     *
+     * @param charset the charset of the files.
+     */
+    public void setCharset(final Charset charset)
+    {
+        this.charset = charset;
+        this.search = new HorspoolSearch(this.text.getBytes(charset));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean accept(final Path file, final BasicFileAttributes attributes) throws IOException
+    {
+        final HorspoolSearch search = this.search;
+        if (search.length() == 0)
+        {
+            return true;
+        }
+
+        final long limit = Math.min(attributes.size(), this.maxBytes);
+        if (limit < search.length())
+        {
+            return false;
+        }
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            if (limit >= MAP_THRESHOLD)
+            {
+                try
+                {
+                    return map(channel, limit, search);
+                }
+                catch (final UnsupportedOperationException exception)
+                {
+                    // Mapping is not supported by the file system
+                }
+                catch (final InternalError error)
+                {
+                    // The file was truncated since its size was read, and the JVM reports the access to the unmapped part of a
+                    // window as an error instead of crashing; read whatever is left instead
+                }
+            }
+            return read(channel, limit, search);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimatedCost()
+    {
+        return 1_000_000;
+    }
+
+
+    /**
+     * Searches the mapped file window by window. Consecutive windows overlap by the length of the needle minus one, so that
+     * occurrences crossing a window boundary are found. The size of the file is checked again, as a window must not extend beyond
+     * the end of the file.
+     */
+    private static boolean map(final FileChannel channel, final long limit, final HorspoolSearch search) throws IOException
+    {
+        final int overlap = search.length() - 1;
+        final long end = Math.min(limit, channel.size());
+        for (long start = 0; start + overlap < end; start += MAP_WINDOW - overlap)
+        {
+            final int size = (int) Math.min(MAP_WINDOW, end - start);
+            final ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+            if (search.indexOf(window, 0, size) >= 0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Searches the file chunk by chunk, keeping the last bytes of a chunk so that occurrences crossing a chunk boundary are found.
+     */
+    private static boolean read(final FileChannel channel, final long limit, final HorspoolSearch search) throws IOException
+    {
+        final int overlap = search.length() - 1;
+        final ByteBuffer buffer = buffer(overlap + READ_SIZE);
+        long position = 0;
+        while (position < limit)
+        {
+            buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + limit - position));
+            final int read = channel.read(buffer, position);
+            if (read < 0)
+            {
+                return false;
+            }
+            position += read;
+
+            final int end = buffer.position();
+            if (search.indexOf(buffer, 0, end) >= 0)
+            {
+                return true;
+            }
+            if (end > overlap)
+            {
+                buffer.position(end - overlap).limit(end);
+                buffer.compact();
+            }
+        }
+        return false;
+    }
+
+
+    private static ByteBuffer buffer(final int capacity)
+    {
+        ByteBuffer buffer = BUFFER.get();
+        if (buffer == null || buffer.capacity() < capacity)
+        {
+            buffer = ByteBuffer.allocateDirect(capacity);
+            BUFFER.set(buffer);
+        }
+        return buffer.clear();
+    }
+}
@@ -0,0 +1,107 @@
+package model.file;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * File types recognized by the magic bytes at the beginning of a file, see {@link ContentTypeFilterStrategy}.
+ */
+public enum ContentType
+{
+    PDF(signature(0, "%PDF-")),
+    PNG(signature(0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)),
+    JPEG(signature(0, 0xFF, 0xD8, 0xFF)),
+    GIF(signature(0, "GIF87a"), signature(0, "GIF89a")),
+    WEBP(signature(0, 'R', 'I', 'F', 'F', ContentType.ANY, ContentType.ANY, ContentType.ANY, ContentType.ANY, 'W', 'E', 'B', 'P')),
+    ZIP(signature(0, 'P', 'K', 0x03, 0x04), signature(0, 'P', 'K', 0x05, 0x06), signature(0, 'P', 'K', 0x07, 0x08)),
+    GZIP(signature(0, 0x1F, 0x8B)),
+    BZIP2(signature(0, "BZh")),
+    XZ(signature(0, 0xFD, '7', 'z', 'X', 'Z', 0x00)),
+    SEVEN_ZIP(signature(0, '7', 'z', 0xBC, 0xAF, 0x27, 0x1C)),
+    TAR(signature(257, "ustar")),
+    ELF(signature(0, 0x7F, 'E', 'L', 'F')),
+    EXE(signature(0, "MZ")),
+    UNKNOWN;
+
+    /**
+     * The number of bytes at the beginning of a file that suffice to detect any of the types.
+     */
+    public static final int HEADER_SIZE = 512;
+
+    /**
+     * Placeholder in a signature matching any byte.
+     */
+    private static final int ANY = -1;
+
+    private final int[][] signatures;
+
+
+    ContentType(final int[]... signatures)
+    {
+        this.signatures = signatures;
+    }
+
+
+    /**
+     * Detects the type of a file from its first bytes.
+     *
+     * @param header the first bytes of the file, between position {@code 0} and the limit of the buffer.
+     * @return the detected type, or {@link #UNKNOWN} if no signature matches.
+     */
+    public static ContentType detect(final ByteBuffer header)
+    {
+        for (final ContentType type : values())
+        {
+            for (final int[] signature : type.signatures)
+            {
+                if (matches(header, signature))
+                {
+                    return type;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+
+    private static boolean matches(final ByteBuffer header, final int[] signature)
+    {
+        final int offset = signature[0];
+        if (header.limit() < offset + signature.length - 1)
+        {
+            return false;
+        }
+        for (int i = 1; i < signature.length; i++)
+        {
+            if (signature[i] != ANY && (header.get(offset + i - 1) & 0xFF) != signature[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Creates a signature of the given bytes, or {@link #ANY}, at the given offset. The offset is stored as first element.
+     */
+    private static int[] signature(final int offset, final int... bytes)
+    {
+        final int[] signature = new int[bytes.length + 1];
+        signature[0] = offset;
+        System.arraycopy(bytes, 0, signature, 1, bytes.length);
+        return signature;
+    }
+
+
+    private static int[] signature(final int offset, final String ascii)
+    {
+        final byte[] bytes = ascii.getBytes(StandardCharsets.US_ASCII);
+        final int[] signature = new int[bytes.length];
+        for (int i = 0; i < bytes.length; i++)
+        {
+            signature[i] = bytes[i];
+        }
+        return signature(offset, signature);
+    }
+}
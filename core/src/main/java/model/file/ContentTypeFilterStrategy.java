@@ -0,0 +1,133 @@
+package model.file;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * An {@link AttributeFilterStrategy} that accepts files by their actual type, detected from the magic bytes at their beginning
+ * instead of their extension, see {@link ContentType}.
+ * <br>
+ * Only the first {@value ContentType#HEADER_SIZE} bytes of a file are read, with a single positional read into a direct buffer
+ * that is reused by each thread. Detected types are cached by file key and modification time, so a file is read again only after
+ * it was modified, see {@link FileVersion}. Empty files are never read.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class ContentTypeFilterStrategy extends AttributeFilterStrategy
+{
+    private static final ThreadLocal<ByteBuffer> HEADER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(ContentType.HEADER_SIZE));
+
+    /**
+     * The types of accepted files.
+     */
+    private Set<ContentType> contentTypes = Collections.emptySet();
+
+    /**
+     * The maximum number of detected types that are cached. The least recently used types are evicted first.
+     */
+    private int cacheSize = 100_000;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient LruCache<FileVersion, ContentType> cache = new LruCache<>(this.cacheSize);
+
+
+    /**
+     * Sets the maximum number of cached types, discarding the types cached so far.
+     *
+     * @param cacheSize the maximum number of cached types; must be positive.
+     */
+    public void setCacheSize(final int cacheSize)
+    {
+        this.cacheSize = cacheSize;
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean accept(final Path file, final BasicFileAttributes attributes) throws IOException
+    {
+        return this.contentTypes.contains(this.detect(file, attributes));
+    }
+
+
+    /**
+     * Detects the type of the given file, reading its header only if the type is not cached yet.
+     *
+     * @param file       the path of the file.
+     * @param attributes the attributes of the file, identifying its current version.
+     * @return the detected type, or {@link ContentType#UNKNOWN}.
+     * @throws IOException if the file cannot be read.
+     */
+    public ContentType detect(final Path file, final BasicFileAttributes attributes) throws IOException
+    {
+        if (attributes.size() == 0)
+        {
+            return ContentType.UNKNOWN;
+        }
+
+        try
+        {
+            return this.cache.computeIfAbsent(FileVersion.of(file, attributes), version -> {
+                try
+                {
+                    return read(file);
+                }
+                catch (final IOException exception)
+                {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        }
+        catch (final UncheckedIOException exception)
+        {
+            throw exception.getCause();
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimatedCost()
+    {
+        return 20_000;
+    }
+
+
+    private static ContentType read(final Path file) throws IOException
+    {
+        final ByteBuffer header = HEADER.get().clear();
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            // Reads may return fewer bytes than requested before the end of the file is reached
+            int read;
+            do
+            {
+                read = channel.read(header, header.position());
+            }
+            while (read > 0 && header.hasRemaining());
+        }
+        return ContentType.detect(header.flip());
+    }
+}
@@ -0,0 +1,24 @@
+package model.file;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * A functional interface that defines a criterion for pruning directories during the discovery.
+ * <br>
+ * In contrast to a {@link FileFilterStrategy}, which is applied to every discovered file, a directory filter is evaluated before a
+ * directory is listed. A rejected directory is neither listed nor descended into, so none of the files below it are discovered.
+ * The source directory of a discovery is always listed.
+ */
+@FunctionalInterface
+public interface DirectoryFilterStrategy
+{
+    /**
+     * Evaluates whether the given directory should be descended into.
+     *
+     * @param directory  the directory about to be listed; must not be null.
+     * @param attributes the attributes of the directory, read while listing its parent.
+     * @return {@code true} if the directory and its contents are discovered, {@code false} if the whole subtree is skipped.
+     */
+    boolean accept(final Path directory, final BasicFileAttributes attributes);
+}
@@ -0,0 +1,282 @@
+package model.file;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * An immutable set of strings stored off-heap, optimized for lookups of strings that are not contained.
+ * <br>
+ * A {@link BloomFilter} rejects almost all absent strings without touching the entries. Only on a Bloom hit the entries are
+ * searched: their hashes are sorted, so candidates are found by a binary search, and each candidate is decoded and compared with
+ * the string character by character. Lookups do not allocate. The entries are encoded in UTF-8, with unpaired surrogates encoded
+ * like other characters, so the footprint is about ten bits per entry for the Bloom filter plus twelve bytes per entry and one
+ * byte per ASCII character for the exact check, all of it outside the Java heap.
+ */
+final class ExclusionList
+{
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final BloomFilter bloomFilter;
+
+    private final LongBuffer hashes;
+
+    private final IntBuffer offsets;
+
+    private final ByteBuffer bytes;
+
+
+    private ExclusionList(final BloomFilter bloomFilter, final LongBuffer hashes, final IntBuffer offsets, final ByteBuffer bytes)
+    {
+        this.bloomFilter = bloomFilter;
+        this.hashes = hashes;
+        this.offsets = offsets;
+        this.bytes = bytes;
+    }
+
+
+    /**
+     * Creates a new list of the given entries.
+     *
+     * @param entries the strings to be contained; duplicates are ignored.
+     * @return the list of the entries.
+     */
+    static ExclusionList of(final Collection<String> entries)
+    {
+        final String[] sorted = entries.stream()
+                .distinct()
+                .sorted(Comparator.comparingLong(ExclusionList::hash))
+                .toArray(String[]::new);
+        final long byteCount = Arrays.stream(sorted).mapToLong(ExclusionList::encodedLength).sum();
+        if (byteCount > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Exclusion list too large: " + byteCount + " bytes.");
+        }
+
+        final BloomFilter bloomFilter = new BloomFilter(sorted.length, FALSE_POSITIVE_RATE);
+        final LongBuffer hashes = ByteBuffer.allocateDirect(sorted.length * Long.BYTES).asLongBuffer();
+        final IntBuffer offsets = ByteBuffer.allocateDirect((sorted.length + 1) * Integer.BYTES).asIntBuffer();
+        final ByteBuffer bytes = ByteBuffer.allocateDirect((int) byteCount);
+        for (final String entry : sorted)
+        {
+            final long hash = hash(entry);
+            bloomFilter.add(hash);
+            hashes.put(hash);
+            offsets.put(bytes.position());
+            encode(entry, bytes);
+        }
+        offsets.put(bytes.position());
+        return new ExclusionList(bloomFilter, hashes.flip(), offsets.flip(), bytes.flip());
+    }
+
+
+    /**
+     * Returns whether the given string is contained.
+     *
+     * @param value the string to be looked up.
+     * @return {@code true} if the list contains the string.
+     */
+    boolean contains(final CharSequence value)
+    {
+        final long hash = hash(value);
+        if (!this.bloomFilter.mightContain(hash))
+        {
+            return false;
+        }
+
+        for (int i = this.firstIndexOf(hash); i < this.hashes.limit() && this.hashes.get(i) == hash; i++)
+        {
+            if (this.equals(i, value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns the number of contained strings.
+     *
+     * @return the number of entries.
+     */
+    int size()
+    {
+        return this.hashes.limit();
+    }
+
+
+    /**
+     * Returns the number of bytes occupied outside the Java heap.
+     *
+     * @return the off-heap memory footprint in bytes.
+     */
+    long byteSize()
+    {
+        return this.bloomFilter.byteSize()
+                + (long) this.hashes.capacity() * Long.BYTES
+                + (long) this.offsets.capacity() * Integer.BYTES
+                + this.bytes.capacity();
+    }
+
+
+    /**
+     * Returns the index of the first entry with the given hash, or of the first entry with a greater hash if there is none.
+     */
+    private int firstIndexOf(final long hash)
+    {
+        int low = 0;
+        int high = this.hashes.limit();
+        while (low < high)
+        {
+            final int middle = (low + high) >>> 1;
+            if (this.hashes.get(middle) < hash)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+
+    private boolean equals(final int index, final CharSequence value)
+    {
+        final int end = this.offsets.get(index + 1);
+        int position = this.offsets.get(index);
+        int i = 0;
+        while (position < end)
+        {
+            final int first = this.bytes.get(position) & 0xFF;
+            final int codePoint;
+            if (first < 0x80)
+            {
+                codePoint = first;
+                position += 1;
+            }
+            else if (first < 0xE0)
+            {
+                codePoint = (first & 0x1F) << 6 | this.continuation(position + 1);
+                position += 2;
+            }
+            else if (first < 0xF0)
+            {
+                codePoint = (first & 0x0F) << 12 | this.continuation(position + 1) << 6 | this.continuation(position + 2);
+                position += 3;
+            }
+            else
+            {
+                codePoint = (first & 0x07) << 18 | this.continuation(position + 1) << 12
+                        | this.continuation(position + 2) << 6 | this.continuation(position + 3);
+                position += 4;
+            }
+
+            if (Character.isBmpCodePoint(codePoint))
+            {
+                if (i >= value.length() || value.charAt(i++) != codePoint)
+                {
+                    return false;
+                }
+            }
+            else if (i + 1 >= value.length()
+                    || value.charAt(i++) != Character.highSurrogate(codePoint) || value.charAt(i++) != Character.lowSurrogate(codePoint))
+            {
+                return false;
+            }
+        }
+        return i == value.length();
+    }
+
+
+    private int continuation(final int position)
+    {
+        return this.bytes.get(position) & 0x3F;
+    }
+
+
+    /**
+     * Returns the number of bytes {@link #encode(String, ByteBuffer)} writes for the given string.
+     */
+    private static int encodedLength(final String value)
+    {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++)
+        {
+            final char c = value.charAt(i);
+            if (c < 0x80)
+            {
+                length += 1;
+            }
+            else if (c < 0x800)
+            {
+                length += 2;
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1)))
+            {
+                length += 4;
+                i++;
+            }
+            else
+            {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+
+    /**
+     * Encodes the given string in UTF-8. Unlike {@link java.nio.charset.StandardCharsets#UTF_8}, unpaired surrogates are encoded
+     * as three bytes instead of being replaced, so distinct strings never share an encoding.
+     */
+    private static void encode(final String value, final ByteBuffer bytes)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            final char c = value.charAt(i);
+            if (c < 0x80)
+            {
+                bytes.put((byte) c);
+            }
+            else if (c < 0x800)
+            {
+                bytes.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1)))
+            {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                bytes.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            }
+            else
+            {
+                bytes.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+
+    /**
+     * Computes a 64-bit FNV-1a hash of the characters, followed by the finalizer of MurmurHash3 to spread all bits.
+     */
+    static long hash(final CharSequence value)
+    {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++)
+        {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,226 @@
+package model.file;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * An implementation of {@link FileFilterStrategy} that rejects files listed in an exclusion list and accepts all others.
+ * Exclusion lists typically come from compliance and contain hundreds of thousands of exact file names or content hashes that must
+ * never be moved or deleted, far more than could reasonably be expressed as exclude patterns.
+ * <br>
+ * The entries are stored off-heap behind a Bloom filter, so an unlisted file, which is the common case, is accepted after a hash
+ * computation and a few memory reads. Only on a Bloom hit the entries are compared exactly, so a file is never rejected by
+ * mistake. A list of 500,000 names needs about 600 KB for the Bloom filter plus twelve bytes per entry and the UTF-8 encoded names,
+ * none of it on the Java heap.
+ * <br>
+ * Since the entries are kept outside of the Java heap, the list is identified by the {@link #getDigest() digest} of its entries,
+ * e.g. when the configuration of a procedure is compared with that of an interrupted execution.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class ExclusionListFilterStrategy implements FileFilterStrategy
+{
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(64 * 1024));
+
+    /**
+     * Determines what the entries of the list are compared with.
+     */
+    public enum Key
+    {
+        /**
+         * The name of the file, compared case-sensitively.
+         */
+        FILE_NAME,
+
+        /**
+         * The SHA-256 hash of the file content in hexadecimal notation, compared case-insensitively.
+         */
+        SHA_256
+    }
+
+    /**
+     * What the entries are compared with.
+     */
+    @Getter
+    @ToString.Include
+    private final Key key;
+
+    /**
+     * The SHA-256 hash of the distinct, normalized entries in their natural order, in hexadecimal notation.
+     */
+    @Getter
+    @ToString.Include
+    private final String digest;
+
+    private final transient ExclusionList entries;
+
+
+    private ExclusionListFilterStrategy(final Key key, final String digest, final ExclusionList entries)
+    {
+        this.key = key;
+        this.digest = digest;
+        this.entries = entries;
+    }
+
+
+    /**
+     * Creates a new filter rejecting the given entries.
+     *
+     * @param entries the file names or hashes to be rejected.
+     * @param key     what the entries are compared with.
+     * @return the filter.
+     */
+    public static ExclusionListFilterStrategy of(final Collection<String> entries, final Key key)
+    {
+        return of(entries.stream(), key);
+    }
+
+
+    /**
+     * Creates a new filter rejecting the entries listed in the given file. The file is read as UTF-8 and contains one entry per line;
+     * surrounding whitespace is ignored, as are blank lines and lines starting with {@code #}.
+     *
+     * @param listFile the file listing the file names or hashes to be rejected.
+     * @param key      what the entries are compared with.
+     * @return the filter.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ExclusionListFilterStrategy load(final Path listFile, final Key key) throws IOException
+    {
+        try (final Stream<String> lines = Files.lines(listFile, StandardCharsets.UTF_8))
+        {
+            return of(lines.map(String::strip).filter(line -> !line.isEmpty() && !line.startsWith("#")), key);
+        }
+        catch (final UncheckedIOException exception)
+        {
+            throw exception.getCause();
+        }
+    }
+
+
+    private static ExclusionListFilterStrategy of(final Stream<String> entries, final Key key)
+    {
+        final List<String> normalized = key == Key.SHA_256 ? entries.map(entry -> entry.toLowerCase(Locale.ROOT)).toList() : entries.toList();
+        return new ExclusionListFilterStrategy(key, digest(normalized), ExclusionList.of(normalized));
+    }
+
+
+    /**
+     * Hashes the distinct entries in their natural order, each prefixed by its length, so equal sets of entries have equal digests.
+     */
+    private static String digest(final List<String> entries)
+    {
+        final MessageDigest digest = sha256();
+        final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        entries.stream().distinct().sorted().forEach(entry -> {
+            final byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            digest.update(length.clear().putInt(bytes.length).flip());
+            digest.update(bytes);
+        });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path file)
+    {
+        if (this.key == Key.FILE_NAME)
+        {
+            final Path fileName = file.getFileName();
+            return fileName == null || !this.entries.contains(fileName.toString());
+        }
+
+        try
+        {
+            return !this.entries.contains(sha256(file));
+        }
+        catch (final NoSuchFileException exception)
+        {
+            return false;
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimatedCost()
+    {
+        return this.key == Key.FILE_NAME ? 50 : 1_000_000;
+    }
+
+
+    /**
+     * Returns the number of listed entries.
+     *
+     * @return the number of distinct entries.
+     */
+    public int getSize()
+    {
+        return this.entries.size();
+    }
+
+
+    /**
+     * Returns the number of bytes the entries occupy outside the Java heap.
+     *
+     * @return the memory footprint in bytes.
+     */
+    public long getByteSize()
+    {
+        return this.entries.byteSize();
+    }
+
+
+    private static MessageDigest sha256()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (final NoSuchAlgorithmException exception)
+        {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+
+    private static String sha256(final Path file) throws IOException
+    {
+        final MessageDigest digest = sha256();
+        final ByteBuffer buffer = BUFFER.get();
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            while (channel.read(buffer.clear()) >= 0)
+            {
+                digest.update(buffer.flip());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -1,5 +1,7 @@
 package model.file;
 
+import model.file.discover.DiscoveredFile;
+
 import java.nio.file.Path;
 
 /**
@@ -16,4 +18,48 @@ public interface FileFilterStrategy
      * @return {@code true} if the file meets the criteria specified by the implementation, {@code false} otherwise.
      */
     boolean accept(final Path file);
+
+
+    /**
+     * Evaluates whether the given discovered file satisfies certain conditions defined by the implementation.
+     * <br>
+     * Implementations that depend on file attributes should override this method and use the attributes read during the
+     * discovery instead of querying the file system again. The default implementation delegates to {@link #accept(Path)}.
+     *
+     * @param file the discovered file to be evaluated, carrying its path and attributes; must not be null.
+     * @return {@code true} if the file meets the criteria specified by the implementation, {@code false} otherwise.
+     */
+    default boolean accept(final DiscoveredFile file)
+    {
+        return this.accept(file.path());
+    }
+
+
+    /**
+     * Estimates the average time a single evaluation of this filter takes. Composite filters use the estimate to evaluate cheap
+     * filters first until the actual costs have been observed.
+     * <br>
+     * Filters that inspect the content of a file or query the file system should override this method. The default estimate
+     * corresponds to matching the file name.
+     *
+     * @return the estimated time per evaluation in nanoseconds; must be positive.
+     */
+    default long estimatedCost()
+    {
+        return 100;
+    }
+
+
+    /**
+     * Returns whether a decision of this filter holds for as long as the evaluated file is not modified, so it can be cached, see
+     * {@link CachingFilterStrategy}.
+     * <br>
+     * Filters whose decisions depend on the time of the evaluation, such as {@link AgeFilterStrategy}, must return {@code false}.
+     *
+     * @return {@code true} if decisions may be cached by the file version, {@code false} otherwise.
+     */
+    default boolean isCacheable()
+    {
+        return true;
+    }
 }
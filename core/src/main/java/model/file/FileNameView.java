@@ -0,0 +1,77 @@
+package model.file;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+
+/**
+ * A reusable, per-thread view of the file name within the string form of a path, which allows matching file names without
+ * creating a name path and a string for every file.
+ * <br>
+ * The view is only used where the name is the part of the string form after the last separator and the path caches its string
+ * form, like the paths of the default file system on Unix-like systems do. Elsewhere, {@link #of(Path)} falls back to
+ * {@link Path#getFileName()}. A returned view is only valid until the next call on the same thread and must not be retained.
+ */
+final class FileNameView implements CharSequence
+{
+    private static final ThreadLocal<FileNameView> VIEWS = ThreadLocal.withInitial(FileNameView::new);
+
+    private static final FileSystem DEFAULT = FileSystems.getDefault();
+
+    private static final boolean UNIX = "/".equals(DEFAULT.getSeparator());
+
+    private String value;
+
+    private int start;
+
+
+    private FileNameView() {}
+
+
+    /**
+     * Returns the name of the given file.
+     *
+     * @param file the file whose name is requested; must have a name.
+     * @return the name, either as a string or as this thread's view.
+     */
+    static CharSequence of(final Path file)
+    {
+        if (!UNIX || file.getFileSystem() != DEFAULT)
+        {
+            return file.getFileName().toString();
+        }
+
+        final FileNameView view = VIEWS.get();
+        view.value = file.toString();
+        view.start = view.value.lastIndexOf('/') + 1;
+        return view;
+    }
+
+
+    @Override
+    public int length()
+    {
+        return this.value.length() - this.start;
+    }
+
+
+    @Override
+    public char charAt(final int index)
+    {
+        return this.value.charAt(this.start + index);
+    }
+
+
+    @Override
+    public CharSequence subSequence(final int start, final int end)
+    {
+        return this.value.substring(this.start + start, this.start + end);
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return this.value.substring(this.start);
+    }
+}
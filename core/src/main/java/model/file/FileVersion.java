@@ -0,0 +1,29 @@
+package model.file;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Identifies a version of a file by its path, its file system key, its modification time and its size. Any modification or
+ * replacement of the file yields a different version, so results derived from the content or attributes of a file may be cached
+ * by its version.
+ *
+ * @param path         the path of the file.
+ * @param fileKey      the key uniquely identifying the file on its file system, or {@code null} if not available.
+ * @param modifiedTime the last modification time in milliseconds since the epoch.
+ * @param size         the size in bytes.
+ */
+record FileVersion(Path path, Object fileKey, long modifiedTime, long size)
+{
+    /**
+     * Creates the version of a file from its attributes.
+     *
+     * @param path       the path of the file.
+     * @param attributes the current attributes of the file.
+     * @return the version of the file.
+     */
+    static FileVersion of(final Path path, final BasicFileAttributes attributes)
+    {
+        return new FileVersion(path, attributes.fileKey(), attributes.lastModifiedTime().toMillis(), attributes.size());
+    }
+}
@@ -0,0 +1,241 @@
+package model.file;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An implementation of {@link FileFilterStrategy} that filters file paths based on include and exclude patterns in glob syntax,
+ * as described by {@link FileSystem#getPathMatcher(String)}. Excludes take priority over includes, like in {@link PatternFilterStrategy}.
+ * <br>
+ * Globs without a separator, such as {@code *.txt} or {@code report-??.{pdf,docx}}, are matched against the file name. Globs with a
+ * separator, such as {@code **}{@code /logs/*.log}, are matched against the path relative to the base path, or against the full path
+ * if no base path is set or the file is located elsewhere.
+ * <br>
+ * Extension globs like {@code *.txt} and literal names like {@code Thumbs.db} are answered by hash lookups, only the remaining globs
+ * are compiled into path matchers. The globs are compiled once for every file system the filtered paths belong to, which also
+ * determines whether names are compared case-insensitively, e.g. on Windows.
+ */
+@Data
+public class GlobFilterStrategy implements FileFilterStrategy
+{
+    /**
+     * Characters with a special meaning in a glob.
+     */
+    private static final String METACHARACTERS = "*?[]{}\\";
+
+    /**
+     * A list of globs used to define inclusion criteria for file filtering.
+     * Only file paths matching at least one of the globs in this list will be included.
+     * If no globs are specified, all files are included unless excluded by other criteria.
+     */
+    private List<String> includeGlobs = Collections.emptyList();
+
+    /**
+     * A list of globs used to define exclusion criteria for file filtering.
+     * Any file path that matches at least one of the globs in this list will be excluded.
+     */
+    private List<String> excludeGlobs = Collections.emptyList();
+
+    /**
+     * The path that globs containing a separator are relative to, usually the source path of the procedure, or {@code null}.
+     */
+    private Path basePath;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient Map<FileSystem, CompiledGlobs> includes = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient Map<FileSystem, CompiledGlobs> excludes = new ConcurrentHashMap<>();
+
+
+    /**
+     * Sets the include globs. Later modifications of the given list are not taken into account.
+     *
+     * @param includeGlobs the globs of which at least one must match an accepted file.
+     */
+    public void setIncludeGlobs(final List<String> includeGlobs)
+    {
+        this.includeGlobs = List.copyOf(includeGlobs);
+        this.includes.clear();
+    }
+
+
+    /**
+     * Sets the exclude globs. Later modifications of the given list are not taken into account.
+     *
+     * @param excludeGlobs the globs of which none may match an accepted file.
+     */
+    public void setExcludeGlobs(final List<String> excludeGlobs)
+    {
+        this.excludeGlobs = List.copyOf(excludeGlobs);
+        this.excludes.clear();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path file)
+    {
+        final FileSystem fileSystem = file.getFileSystem();
+
+        // Exclude has priority
+        if (!this.excludeGlobs.isEmpty()
+                && this.excludes.computeIfAbsent(fileSystem, key -> CompiledGlobs.compile(key, this.excludeGlobs)).matches(file, this.basePath))
+        {
+            return false;
+        }
+
+        // Always allow if include globs are empty, match otherwise
+        return this.includeGlobs.isEmpty()
+                || this.includes.computeIfAbsent(fileSystem, key -> CompiledGlobs.compile(key, this.includeGlobs)).matches(file, this.basePath);
+    }
+
+
+    /**
+     * A list of globs compiled for a single file system.
+     */
+    private static final class CompiledGlobs
+    {
+        private final boolean ignoreCase;
+
+        private final Set<String> names;
+
+        private final Set<String> suffixes;
+
+        private final List<PathMatcher> nameMatchers;
+
+        private final List<PathMatcher> pathMatchers;
+
+
+        private CompiledGlobs(final boolean ignoreCase, final Set<String> names, final Set<String> suffixes,
+                              final List<PathMatcher> nameMatchers, final List<PathMatcher> pathMatchers)
+        {
+            this.ignoreCase = ignoreCase;
+            this.names = names;
+            this.suffixes = suffixes;
+            this.nameMatchers = nameMatchers;
+            this.pathMatchers = pathMatchers;
+        }
+
+
+        private static CompiledGlobs compile(final FileSystem fileSystem, final List<String> globs)
+        {
+            // Glob matching follows the case sensitivity of the file system
+            final boolean ignoreCase = fileSystem.getPathMatcher("glob:A").matches(fileSystem.getPath("a"));
+            final Set<String> names = new HashSet<>();
+            final Set<String> suffixes = new HashSet<>();
+            final List<PathMatcher> nameMatchers = new ArrayList<>();
+            final List<PathMatcher> pathMatchers = new ArrayList<>();
+            for (final String glob : globs)
+            {
+                if (glob.contains(fileSystem.getSeparator()) || glob.contains("/"))
+                {
+                    pathMatchers.add(fileSystem.getPathMatcher("glob:" + glob));
+                }
+                else if (isLiteral(glob))
+                {
+                    names.add(ignoreCase ? glob.toLowerCase(Locale.ROOT) : glob);
+                }
+                else if (glob.startsWith("*.") && isLiteral(glob.substring(1)))
+                {
+                    final String suffix = glob.substring(1);
+                    suffixes.add(ignoreCase ? suffix.toLowerCase(Locale.ROOT) : suffix);
+                }
+                else
+                {
+                    nameMatchers.add(fileSystem.getPathMatcher("glob:" + glob));
+                }
+            }
+            return new CompiledGlobs(ignoreCase, Set.copyOf(names), Set.copyOf(suffixes), List.copyOf(nameMatchers), List.copyOf(pathMatchers));
+        }
+
+
+        private boolean matches(final Path file, final Path basePath)
+        {
+            final Path fileName = file.getFileName();
+            if (fileName != null && this.matchesName(fileName))
+            {
+                return true;
+            }
+            if (this.pathMatchers.isEmpty())
+            {
+                return false;
+            }
+
+            final Path path = basePath != null && file.startsWith(basePath) ? basePath.relativize(file) : file;
+            for (final PathMatcher matcher : this.pathMatchers)
+            {
+                if (matcher.matches(path))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+
+        private boolean matchesName(final Path fileName)
+        {
+            final String name = this.ignoreCase ? fileName.toString().toLowerCase(Locale.ROOT) : fileName.toString();
+            if (this.names.contains(name))
+            {
+                return true;
+            }
+            if (!this.suffixes.isEmpty())
+            {
+                for (int dot = name.indexOf('.'); dot >= 0; dot = name.indexOf('.', dot + 1))
+                {
+                    if (this.suffixes.contains(name.substring(dot)))
+                    {
+                        return true;
+                    }
+                }
+            }
+            for (final PathMatcher matcher : this.nameMatchers)
+            {
+                if (matcher.matches(fileName))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+
+        private static boolean isLiteral(final String glob)
+        {
+            for (int i = 0; i < glob.length(); i++)
+            {
+                if (METACHARACTERS.indexOf(glob.charAt(i)) >= 0)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package model.file;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Searches a byte sequence with the Boyer-Moore-Horspool algorithm. After a mismatch, the window is shifted by the distance of the
+ * last byte of the window from the end of the needle, which skips most of the haystack for all but very short needles.
+ * Instances are immutable and may be shared between threads.
+ */
+final class HorspoolSearch
+{
+    private final byte[] needle;
+
+    private final int[] shifts = new int[256];
+
+
+    /**
+     * Prepares a search for the given needle.
+     *
+     * @param needle the bytes to be searched for.
+     */
+    HorspoolSearch(final byte[] needle)
+    {
+        this.needle = needle.clone();
+        final int last = needle.length - 1;
+        Arrays.fill(this.shifts, needle.length);
+        for (int i = 0; i < last; i++)
+        {
+            this.shifts[needle[i] & 0xFF] = last - i;
+        }
+    }
+
+
+    /**
+     * Returns the length of the needle.
+     *
+     * @return the number of bytes searched for.
+     */
+    int length()
+    {
+        return this.needle.length;
+    }
+
+
+    /**
+     * Returns the index of the first occurrence of the needle within the given range of the haystack.
+     *
+     * @param haystack the buffer to be searched, using absolute indices; its position and limit are not modified.
+     * @param from     the first index of the range, inclusive.
+     * @param to       the last index of the range, exclusive.
+     * @return the index of the first occurrence, or {@code -1} if the range does not contain the needle.
+     */
+    int indexOf(final ByteBuffer haystack, final int from, final int to)
+    {
+        final int last = this.needle.length - 1;
+        int index = from;
+        while (index + last < to)
+        {
+            int i = last;
+            while (i >= 0 && haystack.get(index + i) == this.needle[i])
+            {
+                i--;
+            }
+            if (i < 0)
+            {
+                return index;
+            }
+            index += this.shifts[haystack.get(index + last) & 0xFF];
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,146 @@
+package model.file;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Excludes files and directories listed in hierarchical ignore files, {@value #DEFAULT_FILE_NAME} by default, which follow the
+ * semantics of {@code .gitignore} files. An ignore file applies to the directory it is located in and to all of its subdirectories,
+ * so teams can opt subtrees out of procedures without touching the procedure configuration.
+ * <br>
+ * The strategy is both a {@link DirectoryFilterStrategy} and a {@link FileFilterStrategy} and is meant to be used as both: as the
+ * directory filter of a recursive discovery it prunes ignored directories before they are listed, as a file filter it rejects the
+ * ignored files within the remaining directories. Files below an ignored directory are rejected as well, so the file filter alone
+ * is correct too, e.g. for flat discoveries and the watch mode. The ignore files themselves are rejected, so procedures never move
+ * or delete them.
+ * <br>
+ * The rules in effect for a directory are compiled once and cached, composed of its own ignore file and the cached rules of its
+ * parent. Only ignore files at or below the source path are read. Changes to ignore files are picked up by a new instance or after
+ * {@link #setSourcePath(Path)} or {@link #setFileName(String)} was called.
+ */
+@Data
+public class IgnoreFileFilterStrategy implements DirectoryFilterStrategy, FileFilterStrategy
+{
+    /**
+     * The default name of ignore files.
+     */
+    public static final String DEFAULT_FILE_NAME = ".fileflowignore";
+
+    /**
+     * The topmost directory whose ignore file is read, usually the source path of the procedure.
+     * Files outside of it are always accepted.
+     */
+    private Path sourcePath;
+
+    /**
+     * The name of ignore files.
+     */
+    private String fileName = DEFAULT_FILE_NAME;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient Map<Path, IgnoreRules> rules = new ConcurrentHashMap<>();
+
+
+    /**
+     * Sets the source path and discards all cached rules.
+     *
+     * @param sourcePath the topmost directory whose ignore file is read.
+     */
+    public void setSourcePath(final Path sourcePath)
+    {
+        this.sourcePath = sourcePath;
+        this.rules.clear();
+    }
+
+
+    /**
+     * Sets the name of ignore files and discards all cached rules.
+     *
+     * @param fileName the name of ignore files.
+     */
+    public void setFileName(final String fileName)
+    {
+        this.fileName = fileName;
+        this.rules.clear();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path directory, final BasicFileAttributes attributes)
+    {
+        final Path parent = directory.getParent();
+        if (parent == null || !this.isInSource(directory) || directory.equals(this.sourcePath))
+        {
+            return true;
+        }
+
+        final IgnoreRules rules = this.rulesOf(parent);
+        return !rules.isIgnored() && !rules.isIgnored(directory, true);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path file)
+    {
+        final Path parent = file.getParent();
+        if (parent == null || !this.isInSource(parent))
+        {
+            return true;
+        }
+
+        final IgnoreRules rules = this.rulesOf(parent);
+        return !rules.isIgnored() && !rules.isIgnored(file, false) && !file.getFileName().toString().equals(this.fileName);
+    }
+
+
+    private boolean isInSource(final Path path)
+    {
+        return this.sourcePath != null && path.startsWith(this.sourcePath);
+    }
+
+
+    /**
+     * Returns the cached rules in effect for the given directory within the source path, reading the ignore files of the directory
+     * and of all of its ancestors that were not read yet.
+     */
+    private IgnoreRules rulesOf(final Path directory)
+    {
+        final IgnoreRules cached = this.rules.get(directory);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        final IgnoreRules parent = directory.equals(this.sourcePath) ? IgnoreRules.NONE : this.rulesOf(directory.getParent());
+        try
+        {
+            final IgnoreRules rules = IgnoreRules.read(parent, directory, this.fileName);
+            final IgnoreRules previous = this.rules.putIfAbsent(directory, rules);
+            return previous != null ? previous : rules;
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
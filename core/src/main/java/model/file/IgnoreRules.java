@@ -0,0 +1,274 @@
+package model.file;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The ignore rules in effect for a single directory: the rules of its own ignore file, if any, composed with the rules inherited
+ * from its parent directory. Each ignore file is parsed and compiled once; the inherited rules are referenced, not copied.
+ * <br>
+ * The rules follow the semantics of {@code .gitignore} files. Rules without a slash match the name of a file or directory at any
+ * level below the ignore file, rules with a leading or inner slash match the path relative to the directory of the ignore file.
+ * {@code *}, {@code ?} and {@code [...]} do not match a slash, {@code **} matches any number of directories. A trailing slash
+ * restricts a rule to directories and a leading {@code !} re-includes what an earlier rule excluded. The last matching rule wins,
+ * and rules of deeper ignore files take precedence over the rules of their ancestors.
+ */
+final class IgnoreRules
+{
+    /**
+     * Characters with a special meaning in a regular expression outside a character class.
+     */
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    /**
+     * The rules of a directory without any ignore file in it or above it.
+     */
+    static final IgnoreRules NONE = new IgnoreRules(null, null, List.of(), false);
+
+    private final IgnoreRules parent;
+
+    /**
+     * The directory the own rules are relative to.
+     */
+    private final Path directory;
+
+    private final List<Rule> rules;
+
+    private final boolean ignored;
+
+
+    private IgnoreRules(final IgnoreRules parent, final Path directory, final List<Rule> rules, final boolean ignored)
+    {
+        this.parent = parent;
+        this.directory = directory;
+        this.rules = rules;
+        this.ignored = ignored;
+    }
+
+
+    /**
+     * Reads the rules for the given directory, composing the ignore file located in it with the rules of its parent directory.
+     *
+     * @param parent     the rules in effect for the parent directory.
+     * @param directory  the directory whose ignore file is read.
+     * @param fileName   the name of ignore files.
+     * @return the rules in effect for the directory.
+     * @throws IOException if the ignore file exists but cannot be read.
+     */
+    static IgnoreRules read(final IgnoreRules parent, final Path directory, final String fileName) throws IOException
+    {
+        final boolean ignored = parent.isIgnored() || parent.isIgnored(directory, true);
+        final List<String> lines;
+        try
+        {
+            lines = ignored ? List.of() : Files.readAllLines(directory.resolve(fileName), StandardCharsets.UTF_8);
+        }
+        catch (final NoSuchFileException exception)
+        {
+            return parent.ignored == ignored ? parent : new IgnoreRules(parent, parent.directory, List.of(), ignored);
+        }
+
+        final List<Rule> rules = new ArrayList<>(lines.size());
+        for (final String line : lines)
+        {
+            final Rule rule = Rule.parse(line);
+            if (rule != null)
+            {
+                rules.add(rule);
+            }
+        }
+        return rules.isEmpty() && parent.ignored == ignored ? parent : new IgnoreRules(parent, directory, List.copyOf(rules), ignored);
+    }
+
+
+    /**
+     * Returns whether the directory these rules belong to, or any directory above it, is ignored.
+     *
+     * @return {@code true} if everything in the directory is ignored.
+     */
+    boolean isIgnored()
+    {
+        return this.ignored;
+    }
+
+
+    /**
+     * Returns whether the given entry of the directory these rules belong to is ignored, not taking ignored ancestors into account.
+     *
+     * @param path        the file or directory to be evaluated.
+     * @param isDirectory whether the path is a directory.
+     * @return {@code true} if the last matching rule excludes the path.
+     */
+    boolean isIgnored(final Path path, final boolean isDirectory)
+    {
+        for (IgnoreRules rules = this; rules != null; rules = rules.parent)
+        {
+            if (rules.rules.isEmpty())
+            {
+                continue;
+            }
+
+            final Path relative = rules.directory.relativize(path);
+            final String relativePath = relative.getNameCount() == 1 ? relative.toString() : String.join("/", names(relative));
+            final String name = path.getFileName().toString();
+            for (int i = rules.rules.size() - 1; i >= 0; i--)
+            {
+                final Rule rule = rules.rules.get(i);
+                if ((!rule.directoryOnly() || isDirectory) && rule.pattern().matcher(rule.anchored() ? relativePath : name).matches())
+                {
+                    return !rule.negated();
+                }
+            }
+        }
+        return false;
+    }
+
+
+    private static List<String> names(final Path path)
+    {
+        final List<String> names = new ArrayList<>(path.getNameCount());
+        for (final Path name : path)
+        {
+            names.add(name.toString());
+        }
+        return names;
+    }
+
+
+    /**
+     * A single line of an ignore file.
+     *
+     * @param pattern       the compiled pattern.
+     * @param anchored      whether the pattern is matched against the relative path instead of the name.
+     * @param directoryOnly whether the rule applies to directories only.
+     * @param negated       whether a matching path is re-included.
+     */
+    private record Rule(Pattern pattern, boolean anchored, boolean directoryOnly, boolean negated)
+    {
+        /**
+         * Parses a line of an ignore file, or returns {@code null} for blank lines and comments.
+         */
+        private static Rule parse(final String line)
+        {
+            String glob = stripTrailingSpaces(line);
+            if (glob.isEmpty() || glob.startsWith("#"))
+            {
+                return null;
+            }
+
+            final boolean negated = glob.startsWith("!");
+            if (negated)
+            {
+                glob = glob.substring(1);
+            }
+            final boolean directoryOnly = glob.endsWith("/");
+            if (directoryOnly)
+            {
+                glob = glob.substring(0, glob.length() - 1);
+            }
+            final boolean anchored = glob.contains("/");
+            if (glob.startsWith("/"))
+            {
+                glob = glob.substring(1);
+            }
+            return glob.isEmpty() ? null : new Rule(Pattern.compile(toRegex(glob)), anchored, directoryOnly, negated);
+        }
+
+
+        private static String stripTrailingSpaces(final String line)
+        {
+            int end = line.length();
+            while (end > 0 && line.charAt(end - 1) == ' ' && (end < 2 || line.charAt(end - 2) != '\\'))
+            {
+                end--;
+            }
+            return line.substring(0, end);
+        }
+
+
+        private static String toRegex(final String glob)
+        {
+            final StringBuilder regex = new StringBuilder(glob.length() * 2);
+            for (int i = 0; i < glob.length(); i++)
+            {
+                final char c = glob.charAt(i);
+                switch (c)
+                {
+                    case '*' ->
+                    {
+                        final boolean doubleStar = i + 1 < glob.length() && glob.charAt(i + 1) == '*'
+                                && (i == 0 || glob.charAt(i - 1) == '/');
+                        if (doubleStar && i + 2 == glob.length())
+                        {
+                            regex.append(".*");
+                            i++;
+                        }
+                        else if (doubleStar && glob.charAt(i + 2) == '/')
+                        {
+                            regex.append("(?:.*/)?");
+                            i += 2;
+                        }
+                        else
+                        {
+                            regex.append("[^/]*");
+                        }
+                    }
+                    case '?' -> regex.append("[^/]");
+                    case '[' ->
+                    {
+                        int start = i + 1;
+                        final boolean negated = start < glob.length() && (glob.charAt(start) == '!' || glob.charAt(start) == '^');
+                        if (negated)
+                        {
+                            start++;
+                        }
+                        // A closing bracket right after the opening one is a member
+                        final int end = glob.indexOf(']', start + 1);
+                        if (end < 0)
+                        {
+                            regex.append("\\[");
+                            continue;
+                        }
+                        regex.append(negated ? "[^" : "[");
+                        for (int j = start; j < end; j++)
+                        {
+                            final char member = glob.charAt(j);
+                            if ("\\[]&^".indexOf(member) >= 0)
+                            {
+                                regex.append('\\');
+                            }
+                            regex.append(member);
+                        }
+                        regex.append(']');
+                        i = end;
+                    }
+                    case '\\' ->
+                    {
+                        if (i + 1 < glob.length())
+                        {
+                            appendLiteral(regex, glob.charAt(++i));
+                        }
+                    }
+                    default -> appendLiteral(regex, c);
+                }
+            }
+            return regex.toString();
+        }
+
+
+        private static void appendLiteral(final StringBuilder regex, final char c)
+        {
+            if (METACHARACTERS.indexOf(c) >= 0)
+            {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+    }
+}
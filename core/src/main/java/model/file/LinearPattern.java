@@ -0,0 +1,918 @@
+package model.file;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A set of regular expressions compiled into a single nondeterministic automaton, answering whether a string fully matches any
+ * of them in time linear in the length of the string.
+ * <br>
+ * {@link Pattern} matches by backtracking, which takes exponential time for patterns like {@code (a+)+b} on unfortunate input.
+ * This matcher instead simulates the automaton on all alternatives at once, in the manner of Thompson and Pike, so every
+ * character of the input is looked at once per automaton state at most. The price is a restricted syntax: back references,
+ * lookaround, atomic groups, possessive quantifiers, boundaries and inline flags are not supported, nor are the flags
+ * {@link Pattern#COMMENTS} and {@link Pattern#CANON_EQ}. Anchors are only supported at the very start and end of a pattern,
+ * where they are redundant for a full match. Unsupported patterns are rejected by {@link #compile(List)}.
+ * <br>
+ * Constructs matching a single character, such as literals, {@code .}, character classes and property escapes, are compiled
+ * by {@link Pattern} itself with the flags of the pattern, so they behave exactly like they do there.
+ * <br>
+ * Matching does not allocate: every thread reuses its own state sets and matchers.
+ */
+final class LinearPattern
+{
+    /**
+     * The maximum number of automaton states per pattern, which limits the expansion of counted repetitions like {@code a{1000}}.
+     */
+    private static final int MAX_STATES = 10_000;
+
+    /**
+     * The flags supported in addition to the ones that only affect single characters or anchors.
+     */
+    private static final int SUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL | Pattern.LITERAL
+            | Pattern.MULTILINE | Pattern.UNIX_LINES | Pattern.UNICODE_CHARACTER_CLASS;
+
+    /**
+     * Consumes a character matching the character class of the state and continues with the next state.
+     */
+    private static final byte CHARACTER = 0;
+
+    /**
+     * Continues with both the target state and the alternative state.
+     */
+    private static final byte SPLIT = 1;
+
+    /**
+     * Continues with the target state.
+     */
+    private static final byte JUMP = 2;
+
+    /**
+     * Accepts the input if it is exhausted.
+     */
+    private static final byte MATCH = 3;
+
+    private final byte[] operations;
+
+    private final int[] targets;
+
+    private final int[] alternatives;
+
+    private final CharacterClass[] classes;
+
+    private final ThreadLocal<Scratch> scratch;
+
+
+    private LinearPattern(final byte[] operations, final int[] targets, final int[] alternatives, final CharacterClass[] classes,
+                          final int classCount)
+    {
+        this.operations = operations;
+        this.targets = targets;
+        this.alternatives = alternatives;
+        this.classes = classes;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(operations.length, classCount));
+    }
+
+
+    /**
+     * Compiles the given patterns into a single automaton.
+     *
+     * @param patterns the patterns to be combined; may be empty.
+     * @return a matcher equivalent to testing {@link Pattern#matcher(CharSequence)}{@code .matches()} for each pattern.
+     * @throws IllegalArgumentException if any pattern uses a construct that cannot be matched in linear time.
+     */
+    static LinearPattern compile(final List<Pattern> patterns)
+    {
+        final Compiler compiler = new Compiler();
+        final List<String> unsupported = new ArrayList<>();
+        for (final Pattern pattern : patterns)
+        {
+            try
+            {
+                compiler.add(pattern);
+            }
+            catch (final IllegalArgumentException exception)
+            {
+                unsupported.add(exception.getMessage());
+            }
+        }
+        if (!unsupported.isEmpty())
+        {
+            throw new IllegalArgumentException("Patterns not supported by the linear matching engine: " + String.join("; ", unsupported));
+        }
+        return compiler.build();
+    }
+
+
+    /**
+     * Returns whether the given pattern can be compiled into a linear automaton.
+     *
+     * @param pattern the pattern to be checked.
+     * @return {@code true} if {@link #compile(List)} accepts the pattern.
+     */
+    static boolean isSupported(final Pattern pattern)
+    {
+        try
+        {
+            new Compiler().add(pattern);
+            return true;
+        }
+        catch (final IllegalArgumentException exception)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * Returns whether the given string fully matches any of the compiled patterns.
+     *
+     * @param input the string to be matched.
+     * @return {@code true} if at least one pattern matches.
+     */
+    boolean matches(final CharSequence input)
+    {
+        if (this.operations.length == 0)
+        {
+            return false;
+        }
+
+        final Scratch scratch = this.scratch.get();
+        StateSet current = scratch.current.clear();
+        StateSet next = scratch.next;
+        final int[] stack = scratch.stack;
+        this.addState(current, 0, stack);
+        for (int i = 0; i < input.length() && !current.isEmpty(); )
+        {
+            final int codePoint = Character.codePointAt(input, i);
+            i += Character.charCount(codePoint);
+
+            next.clear();
+            for (int j = 0; j < current.size(); j++)
+            {
+                final int state = current.get(j);
+                if (this.operations[state] == CHARACTER && this.classes[state].matches(codePoint, scratch))
+                {
+                    this.addState(next, state + 1, stack);
+                }
+            }
+            final StateSet swap = current;
+            current = next;
+            next = swap;
+        }
+
+        for (int j = 0; j < current.size(); j++)
+        {
+            if (this.operations[current.get(j)] == MATCH)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Adds the given state and all states reachable from it without consuming a character to the given set.
+     */
+    private void addState(final StateSet states, final int initial, final int[] stack)
+    {
+        int size = 0;
+        stack[size++] = initial;
+        while (size > 0)
+        {
+            final int state = stack[--size];
+            if (!states.add(state))
+            {
+                continue;
+            }
+            switch (this.operations[state])
+            {
+                case JUMP -> stack[size++] = this.targets[state];
+                case SPLIT ->
+                {
+                    stack[size++] = this.alternatives[state];
+                    stack[size++] = this.targets[state];
+                }
+                default ->
+                {
+                    // Characters and matches are waiting for input
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A set of states with constant time insertion, lookup and clearing, see Briggs and Torczon.
+     */
+    private static final class StateSet
+    {
+        private final int[] dense;
+
+        private final int[] sparse;
+
+        private int size;
+
+
+        private StateSet(final int capacity)
+        {
+            this.dense = new int[capacity];
+            this.sparse = new int[capacity];
+        }
+
+
+        private boolean add(final int state)
+        {
+            final int index = this.sparse[state];
+            if (index < this.size && this.dense[index] == state)
+            {
+                return false;
+            }
+            this.sparse[state] = this.size;
+            this.dense[this.size++] = state;
+            return true;
+        }
+
+
+        private int get(final int index)
+        {
+            return this.dense[index];
+        }
+
+
+        private int size()
+        {
+            return this.size;
+        }
+
+
+        private boolean isEmpty()
+        {
+            return this.size == 0;
+        }
+
+
+        private StateSet clear()
+        {
+            this.size = 0;
+            return this;
+        }
+    }
+
+
+    /**
+     * The mutable state of a match, reused by all matches on the same thread.
+     */
+    private static final class Scratch
+    {
+        private final StateSet current;
+
+        private final StateSet next;
+
+        /**
+         * The pending states of {@link #addState(StateSet, int, int[])}. Every state is added once and pushes at most two successors.
+         */
+        private final int[] stack;
+
+        /**
+         * The matchers of the character classes by their ids, created on the first character beyond ASCII.
+         */
+        private final Matcher[] matchers;
+
+        private final CodePoint codePoint = new CodePoint();
+
+
+        private Scratch(final int states, final int classes)
+        {
+            this.current = new StateSet(states);
+            this.next = new StateSet(states);
+            this.stack = new int[2 * states + 1];
+            this.matchers = new Matcher[classes];
+        }
+    }
+
+
+    /**
+     * A character sequence consisting of a single code point.
+     */
+    private static final class CodePoint implements CharSequence
+    {
+        private final char[] chars = new char[2];
+
+        private int length;
+
+
+        private CodePoint set(final int codePoint)
+        {
+            this.length = Character.toChars(codePoint, this.chars, 0);
+            return this;
+        }
+
+
+        @Override
+        public int length()
+        {
+            return this.length;
+        }
+
+
+        @Override
+        public char charAt(final int index)
+        {
+            return this.chars[index];
+        }
+
+
+        @Override
+        public CharSequence subSequence(final int start, final int end)
+        {
+            return new String(this.chars, start, end - start);
+        }
+
+
+        @Override
+        public String toString()
+        {
+            return new String(this.chars, 0, this.length);
+        }
+    }
+
+
+    /**
+     * A construct matching a single character. ASCII characters are looked up in a bit mask, all others are matched by the
+     * pattern compiled from the construct.
+     */
+    private static final class CharacterClass
+    {
+        private final long low;
+
+        private final long high;
+
+        private final Pattern pattern;
+
+        /**
+         * The index of the matcher of this class in the {@link Scratch} of a thread.
+         */
+        private final int id;
+
+
+        private CharacterClass(final String regex, final int flags, final int id)
+        {
+            this.pattern = Pattern.compile(regex, flags);
+            this.id = id;
+            long low = 0;
+            long high = 0;
+            for (int c = 0; c < 128; c++)
+            {
+                if (this.pattern.matcher(String.valueOf((char) c)).matches())
+                {
+                    if (c < 64)
+                    {
+                        low |= 1L << c;
+                    }
+                    else
+                    {
+                        high |= 1L << c;
+                    }
+                }
+            }
+            this.low = low;
+            this.high = high;
+        }
+
+
+        private boolean matches(final int codePoint, final Scratch scratch)
+        {
+            if (codePoint < 64)
+            {
+                return (this.low & 1L << codePoint) != 0;
+            }
+            if (codePoint < 128)
+            {
+                return (this.high & 1L << codePoint) != 0;
+            }
+            Matcher matcher = scratch.matchers[this.id];
+            if (matcher == null)
+            {
+                matcher = this.pattern.matcher(scratch.codePoint);
+                scratch.matchers[this.id] = matcher;
+            }
+            return matcher.reset(scratch.codePoint.set(codePoint)).matches();
+        }
+    }
+
+
+    /**
+     * Parses patterns into syntax trees and emits the states of the combined automaton.
+     * <br>
+     * Every pattern becomes one branch of a chain of splits at the start of the automaton and ends in its own match state.
+     */
+    private static final class Compiler
+    {
+        private final List<Byte> operations = new ArrayList<>();
+
+        private final List<Integer> targets = new ArrayList<>();
+
+        private final List<Integer> alternatives = new ArrayList<>();
+
+        private final List<CharacterClass> classes = new ArrayList<>();
+
+        private final Map<String, CharacterClass> cache = new HashMap<>();
+
+        private final List<Node> branches = new ArrayList<>();
+
+        private final List<Integer> flags = new ArrayList<>();
+
+
+        private void add(final Pattern pattern)
+        {
+            if ((pattern.flags() & ~SUPPORTED_FLAGS) != 0)
+            {
+                throw unsupported(pattern, "flags " + pattern.flags());
+            }
+
+            final Node node = new Parser(pattern).parse();
+            if (node.size() > MAX_STATES)
+            {
+                throw unsupported(pattern, "more than " + MAX_STATES + " states");
+            }
+            this.branches.add(node);
+            this.flags.add(pattern.flags() & ~Pattern.LITERAL & ~Pattern.MULTILINE);
+        }
+
+
+        private LinearPattern build()
+        {
+            for (int i = 0; i < this.branches.size(); i++)
+            {
+                final int split = i + 1 < this.branches.size() ? this.emit(SPLIT, null) : -1;
+                this.emit(this.branches.get(i), this.flags.get(i));
+                this.emit(MATCH, null);
+                if (split >= 0)
+                {
+                    this.patch(split, split + 1, this.operations.size());
+                }
+            }
+
+            final byte[] operations = new byte[this.operations.size()];
+            for (int i = 0; i < operations.length; i++)
+            {
+                operations[i] = this.operations.get(i);
+            }
+            return new LinearPattern(operations, this.targets.stream().mapToInt(Integer::intValue).toArray(),
+                    this.alternatives.stream().mapToInt(Integer::intValue).toArray(), this.classes.toArray(CharacterClass[]::new),
+                    this.cache.size());
+        }
+
+
+        private void emit(final Node node, final int flags)
+        {
+            switch (node)
+            {
+                case Node.Atom atom -> this.emit(CHARACTER, this.cache.computeIfAbsent(flags + ":" + atom.regex(),
+                        key -> new CharacterClass(atom.regex(), flags, this.cache.size())));
+                case Node.Sequence sequence -> sequence.nodes().forEach(child -> this.emit(child, flags));
+                case Node.Alternation alternation ->
+                {
+                    final List<Integer> jumps = new ArrayList<>();
+                    for (int i = 0; i < alternation.nodes().size(); i++)
+                    {
+                        final boolean last = i + 1 == alternation.nodes().size();
+                        final int split = last ? -1 : this.emit(SPLIT, null);
+                        this.emit(alternation.nodes().get(i), flags);
+                        if (!last)
+                        {
+                            jumps.add(this.emit(JUMP, null));
+                            this.patch(split, split + 1, this.operations.size());
+                        }
+                    }
+                    jumps.forEach(jump -> this.patch(jump, this.operations.size(), 0));
+                }
+                case Node.Repetition repetition ->
+                {
+                    for (int i = 0; i < repetition.min(); i++)
+                    {
+                        this.emit(repetition.node(), flags);
+                    }
+                    if (repetition.max() < 0)
+                    {
+                        // Loop: split into the body or past it, the body jumps back to the split
+                        final int split = this.emit(SPLIT, null);
+                        this.emit(repetition.node(), flags);
+                        this.patch(this.emit(JUMP, null), split, 0);
+                        this.patch(split, split + 1, this.operations.size());
+                        return;
+                    }
+                    final List<Integer> splits = new ArrayList<>();
+                    for (int i = repetition.min(); i < repetition.max(); i++)
+                    {
+                        splits.add(this.emit(SPLIT, null));
+                        this.emit(repetition.node(), flags);
+                    }
+                    splits.forEach(split -> this.patch(split, split + 1, this.operations.size()));
+                }
+            }
+        }
+
+
+        private int emit(final byte operation, final CharacterClass characterClass)
+        {
+            this.operations.add(operation);
+            this.targets.add(0);
+            this.alternatives.add(0);
+            this.classes.add(characterClass);
+            return this.operations.size() - 1;
+        }
+
+
+        private void patch(final int state, final int target, final int alternative)
+        {
+            this.targets.set(state, target);
+            this.alternatives.set(state, alternative);
+        }
+    }
+
+
+    private static IllegalArgumentException unsupported(final Pattern pattern, final String reason)
+    {
+        return new IllegalArgumentException("'" + pattern.pattern() + "' uses " + reason);
+    }
+
+
+    /**
+     * The syntax tree of a pattern.
+     */
+    private sealed interface Node
+    {
+        /**
+         * Returns the number of automaton states the node is compiled into.
+         */
+        int size();
+
+
+        /**
+         * A construct matching a single character, given as a regular expression.
+         */
+        record Atom(String regex) implements Node
+        {
+            @Override
+            public int size()
+            {
+                return 1;
+            }
+        }
+
+        record Sequence(List<Node> nodes) implements Node
+        {
+            @Override
+            public int size()
+            {
+                return this.nodes.stream().mapToInt(Node::size).sum();
+            }
+        }
+
+        record Alternation(List<Node> nodes) implements Node
+        {
+            @Override
+            public int size()
+            {
+                return this.nodes.stream().mapToInt(Node::size).sum() + 2 * (this.nodes.size() - 1);
+            }
+        }
+
+        /**
+         * Repeats a node between {@code min} and {@code max} times, or at least {@code min} times if {@code max} is negative.
+         */
+        record Repetition(Node node, int min, int max) implements Node
+        {
+            @Override
+            public int size()
+            {
+                final long size = (long) this.node.size() * this.min + (this.max < 0 ? 2L + this.node.size()
+                        : (long) (this.max - this.min) * (this.node.size() + 1));
+                return (int) Math.min(size, Integer.MAX_VALUE);
+            }
+        }
+    }
+
+
+    /**
+     * A recursive descent parser for the supported subset of the {@link Pattern} syntax.
+     */
+    private static final class Parser
+    {
+        private final Pattern pattern;
+
+        private final String regex;
+
+        private int position;
+
+
+        private Parser(final Pattern pattern)
+        {
+            this.pattern = pattern;
+            this.regex = pattern.pattern();
+        }
+
+
+        private Node parse()
+        {
+            if ((this.pattern.flags() & Pattern.LITERAL) != 0)
+            {
+                final List<Node> nodes = new ArrayList<>();
+                this.regex.codePoints().forEach(codePoint -> nodes.add(new Node.Atom(Pattern.quote(Character.toString(codePoint)))));
+                return new Node.Sequence(nodes);
+            }
+
+            // Anchors at the very start and end are redundant for a full match
+            if (this.regex.startsWith("^"))
+            {
+                this.position++;
+            }
+            final Node node = this.parseAlternation();
+            if (this.position < this.regex.length())
+            {
+                if (this.position == this.regex.length() - 1 && this.regex.charAt(this.position) == '$')
+                {
+                    return node;
+                }
+                throw this.unsupported(this.regex.charAt(this.position) == ')' ? "an unbalanced parenthesis" : "an anchor");
+            }
+            return node;
+        }
+
+
+        private Node parseAlternation()
+        {
+            final List<Node> nodes = new ArrayList<>();
+            nodes.add(this.parseSequence());
+            while (this.position < this.regex.length() && this.regex.charAt(this.position) == '|')
+            {
+                this.position++;
+                nodes.add(this.parseSequence());
+            }
+            return nodes.size() == 1 ? nodes.getFirst() : new Node.Alternation(nodes);
+        }
+
+
+        private Node parseSequence()
+        {
+            final List<Node> nodes = new ArrayList<>();
+            while (this.position < this.regex.length())
+            {
+                final char c = this.regex.charAt(this.position);
+                if (c == '|' || c == ')' || c == '$' && this.position == this.regex.length() - 1)
+                {
+                    break;
+                }
+                if (c == '\\' && this.regex.startsWith("\\Q", this.position))
+                {
+                    this.parseQuotation(nodes);
+                    continue;
+                }
+                nodes.add(this.parseRepetition(this.parseAtom()));
+            }
+            return nodes.size() == 1 ? nodes.getFirst() : new Node.Sequence(nodes);
+        }
+
+
+        private void parseQuotation(final List<Node> nodes)
+        {
+            final int start = this.position + 2;
+            final int end = this.regex.indexOf("\\E", start);
+            final String quoted = this.regex.substring(start, end < 0 ? this.regex.length() : end);
+            this.position = end < 0 ? this.regex.length() : end + 2;
+            quoted.codePoints().forEach(codePoint -> nodes.add(new Node.Atom(Pattern.quote(Character.toString(codePoint)))));
+
+            // A quantifier applies to the last quoted character only
+            if (!nodes.isEmpty() && !quoted.isEmpty())
+            {
+                nodes.add(this.parseRepetition(nodes.removeLast()));
+            }
+        }
+
+
+        private Node parseAtom()
+        {
+            final int start = this.position;
+            final char c = this.regex.charAt(this.position);
+            switch (c)
+            {
+                case '(' ->
+                {
+                    this.parseGroupStart();
+                    final Node node = this.parseAlternation();
+                    if (this.position >= this.regex.length() || this.regex.charAt(this.position) != ')')
+                    {
+                        throw this.unsupported("an unbalanced parenthesis");
+                    }
+                    this.position++;
+                    return node;
+                }
+                case '[' ->
+                {
+                    this.skipClass();
+                    return new Node.Atom(this.regex.substring(start, this.position));
+                }
+                case '\\' ->
+                {
+                    this.skipEscape();
+                    return new Node.Atom(this.regex.substring(start, this.position));
+                }
+                case '^', '$' -> throw this.unsupported("an anchor");
+                case '*', '+', '?', '{' -> throw this.unsupported("a dangling quantifier");
+                default ->
+                {
+                    this.position += Character.charCount(this.regex.codePointAt(this.position));
+                    return new Node.Atom(this.regex.substring(start, this.position));
+                }
+            }
+        }
+
+
+        private void parseGroupStart()
+        {
+            this.position++;
+            if (!this.regex.startsWith("?", this.position))
+            {
+                return;
+            }
+            if (this.regex.startsWith("?:", this.position))
+            {
+                this.position += 2;
+                return;
+            }
+            if (this.regex.startsWith("?<", this.position) && this.position + 2 < this.regex.length()
+                    && Character.isLetter(this.regex.charAt(this.position + 2)))
+            {
+                this.position = this.regex.indexOf('>', this.position) + 1;
+                return;
+            }
+            throw this.unsupported("lookaround, atomic groups or inline flags");
+        }
+
+
+        private Node parseRepetition(final Node node)
+        {
+            if (this.position >= this.regex.length())
+            {
+                return node;
+            }
+
+            final int min;
+            final int max;
+            switch (this.regex.charAt(this.position))
+            {
+                case '*' ->
+                {
+                    min = 0;
+                    max = -1;
+                    this.position++;
+                }
+                case '+' ->
+                {
+                    min = 1;
+                    max = -1;
+                    this.position++;
+                }
+                case '?' ->
+                {
+                    min = 0;
+                    max = 1;
+                    this.position++;
+                }
+                case '{' ->
+                {
+                    final int end = this.regex.indexOf('}', this.position);
+                    final String[] bounds = this.regex.substring(this.position + 1, end).split(",", -1);
+                    min = Integer.parseInt(bounds[0].strip());
+                    max = bounds.length == 1 ? min : bounds[1].isBlank() ? -1 : Integer.parseInt(bounds[1].strip());
+                    this.position = end + 1;
+                }
+                default ->
+                {
+                    return node;
+                }
+            }
+
+            if (this.position < this.regex.length() && this.regex.charAt(this.position) == '+')
+            {
+                throw this.unsupported("a possessive quantifier");
+            }
+            if (this.position < this.regex.length() && this.regex.charAt(this.position) == '?')
+            {
+                // Reluctant quantifiers match the same strings in a full match
+                this.position++;
+            }
+            final Node repetition = new Node.Repetition(node, min, max);
+            if (repetition.size() > MAX_STATES)
+            {
+                throw this.unsupported("more than " + MAX_STATES + " states");
+            }
+            return this.parseRepetition(repetition);
+        }
+
+
+        /**
+         * Skips a character class including nested classes, intersections, escapes and quotations.
+         */
+        private void skipClass()
+        {
+            int depth = 0;
+            while (this.position < this.regex.length())
+            {
+                final char c = this.regex.charAt(this.position);
+                if (c == '\\')
+                {
+                    if (this.regex.startsWith("\\Q", this.position))
+                    {
+                        final int end = this.regex.indexOf("\\E", this.position + 2);
+                        this.position = end < 0 ? this.regex.length() : end + 2;
+                    }
+                    else
+                    {
+                        this.skipEscape();
+                    }
+                    continue;
+                }
+
+                this.position++;
+                if (c == '[')
+                {
+                    depth++;
+                    // A closing bracket right after the opening one is a member
+                    if (this.regex.startsWith("^", this.position))
+                    {
+                        this.position++;
+                    }
+                    if (this.regex.startsWith("]", this.position))
+                    {
+                        this.position++;
+                    }
+                }
+                else if (c == ']' && --depth == 0)
+                {
+                    return;
+                }
+            }
+        }
+
+
+        /**
+         * Skips an escape sequence matching a single character, or rejects it if it matches anything else.
+         */
+        private void skipEscape()
+        {
+            final char c = this.regex.charAt(this.position + 1);
+            this.position += 2;
+            switch (c)
+            {
+                case 'p', 'P', 'x', 'N' ->
+                {
+                    if (this.regex.startsWith("{", this.position))
+                    {
+                        this.position = this.regex.indexOf('}', this.position) + 1;
+                    }
+                    else
+                    {
+                        this.position += c == 'x' ? 2 : 1;
+                    }
+                }
+                case 'u' -> this.position += 4;
+                case 'c' -> this.position += 1;
+                case '0' ->
+                {
+                    final int limit = this.regex.length() > this.position && this.regex.charAt(this.position) <= '3' ? 3 : 2;
+                    for (int i = 0; i < limit && this.position < this.regex.length()
+                            && this.regex.charAt(this.position) >= '0' && this.regex.charAt(this.position) <= '7'; i++)
+                    {
+                        this.position++;
+                    }
+                }
+                case 'd', 'D', 'w', 'W', 's', 'S', 'h', 'H', 'v', 'V', 't', 'n', 'r', 'f', 'a', 'e' ->
+                {
+                    // A single character
+                }
+                default ->
+                {
+                    if (Character.isLetterOrDigit(c))
+                    {
+                        throw this.unsupported("back references, boundaries or multi-character escapes");
+                    }
+                }
+            }
+        }
+
+
+        private IllegalArgumentException unsupported(final String reason)
+        {
+            return LinearPattern.unsupported(this.pattern, reason + " at index " + this.position);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package model.file;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded cache that evicts the least recently used entries, safe for concurrent use.
+ * <br>
+ * The entries are spread over several independently locked stripes by the hash of their key, so concurrent lookups rarely contend.
+ * Each stripe evicts its own least recently used entry once it holds its share of the capacity. Values are computed outside the
+ * lock, so an expensive computation does not block other lookups, at the risk of computing a value twice.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class LruCache<K, V>
+{
+    private static final int STRIPES = 16;
+
+    private final Stripe<K, V>[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+
+    /**
+     * Creates a new cache holding at most the given number of entries.
+     *
+     * @param capacity the maximum number of entries; must be positive.
+     */
+    @SuppressWarnings("unchecked")
+    LruCache(final int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("The capacity of a cache must be positive: " + capacity);
+        }
+        this.stripes = new Stripe[STRIPES];
+        final int stripeCapacity = Math.max(1, capacity / STRIPES);
+        for (int i = 0; i < STRIPES; i++)
+        {
+            this.stripes[i] = new Stripe<>(stripeCapacity);
+        }
+    }
+
+
+    /**
+     * Returns the value cached for the given key, computing and caching it first if absent.
+     *
+     * @param key      the key of the value.
+     * @param function the function computing the value of an absent key; must not return null.
+     * @return the cached or computed value.
+     */
+    V computeIfAbsent(final K key, final Function<? super K, ? extends V> function)
+    {
+        final Stripe<K, V> stripe = this.stripe(key);
+        V value;
+        synchronized (stripe)
+        {
+            value = stripe.get(key);
+        }
+        if (value != null)
+        {
+            this.hits.increment();
+            return value;
+        }
+
+        this.misses.increment();
+        value = function.apply(key);
+        synchronized (stripe)
+        {
+            stripe.put(key, value);
+        }
+        return value;
+    }
+
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the number of hits.
+     */
+    long getHits()
+    {
+        return this.hits.sum();
+    }
+
+
+    /**
+     * Returns the number of lookups that had to compute the value.
+     *
+     * @return the number of misses.
+     */
+    long getMisses()
+    {
+        return this.misses.sum();
+    }
+
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the current size of the cache.
+     */
+    int size()
+    {
+        int size = 0;
+        for (final Stripe<K, V> stripe : this.stripes)
+        {
+            synchronized (stripe)
+            {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+
+    private Stripe<K, V> stripe(final K key)
+    {
+        final int hash = key.hashCode();
+        return this.stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+
+    /**
+     * A map in access order that removes its eldest entry once it exceeds its capacity.
+     */
+    private static final class Stripe<K, V> extends LinkedHashMap<K, V>
+    {
+        private final int capacity;
+
+
+        private Stripe(final int capacity)
+        {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest)
+        {
+            return this.size() > this.capacity;
+        }
+    }
+}
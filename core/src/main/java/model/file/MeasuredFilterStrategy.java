@@ -0,0 +1,167 @@
+package model.file;
+
+import lombok.Getter;
+import lombok.ToString;
+import model.file.discover.DiscoveredFile;
+
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link FileFilterStrategy} decorator that records how often the decorated filter was evaluated, how many files it accepted and
+ * how much time it took. Composite filters wrap each of their operands in a {@code MeasuredFilterStrategy}, which exposes where the
+ * filter time goes and provides the observed cost and selectivity used for ordering the operands.
+ * <br>
+ * To keep the overhead low for cheap filters, only every {@value #SAMPLE_INTERVAL}th evaluation on average is timed and the total
+ * time is extrapolated from these samples. The counters are safe for concurrent use.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class MeasuredFilterStrategy implements FileFilterStrategy
+{
+    /**
+     * The average number of evaluations per timed evaluation.
+     */
+    private static final int SAMPLE_INTERVAL = 8;
+
+    /**
+     * The decorated filter.
+     */
+    @Getter
+    @ToString.Include
+    private final FileFilterStrategy filter;
+
+    private final transient LongAdder evaluations = new LongAdder();
+
+    private final transient LongAdder accepted = new LongAdder();
+
+    private final transient LongAdder samples = new LongAdder();
+
+    private final transient LongAdder sampledTime = new LongAdder();
+
+
+    /**
+     * Creates a new decorator recording the evaluations of the given filter.
+     *
+     * @param filter the filter to be measured.
+     */
+    public MeasuredFilterStrategy(final FileFilterStrategy filter)
+    {
+        this.filter = filter;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path file)
+    {
+        return this.measure(() -> this.filter.accept(file));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final DiscoveredFile file)
+    {
+        return this.measure(() -> this.filter.accept(file));
+    }
+
+
+    /**
+     * Returns the observed time per evaluation once enough evaluations were timed, or the estimate of the decorated filter before.
+     *
+     * @return the time per evaluation in nanoseconds.
+     */
+    @Override
+    public long estimatedCost()
+    {
+        final long samples = this.samples.sum();
+        return samples < SAMPLE_INTERVAL ? this.filter.estimatedCost() : Math.max(1, this.sampledTime.sum() / samples);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCacheable()
+    {
+        return this.filter.isCacheable();
+    }
+
+
+    /**
+     * Returns the number of times the decorated filter was evaluated.
+     *
+     * @return the number of evaluations.
+     */
+    public long getEvaluations()
+    {
+        return this.evaluations.sum();
+    }
+
+
+    /**
+     * Returns the number of files the decorated filter accepted.
+     *
+     * @return the number of accepted files.
+     */
+    public long getAccepted()
+    {
+        return this.accepted.sum();
+    }
+
+
+    /**
+     * Returns the fraction of evaluated files that were accepted.
+     *
+     * @param prior the fraction returned as long as the filter was not evaluated.
+     * @return the observed acceptance rate between {@code 0} and {@code 1}.
+     */
+    public double getAcceptanceRate(final double prior)
+    {
+        final long evaluations = this.evaluations.sum();
+        return evaluations == 0 ? prior : (double) this.accepted.sum() / evaluations;
+    }
+
+
+    /**
+     * Returns the total time spent evaluating the decorated filter, extrapolated from the timed evaluations.
+     *
+     * @return the total evaluation time in nanoseconds.
+     */
+    public long getTotalTime()
+    {
+        final long samples = this.samples.sum();
+        return samples == 0 ? 0 : (long) ((double) this.sampledTime.sum() / samples * this.evaluations.sum());
+    }
+
+
+    private boolean measure(final BooleanSupplier evaluation)
+    {
+        final boolean result;
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0)
+        {
+            final long start = System.nanoTime();
+            result = evaluation.getAsBoolean();
+            this.sampledTime.add(System.nanoTime() - start);
+            this.samples.increment();
+        }
+        else
+        {
+            result = evaluation.getAsBoolean();
+        }
+
+        this.evaluations.increment();
+        if (result)
+        {
+            this.accepted.increment();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package model.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * An {@link AttributeFilterStrategy} that accepts files whose last modification lies within a fixed period of time.
+ * Use {@link AgeFilterStrategy} for periods relative to the time of the evaluation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class ModifiedTimeFilterStrategy extends AttributeFilterStrategy
+{
+    /**
+     * The earliest modification time of an accepted file in milliseconds since the epoch, inclusive.
+     */
+    @Builder.Default
+    private long modifiedAfter = Long.MIN_VALUE;
+
+    /**
+     * The latest modification time of an accepted file in milliseconds since the epoch, inclusive.
+     */
+    @Builder.Default
+    private long modifiedBefore = Long.MAX_VALUE;
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean accept(final Path file, final BasicFileAttributes attributes)
+    {
+        final long modifiedTime = attributes.lastModifiedTime().toMillis();
+        return modifiedTime >= this.modifiedAfter && modifiedTime <= this.modifiedBefore;
+    }
+}
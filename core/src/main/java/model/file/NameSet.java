@@ -0,0 +1,116 @@
+package model.file;
+
+import java.util.Set;
+
+/**
+ * An immutable set of strings that is queried with ranges of character sequences, so names and suffixes can be looked up without
+ * creating a string for them. The strings are stored in an open-addressing table indexed by their {@link String#hashCode()}.
+ */
+final class NameSet
+{
+    private static final NameSet EMPTY = new NameSet(new String[0]);
+
+    private final String[] table;
+
+    private final int mask;
+
+
+    private NameSet(final String[] table)
+    {
+        this.table = table;
+        this.mask = table.length - 1;
+    }
+
+
+    /**
+     * Creates a set of the given strings.
+     *
+     * @param values the strings to be contained.
+     * @return the set.
+     */
+    static NameSet of(final Set<String> values)
+    {
+        if (values.isEmpty())
+        {
+            return EMPTY;
+        }
+
+        // At most half full, so probe sequences stay short
+        final String[] table = new String[Integer.highestOneBit(values.size() * 2 - 1) << 1];
+        for (final String value : values)
+        {
+            int index = spread(value.hashCode()) & (table.length - 1);
+            while (table[index] != null)
+            {
+                index = (index + 1) & (table.length - 1);
+            }
+            table[index] = value;
+        }
+        return new NameSet(table);
+    }
+
+
+    /**
+     * Returns whether the set is empty.
+     *
+     * @return {@code true} if {@link #contains(CharSequence, int, int)} never returns {@code true}.
+     */
+    boolean isEmpty()
+    {
+        return this.table.length == 0;
+    }
+
+
+    /**
+     * Returns whether the given range of the character sequence is contained.
+     *
+     * @param sequence the sequence containing the range.
+     * @param start    the index of the first character of the range.
+     * @param end      the index after the last character of the range.
+     * @return {@code true} if a contained string equals the range.
+     */
+    boolean contains(final CharSequence sequence, final int start, final int end)
+    {
+        if (this.table.length == 0)
+        {
+            return false;
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; i++)
+        {
+            hash = 31 * hash + sequence.charAt(i);
+        }
+        for (int index = spread(hash) & this.mask; this.table[index] != null; index = (index + 1) & this.mask)
+        {
+            if (equals(this.table[index], sequence, start, end))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private static boolean equals(final String value, final CharSequence sequence, final int start, final int end)
+    {
+        if (value.length() != end - start)
+        {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (value.charAt(i) != sequence.charAt(start + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static int spread(final int hash)
+    {
+        return hash ^ hash >>> 16;
+    }
+}
@@ -0,0 +1,82 @@
+package model.file;
+
+import model.file.discover.DiscoveredFile;
+
+import java.nio.file.Path;
+
+/**
+ * A filter that accepts a file if and only if its operand rejects it.
+ */
+public final class NotFilterStrategy implements FileFilterStrategy
+{
+    private final MeasuredFilterStrategy filter;
+
+
+    /**
+     * Creates a new negation of the given operand.
+     *
+     * @param filter the operand to be negated.
+     */
+    public NotFilterStrategy(final FileFilterStrategy filter)
+    {
+        this.filter = new MeasuredFilterStrategy(filter);
+    }
+
+
+    /**
+     * Returns the negated operand, wrapped in a {@link MeasuredFilterStrategy} exposing its statistics.
+     *
+     * @return the measured operand.
+     */
+    public MeasuredFilterStrategy getFilter()
+    {
+        return this.filter;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path file)
+    {
+        return !this.filter.accept(file);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final DiscoveredFile file)
+    {
+        return !this.filter.accept(file);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimatedCost()
+    {
+        return this.filter.estimatedCost();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCacheable()
+    {
+        return this.filter.isCacheable();
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "NotFilterStrategy[" + this.filter + "]";
+    }
+}
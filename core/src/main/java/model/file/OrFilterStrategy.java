@@ -0,0 +1,41 @@
+package model.file;
+
+import java.util.List;
+
+/**
+ * A composite filter that accepts a file if any of its operands accepts it. Evaluation stops at the first operand accepting
+ * the file, and operands that are cheap and accept many files are evaluated first, see {@link CompositeFilterStrategy}.
+ */
+public final class OrFilterStrategy extends CompositeFilterStrategy
+{
+    /**
+     * Creates a new disjunction of the given operands.
+     *
+     * @param filters the operands; must not be empty.
+     */
+    public OrFilterStrategy(final List<? extends FileFilterStrategy> filters)
+    {
+        super(filters);
+    }
+
+
+    /**
+     * Creates a new disjunction of the given operands.
+     *
+     * @param filters the operands; must not be empty.
+     */
+    public OrFilterStrategy(final FileFilterStrategy... filters)
+    {
+        this(List.of(filters));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean decidingResult()
+    {
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package model.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * An {@link AttributeFilterStrategy} that accepts files owned by one of the given users, e.g. {@code svc-batch}.
+ * <br>
+ * On POSIX file systems the owner is taken from the discovered attributes. Resolving the name of the owner may still require a
+ * lookup in the user database, which makes this filter more expensive than the size and time filters.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class OwnerFilterStrategy extends AttributeFilterStrategy
+{
+    /**
+     * The names of the users whose files are accepted.
+     */
+    @Builder.Default
+    private Set<String> owners = Collections.emptySet();
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean accept(final Path file, final BasicFileAttributes attributes) throws IOException
+    {
+        final PosixFileAttributes posixAttributes = readPosixAttributes(file, attributes);
+        final UserPrincipal owner = posixAttributes != null ? posixAttributes.owner() : Files.getOwner(file);
+        return this.owners.contains(owner.getName());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimatedCost()
+    {
+        return 1000;
+    }
+}
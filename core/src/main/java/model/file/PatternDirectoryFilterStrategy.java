@@ -0,0 +1,49 @@
+package model.file;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * An implementation of {@link DirectoryFilterStrategy} that prunes directories whose name matches any of the exclude patterns,
+ * such as {@code node_modules}, {@code \.git} or {@code cache}. Like {@link PatternFilterStrategy}, only the name of the directory
+ * is matched, not its full path.
+ */
+@Data
+public class PatternDirectoryFilterStrategy implements DirectoryFilterStrategy
+{
+    /**
+     * A list of regular expression patterns used to define the directories that are skipped during the discovery.
+     * Any directory whose name matches at least one of the patterns in this list is neither listed nor descended into.
+     * If no patterns are specified, no directories are skipped.
+     */
+    private List<Pattern> excludePatterns = Collections.emptyList();
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final Path directory, final BasicFileAttributes attributes)
+    {
+        final Path name = directory.getFileName();
+        if (name == null)
+        {
+            return true;
+        }
+
+        final String directoryName = name.toString();
+        for (final Pattern pattern : this.excludePatterns)
+        {
+            if (pattern.matcher(directoryName).matches())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
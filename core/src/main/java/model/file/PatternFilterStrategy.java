@@ -1,19 +1,56 @@
 package model.file;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
  * An implementation of {@link FileFilterStrategy} that filters file paths based on include and exclude patterns using regular expressions.
  * Excludes take priority over includes, if any pattern matches, either include or exclude, the respective action will be made.
+ * <br>
+ * Each pattern list is compiled into a single matcher when it is set, see {@link CompiledPatterns}, so the cost of filtering a file
+ * hardly grows with the number of literal and extension patterns. Filtering a file does not allocate where the path implementation
+ * allows a view of its name, see {@link FileNameView}.
+ * <br>
+ * Patterns supplied by many parties may contain expressions that backtrack catastrophically, such as {@code (a+)+b}, which can
+ * pin a core for minutes on a single long file name. The {@link Engine} selects how such patterns are dealt with.
  */
 @Data
 public class PatternFilterStrategy implements FileFilterStrategy
 {
+    /**
+     * Determines how the patterns are matched.
+     */
+    public enum Engine
+    {
+        /**
+         * All patterns are matched by {@link Pattern}, which supports the full syntax but may take exponential time.
+         */
+        BACKTRACKING,
+
+        /**
+         * All patterns are matched in time linear in the length of the file name. Patterns using constructs that cannot be
+         * matched in linear time, such as back references or lookaround, are rejected when they are set.
+         */
+        LINEAR,
+
+        /**
+         * Patterns are matched in linear time where possible. The remaining patterns are matched by {@link Pattern} with a step
+         * budget; a match exceeding the budget is aborted, the pattern is reported by {@link #getBudgetExceededPatterns()} and
+         * the file is rejected.
+         */
+        LINEAR_WITH_FALLBACK
+    }
 
     /**
      * A list of regular expression patterns used to define inclusion criteria for file filtering.
@@ -29,6 +66,100 @@ public class PatternFilterStrategy implements FileFilterStrategy
      */
     private List<Pattern> excludePatterns = Collections.emptyList();
 
+    /**
+     * The engine matching the patterns.
+     */
+    private Engine engine = Engine.BACKTRACKING;
+
+    /**
+     * The maximum number of characters a budgeted pattern may inspect while matching a single file name, see
+     * {@link Engine#LINEAR_WITH_FALLBACK}.
+     */
+    private long stepBudget = 100_000;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient CompiledPatterns includes = CompiledPatterns.compile(Collections.emptyList());
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient CompiledPatterns excludes = CompiledPatterns.compile(Collections.emptyList());
+
+
+    /**
+     * Sets the include patterns and compiles them. Later modifications of the given list are not taken into account.
+     *
+     * @param includePatterns the patterns of which at least one must match the name of an accepted file.
+     * @throws IllegalArgumentException if the engine is {@link Engine#LINEAR} and any pattern is not supported by it.
+     */
+    public void setIncludePatterns(final List<Pattern> includePatterns)
+    {
+        final List<Pattern> patterns = List.copyOf(includePatterns);
+        this.includes = CompiledPatterns.compile(patterns, this.engine, this.stepBudget);
+        this.includePatterns = patterns;
+    }
+
+
+    /**
+     * Sets the exclude patterns and compiles them. Later modifications of the given list are not taken into account.
+     *
+     * @param excludePatterns the patterns of which none may match the name of an accepted file.
+     * @throws IllegalArgumentException if the engine is {@link Engine#LINEAR} and any pattern is not supported by it.
+     */
+    public void setExcludePatterns(final List<Pattern> excludePatterns)
+    {
+        final List<Pattern> patterns = List.copyOf(excludePatterns);
+        this.excludes = CompiledPatterns.compile(patterns, this.engine, this.stepBudget);
+        this.excludePatterns = patterns;
+    }
+
+
+    /**
+     * Sets the matching engine and recompiles the patterns.
+     *
+     * @param engine the engine matching the patterns.
+     * @throws IllegalArgumentException if the engine is {@link Engine#LINEAR} and any pattern is not supported by it;
+     *                                  the engine is not changed in that case.
+     */
+    public void setEngine(final Engine engine)
+    {
+        final CompiledPatterns includes = CompiledPatterns.compile(this.includePatterns, engine, this.stepBudget);
+        final CompiledPatterns excludes = CompiledPatterns.compile(this.excludePatterns, engine, this.stepBudget);
+        this.engine = engine;
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+
+    /**
+     * Sets the step budget and recompiles the patterns.
+     *
+     * @param stepBudget the maximum number of characters a budgeted pattern may inspect per file name; must be positive.
+     */
+    public void setStepBudget(final long stepBudget)
+    {
+        this.stepBudget = stepBudget;
+        this.includes = CompiledPatterns.compile(this.includePatterns, this.engine, stepBudget);
+        this.excludes = CompiledPatterns.compile(this.excludePatterns, this.engine, stepBudget);
+    }
+
+
+    /**
+     * Returns the patterns whose matching exceeded the step budget at least once since they were set.
+     *
+     * @return the offending include and exclude patterns; empty unless the engine is {@link Engine#LINEAR_WITH_FALLBACK}.
+     */
+    public Set<Pattern> getBudgetExceededPatterns()
+    {
+        final Set<Pattern> patterns = new HashSet<>(this.includes.getBudgetExceeded());
+        patterns.addAll(this.excludes.getBudgetExceeded());
+        return patterns;
+    }
+
 
     /**
      * {@inheritDoc}
@@ -36,32 +167,15 @@ public class PatternFilterStrategy implements FileFilterStrategy
     @Override
     public boolean accept(final Path file)
     {
-        final String filename = file.getFileName().toString();
-
-        // Exclude has priority
-        for (final Pattern pattern : this.excludePatterns)
-        {
-            if (pattern.matcher(filename).matches())
-            {
-                return false;
-            }
-        }
-
-        // Always allow if include patterns are empty
-        if (this.includePatterns.isEmpty())
-        {
-            return true;
-        }
+        final CharSequence filename = FileNameView.of(file);
 
-        // Match if includes patterns are not empty
-        for (final Pattern pattern : this.includePatterns)
+        // Exclude has priority, a file is rejected if a budgeted pattern cannot decide
+        if (this.excludes.matches(filename, true))
         {
-            if (pattern.matcher(filename).matches())
-            {
-                return true;
-            }
+            return false;
         }
 
-        return false;
+        // Always allow if include patterns are empty, match otherwise
+        return this.includes.isEmpty() || this.includes.matches(filename, false);
     }
 }
@@ -0,0 +1,56 @@
+package model.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * An {@link AttributeFilterStrategy} that accepts files by their POSIX permissions, e.g. files that are writable by others.
+ * Files on file systems without POSIX permissions are rejected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class PermissionFilterStrategy extends AttributeFilterStrategy
+{
+    /**
+     * The permissions an accepted file must have.
+     */
+    @Builder.Default
+    private Set<PosixFilePermission> requiredPermissions = Collections.emptySet();
+
+    /**
+     * The permissions an accepted file must not have.
+     */
+    @Builder.Default
+    private Set<PosixFilePermission> forbiddenPermissions = Collections.emptySet();
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean accept(final Path file, final BasicFileAttributes attributes) throws IOException
+    {
+        final PosixFileAttributes posixAttributes = readPosixAttributes(file, attributes);
+        if (posixAttributes == null)
+        {
+            return false;
+        }
+
+        final Set<PosixFilePermission> permissions = posixAttributes.permissions();
+        return permissions.containsAll(this.requiredPermissions) && Collections.disjoint(permissions, this.forbiddenPermissions);
+    }
+}
@@ -0,0 +1,44 @@
+package model.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * An {@link AttributeFilterStrategy} that accepts files whose size lies within a range, e.g. files larger than 100 MB.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class SizeFilterStrategy extends AttributeFilterStrategy
+{
+    /**
+     * The minimum size of an accepted file in bytes, inclusive.
+     */
+    @Builder.Default
+    private long minSize = 0;
+
+    /**
+     * The maximum size of an accepted file in bytes, inclusive.
+     */
+    @Builder.Default
+    private long maxSize = Long.MAX_VALUE;
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean accept(final Path file, final BasicFileAttributes attributes)
+    {
+        final long size = attributes.size();
+        return size >= this.minSize && size <= this.maxSize;
+    }
+}
@@ -1,5 +1,8 @@
 package model.file.conflict;
 
+import java.nio.file.Path;
+import java.util.function.Predicate;
+
 /**
  * A functional interface for defining a strategy to resolve file conflicts that may occur when a source
  * file is being moved, copied, or otherwise interacting with a target file.
@@ -16,4 +19,19 @@ public interface FileConflictStrategy
      * object indicates whether the conflict was isResolved, skipped, or remains unresolved.
      */
     FileMove resolve(FileMove conflict);
+
+
+    /**
+     * Resolves a file conflict, consulting the given predicate instead of the file system to decide whether a path is occupied.
+     * This allows resolving conflicts against targets that were planned but not moved yet. The default implementation ignores
+     * the predicate and delegates to {@link #resolve(FileMove)}.
+     *
+     * @param conflict the file conflict to resolve.
+     * @param occupied the predicate returning whether a target path is taken, either on disk or by a planned move.
+     * @return a {@link FileMove} object representing the result of the resolution, or {@code null} if the conflict is skipped.
+     */
+    default FileMove resolve(final FileMove conflict, final Predicate<Path> occupied)
+    {
+        return this.resolve(conflict);
+    }
 }
@@ -1,33 +1,175 @@
 package model.file.conflict;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
+/**
+ * An implementation of {@link FileConflictStrategy} that resolves conflicts by numbering the name of the target, e.g.
+ * {@code report.pdf} becomes {@code report_1.pdf}. Names without an extension and hidden files such as {@code .profile} are
+ * numbered at the end.
+ * <br>
+ * The next number is kept per directory and name, so each conflict usually costs a single candidate instead of a probe per taken
+ * name. Without a predicate, the names taken in a target directory are read by a single listing, which also seeds the counters with
+ * the highest number already in use. Candidates are claimed atomically in memory, so concurrent resolutions never choose the same
+ * name. The listing is kept for the lifetime of the strategy; a name created by others afterwards is not overwritten, since moves
+ * fail on existing targets, but reported as a conflict again.
+ * <br>
+ * Safe for concurrent use.
+ */
 public class RenameConflictStrategy implements FileConflictStrategy
 {
     private static final char FILE_EXTENSION_SEPARATOR = '.';
 
+    private static final char COUNTER_SEPARATOR = '_';
+
+    /**
+     * The names taken in each listed target directory, on disk or by a resolved conflict.
+     */
+    private final transient Map<Path, Set<String>> names = new ConcurrentHashMap<>();
+
+    /**
+     * The last number used per target directory and name.
+     */
+    private final transient Map<Path, Map<String, AtomicInteger>> counters = new ConcurrentHashMap<>();
+
 
     /**
      * {@inheritDoc}
+     * <br>
+     * Returns the conflict unresolved if the target directory cannot be listed.
      */
     @Override
     public FileMove resolve(final FileMove conflict)
     {
-        Path temp = conflict.targetFile();
-        while (Files.exists(temp))
+        final Path directory = conflict.targetFile().getParent();
+        Set<String> taken = this.names.get(directory);
+        if (taken == null)
+        {
+            try
+            {
+                taken = this.list(directory);
+            }
+            catch (final IOException exception)
+            {
+                return conflict;
+            }
+            final Set<String> listed = this.names.putIfAbsent(directory, taken);
+            taken = listed != null ? listed : taken;
+        }
+        return this.rename(conflict, taken::add);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The target directory is not listed, the predicate alone decides which names are taken.
+     */
+    @Override
+    public FileMove resolve(final FileMove conflict, final Predicate<Path> occupied)
+    {
+        final Path targetFile = conflict.targetFile();
+        return this.rename(conflict, name -> !occupied.test(targetFile.resolveSibling(name)));
+    }
+
+
+    /**
+     * Numbers the name of the target until the given predicate claims the candidate.
+     */
+    private FileMove rename(final FileMove conflict, final Predicate<String> claim)
+    {
+        final Path targetFile = conflict.targetFile();
+        final String fileName = targetFile.getFileName().toString();
+        final int separator = extensionIndex(fileName);
+        final String stem = fileName.substring(0, separator);
+        final String extension = fileName.substring(separator);
+        final AtomicInteger counter = this.counter(targetFile.getParent(), fileName);
+
+        String candidate;
+        do
+        {
+            candidate = stem + COUNTER_SEPARATOR + counter.incrementAndGet() + extension;
+        }
+        while (!claim.test(candidate));
+        return FileMove.RESOLVED(conflict.sourceFile(), targetFile.resolveSibling(candidate));
+    }
+
+
+    private AtomicInteger counter(final Path directory, final String fileName)
+    {
+        return this.counters.computeIfAbsent(directory, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fileName, key -> new AtomicInteger());
+    }
+
+
+    /**
+     * Lists the names in the given directory and raises the counter of every name numbered by this strategy to its number.
+     */
+    private Set<String> list(final Path directory) throws IOException
+    {
+        final Set<String> taken = ConcurrentHashMap.newKeySet();
+        try (final DirectoryStream<Path> entries = Files.newDirectoryStream(directory))
+        {
+            for (final Path entry : entries)
+            {
+                final String fileName = entry.getFileName().toString();
+                taken.add(fileName);
+
+                final int separator = extensionIndex(fileName);
+                final int counterSeparator = fileName.lastIndexOf(COUNTER_SEPARATOR, separator - 1);
+                final int number = counterSeparator > 0 ? parseNumber(fileName, counterSeparator + 1, separator) : -1;
+                if (number > 0)
+                {
+                    final String original = fileName.substring(0, counterSeparator) + fileName.substring(separator);
+                    this.counter(directory, original).accumulateAndGet(number, Math::max);
+                }
+            }
+        }
+        catch (final NoSuchFileException exception)
+        {
+            // Created when the first file is moved into it
+        }
+        return taken;
+    }
+
+
+    /**
+     * Returns the index of the extension separator in the given name, or the length of the name if it has no extension.
+     */
+    private static int extensionIndex(final String fileName)
+    {
+        final int index = fileName.lastIndexOf(FILE_EXTENSION_SEPARATOR);
+        return index > 0 ? index : fileName.length();
+    }
+
+
+    /**
+     * Parses the positive decimal number between the given indices, or returns {@code -1} if the range is not such a number.
+     */
+    private static int parseNumber(final String fileName, final int start, final int end)
+    {
+        if (start >= end || end - start > 9 || fileName.charAt(start) == '0')
+        {
+            return -1;
+        }
+        int number = 0;
+        for (int i = start; i < end; i++)
         {
-            final String fileName = temp.getFileName().toString();
-            final String fileNameToDot = fileName.substring(0, fileName.lastIndexOf(FILE_EXTENSION_SEPARATOR));
-            final String extension = fileName.substring(fileName.lastIndexOf(FILE_EXTENSION_SEPARATOR) + 1);
-            final String newName = "%s%d%s%s".formatted(
-                    fileNameToDot,
-                    System.currentTimeMillis(),
-                    FILE_EXTENSION_SEPARATOR,
-                    extension
-            );
-            temp = temp.resolveSibling(newName);
+            final char c = fileName.charAt(i);
+            if (c < '0' || c > '9')
+            {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
         }
-        return FileMove.RESOLVED(conflict.sourceFile(), temp);
+        return number;
     }
 }
@@ -0,0 +1,288 @@
+package model.file.copy;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
+import model.file.move.CrossDeviceTransfer;
+import model.listener.Listener;
+import model.listener.ProgressEvent;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An implementation of {@link FileCopyStrategy} that copies files with {@link FileChannel#transferTo}, which lets the operating
+ * system transfer the bytes without passing them through the Java heap.
+ * <br>
+ * Files smaller than the range threshold are copied by a single transfer on the calling thread. Larger files are split into ranges
+ * that are copied concurrently on virtual threads, each writing through its own channel at the position of its range, so the
+ * copy of a single large file is not limited to the throughput of one stream. Progress of such files is reported on the calling
+ * thread.
+ * <br>
+ * The copy is written to a partial file next to the target, which is only renamed to the target once its size was verified, so
+ * an interrupted copy never leaves a truncated file under the target name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedCopyStrategy implements FileCopyStrategy
+{
+    /**
+     * The maximum time in milliseconds between two progress events of a file copied in ranges.
+     */
+    private static final long PROGRESS_INTERVAL = 250;
+
+    /**
+     * The minimum size of a file that is split into ranges copied concurrently.
+     */
+    @Builder.Default
+    private long rangeThreshold = 64L * 1024 * 1024;
+
+    /**
+     * The number of bytes of a range.
+     */
+    @Builder.Default
+    private long rangeSize = 16L * 1024 * 1024;
+
+    /**
+     * The maximum number of ranges of a single file copied concurrently.
+     */
+    @Builder.Default
+    private int rangeParallelism = 4;
+
+    /**
+     * The target directories known to exist.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FileMove copy(final DiscoveredFile sourceFile, final Path targetFile, final Listener listener)
+    {
+        final Path sourcePath = sourceFile.path();
+        if (Files.exists(targetFile, LinkOption.NOFOLLOW_LINKS))
+        {
+            return FileMove.UNRESOLVED(sourcePath, targetFile);
+        }
+
+        final long size = sourceFile.attributes().size();
+        final Path partialPath = targetFile.resolveSibling(targetFile.getFileName() + CrossDeviceTransfer.PARTIAL_SUFFIX);
+        try
+        {
+            // write the partial file, creating its directory unless already known to exist
+            final Path targetParent = targetFile.getParent();
+            final boolean known = this.createdDirectories.contains(targetParent);
+            if (!known)
+            {
+                this.createDirectories(targetParent);
+            }
+            try
+            {
+                this.write(sourcePath, partialPath, size, targetFile, listener);
+            }
+            catch (final NoSuchFileException exception)
+            {
+                if (!known || Files.isDirectory(targetParent))
+                {
+                    throw exception;
+                }
+                // Removed externally since it was created
+                this.createdDirectories.remove(targetParent);
+                this.createDirectories(targetParent);
+                this.write(sourcePath, partialPath, size, targetFile, listener);
+            }
+
+            if (Files.size(partialPath) != size)
+            {
+                throw new IOException(String.format("Size of %s changed while copying, expected %s bytes.", sourcePath, size));
+            }
+            // Fails if the target was created in the meantime
+            Files.move(partialPath, targetFile);
+            return FileMove.RESOLVED(sourcePath, targetFile);
+        }
+        catch (final IOException exception)
+        {
+            try
+            {
+                Files.deleteIfExists(partialPath);
+            }
+            catch (final IOException ignored)
+            {
+                // The partial file is overwritten by the next attempt
+            }
+            return FileMove.UNRESOLVED(sourcePath, targetFile);
+        }
+    }
+
+
+    /**
+     * Copies the whole source to the partial file, in ranges if it is large enough.
+     */
+    private void write(final Path sourcePath, final Path partialPath, final long size, final Path targetFile, final Listener listener)
+            throws IOException
+    {
+        try (final FileChannel source = FileChannel.open(sourcePath, StandardOpenOption.READ);
+             final FileChannel target = FileChannel.open(partialPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.WRITE))
+        {
+            if (size < this.rangeThreshold || this.rangeParallelism <= 1)
+            {
+                transfer(source, target, 0, size, new AtomicLong());
+            }
+            else
+            {
+                this.transferRanges(source, partialPath, size, sourcePath, targetFile, listener);
+            }
+        }
+    }
+
+
+    private void createDirectories(final Path directory) throws IOException
+    {
+        Files.createDirectories(directory);
+        this.createdDirectories.add(directory);
+    }
+
+
+    /**
+     * Copies the source in ranges of {@link #rangeSize} bytes, which are claimed by up to {@link #rangeParallelism} workers, and
+     * reports the progress while waiting for them.
+     */
+    private void transferRanges(final FileChannel source, final Path partialPath, final long size, final Path sourcePath,
+                                final Path targetFile, final Listener listener) throws IOException
+    {
+        final AtomicLong next = new AtomicLong();
+        final AtomicLong copied = new AtomicLong();
+        final long ranges = (size + this.rangeSize - 1) / this.rangeSize;
+        try (final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("copy-", 0).factory()))
+        {
+            final List<Future<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(this.rangeParallelism, ranges); i++)
+            {
+                workers.add(executor.submit(() -> {
+                    // Channels share their position, so every worker writes through its own
+                    try (final FileChannel target = FileChannel.open(partialPath, StandardOpenOption.WRITE))
+                    {
+                        for (long start = next.getAndAdd(this.rangeSize); start < size; start = next.getAndAdd(this.rangeSize))
+                        {
+                            transfer(source, target, start, Math.min(start + this.rangeSize, size), copied);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            try
+            {
+                for (final Future<Void> worker : workers)
+                {
+                    while (!await(worker))
+                    {
+                        progress(listener, sourcePath, targetFile, copied.get(), size);
+                    }
+                }
+                progress(listener, sourcePath, targetFile, copied.get(), size);
+            }
+            finally
+            {
+                // Stops the remaining workers if one of them failed
+                executor.shutdownNow();
+            }
+        }
+    }
+
+
+    /**
+     * Copies the given range of the source to the same range of the target.
+     */
+    private static void transfer(final FileChannel source, final FileChannel target, final long start, final long end,
+                                 final AtomicLong copied) throws IOException
+    {
+        target.position(start);
+        long position = start;
+        while (position < end)
+        {
+            final long transferred = source.transferTo(position, end - position, target);
+            if (transferred <= 0)
+            {
+                throw new IOException("Source truncated while copying.");
+            }
+            position += transferred;
+            copied.addAndGet(transferred);
+        }
+    }
+
+
+    /**
+     * Waits up to {@value #PROGRESS_INTERVAL} milliseconds for the given worker to finish.
+     *
+     * @return {@code false} if the worker is still running.
+     */
+    private static boolean await(final Future<Void> worker) throws IOException
+    {
+        try
+        {
+            worker.get(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+            return true;
+        }
+        catch (final TimeoutException exception)
+        {
+            return false;
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while copying.");
+        }
+        catch (final ExecutionException exception)
+        {
+            if (exception.getCause() instanceof IOException cause)
+            {
+                throw cause;
+            }
+            throw new IOException(exception.getCause());
+        }
+    }
+
+
+    private static void progress(final Listener listener, final Path sourceFile, final Path targetFile, final long copied, final long size)
+    {
+        listener.onProgress(ProgressEvent.builder()
+                .progress(copied * 100.0 / size)
+                .message(String.format("Copying %s -> %s: %s of %s bytes.", sourceFile, targetFile, copied, size))
+                .build());
+    }
+}
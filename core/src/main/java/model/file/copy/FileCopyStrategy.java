@@ -0,0 +1,25 @@
+package model.file.copy;
+
+import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
+import model.listener.Listener;
+
+import java.nio.file.Path;
+
+/**
+ * A functional interface representing a strategy for copying files.
+ */
+@FunctionalInterface
+public interface FileCopyStrategy
+{
+    /**
+     * Copies the given file to the given target path. Missing parent directories of the target are created.
+     *
+     * @param sourceFile the file to be copied, together with the attributes read while discovering it.
+     * @param targetFile the path of the copy; must not exist yet.
+     * @param listener   the listener notified about the progress of the copy.
+     * @return a resolved {@link FileMove} if the file was copied, or an unresolved one if the target already exists or the file
+     * could not be copied. The source file is never modified.
+     */
+    FileMove copy(final DiscoveredFile sourceFile, final Path targetFile, final Listener listener);
+}
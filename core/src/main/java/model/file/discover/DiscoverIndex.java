@@ -0,0 +1,241 @@
+package model.file.discover;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A persistent, on-disk index of the {@link DiscoverSnapshot} taken by the last completed discovery of a source path.
+ * <br>
+ * A {@link RecursiveDiscoverStrategy} configured with an index does not list directories whose modification time is unchanged
+ * since the stored snapshot, and only reports the files of directories that changed. Once the discovery stream has been consumed
+ * completely, the new snapshot is staged, and it only replaces the stored one atomically when the discovery is committed by
+ * {@link FileDiscoverStrategy#commit(Path)}, i.e. once all discovered files were processed. Files of a discovery that is not
+ * committed, e.g. because some of them could not be moved, are reported again by the next discovery. An index file belongs to a
+ * single source path; a missing, unreadable or foreign index file is treated as empty, which results in a full discovery.
+ * <br>
+ * Files skipped by an incremental discovery are not filtered again, so an index must not be combined with filters whose decisions
+ * change over time, such as {@link model.file.AgeFilterStrategy}. The procedure executors do not commit discoveries filtered by
+ * filters that are not {@link model.file.FileFilterStrategy#isCacheable() cacheable}, which makes every discovery a full one.
+ * <br>
+ * The replaced snapshot is kept next to the index file, with the suffix {@value #PREVIOUS_SUFFIX}, so {@link #changes(Path)} reports
+ * the changes of the last commit in a new instance as well, e.g. after a restart. This doubles the disk space of the index.
+ * <br>
+ * The index keeps the names of all recorded entries in memory while a discovery is running.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public class DiscoverIndex
+{
+    private static final int MAGIC = 0x46464458;
+
+    private static final int VERSION = 1;
+
+    /**
+     * The suffix of the file the snapshot replaced by the last commit is kept in.
+     */
+    public static final String PREVIOUS_SUFFIX = ".previous";
+
+    /**
+     * The file the snapshot is persisted in.
+     */
+    @Getter
+    @ToString.Include
+    private final Path indexFile;
+
+    private transient DiscoverSnapshot previous;
+
+    private transient DiscoverSnapshot current;
+
+    private transient DiscoverSnapshot staged;
+
+
+    /**
+     * Creates an index persisted in the given file. The file is read lazily and created on the first commit.
+     *
+     * @param indexFile the file the snapshot is persisted in.
+     */
+    public DiscoverIndex(final Path indexFile)
+    {
+        this.indexFile = indexFile;
+    }
+
+
+    /**
+     * Returns the last committed snapshot of the given source path. A snapshot staged by a previous discovery and not committed yet
+     * is discarded, as a new discovery starts from the returned snapshot.
+     *
+     * @param sourcePath the source path of the discovery.
+     * @return the stored snapshot, or an empty snapshot if none is stored for the given source path.
+     * @throws IOException if the index file exists but cannot be read.
+     */
+    public synchronized DiscoverSnapshot load(final Path sourcePath) throws IOException
+    {
+        this.staged = null;
+        if (this.current == null || !this.current.sourcePath().equals(sourcePath.toString()))
+        {
+            this.current = this.read(sourcePath);
+            this.previous = null;
+        }
+        return this.current;
+    }
+
+
+    /**
+     * Keeps the given snapshot of a completed discovery until it is committed by {@link #commit(Path)}.
+     *
+     * @param snapshot the snapshot of a completed discovery.
+     */
+    public synchronized void stage(final DiscoverSnapshot snapshot)
+    {
+        this.staged = snapshot;
+    }
+
+
+    /**
+     * Persists the snapshot staged for the given source path, if any, see {@link #commit(DiscoverSnapshot)}.
+     *
+     * @param sourcePath the source path of the discovery.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public synchronized void commit(final Path sourcePath) throws IOException
+    {
+        if (this.staged != null && this.staged.sourcePath().equals(sourcePath.toString()))
+        {
+            final DiscoverSnapshot snapshot = this.staged;
+            this.staged = null;
+            this.commit(snapshot);
+        }
+    }
+
+
+    /**
+     * Persists the given snapshot, replacing the stored one atomically. The replaced snapshot becomes the previous snapshot.
+     *
+     * @param snapshot the snapshot of a completed discovery.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public synchronized void commit(final DiscoverSnapshot snapshot) throws IOException
+    {
+        final Path temporary = this.indexFile.resolveSibling(this.indexFile.getFileName() + ".tmp");
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary))))
+        {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeUTF(snapshot.sourcePath());
+            output.writeLong(snapshot.createdAt());
+            output.writeInt(snapshot.directories().size());
+            for (final Map.Entry<String, DiscoverSnapshot.DirectoryEntry> entry : snapshot.directories().entrySet())
+            {
+                output.writeUTF(entry.getKey());
+                output.writeLong(entry.getValue().modifiedTime());
+                writeNames(output, entry.getValue().files());
+                writeNames(output, entry.getValue().directories());
+            }
+        }
+        try
+        {
+            Files.move(this.indexFile, this.previousFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (final NoSuchFileException exception)
+        {
+            // First commit, or the previous commit was interrupted after rotating, which keeps the last committed snapshot
+        }
+        Files.move(temporary, this.indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        this.previous = this.current != null && this.current.sourcePath().equals(snapshot.sourcePath()) ? this.current : null;
+        this.current = snapshot;
+    }
+
+
+    /**
+     * Reports the files added and removed by the last commit, i.e. between the two most recent snapshots of the given source path.
+     * The previous snapshot is read from disk unless this instance committed the current one.
+     *
+     * @param sourcePath the source path of the discovery.
+     * @return the changes between the previous and the current snapshot.
+     * @throws IOException if the index file exists but cannot be read.
+     */
+    public synchronized SnapshotDiff changes(final Path sourcePath) throws IOException
+    {
+        final DiscoverSnapshot currentSnapshot = this.load(sourcePath);
+        if (this.previous == null)
+        {
+            this.previous = read(this.previousFile(), sourcePath);
+        }
+        return currentSnapshot.diff(this.previous, sourcePath);
+    }
+
+
+    private Path previousFile()
+    {
+        return this.indexFile.resolveSibling(this.indexFile.getFileName() + PREVIOUS_SUFFIX);
+    }
+
+
+    private DiscoverSnapshot read(final Path sourcePath) throws IOException
+    {
+        return read(this.indexFile, sourcePath);
+    }
+
+
+    private static DiscoverSnapshot read(final Path file, final Path sourcePath) throws IOException
+    {
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !input.readUTF().equals(sourcePath.toString()))
+            {
+                return DiscoverSnapshot.empty(sourcePath);
+            }
+            final long createdAt = input.readLong();
+            final int count = input.readInt();
+            final Map<String, DiscoverSnapshot.DirectoryEntry> directories = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++)
+            {
+                final String relativePath = input.readUTF();
+                final long modifiedTime = input.readLong();
+                directories.put(relativePath, new DiscoverSnapshot.DirectoryEntry(modifiedTime, readNames(input), readNames(input)));
+            }
+            return new DiscoverSnapshot(sourcePath.toString(), createdAt, directories);
+        }
+        catch (final NoSuchFileException | EOFException exception)
+        {
+            return DiscoverSnapshot.empty(sourcePath);
+        }
+    }
+
+
+    private static void writeNames(final DataOutputStream output, final List<String> names) throws IOException
+    {
+        output.writeInt(names.size());
+        for (final String name : names)
+        {
+            output.writeUTF(name);
+        }
+    }
+
+
+    private static List<String> readNames(final DataInputStream input) throws IOException
+    {
+        final int count = input.readInt();
+        final List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            names.add(input.readUTF());
+        }
+        return names;
+    }
+}
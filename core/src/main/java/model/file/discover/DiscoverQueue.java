@@ -0,0 +1,221 @@
+package model.file.discover;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A bounded hand-off between one or more discovery threads producing entries and a single thread consuming them as a {@link Stream}.
+ * <br>
+ * Producers block while the queue is full, which keeps the memory footprint of a discovery bounded by the queue capacity
+ * regardless of the size of the walked tree. Closing the consuming stream cancels the producers.
+ *
+ * @param <T> the type of the discovered entries
+ */
+final class DiscoverQueue<T>
+{
+    /**
+     * Marker enqueued after the last entry, signalling the consumer that the discovery has finished.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * The interval in milliseconds after which blocked producers re-check whether the queue was closed in the meantime.
+     */
+    private static final long POLL_INTERVAL = 50;
+
+    private final BlockingQueue<Object> queue;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile boolean cancelled;
+
+    private boolean finished;
+
+    private Runnable onExhausted = () -> {};
+
+
+    /**
+     * Creates a new queue that holds at most {@code capacity} entries that have not been consumed yet.
+     *
+     * @param capacity the maximum number of buffered entries; must be positive.
+     */
+    DiscoverQueue(final int capacity)
+    {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+
+    /**
+     * Hands the given entry over to the consumer, blocking while the queue is full.
+     *
+     * @param entry the discovered entry.
+     * @return {@code true} if the entry was enqueued, {@code false} if the queue was closed and the producer should stop.
+     */
+    boolean offer(final T entry)
+    {
+        return this.enqueue(entry);
+    }
+
+
+    /**
+     * Returns whether producers should stop, either because the consumer closed the stream or because another producer failed.
+     *
+     * @return {@code true} if no further entries are accepted.
+     */
+    boolean isClosed()
+    {
+        return this.cancelled || this.failure.get() != null;
+    }
+
+
+    /**
+     * Signals the consumer that all entries have been handed over.
+     */
+    void complete()
+    {
+        this.enqueue(END);
+    }
+
+
+    /**
+     * Aborts the discovery. Buffered entries are dropped and the consumer rethrows the given cause once it reaches the end of the stream.
+     * Only the first failure is kept.
+     *
+     * @param cause the error that aborted the discovery.
+     */
+    void fail(final Throwable cause)
+    {
+        if (!this.failure.compareAndSet(null, cause))
+        {
+            return;
+        }
+        this.queue.clear();
+        while (!this.queue.offer(END))
+        {
+            this.queue.poll();
+        }
+    }
+
+
+    /**
+     * Creates the consuming stream. Must be called at most once.
+     *
+     * @param onClose an action releasing the resources of the producers, invoked when the stream is closed.
+     * @return a sequential stream of the discovered entries.
+     */
+    Stream<T> stream(final Runnable onClose)
+    {
+        return this.stream(onClose, () -> {});
+    }
+
+
+    /**
+     * Creates the consuming stream. Must be called at most once.
+     *
+     * @param onClose     an action releasing the resources of the producers, invoked when the stream is closed.
+     * @param onExhausted an action invoked on the consuming thread once the last entry has been consumed and the discovery finished
+     *                    without errors. It is not invoked if the stream is closed before.
+     * @return a sequential stream of the discovered entries.
+     */
+    Stream<T> stream(final Runnable onClose, final Runnable onExhausted)
+    {
+        this.onExhausted = onExhausted;
+        final Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.NONNULL)
+        {
+            @Override
+            public boolean tryAdvance(final Consumer<? super T> action)
+            {
+                return DiscoverQueue.this.next(action);
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            this.cancelled = true;
+            this.queue.clear();
+            onClose.run();
+        });
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private boolean next(final Consumer<? super T> action)
+    {
+        if (this.finished)
+        {
+            return false;
+        }
+
+        final Object entry;
+        try
+        {
+            entry = this.queue.take();
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            this.finished = true;
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for discovered files."));
+        }
+
+        if (entry == END)
+        {
+            this.finished = true;
+            final Throwable cause = this.failure.get();
+            if (cause != null)
+            {
+                throw asUnchecked(cause);
+            }
+            this.onExhausted.run();
+            return false;
+        }
+        action.accept((T) entry);
+        return true;
+    }
+
+
+    private boolean enqueue(final Object entry)
+    {
+        try
+        {
+            while (!this.isClosed())
+            {
+                if (this.queue.offer(entry, POLL_INTERVAL, TimeUnit.MILLISECONDS))
+                {
+                    return true;
+                }
+            }
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+
+    private static RuntimeException asUnchecked(final Throwable cause)
+    {
+        if (cause instanceof final IOException exception)
+        {
+            return new UncheckedIOException(exception);
+        }
+        if (cause instanceof final RuntimeException exception)
+        {
+            return exception;
+        }
+        if (cause instanceof final Error error)
+        {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,157 @@
+package model.file.discover;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of a discovered directory tree, recording for every directory its modification time, the names of the
+ * files it contained and the names of its subdirectories. Directories are keyed by their path relative to the source path.
+ * <br>
+ * Snapshots are persisted by a {@link DiscoverIndex} and allow a later discovery to skip listing directories that did not change.
+ *
+ * @param sourcePath  the source path the snapshot was taken of, as string.
+ * @param createdAt   the time in milliseconds since the epoch at which the discovery that produced this snapshot started.
+ * @param directories the recorded directories keyed by their path relative to the source path.
+ */
+public record DiscoverSnapshot(String sourcePath, long createdAt, Map<String, DirectoryEntry> directories)
+{
+    /**
+     * Directory modification times closer than this to the start of the discovery are not trusted, as a change within the
+     * same timestamp granularity would go unnoticed. Two seconds covers the coarsest common granularity (FAT).
+     */
+    private static final long RACY_INTERVAL = 2000;
+
+
+    /**
+     * Creates a new snapshot, defensively copying the given directories.
+     */
+    public DiscoverSnapshot
+    {
+        directories = Map.copyOf(directories);
+    }
+
+
+    /**
+     * Creates an empty snapshot, which treats every directory as changed.
+     *
+     * @param sourcePath the source path the snapshot refers to.
+     * @return a snapshot without any recorded directories.
+     */
+    public static DiscoverSnapshot empty(final Path sourcePath)
+    {
+        return new DiscoverSnapshot(sourcePath.toString(), 0, Collections.emptyMap());
+    }
+
+
+    /**
+     * Returns whether the given directory is recorded with the given modification time, which was old enough at the time of the
+     * snapshot to rule out unnoticed changes within the timestamp granularity.
+     *
+     * @param relativePath the path of the directory relative to the source path, as string.
+     * @param modifiedTime the current modification time of the directory in milliseconds since the epoch.
+     * @return {@code true} if the directory did not change since the snapshot was taken.
+     */
+    public boolean isUnchanged(final String relativePath, final long modifiedTime)
+    {
+        final DirectoryEntry entry = this.directories.get(relativePath);
+        return entry != null
+                && entry.modifiedTime() == modifiedTime
+                && modifiedTime < this.createdAt - RACY_INTERVAL;
+    }
+
+
+    /**
+     * Computes the files that were added and removed between the given previous snapshot and this snapshot.
+     *
+     * @param previous   the older snapshot of the same source path.
+     * @param sourcePath the source path both snapshots were taken of, used to resolve the reported files.
+     * @return the differences between both snapshots, with paths resolved against the given source path.
+     */
+    public SnapshotDiff diff(final DiscoverSnapshot previous, final Path sourcePath)
+    {
+        final List<Path> added = new ArrayList<>();
+        final List<Path> removed = new ArrayList<>();
+        for (final Map.Entry<String, DirectoryEntry> entry : this.directories.entrySet())
+        {
+            final Path directory = sourcePath.resolve(entry.getKey());
+            final DirectoryEntry before = previous.directories().get(entry.getKey());
+            final Set<String> previousFiles = before == null ? Set.of() : new HashSet<>(before.files());
+            final Set<String> currentFiles = new HashSet<>(entry.getValue().files());
+            entry.getValue().files().stream()
+                    .filter(name -> !previousFiles.contains(name))
+                    .map(directory::resolve)
+                    .forEach(added::add);
+            previousFiles.stream()
+                    .filter(name -> !currentFiles.contains(name))
+                    .map(directory::resolve)
+                    .forEach(removed::add);
+        }
+        for (final Map.Entry<String, DirectoryEntry> entry : previous.directories().entrySet())
+        {
+            if (!this.directories.containsKey(entry.getKey()))
+            {
+                final Path directory = sourcePath.resolve(entry.getKey());
+                entry.getValue().files().stream().map(directory::resolve).forEach(removed::add);
+            }
+        }
+        return new SnapshotDiff(added, removed);
+    }
+
+
+    /**
+     * The recorded state of a single directory.
+     *
+     * @param modifiedTime the modification time of the directory in milliseconds since the epoch.
+     * @param files        the names of the files directly contained in the directory.
+     * @param directories  the names of the subdirectories directly contained in the directory.
+     */
+    public record DirectoryEntry(long modifiedTime, List<String> files, List<String> directories)
+    {
+        /**
+         * Creates a new entry, defensively copying the given names.
+         */
+        public DirectoryEntry
+        {
+            files = List.copyOf(files);
+            directories = List.copyOf(directories);
+        }
+    }
+
+
+    /**
+     * Collects the directories of a snapshot while a discovery is in progress. Not thread-safe.
+     */
+    static final class Builder
+    {
+        private final String sourcePath;
+
+        private final long createdAt;
+
+        private final Map<String, DirectoryEntry> directories = new HashMap<>();
+
+
+        Builder(final Path sourcePath, final long createdAt)
+        {
+            this.sourcePath = sourcePath.toString();
+            this.createdAt = createdAt;
+        }
+
+
+        void put(final String relativePath, final DirectoryEntry entry)
+        {
+            this.directories.put(relativePath, entry);
+        }
+
+
+        DiscoverSnapshot build()
+        {
+            return new DiscoverSnapshot(this.sourcePath, this.createdAt, this.directories);
+        }
+    }
+}
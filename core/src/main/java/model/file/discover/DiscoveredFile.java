@@ -0,0 +1,58 @@
+package model.file.discover;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+
+/**
+ * Represents a file found by a {@link FileDiscoverStrategy} together with the attributes that were read while discovering it.
+ * <br>
+ * Subsequent stages such as filtering and moving should rely on these attributes instead of querying the file system again.
+ * Attributes read by {@link #readAttributes(Path, LinkOption...)}, as done by the discover strategies, are an instance of
+ * {@link PosixFileAttributes} on file systems supporting them, so owner and permissions are known as well.
+ */
+public record DiscoveredFile(Path path, BasicFileAttributes attributes)
+{
+    /**
+     * Reads the attributes of the given path and wraps both into a {@code DiscoveredFile}. Intended for callers
+     * that obtained a path without a discovery, as this costs one additional file system query.
+     *
+     * @param path    the path of the file.
+     * @param options options indicating how symbolic links are handled.
+     * @return a {@code DiscoveredFile} holding the path and its current attributes.
+     * @throws IOException if the attributes cannot be read, e.g. because the file does not exist.
+     */
+    public static DiscoveredFile of(final Path path, final LinkOption... options) throws IOException
+    {
+        return new DiscoveredFile(path, readAttributes(path, options));
+    }
+
+
+    /**
+     * Reads the attributes of the given path, as {@link PosixFileAttributes} if the file system supports them. On POSIX file systems
+     * both are read by the same single query, while the basic attributes returned by the file system are not POSIX attributes.
+     *
+     * @param path    the path of the file.
+     * @param options options indicating how symbolic links are handled.
+     * @return the attributes of the file, an instance of {@code PosixFileAttributes} where supported.
+     * @throws IOException if the attributes cannot be read, e.g. because the file does not exist.
+     */
+    public static BasicFileAttributes readAttributes(final Path path, final LinkOption... options) throws IOException
+    {
+        if (path.getFileSystem().supportedFileAttributeViews().contains("posix"))
+        {
+            try
+            {
+                return Files.readAttributes(path, PosixFileAttributes.class, options);
+            }
+            catch (final UnsupportedOperationException exception)
+            {
+                // Not supported by the file store of the path
+            }
+        }
+        return Files.readAttributes(path, BasicFileAttributes.class, options);
+    }
+}
@@ -3,8 +3,10 @@ package model.file.discover;
 import exception.FileDiscoverException;
 import model.listener.Listener;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Represents a strategy for discovering and retrieving file paths from a given source directory or path.
@@ -15,6 +17,9 @@ public interface FileDiscoverStrategy
 {
     /**
      * Discovers file paths from the specified source path and notifies a listener about the discovery process.
+     * <br>
+     * This method materializes every discovered path at once. Prefer {@link #stream(Path, Listener)} for large trees,
+     * which keeps the memory footprint bounded regardless of the number of files.
      *
      * @param sourcePath the path to the source directory or file from which file paths need to be discovered.
      *                   Must not be null and must refer to a valid file system location.
@@ -25,5 +30,53 @@ public interface FileDiscoverStrategy
      * @throws FileDiscoverException if an error occurs during the discovery process, such as an invalid source path
      *                               or lack of necessary permissions.
      */
-    List<Path> discover(final Path sourcePath, final Listener listener) throws FileDiscoverException;
+    default List<Path> discover(final Path sourcePath, final Listener listener) throws FileDiscoverException
+    {
+        try (final Stream<DiscoveredFile> files = this.stream(sourcePath, listener))
+        {
+            return files.map(DiscoveredFile::path).toList();
+        }
+    }
+
+
+    /**
+     * Lazily discovers files from the specified source path. Files are produced while the returned stream is consumed,
+     * so only the entries currently being visited are held in memory. Each file carries the attributes read during the
+     * discovery, which spares later stages from querying the file system again.
+     * <br>
+     * The returned stream holds open directory handles and must be closed after use, preferably with a try-with-resources statement.
+     * Errors that occur after the stream has been returned are thrown as {@link java.io.UncheckedIOException} while consuming it.
+     *
+     * @param sourcePath the path to the source directory or file from which file paths need to be discovered.
+     *                   Must not be null and must refer to a valid file system location.
+     * @param listener   the listener to monitor and handle events during the discovery process.
+     * @return a lazily populated stream of the discovered files.
+     * @throws FileDiscoverException if the discovery cannot be started, such as an invalid source path or lack of necessary permissions.
+     */
+    Stream<DiscoveredFile> stream(final Path sourcePath, final Listener listener) throws FileDiscoverException;
+
+
+    /**
+     * Marks the last discovery of the specified source path as completed, once all files it reported were processed. Incremental
+     * strategies only skip the files of a discovery in later discoveries after it was committed, so files whose processing failed
+     * are reported again. Strategies without state ignore the call.
+     *
+     * @param sourcePath the source path of the processed discovery.
+     * @throws IOException if the state of the discovery cannot be persisted.
+     */
+    default void commit(final Path sourcePath) throws IOException
+    {
+    }
+
+
+    /**
+     * Returns whether this strategy also discovers files located in subdirectories of the source path.
+     * Used by consumers that observe the source path, such as a watch mode, to decide which directories to observe.
+     *
+     * @return {@code true} if subdirectories are descended into, {@code false} if only the source directory itself is listed.
+     */
+    default boolean isRecursive()
+    {
+        return false;
+    }
 }
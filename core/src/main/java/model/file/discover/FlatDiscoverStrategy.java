@@ -5,14 +5,16 @@ import model.listener.Listener;
 import model.listener.ProgressEvent;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.stream.Stream;
 
 /**
  * A file discovery strategy that retrieves all files located directly within a given directory.
+ * Symbolic links are followed, broken links are reported as files.
  * <br>
  * Implements {@link FileDiscoverStrategy}, providing a concrete realization of file discovery
  * for flat directory structures.
@@ -23,34 +25,17 @@ public class FlatDiscoverStrategy implements FileDiscoverStrategy
      * {@inheritDoc}
      */
     @Override
-    public List<Path> discover(final Path sourcePath, final Listener listener) throws FileDiscoverException
+    public Stream<DiscoveredFile> stream(final Path sourcePath, final Listener listener) throws FileDiscoverException
     {
-        try (final Stream<Path> pathStream = Files.list(sourcePath))
+        try
         {
-            final List<Path> allPaths = pathStream.toList(); // alle auf einmal laden
-            final int total = allPaths.size();
-            final List<Path> discoveredFiles = new ArrayList<>();
-
-            long processed = 0;
-            long progress = 0;
-
-            for (final Path path : allPaths)
-            {
-                processed++;
-                progress = Math.round((processed / (double) total) * 100);
-
-                listener.onProgress(ProgressEvent.builder()
-                        .progress(progress)
-                        .message(String.format("%s.", path))
-                        .build());
-
-                if (Files.isDirectory(path))
-                {
-                    continue;
-                }
-                discoveredFiles.add(path);
-            }
-            return discoveredFiles;
+            return Files.list(sourcePath)
+                    .peek(path -> listener.onProgress(ProgressEvent.builder()
+                            .progress(ProgressEvent.INDETERMINATE)
+                            .message(String.format("%s.", path))
+                            .build()))
+                    .map(FlatDiscoverStrategy::read)
+                    .filter(file -> file != null && !file.attributes().isDirectory());
         }
         catch (final IOException exception)
         {
@@ -60,4 +45,33 @@ public class FlatDiscoverStrategy implements FileDiscoverStrategy
             );
         }
     }
+
+
+    /**
+     * Reads the attributes of the given entry, or returns {@code null} if it was removed after the directory was listed.
+     */
+    private static DiscoveredFile read(final Path path)
+    {
+        try
+        {
+            try
+            {
+                return DiscoveredFile.of(path);
+            }
+            catch (final NoSuchFileException exception)
+            {
+                // Broken symbolic link
+                return DiscoveredFile.of(path, LinkOption.NOFOLLOW_LINKS);
+            }
+        }
+        catch (final NoSuchFileException exception)
+        {
+            // Entries removed while listing are ignored
+            return null;
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package model.file.discover;
+
+import exception.FileDiscoverException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.file.DirectoryFilterStrategy;
+import model.listener.Listener;
+import model.listener.ProgressEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * A file discovery strategy that retrieves the same files as {@link RecursiveDiscoverStrategy}, but lists directories concurrently.
+ * <br>
+ * Every directory is listed by its own fork-join task, and idle workers steal pending subdirectories from busy ones. This keeps
+ * several directory reads in flight at once, which pays off on storage with a high per-directory latency such as NVMe arrays or
+ * network mounts. Discovered files are handed over to the consuming stream through a bounded queue, so memory stays bounded.
+ * The order of the discovered files is not deterministic.
+ * <br>
+ * If a {@link DirectoryFilterStrategy} is configured, no task is forked for rejected directories.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParallelRecursiveDiscoverStrategy implements FileDiscoverStrategy
+{
+    /**
+     * The maximum number of directories that are listed concurrently.
+     */
+    @Builder.Default
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The maximum number of discovered files that are buffered until the consumer picks them up.
+     */
+    @Builder.Default
+    private int queueCapacity = 8192;
+
+    /**
+     * The filter deciding which subdirectories are descended into, or {@code null} to descend into all of them.
+     */
+    private DirectoryFilterStrategy directoryFilter;
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<DiscoveredFile> stream(final Path sourcePath, final Listener listener) throws FileDiscoverException
+    {
+        final BasicFileAttributes attributes;
+        try
+        {
+            attributes = DiscoveredFile.readAttributes(sourcePath, LinkOption.NOFOLLOW_LINKS);
+        }
+        catch (final IOException exception)
+        {
+            throw new FileDiscoverException(
+                    "An error occurred while discovering files in the specified source path: " + sourcePath,
+                    exception
+            );
+        }
+
+        if (!attributes.isDirectory())
+        {
+            return attributes.isSymbolicLink() ? Stream.empty() : Stream.of(new DiscoveredFile(sourcePath, attributes));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        final DiscoverQueue<DiscoveredFile> queue = new DiscoverQueue<>(this.queueCapacity);
+        pool.execute(new DirectoryTask(null, sourcePath, queue, this.directoryFilter));
+        return queue.stream(pool::shutdownNow)
+                .peek(file -> listener.onProgress(ProgressEvent.builder()
+                        .progress(ProgressEvent.INDETERMINATE)
+                        .message(String.format("%s.", file.path()))
+                        .build()));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRecursive()
+    {
+        return true;
+    }
+
+
+    /**
+     * Lists a single directory, forks a task for each accepted subdirectory and hands all other entries over to the queue.
+     * The root task completes once all of its descendants have completed, which closes the queue.
+     */
+    private static final class DirectoryTask extends CountedCompleter<Void>
+    {
+        private final Path directory;
+
+        private final DiscoverQueue<DiscoveredFile> queue;
+
+        private final DirectoryFilterStrategy directoryFilter;
+
+
+        private DirectoryTask(final DirectoryTask parent, final Path directory, final DiscoverQueue<DiscoveredFile> queue,
+                              final DirectoryFilterStrategy directoryFilter)
+        {
+            super(parent);
+            this.directory = directory;
+            this.queue = queue;
+            this.directoryFilter = directoryFilter;
+        }
+
+
+        @Override
+        public void compute()
+        {
+            try (final DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory))
+            {
+                for (final Path entry : entries)
+                {
+                    if (this.queue.isClosed())
+                    {
+                        break;
+                    }
+
+                    final BasicFileAttributes attributes;
+                    try
+                    {
+                        attributes = DiscoveredFile.readAttributes(entry, LinkOption.NOFOLLOW_LINKS);
+                    }
+                    catch (final NoSuchFileException exception)
+                    {
+                        // Entries removed after listing are ignored
+                        continue;
+                    }
+                    if (attributes.isDirectory())
+                    {
+                        if (this.directoryFilter == null || this.directoryFilter.accept(entry, attributes))
+                        {
+                            this.addToPendingCount(1);
+                            new DirectoryTask(this, entry, this.queue, this.directoryFilter).fork();
+                        }
+                    }
+                    else if (!attributes.isSymbolicLink())
+                    {
+                        this.queue.offer(new DiscoveredFile(entry, attributes));
+                    }
+                }
+            }
+            catch (final NoSuchFileException exception)
+            {
+                // Directories removed after listing are ignored
+            }
+            catch (final IOException exception)
+            {
+                this.queue.fail(new UncheckedIOException(exception));
+            }
+            catch (final RuntimeException exception)
+            {
+                this.queue.fail(exception);
+            }
+            this.tryComplete();
+        }
+
+
+        @Override
+        public void onCompletion(final CountedCompleter<?> caller)
+        {
+            if (this.getCompleter() == null)
+            {
+                this.queue.complete();
+            }
+        }
+    }
+}
@@ -1,50 +1,82 @@
 package model.file.discover;
 
 import exception.FileDiscoverException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import model.file.DirectoryFilterStrategy;
 import model.listener.Listener;
 import model.listener.ProgressEvent;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
+/**
+ * A file discovery strategy that retrieves all files located within a given directory and all of its subdirectories.
+ * Symbolic links are neither followed nor reported.
+ * <br>
+ * The tree is walked on a separate virtual thread, reading the attributes of every entry once by
+ * {@link DiscoveredFile#readAttributes(Path, LinkOption...)}, so they include owner and permissions on POSIX file systems unlike
+ * those passed by {@link Files#walkFileTree}. Discovered files reach the consuming stream through a bounded queue.
+ * <br>
+ * If a {@link DiscoverIndex} is configured, the discovery is incremental: directories whose modification time is unchanged since
+ * the last committed discovery are not listed and their files are not reported again, only their known subdirectories are checked.
+ * A discovery of an unchanged tree therefore costs one attribute query per directory and reports no files. A discovery is only
+ * committed by {@link #commit(Path)} once its files were processed, so files that could not be processed are reported again.
+ * <br>
+ * If a {@link DirectoryFilterStrategy} is configured, rejected directories are skipped before they are listed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class RecursiveDiscoverStrategy implements FileDiscoverStrategy
 {
+    /**
+     * The maximum number of discovered files that are buffered until the consumer picks them up.
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * The index used for incremental discoveries, or {@code null} to always discover the whole tree. Must not be combined with
+     * filters that are not {@link model.file.FileFilterStrategy#isCacheable() cacheable}, see {@link DiscoverIndex}.
+     */
+    private DiscoverIndex index;
+
+    /**
+     * The filter deciding which subdirectories are descended into, or {@code null} to descend into all of them.
+     */
+    private DirectoryFilterStrategy directoryFilter;
+
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Path> discover(final Path sourcePath, final Listener listener) throws FileDiscoverException
+    public Stream<DiscoveredFile> stream(final Path sourcePath, final Listener listener) throws FileDiscoverException
     {
-        try (final Stream<Path> pathStream = Files.walk(sourcePath))
-        {
-            final List<Path> paths = pathStream.toList();
-            final long total = paths.size();
-            long processed = 0;
-            long progress = 0;
-            final List<Path> discoveredFiles = new ArrayList<>();
-            for (final Path path : paths)
-            {
-                processed++;
-                progress = Math.round((processed / (double) total) * 100);
-                listener.onProgress(ProgressEvent.builder()
-                        .progress(progress)
-                        .message(String.format("%s.", path))
-                        .build());
-                if (Files.isDirectory(path))
-                {
-                    continue;
-                }
-                if (Files.isSymbolicLink(path))
-                {
-                    continue;
-                }
-                discoveredFiles.add(path);
-            }
-            return discoveredFiles;
+        final DiscoverSnapshot previous;
+        try
+        {
+            // Fail early on an inaccessible source path, the walk itself runs asynchronously
+            Files.readAttributes(sourcePath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            previous = this.index == null ? null : this.index.load(sourcePath);
         }
         catch (final IOException exception)
         {
@@ -53,5 +85,251 @@ public class RecursiveDiscoverStrategy implements FileDiscoverStrategy
                     exception
             );
         }
+
+        final DiscoverQueue<DiscoveredFile> queue = new DiscoverQueue<>(QUEUE_CAPACITY);
+        final DiscoverSnapshot.Builder next = previous == null ? null : new DiscoverSnapshot.Builder(sourcePath, System.currentTimeMillis());
+        final Thread walker = Thread.ofVirtual().name("discover-" + sourcePath.getFileName()).start(() -> {
+            try
+            {
+                walk(sourcePath, new DiscoverVisitor(sourcePath, queue, this.directoryFilter, previous, next));
+                queue.complete();
+            }
+            catch (final IOException exception)
+            {
+                queue.fail(new UncheckedIOException(exception));
+            }
+            catch (final RuntimeException exception)
+            {
+                queue.fail(exception);
+            }
+        });
+        return queue.stream(walker::interrupt, () -> this.stage(next))
+                .peek(file -> listener.onProgress(ProgressEvent.builder()
+                        .progress(ProgressEvent.INDETERMINATE)
+                        .message(String.format("%s.", file.path()))
+                        .build()));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Persists the snapshot of the last discovery of the given source path in the index, if one is configured.
+     */
+    @Override
+    public void commit(final Path sourcePath) throws IOException
+    {
+        if (this.index != null)
+        {
+            this.index.commit(sourcePath);
+        }
     }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRecursive()
+    {
+        return true;
+    }
+
+
+    /**
+     * Walks the tree below the given path depth-first without following symbolic links, like {@link Files#walkFileTree}, but with
+     * the attributes read by {@link DiscoveredFile#readAttributes(Path, LinkOption...)}.
+     */
+    private static FileVisitResult walk(final Path path, final FileVisitor<Path> visitor) throws IOException
+    {
+        final BasicFileAttributes attributes;
+        try
+        {
+            attributes = DiscoveredFile.readAttributes(path, LinkOption.NOFOLLOW_LINKS);
+        }
+        catch (final IOException exception)
+        {
+            return visitor.visitFileFailed(path, exception);
+        }
+        if (!attributes.isDirectory())
+        {
+            return visitor.visitFile(path, attributes);
+        }
+
+        final FileVisitResult result = visitor.preVisitDirectory(path, attributes);
+        if (result != FileVisitResult.CONTINUE)
+        {
+            return result == FileVisitResult.TERMINATE ? result : FileVisitResult.CONTINUE;
+        }
+        final DirectoryStream<Path> entries;
+        try
+        {
+            entries = Files.newDirectoryStream(path);
+        }
+        catch (final IOException exception)
+        {
+            return visitor.visitFileFailed(path, exception);
+        }
+
+        IOException failure = null;
+        try (entries)
+        {
+            for (final Path entry : entries)
+            {
+                final FileVisitResult entryResult = walk(entry, visitor);
+                if (entryResult == FileVisitResult.TERMINATE)
+                {
+                    return entryResult;
+                }
+                if (entryResult == FileVisitResult.SKIP_SIBLINGS)
+                {
+                    break;
+                }
+            }
+        }
+        catch (final DirectoryIteratorException exception)
+        {
+            failure = exception.getCause();
+        }
+        return visitor.postVisitDirectory(path, failure);
+    }
+
+
+    private void stage(final DiscoverSnapshot.Builder snapshot)
+    {
+        if (snapshot != null)
+        {
+            this.index.stage(snapshot.build());
+        }
+    }
+
+
+    /**
+     * Hands every visited file that is neither a directory nor a symbolic link over to the queue, skipping rejected directories.
+     * If a previous snapshot is given, unchanged directories are skipped and the state of every visited directory is recorded for
+     * the next snapshot.
+     */
+    private static final class DiscoverVisitor extends SimpleFileVisitor<Path>
+    {
+        private final Path sourcePath;
+
+        private final DiscoverQueue<DiscoveredFile> queue;
+
+        private final DirectoryFilterStrategy directoryFilter;
+
+        private final DiscoverSnapshot previous;
+
+        private final DiscoverSnapshot.Builder next;
+
+        /**
+         * The directories currently being listed, i.e. the path from the source path to the visited directory.
+         */
+        private final Map<Path, Listing> listings = new HashMap<>();
+
+
+        private DiscoverVisitor(final Path sourcePath, final DiscoverQueue<DiscoveredFile> queue, final DirectoryFilterStrategy directoryFilter,
+                                final DiscoverSnapshot previous, final DiscoverSnapshot.Builder next)
+        {
+            this.sourcePath = sourcePath;
+            this.queue = queue;
+            this.directoryFilter = directoryFilter;
+            this.previous = previous;
+            this.next = next;
+        }
+
+
+        @Override
+        public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes) throws IOException
+        {
+            if (this.queue.isClosed())
+            {
+                return FileVisitResult.TERMINATE;
+            }
+
+            // Rejected directories are recorded as well, so that a changed filter takes effect in unchanged parents
+            final Listing parent = this.listings.get(directory.getParent());
+            if (parent != null)
+            {
+                parent.directories().add(directory.getFileName().toString());
+            }
+            if (this.directoryFilter != null && !directory.equals(this.sourcePath) && !this.directoryFilter.accept(directory, attributes))
+            {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            if (this.next == null)
+            {
+                return FileVisitResult.CONTINUE;
+            }
+
+            final String relativePath = this.sourcePath.relativize(directory).toString();
+            final long modifiedTime = attributes.lastModifiedTime().toMillis();
+            if (this.previous.isUnchanged(relativePath, modifiedTime))
+            {
+                // Entries of an unchanged directory are known, but its subdirectories may have changed
+                final DiscoverSnapshot.DirectoryEntry entry = this.previous.directories().get(relativePath);
+                this.next.put(relativePath, entry);
+                for (final String name : entry.directories())
+                {
+                    walk(directory.resolve(name), this);
+                }
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+
+            this.listings.put(directory, new Listing(modifiedTime, new ArrayList<>(), new ArrayList<>()));
+            return FileVisitResult.CONTINUE;
+        }
+
+
+        @Override
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes)
+        {
+            if (attributes.isDirectory() || attributes.isSymbolicLink())
+            {
+                return FileVisitResult.CONTINUE;
+            }
+
+            final Listing listing = this.listings.get(file.getParent());
+            if (listing != null)
+            {
+                listing.files().add(file.getFileName().toString());
+            }
+            return this.queue.offer(new DiscoveredFile(file, attributes)) ? FileVisitResult.CONTINUE : FileVisitResult.TERMINATE;
+        }
+
+
+        @Override
+        public FileVisitResult visitFileFailed(final Path file, final IOException exception) throws IOException
+        {
+            // Entries removed while walking are ignored
+            if (exception instanceof NoSuchFileException)
+            {
+                return FileVisitResult.CONTINUE;
+            }
+            throw exception;
+        }
+
+
+        @Override
+        public FileVisitResult postVisitDirectory(final Path directory, final IOException exception) throws IOException
+        {
+            if (exception != null)
+            {
+                throw exception;
+            }
+
+            final Listing listing = this.listings.remove(directory);
+            if (listing != null)
+            {
+                this.next.put(this.sourcePath.relativize(directory).toString(),
+                        new DiscoverSnapshot.DirectoryEntry(listing.modifiedTime(), listing.files(), listing.directories()));
+            }
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+
+    /**
+     * The state of a directory recorded while it is being listed.
+     */
+    private record Listing(long modifiedTime, List<String> files, List<String> directories) {}
 }
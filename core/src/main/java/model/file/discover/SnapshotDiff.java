@@ -0,0 +1,33 @@
+package model.file.discover;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The files added and removed between two {@link DiscoverSnapshot snapshots} of the same source path.
+ *
+ * @param added   the files that exist in the newer snapshot only.
+ * @param removed the files that exist in the older snapshot only.
+ */
+public record SnapshotDiff(List<Path> added, List<Path> removed)
+{
+    /**
+     * Creates a new diff, defensively copying the given paths.
+     */
+    public SnapshotDiff
+    {
+        added = List.copyOf(added);
+        removed = List.copyOf(removed);
+    }
+
+
+    /**
+     * Returns whether both snapshots recorded the same files.
+     *
+     * @return {@code true} if no file was added or removed.
+     */
+    public boolean isEmpty()
+    {
+        return this.added.isEmpty() && this.removed.isEmpty();
+    }
+}
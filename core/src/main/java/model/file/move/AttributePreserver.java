@@ -0,0 +1,161 @@
+package model.file.move;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.AclEntry;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Carries the attributes of a file over to a copy of it, which is necessary when a file is moved to another file store. A file
+ * that is renamed keeps all its attributes.
+ * <br>
+ * Which attributes are carried over depends on the attribute views supported by the file stores of the source and the copy. Each
+ * file store is probed once. The POSIX attributes are read in a single call, or taken from the basic attributes read during the
+ * discovery if they are POSIX attributes already. Access control lists are only carried over between file stores without POSIX
+ * support, user-defined attributes between any file stores supporting them. The modification and access times are always restored.
+ */
+final class AttributePreserver
+{
+    private final FileStoreCache fileStores;
+
+    private final Map<FileStore, Capabilities> capabilities = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates a new preserver.
+     *
+     * @param fileStores the cache used to determine the file store of directories.
+     */
+    AttributePreserver(final FileStoreCache fileStores)
+    {
+        this.fileStores = fileStores;
+    }
+
+
+    /**
+     * Reads the attributes of the given file that its file store supports.
+     *
+     * @param sourceFile the file to read the attributes of.
+     * @param basic      the already known basic attributes of the file.
+     * @return the attributes to be applied to the copy.
+     * @throws IOException if the attributes cannot be read.
+     */
+    Attributes read(final Path sourceFile, final BasicFileAttributes basic) throws IOException
+    {
+        final Capabilities capabilities = this.capabilitiesOf(sourceFile);
+        final PosixFileAttributes posix;
+        if (basic instanceof final PosixFileAttributes posixAttributes)
+        {
+            posix = posixAttributes;
+        }
+        else
+        {
+            posix = capabilities.posix() ? Files.readAttributes(sourceFile, PosixFileAttributes.class) : null;
+        }
+        final List<AclEntry> acl = posix == null && capabilities.acl()
+                ? Files.getFileAttributeView(sourceFile, AclFileAttributeView.class).getAcl()
+                : null;
+        final Map<String, ByteBuffer> user = capabilities.user() ? readUserAttributes(sourceFile) : Map.of();
+        return new Attributes(basic, posix, acl, user);
+    }
+
+
+    /**
+     * Applies the given attributes to the given copy, as far as its file store supports them.
+     *
+     * @param attributes the attributes read from the source.
+     * @param targetFile the copy of the source.
+     * @throws IOException if any attribute cannot be applied, e.g. the owner for lack of privileges.
+     */
+    void apply(final Attributes attributes, final Path targetFile) throws IOException
+    {
+        final Capabilities capabilities = this.capabilitiesOf(targetFile);
+        if (capabilities.user() && !attributes.user().isEmpty())
+        {
+            final UserDefinedFileAttributeView view = Files.getFileAttributeView(targetFile, UserDefinedFileAttributeView.class);
+            for (final Map.Entry<String, ByteBuffer> attribute : attributes.user().entrySet())
+            {
+                view.write(attribute.getKey(), attribute.getValue().duplicate());
+            }
+        }
+        if (capabilities.acl() && attributes.acl() != null)
+        {
+            Files.getFileAttributeView(targetFile, AclFileAttributeView.class).setAcl(attributes.acl());
+        }
+        if (capabilities.posix() && attributes.posix() != null)
+        {
+            final PosixFileAttributeView view = Files.getFileAttributeView(targetFile, PosixFileAttributeView.class);
+            final PosixFileAttributes current = view.readAttributes();
+            // The copy belongs to the current user, changing it is only attempted if necessary, as it usually requires privileges
+            if (!current.owner().equals(attributes.posix().owner()))
+            {
+                view.setOwner(attributes.posix().owner());
+            }
+            if (!current.group().equals(attributes.posix().group()))
+            {
+                view.setGroup(attributes.posix().group());
+            }
+            view.setPermissions(attributes.posix().permissions());
+        }
+        Files.getFileAttributeView(targetFile, BasicFileAttributeView.class)
+                .setTimes(attributes.basic().lastModifiedTime(), attributes.basic().lastAccessTime(), null);
+    }
+
+
+    private Capabilities capabilitiesOf(final Path file) throws IOException
+    {
+        final FileStore fileStore = this.fileStores.of(file.toAbsolutePath().getParent());
+        return this.capabilities.computeIfAbsent(fileStore, key -> new Capabilities(
+                key.supportsFileAttributeView(PosixFileAttributeView.class),
+                key.supportsFileAttributeView(AclFileAttributeView.class),
+                key.supportsFileAttributeView(UserDefinedFileAttributeView.class)));
+    }
+
+
+    private static Map<String, ByteBuffer> readUserAttributes(final Path file) throws IOException
+    {
+        final UserDefinedFileAttributeView view = Files.getFileAttributeView(file, UserDefinedFileAttributeView.class);
+        final List<String> names = view.list();
+        if (names.isEmpty())
+        {
+            return Map.of();
+        }
+        final Map<String, ByteBuffer> attributes = new LinkedHashMap<>();
+        for (final String name : names)
+        {
+            final ByteBuffer value = ByteBuffer.allocate(view.size(name));
+            view.read(name, value);
+            attributes.put(name, value.flip());
+        }
+        return attributes;
+    }
+
+
+    /**
+     * The attribute views supported by a file store.
+     */
+    private record Capabilities(boolean posix, boolean acl, boolean user) {}
+
+
+    /**
+     * The attributes of a file to be applied to its copy.
+     *
+     * @param basic the basic attributes.
+     * @param posix the POSIX attributes, or {@code null} if not supported.
+     * @param acl   the access control list, or {@code null} if not supported or superseded by the POSIX attributes.
+     * @param user  the user-defined attributes by their names.
+     */
+    record Attributes(BasicFileAttributes basic, PosixFileAttributes posix, List<AclEntry> acl, Map<String, ByteBuffer> user) {}
+}
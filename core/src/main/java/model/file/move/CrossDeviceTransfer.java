@@ -0,0 +1,305 @@
+package model.file.move;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import model.listener.Listener;
+import model.listener.ProgressEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Moves files between different {@link java.nio.file.FileStore file stores}, where a move cannot be performed by renaming the file.
+ * <br>
+ * {@link Files#move} falls back to copying and deleting in this case, but gives no insight into the progress and starts over
+ * after an interruption. This engine copies the file with {@link FileChannel#transferTo}, which lets the operating system transfer
+ * the bytes without passing them through the Java heap, and reports the progress of files larger than one chunk. The copy is
+ * written to a partial file next to the target, which is only renamed to the target once its size was verified, and the source
+ * is only deleted afterwards. A partial file of a large source left behind by a crash is continued instead of copied again, as long
+ * as it was written from the same source: the path, file key, size and modification time of the source are recorded in a sidecar
+ * file next to the partial file before copying starts, and a partial file is only continued if they match exactly.
+ * <br>
+ * The size of a file may reach the storage device before its content, so a partial file is not continued at its size. Instead it is
+ * forced to the storage device every {@link #checkpointSize} bytes and the number of bytes forced is recorded in the sidecar file
+ * afterwards. A partial file is continued at the last recorded checkpoint only.
+ * <br>
+ * Whether a move crosses file stores is detected by the file system refusing an atomic rename, see {@link #move}, as looking up the
+ * file store of a path is expensive on some platforms. The attributes of the source are carried over to the copy as far as both
+ * file stores support them, see {@link AttributePreserver}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrossDeviceTransfer
+{
+    /**
+     * The suffix appended to the name of the target to obtain the name of the partial file.
+     */
+    public static final String PARTIAL_SUFFIX = ".fileflow-part";
+
+    /**
+     * The suffix appended to the name of the target to obtain the name of the file identifying the source of the partial file.
+     */
+    public static final String SOURCE_SUFFIX = ".fileflow-source";
+
+    /**
+     * The number of bytes transferred at once; progress is reported after each chunk.
+     */
+    @Builder.Default
+    private long chunkSize = 8L * 1024 * 1024;
+
+    /**
+     * The minimum size of a file whose partial copy is continued instead of started over.
+     */
+    @Builder.Default
+    private long resumeThreshold = 64L * 1024 * 1024;
+
+    /**
+     * The number of bytes copied between two checkpoints of a file whose partial copy can be continued, at which the partial file
+     * is forced to the storage device.
+     */
+    @Builder.Default
+    private long checkpointSize = 256L * 1024 * 1024;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient FileStoreCache fileStores = new FileStoreCache();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient AttributePreserver attributePreserver = new AttributePreserver(this.fileStores);
+
+
+    /**
+     * Moves the given file by renaming it, or by {@link #transfer(Path, BasicFileAttributes, Path, boolean, Listener) transferring}
+     * it if the target is located on another file store.
+     * <br>
+     * Whether the file stores differ is not looked up beforehand, as that is expensive on some platforms. Instead the file is renamed
+     * with {@link StandardCopyOption#ATOMIC_MOVE}, which the file system refuses if it would have to copy the file.
+     *
+     * @param sourceFile        the file to be moved.
+     * @param attributes        the attributes of the file, used for its size and modification time.
+     * @param targetPath        the path the file is moved to; must not exist yet.
+     * @param restoreAttributes whether the attributes of the source are applied to a copy.
+     * @param listener          the listener notified about the progress of copying files larger than one chunk.
+     * @throws FileAlreadyExistsException if the target already exists.
+     * @throws IOException                if the file can neither be renamed nor transferred.
+     */
+    public void move(final Path sourceFile, final BasicFileAttributes attributes, final Path targetPath, final boolean restoreAttributes,
+                     final Listener listener) throws IOException
+    {
+        if (sourceFile.getFileSystem() != targetPath.getFileSystem())
+        {
+            this.transfer(sourceFile, attributes, targetPath, restoreAttributes, listener);
+            return;
+        }
+        // An atomic move may replace the target
+        if (Files.exists(targetPath, LinkOption.NOFOLLOW_LINKS))
+        {
+            throw new FileAlreadyExistsException(targetPath.toString());
+        }
+        try
+        {
+            Files.move(sourceFile, targetPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (final AtomicMoveNotSupportedException exception)
+        {
+            this.transfer(sourceFile, attributes, targetPath, restoreAttributes, listener);
+        }
+    }
+
+
+    /**
+     * Moves the given file by copying it to the target and deleting it afterwards.
+     *
+     * @param sourceFile        the file to be moved.
+     * @param attributes        the attributes of the file, used for its size and modification time.
+     * @param targetPath        the path the file is moved to; must not exist yet.
+     * @param restoreAttributes whether the attributes of the source are applied to the copy.
+     * @param listener          the listener notified about the progress of files larger than one chunk.
+     * @throws FileAlreadyExistsException if the target already exists.
+     * @throws IOException                if the file cannot be copied, the copy differs in size from the source, or the source
+     *                                    cannot be deleted. The partial file is retained, unless the sizes differ.
+     */
+    public void transfer(final Path sourceFile, final BasicFileAttributes attributes, final Path targetPath, final boolean restoreAttributes,
+                         final Listener listener) throws IOException
+    {
+        if (Files.exists(targetPath, LinkOption.NOFOLLOW_LINKS))
+        {
+            throw new FileAlreadyExistsException(targetPath.toString());
+        }
+
+        final AttributePreserver.Attributes preserved = restoreAttributes ? this.attributePreserver.read(sourceFile, attributes) : null;
+        final long size = attributes.size();
+        final Path partialPath = targetPath.resolveSibling(targetPath.getFileName() + PARTIAL_SUFFIX);
+        final Path identityPath = size >= this.resumeThreshold ? targetPath.resolveSibling(targetPath.getFileName() + SOURCE_SUFFIX) : null;
+        try (final FileChannel source = FileChannel.open(sourceFile, StandardOpenOption.READ);
+             final FileChannel target = FileChannel.open(partialPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+        {
+            final String identity = identityOf(sourceFile, attributes);
+            long position = identityPath != null ? this.resumePosition(attributes, identity, identityPath, partialPath, target) : 0;
+            target.truncate(position);
+            if (identityPath != null && position == 0)
+            {
+                // The partial file must not be attributed to this source before the content of another source is gone
+                target.force(true);
+                writeCheckpoint(identityPath, identity, 0);
+            }
+            target.position(position);
+            long checkpoint = position + this.checkpointSize;
+            while (position < size)
+            {
+                final long transferred = source.transferTo(position, Math.min(this.chunkSize, size - position), target);
+                if (transferred <= 0)
+                {
+                    // The source was truncated in the meantime
+                    break;
+                }
+                position += transferred;
+                if (identityPath != null && position >= checkpoint && position < size)
+                {
+                    target.force(false);
+                    writeCheckpoint(identityPath, identity, position);
+                    checkpoint = position + this.checkpointSize;
+                }
+                if (size > this.chunkSize)
+                {
+                    listener.onProgress(ProgressEvent.builder()
+                            .progress(position * 100.0 / size)
+                            .message(String.format("Copying %s -> %s: %s of %s bytes.", sourceFile, targetPath, position, size))
+                            .build());
+                }
+            }
+            // The source is deleted below, so the copy must not be lost to a crash
+            target.force(false);
+        }
+
+        final long copied = Files.size(partialPath);
+        final long current = Files.size(sourceFile);
+        if (copied != size || current != size)
+        {
+            Files.deleteIfExists(partialPath);
+            if (identityPath != null)
+            {
+                Files.deleteIfExists(identityPath);
+            }
+            throw new IOException(String.format("Size of %s changed while copying, expected %s bytes, but copied %s of %s bytes.",
+                    sourceFile, size, copied, current));
+        }
+
+        if (preserved != null)
+        {
+            this.attributePreserver.apply(preserved, partialPath);
+        }
+
+        // Fails if the target was created in the meantime
+        Files.move(partialPath, targetPath);
+        if (identityPath != null)
+        {
+            Files.deleteIfExists(identityPath);
+        }
+        Files.delete(sourceFile);
+    }
+
+
+    /**
+     * Returns the number of bytes already copied to the given partial file that can be reused, which is the last checkpoint recorded
+     * in the identity file if the partial file was written from the same source after the source was last modified, and zero
+     * otherwise.
+     */
+    private long resumePosition(final BasicFileAttributes attributes, final String identity, final Path identityPath,
+                                final Path partialPath, final FileChannel target) throws IOException
+    {
+        final long checkpoint = readCheckpoint(identityPath, identity);
+        if (checkpoint <= 0 || checkpoint > target.size() || checkpoint > attributes.size())
+        {
+            return 0;
+        }
+        return Files.getLastModifiedTime(partialPath).compareTo(attributes.lastModifiedTime()) >= 0 ? checkpoint : 0;
+    }
+
+
+    /**
+     * Returns the identity of the given source, consisting of its absolute path, file key, size and modification time.
+     */
+    private static String identityOf(final Path sourceFile, final BasicFileAttributes attributes)
+    {
+        return String.join("\n", sourceFile.toAbsolutePath().toUri().toString(), String.valueOf(attributes.fileKey()),
+                String.valueOf(attributes.size()), attributes.lastModifiedTime().toString());
+    }
+
+
+    /**
+     * Returns the checkpoint recorded in the given identity file, or {@code -1} if it is missing, unreadable or of another source.
+     */
+    private static long readCheckpoint(final Path identityPath, final String identity) throws IOException
+    {
+        final String content;
+        try
+        {
+            content = Files.readString(identityPath, StandardCharsets.UTF_8);
+        }
+        catch (final NoSuchFileException | MalformedInputException exception)
+        {
+            return -1;
+        }
+        final int separator = content.lastIndexOf('\n');
+        if (separator < 0 || !identity.equals(content.substring(0, separator)))
+        {
+            return -1;
+        }
+        try
+        {
+            return Long.parseLong(content.substring(separator + 1));
+        }
+        catch (final NumberFormatException exception)
+        {
+            return -1;
+        }
+    }
+
+
+    /**
+     * Records the given identity and checkpoint. The identity file is replaced atomically, so a crash leaves either checkpoint.
+     */
+    private static void writeCheckpoint(final Path identityPath, final String identity, final long checkpoint) throws IOException
+    {
+        final Path temporary = identityPath.resolveSibling(identityPath.getFileName() + ".tmp");
+        try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE))
+        {
+            final ByteBuffer buffer = StandardCharsets.UTF_8.encode(identity + "\n" + checkpoint);
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, identityPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+}
@@ -1,12 +1,10 @@
 package model.file.move;
 
 import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
+import model.listener.Listener;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.PosixFileAttributes;
 
 /**
  * Represents a strategy for moving a collection of files to a specified target directory.
@@ -16,32 +14,6 @@ import java.nio.file.attribute.PosixFileAttributes;
 public interface FileMoveStrategy
 {
 
-    static PosixFileAttributes readPosixFileAttributes(final Path sourcePath) throws IOException
-    {
-        PosixFileAttributes posixAttrs = null;
-        try
-        {
-            posixAttrs = Files.readAttributes(sourcePath, PosixFileAttributes.class);
-        }
-        catch (final UnsupportedOperationException ignored)
-        {
-            // Nicht-POSIX-Systeme ueberspringen
-        }
-        return posixAttrs;
-    }
-
-
-    static void restoreFileAttributes(final Path path, final BasicFileAttributes basicFileAttributes, final PosixFileAttributes posixFileAttributes) throws IOException
-    {
-        if (posixFileAttributes != null)
-        {
-            Files.setPosixFilePermissions(path, posixFileAttributes.permissions());
-            Files.setOwner(path, posixFileAttributes.owner());
-        }
-
-        Files.setLastModifiedTime(path, basicFileAttributes.lastModifiedTime());
-    }
-
     /**
      * Moves a file from the specified source path to the target path, optionally restoring file
      * attributes such as permissions, ownership, and modification time based on the implementation.
@@ -54,4 +26,63 @@ public interface FileMoveStrategy
      * - {@code UNRESOLVED} if the move operation failed.
      */
     FileMove move(final Path sourceFile, final Path targetDirectory);
+
+
+    /**
+     * Moves a discovered file to the target directory. Implementations should override this method to reuse the attributes read
+     * during the discovery instead of querying the file system again. The default implementation delegates to {@link #move(Path, Path)}.
+     *
+     * @param sourceFile      the discovered source file to be moved, carrying its path and attributes; must not be null.
+     * @param targetDirectory the path of the target directory where the source file is to be moved; must not be null.
+     * @return a {@code FileMove} representing the result of the operation.
+     */
+    default FileMove move(final DiscoveredFile sourceFile, final Path targetDirectory)
+    {
+        return this.move(sourceFile.path(), targetDirectory);
+    }
+
+
+    /**
+     * Moves a discovered file to the target directory and notifies the given listener about the progress of long-running moves,
+     * such as copies to another file store. The default implementation delegates to {@link #move(DiscoveredFile, Path)}.
+     *
+     * @param sourceFile      the discovered source file to be moved, carrying its path and attributes; must not be null.
+     * @param targetDirectory the path of the target directory where the source file is to be moved; must not be null.
+     * @param listener        the listener notified about the progress of the move; must not be null.
+     * @return a {@code FileMove} representing the result of the operation.
+     */
+    default FileMove move(final DiscoveredFile sourceFile, final Path targetDirectory, final Listener listener)
+    {
+        return this.move(sourceFile, targetDirectory);
+    }
+
+
+    /**
+     * Returns the path the given file would be moved to, which allows planning moves and detecting conflicts before moving.
+     * The default implementation returns {@code null}, as the target of arbitrary strategies is not known in advance.
+     *
+     * @param sourceFile      the path of the source file; must not be null.
+     * @param targetDirectory the path of the target directory; must not be null.
+     * @return the target path of the file, or {@code null} if it is not known before moving.
+     */
+    default Path targetOf(final Path sourceFile, final Path targetDirectory)
+    {
+        return null;
+    }
+
+
+    /**
+     * Moves a discovered file to exactly the given target path, e.g. one returned by {@link #targetOf(Path, Path)} or assigned by
+     * a conflict strategy. Strategies that return a target from {@link #targetOf(Path, Path)} must implement this method.
+     *
+     * @param sourceFile the discovered source file to be moved, carrying its path and attributes; must not be null.
+     * @param targetFile the path the source file is moved to; must not exist.
+     * @param listener   the listener notified about the progress of the move; must not be null.
+     * @return a {@code FileMove} representing the result of the operation.
+     * @throws UnsupportedOperationException if the strategy does not support moving to a given path.
+     */
+    default FileMove moveTo(final DiscoveredFile sourceFile, final Path targetFile, final Listener listener)
+    {
+        throw new UnsupportedOperationException("Moving to a given path is not supported by " + this.getClass().getSimpleName());
+    }
 }
@@ -0,0 +1,37 @@
+package model.file.move;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the {@link FileStore} of directories. Looking up the file store of a path is expensive on some platforms, e.g. it
+ * scans the mount table on Linux, while files are typically moved out of and into few directories.
+ */
+final class FileStoreCache
+{
+    private final Map<Path, FileStore> fileStores = new ConcurrentHashMap<>();
+
+
+    /**
+     * Returns the file store the given directory is located on.
+     *
+     * @param directory the absolute path of the directory.
+     * @return the file store, looked up only on the first call for the directory.
+     * @throws IOException if the file store cannot be determined, e.g. because the directory does not exist.
+     */
+    FileStore of(final Path directory) throws IOException
+    {
+        final FileStore cached = this.fileStores.get(directory);
+        if (cached != null)
+        {
+            return cached;
+        }
+        final FileStore fileStore = Files.getFileStore(directory);
+        this.fileStores.put(directory, fileStore);
+        return fileStore;
+    }
+}
@@ -5,12 +5,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
+import model.listener.Listener;
+import model.listener.ListenerCollection;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.PosixFileAttributes;
 
 /**
  * A concrete implementation of {@link FileMoveStrategy} that provides functionality
@@ -22,30 +24,100 @@ import java.nio.file.attribute.PosixFileAttributes;
 @NoArgsConstructor
 public class FlatMoveStrategy implements FileMoveStrategy
 {
+    /**
+     * Whether the attributes of files copied to another file store are carried over to the copy. Renamed files keep their attributes.
+     */
     @Builder.Default
     private boolean restoreAttributes = true;
 
+    /**
+     * The engine copying files whose target directory is located on another file store, or {@code null} to leave such moves to
+     * {@link Files#move}, which copies them without progress and without resuming interrupted copies.
+     */
+    @Builder.Default
+    private CrossDeviceTransfer crossDeviceTransfer = new CrossDeviceTransfer();
+
+
+    /**
+     * Creates a new strategy copying files to other file stores with the default {@link CrossDeviceTransfer}.
+     *
+     * @param restoreAttributes whether the attributes of the source file are restored on the moved file.
+     */
+    public FlatMoveStrategy(final boolean restoreAttributes)
+    {
+        this(restoreAttributes, new CrossDeviceTransfer());
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public FileMove move(final Path sourceFile, final Path targetDirectory)
+    {
+        return this.move(sourceFile, null, this.targetOf(sourceFile, targetDirectory), ListenerCollection.builder().build());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The attributes read during the discovery are reused, so the source file is not queried again.
+     */
+    @Override
+    public FileMove move(final DiscoveredFile sourceFile, final Path targetDirectory)
+    {
+        return this.move(sourceFile.path(), sourceFile.attributes(), this.targetOf(sourceFile.path(), targetDirectory),
+                ListenerCollection.builder().build());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The attributes read during the discovery are reused, and the progress of copies to another file store is reported.
+     */
+    @Override
+    public FileMove move(final DiscoveredFile sourceFile, final Path targetDirectory, final Listener listener)
+    {
+        return this.move(sourceFile.path(), sourceFile.attributes(), this.targetOf(sourceFile.path(), targetDirectory), listener);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path targetOf(final Path sourceFile, final Path targetDirectory)
+    {
+        return targetDirectory.resolve(sourceFile.getFileName().toString());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FileMove moveTo(final DiscoveredFile sourceFile, final Path targetFile, final Listener listener)
+    {
+        return this.move(sourceFile.path(), sourceFile.attributes(), targetFile, listener);
+    }
+
+
+    private FileMove move(final Path sourceFile, final BasicFileAttributes knownAttributes, final Path targetPath, final Listener listener)
     {
         // Check if the target directory exists
+        final Path targetDirectory = targetPath.getParent();
         if (!Files.exists(targetDirectory))
         {
             return FileMove.UNRESOLVED(sourceFile, null);
         }
 
-        // Get the target path of the file by combining the filename with the target directory
-        final Path targetPath = targetDirectory.resolve(sourceFile.getFileName());
-
         try
         {
-            // get attrs
-            final BasicFileAttributes attributes = Files.readAttributes(sourceFile, BasicFileAttributes.class);
-            final PosixFileAttributes posixAttrs = FileMoveStrategy.readPosixFileAttributes(sourceFile);
+            // get attrs, unless already known from the discovery
+            final BasicFileAttributes attributes = knownAttributes != null
+                    ? knownAttributes
+                    : DiscoveredFile.readAttributes(sourceFile);
 
             // Skip move if it's the same file
             if (sourceFile.toAbsolutePath().equals(targetPath.toAbsolutePath()))
@@ -54,10 +126,13 @@ public class FlatMoveStrategy implements FileMoveStrategy
             }
 
             // move file
-            Files.move(sourceFile, targetPath);
-            if (this.restoreAttributes)
+            if (this.crossDeviceTransfer != null)
+            {
+                this.crossDeviceTransfer.move(sourceFile, attributes, targetPath, this.restoreAttributes, listener);
+            }
+            else
             {
-                FileMoveStrategy.restoreFileAttributes(targetDirectory, attributes, posixAttrs);
+                Files.move(sourceFile, targetPath);
             }
         }
         catch (final IOException exception)
@@ -68,5 +143,3 @@ public class FlatMoveStrategy implements FileMoveStrategy
         return FileMove.RESOLVED(sourceFile, targetPath);
     }
 }
-
-
@@ -0,0 +1,156 @@
+package model.file.move;
+
+import model.file.conflict.FileConflictStrategy;
+import model.file.conflict.FileMove;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Determines the target of each file before it is moved and detects conflicts in memory instead of by failing moves.
+ * <br>
+ * Every target directory is listed once, when the first file is planned into it, and the names found are kept in a hash set.
+ * Conflicts with existing files are resolved right away by the {@link FileConflictStrategy}, which checks candidate names against
+ * the same sets, so a procedure with many conflicts costs as many file system queries as one without. Names assigned by the conflict
+ * strategy are added to the sets, so two renamed files never receive the same name.
+ * <br>
+ * Other planned targets are only added if targets are reserved. Reserving detects collisions between source files with the same
+ * target, e.g. files with the same name from different directories flattened by {@link FlatMoveStrategy}, in advance, but keeps the
+ * name of every planned file in memory. Without reserving, the memory is bounded by the listed directories, and such collisions are
+ * planned to the same target, so all but the first move fail and are handled as conflicts after the fact.
+ * <br>
+ * The names are compared exactly. On file systems that ignore the case of names, moves to a name differing only in case fail and
+ * are handled as conflicts after the fact, as are changes made to a target directory after it was listed. Not thread-safe.
+ * <br>
+ * Copy procedures plan their targets the same way, with the move strategy only determining the layout of the target.
+ */
+public final class MovePlanner
+{
+    private final FileMoveStrategy moveStrategy;
+
+    private final FileConflictStrategy conflictStrategy;
+
+    private final Path targetDirectory;
+
+    private final boolean reserveTargets;
+
+    /**
+     * The names taken in each listed target directory, on disk, by a renamed conflict or by a reserved target.
+     */
+    private final Map<Path, Set<String>> directories = new HashMap<>();
+
+
+    /**
+     * Creates a new planner for moves into the given target directory.
+     *
+     * @param moveStrategy     the strategy determining the target of each file.
+     * @param conflictStrategy the strategy resolving conflicts.
+     * @param targetDirectory  the target directory of the procedure.
+     * @param reserveTargets   whether every planned target is reserved, which retains the name of every planned file.
+     */
+    public MovePlanner(final FileMoveStrategy moveStrategy, final FileConflictStrategy conflictStrategy, final Path targetDirectory,
+                       final boolean reserveTargets)
+    {
+        this.moveStrategy = moveStrategy;
+        this.conflictStrategy = conflictStrategy;
+        this.targetDirectory = targetDirectory;
+        this.reserveTargets = reserveTargets;
+    }
+
+
+    /**
+     * Plans the move of the given file and reserves its target if it was renamed or targets are reserved.
+     *
+     * @param sourceFile the path of the file to be moved.
+     * @return {@code null} if the move strategy does not reveal its targets, a resolved {@code FileMove} holding the target the
+     * file is to be moved to, which may have been renamed by the conflict strategy, or an unresolved {@code FileMove} if the
+     * target is taken and the conflict strategy skipped the file.
+     * @throws UncheckedIOException if a target directory cannot be listed.
+     */
+    public FileMove plan(final Path sourceFile)
+    {
+        final Path targetFile = this.moveStrategy.targetOf(sourceFile, this.targetDirectory);
+        if (targetFile == null)
+        {
+            return null;
+        }
+        if (sourceFile.toAbsolutePath().equals(targetFile.toAbsolutePath()) || this.claim(targetFile, this.reserveTargets))
+        {
+            return FileMove.RESOLVED(sourceFile, targetFile);
+        }
+
+        final FileMove conflict = FileMove.UNRESOLVED(sourceFile, targetFile);
+        final FileMove resolved = this.conflictStrategy.resolve(conflict, this::isOccupied);
+        if (resolved == null || !resolved.isResolved() || !this.claim(resolved.targetFile(), true))
+        {
+            return conflict;
+        }
+        return resolved;
+    }
+
+
+    /**
+     * Returns whether the given target path existed when its directory was listed or is reserved by a planned move.
+     *
+     * @param targetFile the path to check.
+     * @return {@code true} if a file cannot be moved to the path.
+     * @throws UncheckedIOException if the directory of the path cannot be listed.
+     */
+    public boolean isOccupied(final Path targetFile)
+    {
+        return this.namesOf(targetFile.getParent()).contains(targetFile.getFileName().toString());
+    }
+
+
+    /**
+     * Returns whether the given target path is free, and reserves it if requested.
+     */
+    private boolean claim(final Path targetFile, final boolean reserve)
+    {
+        final Set<String> names = this.namesOf(targetFile.getParent());
+        final String name = targetFile.getFileName().toString();
+        return reserve ? names.add(name) : !names.contains(name);
+    }
+
+
+    private Set<String> namesOf(final Path directory)
+    {
+        Set<String> names = this.directories.get(directory);
+        if (names == null)
+        {
+            names = list(directory);
+            this.directories.put(directory, names);
+        }
+        return names;
+    }
+
+
+    private static Set<String> list(final Path directory)
+    {
+        final Set<String> names = new HashSet<>();
+        try (final DirectoryStream<Path> entries = Files.newDirectoryStream(directory))
+        {
+            for (final Path entry : entries)
+            {
+                names.add(entry.getFileName().toString());
+            }
+        }
+        catch (final NoSuchFileException exception)
+        {
+            // Created when the first file is moved into it
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+        return names;
+    }
+}
@@ -1,14 +1,24 @@
 package model.file.move;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
+import model.listener.Listener;
+import model.listener.ListenerCollection;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.PosixFileAttributes;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A concrete implementation of {@link FileMoveStrategy} that organizes files into a directory
@@ -16,6 +26,9 @@ import java.nio.file.attribute.PosixFileAttributes;
  * <br>
  * It computes the relative path of the source file with respect to its parent directory and
  * appends this relative path to the target directory, ensuring the structural hierarchy is preserved.
+ * <br>
+ * The target directories created or found to exist are remembered, so each of them is created only once instead of once per file.
+ * If a remembered directory was removed externally, it is created again and the move is retried.
  */
 @Data
 @Builder
@@ -24,15 +37,89 @@ public class StructuralMoveStrategy implements FileMoveStrategy
 
     private final Path sourceDirectory;
 
+    /**
+     * Whether the attributes of files copied to another file store are carried over to the copy. Renamed files keep their attributes.
+     */
     @Builder.Default
     private final boolean restoreAttributes = true;
 
+    /**
+     * The engine copying files whose target directory is located on another file store, or {@code null} to leave such moves to
+     * {@link Files#move}, which copies them without progress and without resuming interrupted copies.
+     */
+    @Builder.Default
+    private final CrossDeviceTransfer crossDeviceTransfer = new CrossDeviceTransfer();
+
+    /**
+     * The target directories known to exist.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
 
     /**
      * {@inheritDoc}
      */
     @Override
     public FileMove move(final Path sourceFile, final Path targetDirectory)
+    {
+        return this.move(sourceFile, null, targetDirectory, ListenerCollection.builder().build());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The attributes read during the discovery are reused, so the source file is not queried again.
+     */
+    @Override
+    public FileMove move(final DiscoveredFile sourceFile, final Path targetDirectory)
+    {
+        return this.move(sourceFile.path(), sourceFile.attributes(), targetDirectory, ListenerCollection.builder().build());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The attributes read during the discovery are reused, and the progress of copies to another file store is reported.
+     */
+    @Override
+    public FileMove move(final DiscoveredFile sourceFile, final Path targetDirectory, final Listener listener)
+    {
+        return this.move(sourceFile.path(), sourceFile.attributes(), targetDirectory, listener);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path targetOf(final Path sourceFile, final Path targetDirectory)
+    {
+        // Get the relative path to source directory
+        final Path relativeSourceDirectory = this.sourceDirectory.relativize(sourceFile);
+        return targetDirectory.resolve(relativeSourceDirectory.toString());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Missing directories between the target directory and the target file are created.
+     */
+    @Override
+    public FileMove moveTo(final DiscoveredFile sourceFile, final Path targetFile, final Listener listener)
+    {
+        return this.moveTo(sourceFile.path(), sourceFile.attributes(), targetFile, listener);
+    }
+
+
+    private FileMove move(final Path sourceFile, final BasicFileAttributes knownAttributes, final Path targetDirectory,
+                          final Listener listener)
     {
         // Check if the target directory exists
         if (!Files.exists(targetDirectory))
@@ -40,15 +127,19 @@ public class StructuralMoveStrategy implements FileMoveStrategy
             return FileMove.UNRESOLVED(sourceFile, null);
         }
 
-        // Get the relative path to source directory
-        final Path relativeSourceDirectory = this.sourceDirectory.relativize(sourceFile);
-        final Path targetPath = targetDirectory.resolve(relativeSourceDirectory);
+        return this.moveTo(sourceFile, knownAttributes, this.targetOf(sourceFile, targetDirectory), listener);
+    }
+
 
+    private FileMove moveTo(final Path sourceFile, final BasicFileAttributes knownAttributes, final Path targetPath,
+                            final Listener listener)
+    {
         try
         {
-            // get attrs
-            final BasicFileAttributes attributes = Files.readAttributes(sourceFile, BasicFileAttributes.class);
-            final PosixFileAttributes posixAttrs = FileMoveStrategy.readPosixFileAttributes(sourceFile);
+            // get attrs, unless already known from the discovery
+            final BasicFileAttributes attributes = knownAttributes != null
+                    ? knownAttributes
+                    : DiscoveredFile.readAttributes(sourceFile);
 
             // Skip move if it's the same file
             if (sourceFile.toAbsolutePath().equals(targetPath.toAbsolutePath()))
@@ -56,12 +147,27 @@ public class StructuralMoveStrategy implements FileMoveStrategy
                 return FileMove.RESOLVED(sourceFile, targetPath);
             }
 
-            // move file
-            Files.createDirectories(targetPath.getParent());
-            Files.move(sourceFile, targetPath);
-            if (this.restoreAttributes)
+            // move file, creating its directory unless already known to exist
+            final Path targetParent = targetPath.getParent();
+            final boolean known = this.createdDirectories.contains(targetParent);
+            if (!known)
             {
-                FileMoveStrategy.restoreFileAttributes(targetDirectory, attributes, posixAttrs);
+                this.createDirectories(targetParent);
+            }
+            try
+            {
+                this.transfer(sourceFile, attributes, targetPath, listener);
+            }
+            catch (final NoSuchFileException exception)
+            {
+                if (!known || Files.isDirectory(targetParent))
+                {
+                    throw exception;
+                }
+                // Removed externally since it was created
+                this.createdDirectories.remove(targetParent);
+                this.createDirectories(targetParent);
+                this.transfer(sourceFile, attributes, targetPath, listener);
             }
         }
         catch (final IOException exception)
@@ -71,4 +177,25 @@ public class StructuralMoveStrategy implements FileMoveStrategy
 
         return FileMove.RESOLVED(sourceFile, targetPath);
     }
+
+
+    private void transfer(final Path sourceFile, final BasicFileAttributes attributes, final Path targetPath, final Listener listener)
+            throws IOException
+    {
+        if (this.crossDeviceTransfer != null)
+        {
+            this.crossDeviceTransfer.move(sourceFile, attributes, targetPath, this.restoreAttributes, listener);
+        }
+        else
+        {
+            Files.move(sourceFile, targetPath);
+        }
+    }
+
+
+    private void createDirectories(final Path directory) throws IOException
+    {
+        Files.createDirectories(directory);
+        this.createdDirectories.add(directory);
+    }
 }
@@ -0,0 +1,334 @@
+package model.file.watch;
+
+import model.file.discover.DiscoveredFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Observes a source directory with a {@link WatchService} and reports files that were created or modified within it.
+ * <br>
+ * Events are coalesced: after the first event the watcher waits until no further event arrived for the quiet period and then
+ * reports every affected file exactly once. This avoids processing files that are still being written and collapses the bursts
+ * of modification events emitted while copying. If the watch service dropped events, the affected directory is rescanned instead.
+ * <br>
+ * A batch is reported early once it was collected for the maximum batch delay or holds the maximum batch size, so a directory
+ * receiving events without pause is still processed in bounded batches. Files still being written at that time are reported
+ * again once they are modified further.
+ * <br>
+ * Symbolic links are handled like the discovery strategies do: a recursive watcher neither follows nor reports them, a flat
+ * watcher follows them. Deletions are not reported.
+ */
+public final class DirectoryWatcher implements Closeable
+{
+    /**
+     * The default maximum number of changed files and directories to rescan collected in a batch.
+     */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * The default maximum batch delay as a multiple of the quiet period.
+     */
+    private static final int MAX_BATCH_DELAY_PERIODS = 20;
+
+    private final boolean recursive;
+
+    private final Duration quietPeriod;
+
+    private final Duration maxBatchDelay;
+
+    private final int maxBatchSize;
+
+    private final WatchService service;
+
+    /**
+     * The observed directories by their watch keys.
+     */
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+
+    /**
+     * Creates a new watcher and starts observing the given source directory. Batches are reported after at most twenty quiet
+     * periods or {@value #MAX_BATCH_SIZE} changes.
+     *
+     * @param sourcePath  the directory to observe.
+     * @param recursive   whether all subdirectories, including ones created later on, are observed as well.
+     * @param quietPeriod the time without further events after which a batch of changes is reported.
+     * @throws IOException if the source directory cannot be observed.
+     */
+    public DirectoryWatcher(final Path sourcePath, final boolean recursive, final Duration quietPeriod) throws IOException
+    {
+        this(sourcePath, recursive, quietPeriod, quietPeriod.multipliedBy(MAX_BATCH_DELAY_PERIODS), MAX_BATCH_SIZE);
+    }
+
+
+    /**
+     * Creates a new watcher and starts observing the given source directory.
+     *
+     * @param sourcePath    the directory to observe.
+     * @param recursive     whether all subdirectories, including ones created later on, are observed as well.
+     * @param quietPeriod   the time without further events after which a batch of changes is reported.
+     * @param maxBatchDelay the time after the first event of a batch after which it is reported even if events keep arriving.
+     * @param maxBatchSize  the number of changes after which a batch is reported even if events keep arriving.
+     * @throws IOException if the source directory cannot be observed.
+     */
+    public DirectoryWatcher(final Path sourcePath, final boolean recursive, final Duration quietPeriod, final Duration maxBatchDelay,
+                            final int maxBatchSize) throws IOException
+    {
+        this.recursive = recursive;
+        this.quietPeriod = quietPeriod;
+        this.maxBatchDelay = maxBatchDelay;
+        this.maxBatchSize = maxBatchSize;
+        this.service = sourcePath.getFileSystem().newWatchService();
+        try
+        {
+            this.register(sourcePath);
+        }
+        catch (final IOException exception)
+        {
+            this.service.close();
+            throw exception;
+        }
+    }
+
+
+    /**
+     * Blocks and hands every batch of created or modified files over to the given consumer until the watcher is closed
+     * or the calling thread is interrupted. The consumer is invoked on the calling thread.
+     *
+     * @param consumer the consumer processing a batch of changed files; batches are never empty.
+     * @throws IOException          if a directory cannot be observed or rescanned.
+     * @throws InterruptedException if the calling thread was interrupted while waiting for events.
+     */
+    public void watch(final Consumer<List<DiscoveredFile>> consumer) throws IOException, InterruptedException
+    {
+        try
+        {
+            while (true)
+            {
+                final Set<Path> changed = new LinkedHashSet<>();
+                final Set<Path> rescans = new LinkedHashSet<>();
+                WatchKey key = this.service.take();
+                final long deadline = System.nanoTime() + this.maxBatchDelay.toNanos();
+                while (key != null)
+                {
+                    this.collect(key, changed, rescans);
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || changed.size() + rescans.size() >= this.maxBatchSize)
+                    {
+                        // Events still pending are collected into the next batch
+                        break;
+                    }
+                    key = this.service.poll(Math.min(this.quietPeriod.toNanos(), remaining), TimeUnit.NANOSECONDS);
+                }
+
+                for (final Path directory : rescans)
+                {
+                    this.rescan(directory, changed);
+                }
+                final List<DiscoveredFile> files = this.read(changed);
+                if (!files.isEmpty())
+                {
+                    consumer.accept(files);
+                }
+            }
+        }
+        catch (final ClosedWatchServiceException exception)
+        {
+            // Closed by another thread
+        }
+    }
+
+
+    /**
+     * Stops observing the source directory. A blocked {@link #watch(Consumer)} call returns.
+     *
+     * @throws IOException if the underlying watch service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.service.close();
+    }
+
+
+    private void collect(final WatchKey key, final Set<Path> changed, final Set<Path> rescans) throws IOException
+    {
+        final Path directory = this.directories.get(key);
+        for (final WatchEvent<?> event : key.pollEvents())
+        {
+            if (directory == null)
+            {
+                continue;
+            }
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+            {
+                rescans.add(directory);
+                continue;
+            }
+
+            final Path path = directory.resolve((Path) event.context());
+            if (this.recursive && event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                    && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS))
+            {
+                // Files may have been created before the new directory was registered
+                this.register(path);
+                rescans.add(path);
+                continue;
+            }
+            changed.add(path);
+        }
+
+        if (!key.reset())
+        {
+            this.directories.remove(key);
+        }
+    }
+
+
+    private void register(final Path directory) throws IOException
+    {
+        if (!this.recursive)
+        {
+            this.directories.put(this.watch(directory), directory);
+            return;
+        }
+
+        Files.walkFileTree(directory, new SimpleFileVisitor<>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path subdirectory, final BasicFileAttributes attributes) throws IOException
+            {
+                DirectoryWatcher.this.directories.put(DirectoryWatcher.this.watch(subdirectory), subdirectory);
+                return FileVisitResult.CONTINUE;
+            }
+
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exception) throws IOException
+            {
+                return skip(exception);
+            }
+        });
+    }
+
+
+    private WatchKey watch(final Path directory) throws IOException
+    {
+        return directory.register(this.service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+
+    /**
+     * Adds all files currently located in the given directory, and in its subdirectories if recursive, to the changed files.
+     * Subtrees that are removed or inaccessible are skipped.
+     */
+    private void rescan(final Path directory, final Set<Path> changed) throws IOException
+    {
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS))
+        {
+            return;
+        }
+        if (!this.recursive)
+        {
+            try (final DirectoryStream<Path> entries = Files.newDirectoryStream(directory))
+            {
+                entries.forEach(changed::add);
+            }
+            catch (final DirectoryIteratorException exception)
+            {
+                skip(exception.getCause());
+            }
+            catch (final IOException exception)
+            {
+                skip(exception);
+            }
+            return;
+        }
+
+        Files.walkFileTree(directory, new SimpleFileVisitor<>()
+        {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes)
+            {
+                changed.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exception) throws IOException
+            {
+                return skip(exception);
+            }
+
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path subdirectory, final IOException exception) throws IOException
+            {
+                return exception == null ? FileVisitResult.CONTINUE : skip(exception);
+            }
+        });
+    }
+
+
+    /**
+     * Skips an entry that was removed or is inaccessible, which must not end the watch mode, and rethrows any other failure.
+     */
+    private static FileVisitResult skip(final IOException exception) throws IOException
+    {
+        if (exception instanceof NoSuchFileException || exception instanceof AccessDeniedException)
+        {
+            return FileVisitResult.CONTINUE;
+        }
+        throw exception;
+    }
+
+
+    private List<DiscoveredFile> read(final Set<Path> paths) throws IOException
+    {
+        final List<DiscoveredFile> files = new ArrayList<>(paths.size());
+        for (final Path path : paths)
+        {
+            final DiscoveredFile file;
+            try
+            {
+                file = this.recursive ? DiscoveredFile.of(path, LinkOption.NOFOLLOW_LINKS) : DiscoveredFile.of(path);
+            }
+            catch (final NoSuchFileException exception)
+            {
+                // Removed in the meantime, or a broken link
+                continue;
+            }
+            if (!file.attributes().isDirectory() && !file.attributes().isSymbolicLink())
+            {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+}
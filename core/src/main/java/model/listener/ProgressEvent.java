@@ -11,9 +11,15 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 public class ProgressEvent extends ListenerEvent
 {
+    /**
+     * Progress value used when the total amount of work is not known in advance, e.g. while files are processed
+     * as they are discovered.
+     */
+    public static final double INDETERMINATE = -1;
 
     /**
-     * Represents the progress of a task or operation, expressed as a percentage (0.0 to 100.0).
+     * Represents the progress of a task or operation, expressed as a percentage (0.0 to 100.0),
+     * or {@link #INDETERMINATE} if the total amount of work is unknown.
      */
     private final double progress;
 }
@@ -24,6 +24,13 @@ public abstract class Procedure
     private String name;
 
 
+    /**
+     * Whether the procedure keeps running and processes every file created or modified in its source afterwards, instead of
+     * processing the files present once. A watching procedure runs until the executing thread is interrupted.
+     */
+    private boolean watch;
+
+
     /**
      * Default protected constructor for the Procedure class.
      */
@@ -0,0 +1,201 @@
+package model.procedure.journal;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Computes a digest of the configuration held by an object graph, such as a procedure with its strategies, which is equal for equal
+ * configurations across runs of the application.
+ * <br>
+ * Objects are written to a canonical form consisting of their class name and their non-static, non-transient fields in the order of
+ * their names, recursively. Fields holding state instead of configuration, such as caches and counters, are declared
+ * {@code transient} and therefore excluded. Lists and arrays keep their order, sets and maps are sorted by the canonical form of
+ * their elements and keys. Values of JDK types are written by their textual representation if it identifies their value, and by
+ * their class name otherwise. Classes keeping configuration in such types, e.g. in buffers, must declare those fields
+ * {@code transient} and identify their configuration by another field, such as a digest of the content.
+ */
+final class ConfigurationDigest
+{
+    private ConfigurationDigest() {}
+
+
+    /**
+     * Returns the digest of the configuration held by the given object.
+     *
+     * @param configuration the root of the object graph.
+     * @return the SHA-256 digest of the canonical form, in hexadecimal.
+     */
+    static String of(final Object configuration)
+    {
+        final StringBuilder form = new StringBuilder();
+        append(form, configuration, new IdentityHashMap<>());
+        try
+        {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(form.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        }
+        catch (final NoSuchAlgorithmException exception)
+        {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+
+    private static void append(final StringBuilder form, final Object value, final Map<Object, Object> visiting)
+    {
+        if (value == null)
+        {
+            form.append("null");
+        }
+        else if (value instanceof CharSequence || value instanceof Character)
+        {
+            final String string = value.toString();
+            form.append('"').append(string.length()).append(':').append(string);
+        }
+        else if (value instanceof Number || value instanceof Boolean)
+        {
+            form.append(value);
+        }
+        else if (value instanceof Enum<?> constant)
+        {
+            form.append(constant.getDeclaringClass().getName()).append('.').append(constant.name());
+        }
+        else if (value instanceof Path || value instanceof Duration || value instanceof TemporalAccessor || value instanceof FileTime)
+        {
+            appendString(form, value.getClass().getSimpleName(), value.toString());
+        }
+        else if (value instanceof Pattern pattern)
+        {
+            appendString(form, "Pattern/" + pattern.flags(), pattern.pattern());
+        }
+        else if (value instanceof Charset charset)
+        {
+            appendString(form, "Charset", charset.name());
+        }
+        else if (value instanceof Class<?> type)
+        {
+            appendString(form, "Class", type.getName());
+        }
+        else if (value.getClass().isArray())
+        {
+            final List<Object> elements = new ArrayList<>();
+            for (int i = 0; i < Array.getLength(value); i++)
+            {
+                elements.add(Array.get(value, i));
+            }
+            appendElements(form, elements, false, visiting);
+        }
+        else if (value instanceof Collection<?> collection)
+        {
+            appendElements(form, collection, collection instanceof Set, visiting);
+        }
+        else if (value instanceof Map<?, ?> map)
+        {
+            final List<String> entries = new ArrayList<>(map.size());
+            map.forEach((key, entry) -> {
+                final StringBuilder entryForm = new StringBuilder();
+                append(entryForm, key, visiting);
+                entryForm.append('=');
+                append(entryForm, entry, visiting);
+                entries.add(entryForm.toString());
+            });
+            entries.sort(Comparator.naturalOrder());
+            form.append('{').append(String.join(",", entries)).append('}');
+        }
+        else if (value.getClass().isHidden() || value.getClass().getName().startsWith("java."))
+        {
+            // Lambdas and other JDK objects carry no reproducible representation of their configuration
+            form.append(value.getClass().isHidden() ? "lambda" : value.getClass().getName());
+        }
+        else
+        {
+            appendFields(form, value, visiting);
+        }
+    }
+
+
+    private static void appendString(final StringBuilder form, final String type, final String string)
+    {
+        form.append(type).append('"').append(string.length()).append(':').append(string);
+    }
+
+
+    private static void appendElements(final StringBuilder form, final Collection<?> elements, final boolean sort,
+                                       final Map<Object, Object> visiting)
+    {
+        final List<String> forms = new ArrayList<>(elements.size());
+        for (final Object element : elements)
+        {
+            final StringBuilder elementForm = new StringBuilder();
+            append(elementForm, element, visiting);
+            forms.add(elementForm.toString());
+        }
+        if (sort)
+        {
+            forms.sort(Comparator.naturalOrder());
+        }
+        form.append('[').append(String.join(",", forms)).append(']');
+    }
+
+
+    private static void appendFields(final StringBuilder form, final Object value, final Map<Object, Object> visiting)
+    {
+        form.append(value.getClass().getName());
+        if (visiting.put(value, value) != null)
+        {
+            // Cycles are written as a reference to the class only
+            form.append("@cycle");
+            return;
+        }
+
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> type = value.getClass(); type != null && type != Object.class; type = type.getSuperclass())
+        {
+            for (final Field field : type.getDeclaredFields())
+            {
+                if (!field.isSynthetic() && (field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) == 0)
+                {
+                    fields.add(field);
+                }
+            }
+        }
+        fields.sort(Comparator.comparing(Field::getName).thenComparing(field -> field.getDeclaringClass().getName()));
+
+        form.append('(');
+        for (final Field field : fields)
+        {
+            form.append(field.getName()).append('=');
+            try
+            {
+                field.setAccessible(true);
+                append(form, field.get(value), visiting);
+            }
+            catch (final ReflectiveOperationException | RuntimeException exception)
+            {
+                form.append('?');
+            }
+            form.append(';');
+        }
+        form.append(')');
+        visiting.remove(value);
+    }
+}
@@ -0,0 +1,490 @@
+package model.procedure.journal;
+
+import lombok.Getter;
+import lombok.ToString;
+import model.file.discover.DiscoveredFile;
+import model.procedure.Procedure;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An append-only, on-disk journal of the files a procedure is going to process and of the files it completed, which allows an
+ * interrupted procedure to continue where it stopped instead of discovering and filtering the source again.
+ * <br>
+ * A procedure first {@link #plan(Stream) plans} all accepted files, which writes an intent record for each of them followed by
+ * a marker, and forces the journal to disk before any file is processed. Afterwards, the {@link #pending(FileSystem, LinkOption...)
+ * pending} files are processed and every resolved file is {@link #complete(Path, boolean) completed}. Completion records are
+ * written in batches and forced to disk at most once per sync interval, so a crash loses at most the completions of that interval.
+ * Files whose completion was lost are no longer present at the source and are skipped when the journal is replayed.
+ * <br>
+ * A journal belongs to a single procedure configuration identified by a key. A journal of another configuration, or one whose
+ * plan was not finished, is discarded when opened; a record torn by a crash ends the journal. Not thread-safe.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class ProcedureJournal implements Closeable
+{
+    private static final int MAGIC = 0x4646444A;
+
+    private static final int VERSION = 1;
+
+    private static final byte INTENT = 1;
+
+    private static final byte PLANNED = 2;
+
+    private static final byte COMPLETED = 3;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The file the journal is persisted in.
+     */
+    @Getter
+    @ToString.Include
+    private final Path journalFile;
+
+    private final long syncInterval;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * The offset of the first intent record.
+     */
+    private long planStart;
+
+    /**
+     * The number of planned files, or {@code -1} if the plan is not finished.
+     */
+    private int planned = -1;
+
+    private final BitSet completed = new BitSet();
+
+    /**
+     * The sequence numbers of the pending files handed out but not completed yet.
+     */
+    private final Map<Path, Integer> inFlight = new HashMap<>();
+
+    private long lastSync = System.nanoTime();
+
+
+    private ProcedureJournal(final Path journalFile, final Duration syncInterval, final FileChannel channel)
+    {
+        this.journalFile = journalFile;
+        this.syncInterval = syncInterval.toNanos();
+        this.channel = channel;
+    }
+
+
+    /**
+     * Opens the journal persisted in the given file, creating it if necessary.
+     *
+     * @param journalFile  the file the journal is persisted in.
+     * @param key          the identity of the procedure configuration, see {@link #key(Procedure)}.
+     * @param syncInterval the maximum time completion records are kept before they are forced to disk.
+     * @return the opened journal, which is {@link #isPlanned() planned} if it can be replayed.
+     * @throws IOException if the journal file cannot be read or written.
+     */
+    public static ProcedureJournal open(final Path journalFile, final String key, final Duration syncInterval) throws IOException
+    {
+        final FileChannel channel = FileChannel.open(journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final ProcedureJournal journal = new ProcedureJournal(journalFile, syncInterval, channel);
+        try
+        {
+            journal.recover(key);
+        }
+        catch (final IOException | RuntimeException exception)
+        {
+            channel.close();
+            throw exception;
+        }
+        return journal;
+    }
+
+
+    /**
+     * Returns the name of the journal file of the given procedure, derived from its id, or from its name if it has none.
+     *
+     * @param procedure the procedure to be journaled.
+     * @return a file name consisting of letters, digits, dots, dashes and underscores only.
+     */
+    public static String fileName(final Procedure procedure)
+    {
+        final String id = procedure.getId() != null ? procedure.getId() : String.valueOf(procedure.getName());
+        return id.replaceAll("[^A-Za-z0-9._-]", "_") + ".journal";
+    }
+
+
+    /**
+     * Returns the key identifying the complete configuration of the given procedure, including all of its strategies, so the
+     * journal of an interrupted run is only replayed by a procedure configured the same way. Fields declared {@code transient},
+     * such as caches, are not part of the configuration.
+     *
+     * @param procedure the procedure to be journaled.
+     * @return the type of the procedure followed by the digest of its configuration.
+     */
+    public static String key(final Procedure procedure)
+    {
+        return procedure.getClass().getSimpleName() + " " + ConfigurationDigest.of(procedure);
+    }
+
+
+    /**
+     * Returns whether the journal holds a finished plan that can be replayed.
+     *
+     * @return {@code true} if the files were planned already, by this or by an interrupted earlier run.
+     */
+    public boolean isPlanned()
+    {
+        return this.planned >= 0;
+    }
+
+
+    /**
+     * Returns the number of planned files that were not completed yet.
+     *
+     * @return the number of remaining files, or {@code 0} if the journal is not planned.
+     */
+    public long getRemaining()
+    {
+        return Math.max(0, this.planned - this.completed.cardinality());
+    }
+
+
+    /**
+     * Records the given files as the plan of the procedure and forces the journal to disk.
+     *
+     * @param files the files to be processed; consumed completely.
+     * @return the number of planned files.
+     * @throws IOException           if the journal cannot be written.
+     * @throws IllegalStateException if the journal is planned already.
+     */
+    public long plan(final Stream<DiscoveredFile> files) throws IOException
+    {
+        if (this.isPlanned())
+        {
+            throw new IllegalStateException("Journal is planned already: " + this.journalFile);
+        }
+
+        final Iterator<DiscoveredFile> iterator = files.iterator();
+        int count = 0;
+        while (iterator.hasNext())
+        {
+            final byte[] path = iterator.next().path().toString().getBytes(StandardCharsets.UTF_8);
+            this.reserve(1 + Integer.BYTES + path.length);
+            this.buffer.put(INTENT).putInt(path.length);
+            this.put(path);
+            count++;
+        }
+        this.reserve(1);
+        this.buffer.put(PLANNED);
+        this.sync();
+        this.planned = count;
+        return count;
+    }
+
+
+    /**
+     * Opens a lazily populated stream of the planned files that were not completed yet, in the order they were planned. Files that
+     * no longer exist are skipped, as they were processed before their completion was recorded. The stream must be closed.
+     *
+     * @param fileSystem the file system the planned paths belong to.
+     * @param options    options indicating how symbolic links are handled when reading the attributes.
+     * @return the pending files with their current attributes.
+     * @throws IOException           if the journal file cannot be read.
+     * @throws IllegalStateException if the journal is not planned.
+     */
+    public Stream<DiscoveredFile> pending(final FileSystem fileSystem, final LinkOption... options) throws IOException
+    {
+        if (!this.isPlanned())
+        {
+            throw new IllegalStateException("Journal is not planned: " + this.journalFile);
+        }
+
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.journalFile), BUFFER_SIZE));
+        try
+        {
+            input.skipNBytes(this.planStart);
+        }
+        catch (final IOException exception)
+        {
+            input.close();
+            throw exception;
+        }
+        final int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        final Spliterator<DiscoveredFile> spliterator = new Spliterators.AbstractSpliterator<>(this.getRemaining(), characteristics)
+        {
+            private int sequence;
+
+
+            @Override
+            public boolean tryAdvance(final Consumer<? super DiscoveredFile> action)
+            {
+                try
+                {
+                    while (this.sequence < ProcedureJournal.this.planned)
+                    {
+                        final int current = this.sequence++;
+                        input.readByte();
+                        final byte[] bytes = new byte[input.readInt()];
+                        input.readFully(bytes);
+                        if (ProcedureJournal.this.completed.get(current))
+                        {
+                            continue;
+                        }
+
+                        final Path path = fileSystem.getPath(new String(bytes, StandardCharsets.UTF_8));
+                        final DiscoveredFile file;
+                        try
+                        {
+                            file = DiscoveredFile.of(path, options);
+                        }
+                        catch (final NoSuchFileException exception)
+                        {
+                            continue;
+                        }
+                        ProcedureJournal.this.inFlight.put(path, current);
+                        action.accept(file);
+                        return true;
+                    }
+                    return false;
+                }
+                catch (final IOException exception)
+                {
+                    throw new UncheckedIOException(exception);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try
+            {
+                input.close();
+            }
+            catch (final IOException exception)
+            {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+
+
+    /**
+     * Records the outcome of processing a pending file. Only resolved files are recorded; unresolved ones are processed again when
+     * the journal is replayed.
+     *
+     * @param file     the path of a file returned by {@link #pending(FileSystem, LinkOption...)}.
+     * @param resolved whether the file was processed successfully.
+     * @throws IOException if the journal cannot be written.
+     */
+    public void complete(final Path file, final boolean resolved) throws IOException
+    {
+        final Integer sequence = this.inFlight.remove(file);
+        if (sequence == null || !resolved)
+        {
+            return;
+        }
+
+        this.completed.set(sequence);
+        this.reserve(1 + Integer.BYTES);
+        this.buffer.put(COMPLETED).putInt(sequence);
+        if (System.nanoTime() - this.lastSync >= this.syncInterval)
+        {
+            this.sync();
+        }
+    }
+
+
+    /**
+     * Forces all records to disk and closes the journal, which is kept for a later replay.
+     *
+     * @throws IOException if the journal cannot be written.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (!this.channel.isOpen())
+        {
+            return;
+        }
+        try
+        {
+            this.sync();
+        }
+        finally
+        {
+            this.channel.close();
+        }
+    }
+
+
+    /**
+     * Closes and deletes the journal once the procedure finished, so the next run starts over.
+     *
+     * @throws IOException if the journal file cannot be deleted.
+     */
+    public void discard() throws IOException
+    {
+        this.channel.close();
+        Files.deleteIfExists(this.journalFile);
+    }
+
+
+    /**
+     * Reads the journal file, discarding it if it belongs to another configuration or its plan is not finished, and positions the
+     * channel behind the last complete record.
+     */
+    private void recover(final String key) throws IOException
+    {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final long headerSize = 2 * Integer.BYTES + Integer.BYTES + keyBytes.length;
+        long valid = 0;
+        if (this.channel.size() > 0)
+        {
+            try (final DataInputStream input = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(this.journalFile), BUFFER_SIZE)))
+            {
+                if (input.readInt() == MAGIC && input.readInt() == VERSION && input.readInt() == keyBytes.length
+                        && Arrays.equals(input.readNBytes(keyBytes.length), keyBytes))
+                {
+                    valid = this.scan(input, headerSize);
+                }
+            }
+            catch (final EOFException exception)
+            {
+                // Torn header
+            }
+        }
+
+        if (!this.isPlanned())
+        {
+            // Nothing was processed before the plan was finished, so the procedure starts over
+            this.completed.clear();
+            this.channel.truncate(0);
+            this.channel.position(0);
+            this.buffer.putInt(MAGIC).putInt(VERSION).putInt(keyBytes.length).put(keyBytes);
+            this.sync();
+            this.planStart = headerSize;
+            return;
+        }
+        this.channel.truncate(valid);
+        this.channel.position(valid);
+        this.planStart = headerSize;
+    }
+
+
+    /**
+     * Reads the records following the header and returns the offset behind the last complete one.
+     */
+    private long scan(final DataInputStream input, final long headerSize) throws IOException
+    {
+        long offset = headerSize;
+        int intents = 0;
+        try
+        {
+            while (true)
+            {
+                final byte type = input.readByte();
+                if (type == INTENT && !this.isPlanned())
+                {
+                    final int length = input.readInt();
+                    input.skipNBytes(length);
+                    offset += 1 + Integer.BYTES + length;
+                    intents++;
+                }
+                else if (type == PLANNED && !this.isPlanned())
+                {
+                    offset += 1;
+                    this.planned = intents;
+                }
+                else if (type == COMPLETED && this.isPlanned())
+                {
+                    final int sequence = input.readInt();
+                    if (sequence < 0 || sequence >= this.planned)
+                    {
+                        return offset;
+                    }
+                    this.completed.set(sequence);
+                    offset += 1 + Integer.BYTES;
+                }
+                else
+                {
+                    return offset;
+                }
+            }
+        }
+        catch (final EOFException exception)
+        {
+            return offset;
+        }
+    }
+
+
+    private void reserve(final int bytes) throws IOException
+    {
+        if (this.buffer.remaining() < bytes)
+        {
+            this.flush();
+        }
+    }
+
+
+    private void put(final byte[] bytes) throws IOException
+    {
+        if (bytes.length > this.buffer.remaining())
+        {
+            this.flush();
+            final ByteBuffer large = ByteBuffer.wrap(bytes);
+            while (large.hasRemaining())
+            {
+                this.channel.write(large);
+            }
+            return;
+        }
+        this.buffer.put(bytes);
+    }
+
+
+    private void flush() throws IOException
+    {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining())
+        {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+
+    private void sync() throws IOException
+    {
+        this.flush();
+        this.channel.force(false);
+        this.lastSync = System.nanoTime();
+    }
+}
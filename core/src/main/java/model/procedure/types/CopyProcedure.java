@@ -0,0 +1,54 @@
+package model.procedure.types;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.SuperBuilder;
+import model.file.FileFilterStrategy;
+import model.file.conflict.FileConflictStrategy;
+import model.file.copy.FileCopyStrategy;
+import model.file.discover.FileDiscoverStrategy;
+import model.file.move.FileMoveStrategy;
+import model.procedure.Procedure;
+
+import java.nio.file.Path;
+
+/**
+ * Represents a procedure for copying files from a source path to a target path.
+ */
+@Data
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+public final class CopyProcedure extends Procedure
+{
+    private Path sourcePath;
+
+    private Path targetDirectory;
+
+    private FileDiscoverStrategy discoverStrategy;
+
+    private FileFilterStrategy filterStrategy;
+
+    @Builder.Default
+    private int filterParallelism = 1;
+
+    /**
+     * Determines the target of each file, see {@link FileMoveStrategy#targetOf(Path, Path)}. Files are only copied, never moved.
+     */
+    private FileMoveStrategy layoutStrategy;
+
+    private FileCopyStrategy fileCopyStrategy;
+
+    @Builder.Default
+    private int copyParallelism = 1;
+
+    /**
+     * Whether the target of every file is reserved while planning, so files with the same target, e.g. files with the same name
+     * flattened into one directory, are renamed or skipped before they are copied. This keeps the name of every planned file in memory,
+     * roughly 100 bytes per file or 4 GB for 40 million files. Otherwise only the names present in the target directories and those
+     * assigned by the conflict strategy are kept, and such files are reported as conflicts once their copy finds the target taken.
+     */
+    private boolean reserveTargets;
+
+    private FileConflictStrategy fileConflictStrategy;
+}
@@ -1,5 +1,6 @@
 package model.procedure.types;
 
+import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.SuperBuilder;
@@ -24,5 +25,8 @@ public class DeleteProcedure extends Procedure
 
     private FileFilterStrategy filterStrategy;
 
+    @Builder.Default
+    private int filterParallelism = 1;
+
     private FileDeleteStrategy deleteStrategy;
 }
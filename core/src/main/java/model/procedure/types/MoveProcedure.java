@@ -1,5 +1,6 @@
 package model.procedure.types;
 
+import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.SuperBuilder;
@@ -27,7 +28,21 @@ public final class MoveProcedure extends Procedure
 
     private FileFilterStrategy filterStrategy;
 
+    @Builder.Default
+    private int filterParallelism = 1;
+
     private FileMoveStrategy fileMoveStrategy;
 
+    @Builder.Default
+    private int moveParallelism = 1;
+
+    /**
+     * Whether the target of every file is reserved while planning, so files with the same target, e.g. files with the same name
+     * flattened into one directory, are renamed or skipped before they are moved. This keeps the name of every planned file in memory,
+     * roughly 100 bytes per file or 4 GB for 40 million files. Otherwise only the names present in the target directories and those
+     * assigned by the conflict strategy are kept, and such files are handled as conflicts once their move fails.
+     */
+    private boolean reserveTargets;
+
     private FileConflictStrategy fileConflictStrategy;
 }
@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal timing harness for the benchmarks in this package. Each benchmark is a plain {@code main} class that is not picked up by the
+ * test runner and can be started from the IDE or with
+ * {@code java -cp core/target/classes:core/target/test-classes benchmark.<Name>} after {@code mvn test-compile}.
+ */
+public final class Benchmark
+{
+    private Benchmark() {}
+
+
+    /**
+     * A benchmarked operation which may throw checked exceptions.
+     */
+    @FunctionalInterface
+    public interface Operation
+    {
+        /**
+         * Runs the operation once.
+         *
+         * @return a value derived from the result, which is consumed to keep the JIT from eliminating the work.
+         * @throws Exception if the operation fails.
+         */
+        long run() throws Exception;
+    }
+
+
+    /**
+     * Runs the given operation for the configured warmup and measurement iterations and prints the median run time.
+     *
+     * @param name         the label printed with the result.
+     * @param warmups      the number of unmeasured iterations.
+     * @param measurements the number of measured iterations.
+     * @param operation    the operation to measure.
+     * @return the median run time in nanoseconds.
+     * @throws Exception if the operation fails.
+     */
+    public static long measure(final String name, final int warmups, final int measurements, final Operation operation) throws Exception
+    {
+        long blackhole = 0;
+        for (int i = 0; i < warmups; i++)
+        {
+            blackhole += operation.run();
+        }
+
+        final long[] times = new long[measurements];
+        for (int i = 0; i < measurements; i++)
+        {
+            final long start = System.nanoTime();
+            blackhole += operation.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        final long median = times[measurements / 2];
+        System.out.printf(Locale.ROOT, "%-48s %12.3f ms  (min %.3f ms, max %.3f ms) [%d]%n",
+                name, median / 1e6, times[0] / 1e6, times[measurements - 1] / 1e6, blackhole);
+        return median;
+    }
+
+
+    /**
+     * Prints the speedup of a candidate over a baseline.
+     *
+     * @param baseline  the median run time of the baseline in nanoseconds.
+     * @param candidate the median run time of the candidate in nanoseconds.
+     */
+    public static void speedup(final long baseline, final long candidate)
+    {
+        System.out.printf(Locale.ROOT, "%-48s %12.2fx%n", "speedup", baseline / (double) candidate);
+    }
+}
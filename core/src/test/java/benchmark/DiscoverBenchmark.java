@@ -0,0 +1,87 @@
+package benchmark;
+
+import model.file.discover.DiscoveredFile;
+import model.file.discover.FileDiscoverStrategy;
+import model.file.discover.ParallelRecursiveDiscoverStrategy;
+import model.file.discover.RecursiveDiscoverStrategy;
+import model.listener.Listener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@link RecursiveDiscoverStrategy} with {@link ParallelRecursiveDiscoverStrategy} on a wide and on a deep directory tree.
+ * The trees are created in a temporary directory, or below the directory given as first argument, e.g. a network mount.
+ */
+public final class DiscoverBenchmark
+{
+    private static final Listener LISTENER = new Listener() {};
+
+
+    private DiscoverBenchmark() {}
+
+
+    public static void main(final String[] args) throws Exception
+    {
+        final Path root = args.length > 0
+                ? Files.createTempDirectory(Path.of(args[0]), "discover-benchmark")
+                : Files.createTempDirectory("discover-benchmark");
+        try
+        {
+            final Path wide = root.resolve("wide");
+            createTree(wide, 1, 2000, 10);
+            compare("wide (2000 directories x 10 files)", wide);
+
+            final Path deep = root.resolve("deep");
+            createTree(deep, 11, 2, 5);
+            compare("deep (depth 11, fan-out 2, 5 files each)", deep);
+        }
+        finally
+        {
+            try (final Stream<Path> paths = Files.walk(root))
+            {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+
+    private static void compare(final String tree, final Path source) throws Exception
+    {
+        System.out.println(tree);
+        final long sequential = Benchmark.measure("RecursiveDiscoverStrategy", 3, 10, () -> count(new RecursiveDiscoverStrategy(), source));
+        final long parallel = Benchmark.measure("ParallelRecursiveDiscoverStrategy", 3, 10, () -> count(new ParallelRecursiveDiscoverStrategy(), source));
+        Benchmark.speedup(sequential, parallel);
+        System.out.println();
+    }
+
+
+    private static long count(final FileDiscoverStrategy strategy, final Path source) throws Exception
+    {
+        try (final Stream<DiscoveredFile> files = strategy.stream(source, LISTENER))
+        {
+            return files.count();
+        }
+    }
+
+
+    private static void createTree(final Path directory, final int depth, final int width, final int files) throws IOException
+    {
+        Files.createDirectories(directory);
+        for (int i = 0; i < files; i++)
+        {
+            Files.writeString(directory.resolve("file" + i + ".txt"), "benchmark");
+        }
+        if (depth == 0)
+        {
+            return;
+        }
+        for (int i = 0; i < width; i++)
+        {
+            createTree(directory.resolve("dir" + i), depth - 1, width, files);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import model.file.ExclusionListFilterStrategy;
+import model.file.PatternFilterStrategy;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Measures the lookups of {@link ExclusionListFilterStrategy} for a list of 500,000 file names against a {@link HashSet} of the same
+ * names, for files of which almost none are listed. {@link PatternFilterStrategy} is not compared, as compiling 500,000 literal
+ * patterns alone takes longer than the whole benchmark.
+ */
+public final class ExclusionListBenchmark
+{
+    private static final int ENTRIES = 500_000;
+
+    private static final int FILES = 1_000_000;
+
+
+    private ExclusionListBenchmark() {}
+
+
+    public static void main(final String[] args) throws Exception
+    {
+        final List<String> names = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            names.add("contract-" + i + ".pdf");
+        }
+        final List<Path> files = new ArrayList<>(FILES);
+        for (int i = 0; i < FILES; i++)
+        {
+            files.add(Path.of("dir" + (i % 100), (i % 1000 == 0 ? "contract-" : "invoice-") + i + ".pdf"));
+        }
+
+        final long start = System.nanoTime();
+        final ExclusionListFilterStrategy strategy = ExclusionListFilterStrategy.of(names, ExclusionListFilterStrategy.Key.FILE_NAME);
+        System.out.printf("Loaded %d entries in %d ms, %.1f MB off-heap%n", strategy.getSize(), (System.nanoTime() - start) / 1_000_000,
+                strategy.getByteSize() / 1_000_000.0);
+        final Set<String> set = new HashSet<>(names);
+
+        System.out.println(FILES + " files, 0.1% listed");
+        final long hashSet = Benchmark.measure("HashSet", 3, 10,
+                () -> files.stream().filter(file -> !set.contains(file.getFileName().toString())).count());
+        final long exclusionList = Benchmark.measure("ExclusionListFilterStrategy", 3, 10, () -> files.stream().filter(strategy::accept).count());
+        Benchmark.speedup(hashSet, exclusionList);
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import control.procedure.executor.MoveProcedureExecutor;
+import model.file.PatternFilterStrategy;
+import model.file.conflict.SkipConflictStrategy;
+import model.file.discover.FlatDiscoverStrategy;
+import model.file.move.FlatMoveStrategy;
+import model.procedure.types.MoveProcedure;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Compares sequential with parallel moves of {@link MoveProcedureExecutor}. The files are moved back and forth between two
+ * directories, created in a temporary directory, or below the directory given as first argument, e.g. a network mount where the
+ * per-file latency dominates.
+ */
+public final class MoveBenchmark
+{
+    private static final int FILES = 5_000;
+
+
+    private MoveBenchmark() {}
+
+
+    public static void main(final String[] args) throws Exception
+    {
+        final Path root = args.length > 0
+                ? Files.createTempDirectory(Path.of(args[0]), "move-benchmark")
+                : Files.createTempDirectory("move-benchmark");
+        try
+        {
+            final Path left = Files.createDirectories(root.resolve("left"));
+            final Path right = Files.createDirectories(root.resolve("right"));
+            for (int i = 0; i < FILES; i++)
+            {
+                Files.writeString(left.resolve("file" + i + ".txt"), "benchmark");
+            }
+
+            System.out.println(FILES + " files");
+            final Path[] directories = {left, right};
+            final long sequential = Benchmark.measure("sequential", 2, 6, () -> moveAll(directories, 1));
+            for (final int parallelism : new int[]{4, 16, 64})
+            {
+                final long parallel = Benchmark.measure("parallelism " + parallelism, 2, 6, () -> moveAll(directories, parallelism));
+                Benchmark.speedup(sequential, parallel);
+            }
+        }
+        finally
+        {
+            try (final Stream<Path> paths = Files.walk(root))
+            {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+
+    /**
+     * Moves all files from the first to the second directory and swaps the directories for the next run.
+     */
+    private static long moveAll(final Path[] directories, final int parallelism)
+    {
+        MoveProcedureExecutor.builder().build().execute(MoveProcedure.builder()
+                .name("benchmark")
+                .sourcePath(directories[0])
+                .targetDirectory(directories[1])
+                .discoverStrategy(new FlatDiscoverStrategy())
+                .filterStrategy(new PatternFilterStrategy())
+                .fileMoveStrategy(new FlatMoveStrategy())
+                .fileConflictStrategy(new SkipConflictStrategy())
+                .moveParallelism(parallelism)
+                .build());
+        final Path source = directories[0];
+        directories[0] = directories[1];
+        directories[1] = source;
+        return directories[0].hashCode();
+    }
+}
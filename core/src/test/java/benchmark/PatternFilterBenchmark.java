@@ -0,0 +1,81 @@
+package benchmark;
+
+import model.file.PatternFilterStrategy;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link PatternFilterStrategy} with matching each pattern individually, as it was done before the patterns were compiled,
+ * for a growing number of extension, literal and generic exclude patterns, and the backtracking with the linear engine.
+ */
+public final class PatternFilterBenchmark
+{
+    private static final int FILES = 100_000;
+
+
+    private PatternFilterBenchmark() {}
+
+
+    public static void main(final String[] args) throws Exception
+    {
+        final List<Path> files = new ArrayList<>(FILES);
+        for (int i = 0; i < FILES; i++)
+        {
+            files.add(Path.of("dir" + (i % 100), "file" + i + "." + (i % 7 == 0 ? "keep" : "ext" + (i % 500))));
+        }
+
+        for (final int count : new int[]{10, 100, 1000})
+        {
+            final List<Pattern> patterns = createPatterns(count);
+            final PatternFilterStrategy strategy = new PatternFilterStrategy();
+            strategy.setExcludePatterns(patterns);
+
+            System.out.println(count + " exclude patterns, " + FILES + " files");
+            final long loop = Benchmark.measure("pattern loop", 3, 10, () -> files.stream().filter(file -> accept(patterns, file)).count());
+            final long compiled = Benchmark.measure("PatternFilterStrategy", 3, 10, () -> files.stream().filter(strategy::accept).count());
+            Benchmark.speedup(loop, compiled);
+            final PatternFilterStrategy linearStrategy = new PatternFilterStrategy();
+            linearStrategy.setEngine(PatternFilterStrategy.Engine.LINEAR);
+            linearStrategy.setExcludePatterns(patterns);
+            final long linear = Benchmark.measure("PatternFilterStrategy, linear", 3, 10, () -> files.stream().filter(linearStrategy::accept).count());
+            Benchmark.speedup(compiled, linear);
+            System.out.println();
+        }
+    }
+
+
+    /**
+     * Creates patterns of which 80% are extension patterns, 15% literal names and 5% generic expressions.
+     */
+    private static List<Pattern> createPatterns(final int count)
+    {
+        final List<Pattern> patterns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            patterns.add(Pattern.compile(switch (i % 20)
+            {
+                case 0 -> "tmp[0-9]+_" + i + "\\..*";
+                case 1, 2, 3 -> "name" + i + "\\.txt";
+                default -> ".*\\.ext" + i;
+            }));
+        }
+        return patterns;
+    }
+
+
+    private static boolean accept(final List<Pattern> excludePatterns, final Path file)
+    {
+        final String filename = file.getFileName().toString();
+        for (final Pattern pattern : excludePatterns)
+        {
+            if (pattern.matcher(filename).matches())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
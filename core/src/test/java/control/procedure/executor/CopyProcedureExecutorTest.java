@@ -0,0 +1,149 @@
+package control.procedure.executor;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.PatternFilterStrategy;
+import model.file.conflict.RenameConflictStrategy;
+import model.file.copy.ChunkedCopyStrategy;
+import model.file.discover.RecursiveDiscoverStrategy;
+import model.file.move.FlatMoveStrategy;
+import model.file.move.StructuralMoveStrategy;
+import model.listener.Listener;
+import model.listener.ProgressEvent;
+import model.procedure.types.CopyProcedure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class CopyProcedureExecutorTest
+{
+    private static final int FILES = 50;
+
+
+    private static long count(final Path directory) throws IOException
+    {
+        try (final Stream<Path> paths = Files.walk(directory))
+        {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+
+    private static Path createSource(final FileSystem fileSystem) throws IOException
+    {
+        final Path source = fileSystem.getPath("/source");
+        for (final String directory : List.of("a", "b", "c"))
+        {
+            Files.createDirectories(source.resolve(directory));
+            for (int i = 0; i < FILES; i++)
+            {
+                Files.writeString(source.resolve(directory).resolve("file" + i + ".txt"), directory + i);
+            }
+        }
+        return source;
+    }
+
+
+    @Test
+    @DisplayName("Execute: Parallel structural copy reproduces the source tree and keeps the sources")
+    void execute_structural() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. Three directories with the same file names
+            final Path source = createSource(fileSystem);
+            final Path target = fileSystem.getPath("/target");
+            Files.createDirectories(target);
+
+            final CopyProcedure procedure = CopyProcedure.builder()
+                    .name("structural")
+                    .sourcePath(source)
+                    .targetDirectory(target)
+                    .discoverStrategy(new RecursiveDiscoverStrategy())
+                    .filterStrategy(new PatternFilterStrategy())
+                    .layoutStrategy(StructuralMoveStrategy.builder().sourceDirectory(source).build())
+                    .fileCopyStrategy(new ChunkedCopyStrategy())
+                    .fileConflictStrategy(new RenameConflictStrategy())
+                    .copyParallelism(8)
+                    .build();
+            final Thread caller = Thread.currentThread();
+            final int[] copied = new int[1];
+            final CopyProcedureExecutor executor = CopyProcedureExecutor.builder().build();
+            executor.register(new Listener()
+            {
+                @Override
+                public void onProgress(final ProgressEvent event)
+                {
+                    assertSame(caller, Thread.currentThread(), "Progress reported on another thread.");
+                    if (event.getMessage().startsWith("Copied "))
+                    {
+                        copied[0]++;
+                    }
+                }
+            });
+
+            // 2. Every file copied to the same relative path
+            executor.execute(procedure);
+            assertEquals(3 * FILES, copied[0], "Unexpected number of copy events.");
+            assertEquals(3 * FILES, count(target), "Unexpected number of copied files.");
+            assertEquals(3 * FILES, count(source), "Source files removed.");
+            assertEquals("b7", Files.readString(target.resolve("b/file7.txt")), "Copied content differs.");
+        }
+    }
+
+
+    /**
+     * Copies the source tree flat into an empty target, with files of the same name renamed.
+     */
+    private static void executeFlat(final boolean reserveTargets) throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = createSource(fileSystem);
+            final Path target = fileSystem.getPath("/target");
+            Files.createDirectories(target);
+
+            final CopyProcedure procedure = CopyProcedure.builder()
+                    .name("flat")
+                    .sourcePath(source)
+                    .targetDirectory(target)
+                    .discoverStrategy(new RecursiveDiscoverStrategy())
+                    .filterStrategy(new PatternFilterStrategy())
+                    .layoutStrategy(new FlatMoveStrategy())
+                    .fileCopyStrategy(new ChunkedCopyStrategy())
+                    .fileConflictStrategy(new RenameConflictStrategy())
+                    .copyParallelism(4)
+                    .reserveTargets(reserveTargets)
+                    .build();
+            CopyProcedureExecutor.builder().build().execute(procedure);
+
+            assertEquals(3 * FILES, count(target), "Files overwritten or skipped.");
+            assertEquals(3 * FILES, count(source), "Source files removed.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Execute: Flat copy renames files with the same name before copying them if targets are reserved")
+    void execute_flatRenamed() throws IOException
+    {
+        executeFlat(true);
+    }
+
+
+    @Test
+    @DisplayName("Execute: Flat copy renames files with the same name once their copy failed by default")
+    void execute_flatRenamedAfterConflict() throws IOException
+    {
+        executeFlat(false);
+    }
+}
@@ -0,0 +1,130 @@
+package control.procedure.executor;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import exception.FileMoverException;
+import model.file.ExclusionListFilterStrategy;
+import model.file.PatternFilterStrategy;
+import model.file.delete.HardDeleteStrategy;
+import model.file.discover.RecursiveDiscoverStrategy;
+import model.procedure.types.DeleteProcedure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class DeleteProcedureExecutorTest
+{
+    private static final int FILES = 50;
+
+
+    @Test
+    @DisplayName("Execute: Journal of an interrupted execution is discarded once the configuration changed")
+    void execute_journalOfOtherConfiguration() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = Files.createDirectories(fileSystem.getPath("/source"));
+            final Path journals = Files.createDirectories(fileSystem.getPath("/journals"));
+            for (int i = 0; i < FILES; i++)
+            {
+                Files.writeString(source.resolve("file" + i + ".txt"), "content");
+            }
+
+            // 1. The first execution plans all files and crashes before deleting any of them
+            final HardDeleteStrategy hard = new HardDeleteStrategy();
+            final AtomicBoolean crash = new AtomicBoolean(true);
+            final PatternFilterStrategy filter = new PatternFilterStrategy();
+            final DeleteProcedure procedure = DeleteProcedure.builder()
+                    .id("cleanup")
+                    .name("cleanup")
+                    .sourcePath(source)
+                    .discoverStrategy(new RecursiveDiscoverStrategy())
+                    .filterStrategy(filter)
+                    .deleteStrategy((path, listener) -> {
+                        if (crash.get())
+                        {
+                            throw new IllegalStateException("Simulated crash.");
+                        }
+                        return hard.delete(path, listener);
+                    })
+                    .build();
+            final DeleteProcedureExecutor executor = DeleteProcedureExecutor.builder().journalDirectory(journals).build();
+            assertThrows(FileMoverException.class, () -> executor.execute(procedure), "Crash not propagated.");
+            assertTrue(Files.exists(journals.resolve("cleanup.journal")), "Journal not retained.");
+
+            // 2. Restarted with a filter excluding ten of the planned files
+            crash.set(false);
+            filter.setExcludePatterns(List.of(Pattern.compile("file4\\d\\.txt")));
+            executor.execute(procedure);
+
+            // 3. The excluded files survive, the journal is gone
+            try (final Stream<Path> remaining = Files.list(source))
+            {
+                assertEquals(10, remaining.count(), "Excluded files deleted by the replayed plan.");
+            }
+            assertTrue(Files.exists(source.resolve("file42.txt")), "Excluded file deleted.");
+            assertFalse(Files.exists(journals.resolve("cleanup.journal")), "Journal not deleted.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Execute: Journal of an interrupted execution is discarded once the exclusion list changed")
+    void execute_journalOfOtherExclusionList() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = Files.createDirectories(fileSystem.getPath("/source"));
+            final Path journals = Files.createDirectories(fileSystem.getPath("/journals"));
+            for (int i = 0; i < FILES; i++)
+            {
+                Files.writeString(source.resolve("file" + i + ".txt"), "content");
+            }
+
+            // 1. The first execution plans all files but one and crashes before deleting any of them
+            final HardDeleteStrategy hard = new HardDeleteStrategy();
+            final AtomicBoolean crash = new AtomicBoolean(true);
+            final DeleteProcedure procedure = DeleteProcedure.builder()
+                    .id("cleanup")
+                    .name("cleanup")
+                    .sourcePath(source)
+                    .discoverStrategy(new RecursiveDiscoverStrategy())
+                    .filterStrategy(ExclusionListFilterStrategy.of(List.of("file0.txt"), ExclusionListFilterStrategy.Key.FILE_NAME))
+                    .deleteStrategy((path, listener) -> {
+                        if (crash.get())
+                        {
+                            throw new IllegalStateException("Simulated crash.");
+                        }
+                        return hard.delete(path, listener);
+                    })
+                    .build();
+            final DeleteProcedureExecutor executor = DeleteProcedureExecutor.builder().journalDirectory(journals).build();
+            assertThrows(FileMoverException.class, () -> executor.execute(procedure), "Crash not propagated.");
+
+            // 2. Restarted with a list of the same size protecting another file
+            crash.set(false);
+            procedure.setFilterStrategy(ExclusionListFilterStrategy.of(List.of("file1.txt"), ExclusionListFilterStrategy.Key.FILE_NAME));
+            executor.execute(procedure);
+
+            // 3. Only the newly listed file survives, the journal is gone
+            try (final Stream<Path> remaining = Files.list(source))
+            {
+                assertEquals(List.of(source.resolve("file1.txt")), remaining.toList(), "Listed file deleted by the replayed plan.");
+            }
+            assertFalse(Files.exists(journals.resolve("cleanup.journal")), "Journal not deleted.");
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package control.procedure.executor;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import exception.FileDiscoverException;
+import exception.FileMoverException;
+import model.file.AgeFilterStrategy;
+import model.file.PatternFilterStrategy;
+import model.file.conflict.SkipConflictStrategy;
+import model.file.discover.DiscoveredFile;
+import model.file.discover.FileDiscoverStrategy;
+import model.file.discover.RecursiveDiscoverStrategy;
+import model.file.move.FileMoveStrategy;
+import model.file.move.FlatMoveStrategy;
+import model.listener.Listener;
+import model.listener.ProgressEvent;
+import model.procedure.types.MoveProcedure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class MoveProcedureExecutorTest
+{
+    private static final int FILES = 50;
+
+
+    private static long count(final Path directory) throws IOException
+    {
+        try (final Stream<Path> paths = Files.walk(directory))
+        {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+
+    @Test
+    @DisplayName("Execute: Parallel moves move every file once and report conflicts on the calling thread")
+    void execute_parallel() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. Three directories with the same file names, so two of three files of each name conflict in a flat move
+            final Path source = fileSystem.getPath("/source");
+            final Path target = fileSystem.getPath("/target");
+            Files.createDirectories(target);
+            for (final String directory : List.of("a", "b", "c"))
+            {
+                Files.createDirectories(source.resolve(directory));
+                for (int i = 0; i < FILES; i++)
+                {
+                    Files.writeString(source.resolve(directory).resolve("file" + i + ".txt"), directory);
+                }
+            }
+
+            final MoveProcedure procedure = MoveProcedure.builder()
+                    .name("parallel")
+                    .sourcePath(source)
+                    .targetDirectory(target)
+                    .discoverStrategy(new RecursiveDiscoverStrategy())
+                    .filterStrategy(new PatternFilterStrategy())
+                    .fileMoveStrategy(new FlatMoveStrategy())
+                    .fileConflictStrategy(new SkipConflictStrategy())
+                    .moveParallelism(8)
+                    .build();
+            final Thread caller = Thread.currentThread();
+            final int[] moved = new int[1];
+            final int[] conflicts = new int[1];
+            final MoveProcedureExecutor executor = MoveProcedureExecutor.builder().build();
+            executor.register(new Listener()
+            {
+                @Override
+                public void onProgress(final ProgressEvent event)
+                {
+                    assertSame(caller, Thread.currentThread(), "Progress reported on another thread.");
+                    if (event.getMessage().startsWith("Moved "))
+                    {
+                        moved[0]++;
+                    }
+                    else if (event.getMessage().startsWith("Conflict "))
+                    {
+                        conflicts[0]++;
+                    }
+                }
+            });
+
+            // 2. Every name arrives once, no file is overwritten by a concurrent move
+            executor.execute(procedure);
+            assertEquals(FILES, count(target), "Unexpected number of moved files.");
+            assertEquals(2 * FILES, count(source), "Unexpected number of skipped files.");
+            assertEquals(FILES, moved[0], "Unexpected number of move events.");
+            assertEquals(2 * FILES, conflicts[0], "Unexpected number of conflict events.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Execute: Interrupted journaled execution continues with the remaining files without rediscovery")
+    void execute_journaled() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source");
+            final Path target = fileSystem.getPath("/target");
+            final Path journals = fileSystem.getPath("/journals");
+            Files.createDirectories(source);
+            Files.createDirectories(target);
+            Files.createDirectories(journals);
+            for (int i = 0; i < FILES; i++)
+            {
+                Files.writeString(source.resolve("file" + i + ".txt"), "content");
+            }
+
+            // 1. The first execution crashes after 20 moves and leaves its journal behind
+            final FileMoveStrategy flat = new FlatMoveStrategy();
+            final FileDiscoverStrategy recursive = new RecursiveDiscoverStrategy();
+            final AtomicInteger moves = new AtomicInteger();
+            final AtomicBoolean crash = new AtomicBoolean(true);
+            final AtomicBoolean discovered = new AtomicBoolean();
+            final MoveProcedure procedure = MoveProcedure.builder()
+                    .id("journaled")
+                    .name("journaled")
+                    .sourcePath(source)
+                    .targetDirectory(target)
+                    .discoverStrategy((path, listener) -> {
+                        if (discovered.getAndSet(true))
+                        {
+                            throw new IllegalStateException("Source discovered again.");
+                        }
+                        return recursive.stream(path, listener);
+                    })
+                    .filterStrategy(new PatternFilterStrategy())
+                    .fileMoveStrategy((file, directory) -> {
+                        if (crash.get() && moves.incrementAndGet() > 20)
+                        {
+                            throw new IllegalStateException("Simulated crash.");
+                        }
+                        return flat.move(file, directory);
+                    })
+                    .fileConflictStrategy(new SkipConflictStrategy())
+                    .build();
+            final MoveProcedureExecutor executor = MoveProcedureExecutor.builder().journalDirectory(journals).build();
+            assertThrows(FileMoverException.class, () -> executor.execute(procedure), "Crash not propagated.");
+            assertEquals(20, count(target), "Unexpected number of moved files.");
+            assertTrue(Files.exists(journals.resolve("journaled.journal")), "Journal not retained.");
+
+            // 2. The second execution of the same configuration replays the journal instead of discovering the source again
+            crash.set(false);
+            final int[] moved = new int[1];
+            executor.register(new Listener()
+            {
+                @Override
+                public void onProgress(final ProgressEvent event)
+                {
+                    if (event.getMessage().startsWith("Moved "))
+                    {
+                        moved[0]++;
+                    }
+                }
+            });
+            executor.execute(procedure);
+
+            // 3. Only the remaining files were moved and the journal is deleted
+            assertEquals(FILES - 20, moved[0], "Unexpected number of move events.");
+            assertEquals(FILES, count(target), "Unexpected number of moved files.");
+            assertEquals(0, count(source), "Files left at the source.");
+            assertFalse(Files.exists(journals.resolve("journaled.journal")), "Journal not deleted.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Execute: Discovery is committed once all files were moved, but never with time-relative filters")
+    void execute_commitDiscovery() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. One of two files conflicts with an existing target
+            final Path source = fileSystem.getPath("/source");
+            final Path target = fileSystem.getPath("/target");
+            Files.createDirectories(source);
+            Files.createDirectories(target);
+            Files.writeString(source.resolve("a.txt"), "a");
+            Files.writeString(source.resolve("b.txt"), "b");
+            Files.writeString(target.resolve("a.txt"), "taken");
+
+            final AtomicInteger commits = new AtomicInteger();
+            final FileDiscoverStrategy recursive = new RecursiveDiscoverStrategy();
+            final MoveProcedure procedure = MoveProcedure.builder()
+                    .name("commit")
+                    .sourcePath(source)
+                    .targetDirectory(target)
+                    .discoverStrategy(new FileDiscoverStrategy()
+                    {
+                        @Override
+                        public Stream<DiscoveredFile> stream(final Path sourcePath, final Listener listener) throws FileDiscoverException
+                        {
+                            return recursive.stream(sourcePath, listener);
+                        }
+
+
+                        @Override
+                        public void commit(final Path sourcePath)
+                        {
+                            commits.incrementAndGet();
+                        }
+                    })
+                    .filterStrategy(new PatternFilterStrategy())
+                    .fileMoveStrategy(new FlatMoveStrategy())
+                    .fileConflictStrategy(new SkipConflictStrategy())
+                    .build();
+            final MoveProcedureExecutor executor = MoveProcedureExecutor.builder().build();
+
+            // 2. The skipped file remains unresolved, so the discovery is not committed
+            executor.execute(procedure);
+            assertTrue(Files.exists(source.resolve("a.txt")), "Skipped file moved.");
+            assertEquals(0, commits.get(), "Discovery with unresolved files committed.");
+
+            // 3. Committed once the remaining file was moved
+            Files.delete(target.resolve("a.txt"));
+            executor.execute(procedure);
+            assertFalse(Files.exists(source.resolve("a.txt")), "Remaining file not moved.");
+            assertEquals(1, commits.get(), "Resolved discovery not committed.");
+
+            // 4. Never committed with a filter whose decisions change over time
+            Files.writeString(source.resolve("c.txt"), "c");
+            procedure.setFilterStrategy(new AgeFilterStrategy());
+            executor.execute(procedure);
+            assertFalse(Files.exists(source.resolve("c.txt")), "File not moved.");
+            assertEquals(1, commits.get(), "Discovery filtered by age committed.");
+        }
+    }
+}
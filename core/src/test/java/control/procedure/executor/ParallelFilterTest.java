@@ -0,0 +1,43 @@
+package control.procedure.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ParallelFilterTest
+{
+    @Test
+    @DisplayName("Filter: Same elements in the same order as a sequential filter")
+    void filter_sameAsSequential()
+    {
+        final List<Integer> expected = IntStream.range(0, 1000).filter(i -> i % 3 == 0).boxed().toList();
+        try (final Stream<Integer> source = IntStream.range(0, 1000).boxed())
+        {
+            assertEquals(expected, ParallelFilter.filter(source, i -> i % 3 == 0, 4).toList(), "Filtered elements differ.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Filter: Exceptions of the predicate are rethrown to the consumer")
+    void filter_rethrowsExceptions()
+    {
+        try (final Stream<Integer> source = IntStream.range(0, 100).boxed())
+        {
+            final Stream<Integer> filtered = ParallelFilter.filter(source, i -> {
+                if (i == 42)
+                {
+                    throw new IllegalStateException("Failed: " + i);
+                }
+                return true;
+            }, 4);
+            assertThrows(IllegalStateException.class, filtered::toList);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package control.procedure.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ParallelMapTest
+{
+    @Test
+    @DisplayName("ForEach: All results reach the consumer on the calling thread with bounded concurrency")
+    void forEach_boundedConcurrency()
+    {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maximum = new AtomicInteger();
+        final List<Integer> results = new ArrayList<>();
+        final Thread caller = Thread.currentThread();
+
+        try (final Stream<Integer> source = IntStream.range(0, 200).boxed())
+        {
+            ParallelMap.forEach(source, i -> {
+                maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try
+                {
+                    Thread.sleep(1);
+                }
+                catch (final InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return i * 2;
+            }, 8, result -> {
+                assertSame(caller, Thread.currentThread(), "Consumer invoked on another thread.");
+                results.add(result);
+            });
+        }
+
+        assertEquals(IntStream.range(0, 200).map(i -> i * 2).boxed().collect(HashSet::new, Set::add, Set::addAll), new HashSet<>(results),
+                "Results differ.");
+        assertEquals(200, results.size(), "Results lost or duplicated.");
+        assertTrue(maximum.get() <= 8, "Too many concurrent applications: " + maximum.get());
+    }
+
+
+    @Test
+    @DisplayName("ForEach: Exceptions of the function are rethrown to the caller")
+    void forEach_rethrowsExceptions()
+    {
+        try (final Stream<Integer> source = IntStream.range(0, 100).boxed())
+        {
+            assertThrows(IllegalStateException.class, () -> ParallelMap.forEach(source, i -> {
+                if (i == 42)
+                {
+                    throw new IllegalStateException("Failed: " + i);
+                }
+                return i;
+            }, 4, result -> {}));
+        }
+    }
+}
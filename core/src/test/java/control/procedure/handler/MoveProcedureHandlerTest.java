@@ -0,0 +1,76 @@
+package control.procedure.handler;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.google.common.jimfs.WatchServiceConfiguration;
+import model.file.PatternFilterStrategy;
+import model.file.conflict.SkipConflictStrategy;
+import model.file.discover.RecursiveDiscoverStrategy;
+import model.file.move.FlatMoveStrategy;
+import model.procedure.types.MoveProcedure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class MoveProcedureHandlerTest
+{
+    @Test
+    @DisplayName("Handle: Watching procedure moves files created after it started until interrupted")
+    void handle_watch() throws IOException, InterruptedException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix().toBuilder()
+                .setWatchServiceConfiguration(WatchServiceConfiguration.polling(10, TimeUnit.MILLISECONDS))
+                .build()))
+        {
+            // 1. Start watching a source which already contains a file
+            final Path source = Files.createDirectories(fileSystem.getPath("/source"));
+            final Path target = Files.createDirectories(fileSystem.getPath("/target"));
+            Files.writeString(source.resolve("existing.txt"), "existing");
+            final MoveProcedure procedure = MoveProcedure.builder()
+                    .name("watch")
+                    .sourcePath(source)
+                    .targetDirectory(target)
+                    .discoverStrategy(new RecursiveDiscoverStrategy())
+                    .filterStrategy(new PatternFilterStrategy())
+                    .fileMoveStrategy(new FlatMoveStrategy())
+                    .fileConflictStrategy(new SkipConflictStrategy())
+                    .watch(true)
+                    .build();
+            final Thread handler = Thread.ofVirtual().start(() -> new MoveProcedureHandler().handle(procedure));
+
+            // 2. Create files until one is moved, the watcher may not be registered yet when the first is created
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            boolean moved = false;
+            for (int i = 0; !moved && System.nanoTime() < deadline; i++)
+            {
+                // Wait longer than the quiet period before creating the next file
+                Files.writeString(source.resolve("created" + i + ".txt"), "created");
+                for (int j = 0; j < 20 && !moved; j++)
+                {
+                    Thread.sleep(100);
+                    try (final Stream<Path> movedFiles = Files.list(target))
+                    {
+                        moved = movedFiles.findAny().isPresent();
+                    }
+                }
+            }
+            assertTrue(moved, "Timed out waiting for a created file to be moved.");
+            assertTrue(handler.isAlive());
+
+            // 3. Only changes are processed, and interrupting ends the procedure
+            assertTrue(Files.exists(source.resolve("existing.txt")));
+            handler.interrupt();
+            handler.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(handler.isAlive());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package model.file;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import exception.FileDiscoverException;
+import model.file.discover.DiscoveredFile;
+import model.file.discover.RecursiveDiscoverStrategy;
+import model.listener.Listener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class AttributeFilterStrategyTest
+{
+    private static FileSystem createFileSystem() throws IOException
+    {
+        final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix().toBuilder()
+                .setAttributeViews("basic", "owner", "posix", "unix")
+                .build());
+        Files.createDirectories(fileSystem.getPath("/source"));
+        return fileSystem;
+    }
+
+
+    @Test
+    @DisplayName("Accept: Size and time filters use the discovered attributes only")
+    void accept_discoveredAttributes() throws IOException
+    {
+        try (final FileSystem fileSystem = createFileSystem())
+        {
+            final Path path = fileSystem.getPath("/source/file.bin");
+            Files.write(path, new byte[2048]);
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofDays(40))));
+            final DiscoveredFile file = DiscoveredFile.of(path);
+
+            // 1. The file is gone, so any file system query would fail
+            Files.delete(path);
+
+            assertTrue(SizeFilterStrategy.builder().minSize(1024).build().accept(file), "Large file rejected.");
+            assertFalse(SizeFilterStrategy.builder().maxSize(1024).build().accept(file), "Large file accepted.");
+            assertTrue(AgeFilterStrategy.builder().minAge(Duration.ofDays(30)).build().accept(file), "Old file rejected.");
+            assertFalse(AgeFilterStrategy.builder().maxAge(Duration.ofDays(30)).build().accept(file), "Old file accepted.");
+            assertTrue(ModifiedTimeFilterStrategy.builder()
+                    .modifiedBefore(Instant.now().minus(Duration.ofDays(30)).toEpochMilli())
+                    .build()
+                    .accept(file), "File modified before the bound rejected.");
+
+            // 2. Plain paths read their attributes, missing files are rejected
+            assertFalse(new SizeFilterStrategy().accept(path), "Missing file accepted.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Owner and permission filters")
+    void accept_ownerAndPermissions() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = createFileSystem())
+        {
+            final Path path = fileSystem.getPath("/source/file.txt");
+            Files.writeString(path, "content");
+            Files.setOwner(path, fileSystem.getUserPrincipalLookupService().lookupPrincipalByName("svc-batch"));
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-rw-rw-"));
+            final DiscoveredFile file;
+            try (final Stream<DiscoveredFile> files = new RecursiveDiscoverStrategy().stream(fileSystem.getPath("/source"), new Listener() {}))
+            {
+                file = files.findFirst().orElseThrow();
+            }
+
+            // 1. The file is gone, so owner and permissions must come from the discovery
+            Files.delete(path);
+
+            assertTrue(OwnerFilterStrategy.builder().owners(Set.of("svc-batch")).build().accept(file), "Owned file rejected.");
+            assertFalse(OwnerFilterStrategy.builder().owners(Set.of("root")).build().accept(file), "Foreign file accepted.");
+            assertTrue(PermissionFilterStrategy.builder()
+                    .requiredPermissions(Set.of(PosixFilePermission.OTHERS_WRITE))
+                    .build()
+                    .accept(file), "World-writable file rejected.");
+            assertFalse(PermissionFilterStrategy.builder()
+                    .forbiddenPermissions(Set.of(PosixFilePermission.OTHERS_WRITE))
+                    .build()
+                    .accept(file), "World-writable file accepted.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Read: Attributes of the default file system are POSIX attributes where supported")
+    void readAttributes_defaultFileSystem(@TempDir final Path directory) throws IOException
+    {
+        final Path path = Files.writeString(directory.resolve("file.txt"), "content");
+        final boolean posix = path.getFileSystem().supportedFileAttributeViews().contains("posix");
+        assertEquals(posix, DiscoveredFile.readAttributes(path) instanceof PosixFileAttributes, "POSIX attributes not read.");
+    }
+}
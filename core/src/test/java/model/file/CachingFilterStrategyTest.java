@@ -0,0 +1,102 @@
+package model.file;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.discover.DiscoveredFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CachingFilterStrategyTest
+{
+    @Test
+    @DisplayName("Accept: Name-based decisions are cached by the file name")
+    void accept_cachedByFileName()
+    {
+        final PatternFilterStrategy pattern = new PatternFilterStrategy();
+        pattern.setIncludePatterns(List.of(Pattern.compile(".*\\.txt")));
+        final CachingFilterStrategy strategy = new CachingFilterStrategy(pattern, 1000);
+
+        assertEquals(CachingFilterStrategy.Key.FILE_NAME, strategy.getKey(), "Unexpected default key.");
+        assertTrue(strategy.accept(Path.of("a", "notes.txt")), "Matching file rejected.");
+        assertTrue(strategy.accept(Path.of("b", "notes.txt")), "Matching file rejected.");
+        assertFalse(strategy.accept(Path.of("a", "notes.md")), "Non-matching file accepted.");
+        assertEquals(1, strategy.getHits(), "Unexpected number of hits.");
+        assertEquals(2, strategy.getMisses(), "Unexpected number of misses.");
+    }
+
+
+    @Test
+    @DisplayName("Accept: Other decisions are cached by the file version")
+    void accept_cachedByFileVersion() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path path = fileSystem.getPath("/file.txt");
+            Files.writeString(path, "content");
+            final AtomicInteger evaluations = new AtomicInteger();
+            final CachingFilterStrategy strategy = new CachingFilterStrategy(file -> evaluations.incrementAndGet() > 0, 1000);
+
+            // 1. The same version is evaluated once
+            strategy.accept(DiscoveredFile.of(path));
+            strategy.accept(DiscoveredFile.of(path));
+            assertEquals(1, evaluations.get(), "Same version evaluated twice.");
+
+            // 2. A modified file is evaluated again
+            Files.writeString(path, "modified content");
+            strategy.accept(DiscoveredFile.of(path));
+            assertEquals(2, evaluations.get(), "Modified file not evaluated again.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Time-relative decisions are not cached")
+    void accept_timeRelative() throws IOException, InterruptedException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path path = fileSystem.getPath("/file.txt");
+            Files.writeString(path, "content");
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            final AgeFilterStrategy age = AgeFilterStrategy.builder().minAge(Duration.ofMillis(200)).build();
+            final CachingFilterStrategy strategy = new CachingFilterStrategy(new NotFilterStrategy(age), 1000);
+            final DiscoveredFile file = DiscoveredFile.of(path);
+
+            // 1. The unmodified file becomes old enough for the age filter
+            assertFalse(strategy.isCacheable(), "Time-relative filter reported as cacheable.");
+            assertTrue(strategy.accept(file), "Young file rejected.");
+            Thread.sleep(300);
+            assertFalse(strategy.accept(file), "Stale decision returned for an aged file.");
+
+            // 2. Nothing was cached
+            assertEquals(0, strategy.getSize(), "Time-relative decisions cached.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: The cache is bounded")
+    void accept_bounded()
+    {
+        final CachingFilterStrategy strategy = new CachingFilterStrategy(new PatternFilterStrategy(), 64);
+        for (int i = 0; i < 10_000; i++)
+        {
+            strategy.accept(Path.of("file" + i));
+        }
+        assertTrue(strategy.getSize() <= 64, "Cache exceeds its capacity: " + strategy.getSize());
+    }
+}
@@ -0,0 +1,83 @@
+package model.file;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CompositeFilterStrategyTest
+{
+    private static final FileFilterStrategy TEXT = file -> file.toString().endsWith(".txt");
+
+    private static final FileFilterStrategy NOTES = file -> file.toString().startsWith("notes");
+
+
+    /**
+     * A filter that accepts every file, but takes a few microseconds and claims to be cheap.
+     */
+    private static final class SlowFilterStrategy implements FileFilterStrategy
+    {
+        @Override
+        public boolean accept(final Path file)
+        {
+            final long end = System.nanoTime() + 20_000;
+            while (System.nanoTime() < end)
+            {
+                Thread.onSpinWait();
+            }
+            return true;
+        }
+
+
+        @Override
+        public long estimatedCost()
+        {
+            return 1;
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Composite filters follow boolean logic")
+    void accept_booleanLogic()
+    {
+        final FileFilterStrategy and = new AndFilterStrategy(TEXT, NOTES);
+        final FileFilterStrategy or = new OrFilterStrategy(TEXT, NOTES);
+        final FileFilterStrategy not = new NotFilterStrategy(TEXT);
+
+        assertTrue(and.accept(Path.of("notes.txt")), "Conjunction rejected matching file.");
+        assertFalse(and.accept(Path.of("todo.txt")), "Conjunction accepted partially matching file.");
+        assertTrue(or.accept(Path.of("todo.txt")), "Disjunction rejected partially matching file.");
+        assertFalse(or.accept(Path.of("todo.md")), "Disjunction accepted file matching no operand.");
+        assertTrue(not.accept(Path.of("todo.md")), "Negation rejected non-matching file.");
+        assertFalse(not.accept(Path.of("todo.txt")), "Negation accepted matching file.");
+    }
+
+
+    @Test
+    @DisplayName("Accept: Cheap and selective operands are evaluated first")
+    void accept_reorderByObservedCost()
+    {
+        final AndFilterStrategy and = new AndFilterStrategy(TEXT, new SlowFilterStrategy());
+        final MeasuredFilterStrategy text = and.getFilters().get(0);
+        final MeasuredFilterStrategy slow = and.getFilters().get(1);
+
+        // 1. The slow operand claims to be cheaper and is evaluated first
+        assertSame(slow, and.getEvaluationOrder().getFirst(), "Operands not ordered by estimated cost.");
+
+        // 2. After observing the actual costs, the cheap operand rejecting most files is evaluated first
+        for (int i = 0; i < 4096; i++)
+        {
+            and.accept(Path.of(i % 10 == 0 ? "file" + i + ".txt" : "file" + i + ".md"));
+        }
+        assertSame(text, and.getEvaluationOrder().getFirst(), "Operands not ordered by observed cost.");
+        assertEquals(4096, text.getEvaluations(), "Cheap operand not evaluated for every file.");
+        assertTrue(slow.getEvaluations() < 2048, "Slow operand evaluated too often: " + slow.getEvaluations());
+        assertTrue(slow.getTotalTime() > text.getTotalTime(), "Slow operand not measured as slower.");
+    }
+}
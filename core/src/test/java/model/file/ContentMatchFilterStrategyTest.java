@@ -0,0 +1,109 @@
+package model.file;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.discover.DiscoveredFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ContentMatchFilterStrategyTest
+{
+    private static final String TEXT = "java.lang.OutOfMemoryError";
+
+
+    /**
+     * Creates a file of the given size filled with dots, containing the text at the given offset.
+     */
+    private static Path write(final Path path, final int size, final int offset) throws IOException
+    {
+        final byte[] content = new byte[size];
+        Arrays.fill(content, (byte) '.');
+        final byte[] text = TEXT.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(text, 0, content, offset, text.length);
+        Files.write(path, content);
+        return path;
+    }
+
+
+    private static ContentMatchFilterStrategy createStrategy()
+    {
+        final ContentMatchFilterStrategy strategy = new ContentMatchFilterStrategy();
+        strategy.setText(TEXT);
+        return strategy;
+    }
+
+
+    @Test
+    @DisplayName("Accept: Text is found across read chunks")
+    void accept_readChunks() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final ContentMatchFilterStrategy strategy = createStrategy();
+
+            // 1. Crossing the boundary of the first 64 KiB chunk
+            assertTrue(strategy.accept(DiscoveredFile.of(write(fileSystem.getPath("/boundary.log"), 200_000, 65_530))), "Text not found.");
+            // 2. At the very end of a file larger than the map threshold, read as Jimfs does not support mapping
+            assertTrue(strategy.accept(DiscoveredFile.of(write(fileSystem.getPath("/end.log"), 2_000_000, 2_000_000 - TEXT.length()))),
+                    "Text at the end not found.");
+            // 3. Cut off by the end of the file
+            final Path truncated = fileSystem.getPath("/truncated.log");
+            Files.write(truncated, Arrays.copyOf(Files.readAllBytes(write(truncated, 200_000, 200_000 - TEXT.length())), 199_999));
+            assertFalse(strategy.accept(DiscoveredFile.of(truncated)), "Incomplete text found.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Memory-mapped files and the scan limit")
+    void accept_mappedAndLimited(@TempDir final Path directory) throws IOException
+    {
+        final ContentMatchFilterStrategy strategy = createStrategy();
+        final Path file = write(directory.resolve("large.log"), 4_000_000, 3_000_000);
+        final Path plain = directory.resolve("plain.log");
+        Files.write(plain, new byte[4_000_000]);
+
+        assertTrue(strategy.accept(DiscoveredFile.of(file)), "Text in mapped file not found.");
+        assertFalse(strategy.accept(DiscoveredFile.of(plain)), "File without text accepted.");
+
+        strategy.setMaxBytes(2_000_000);
+        assertFalse(strategy.accept(DiscoveredFile.of(file)), "Text beyond the scan limit found.");
+    }
+
+
+    @Test
+    @DisplayName("Accept: File truncated since its attributes were read is not mapped beyond its end")
+    void accept_truncatedWhileMapped(@TempDir final Path directory) throws IOException
+    {
+        final ContentMatchFilterStrategy strategy = createStrategy();
+
+        // 1. Truncated below the mapped size, keeping the text
+        final DiscoveredFile kept = DiscoveredFile.of(write(directory.resolve("kept.log"), 4_000_000, 1_000));
+        try (final FileChannel channel = FileChannel.open(kept.path(), StandardOpenOption.WRITE))
+        {
+            channel.truncate(10_000);
+        }
+        assertTrue(strategy.accept(kept), "Text in the remaining part not found.");
+
+        // 2. Truncated before the text
+        final DiscoveredFile cut = DiscoveredFile.of(write(directory.resolve("cut.log"), 4_000_000, 3_000_000));
+        try (final FileChannel channel = FileChannel.open(cut.path(), StandardOpenOption.WRITE))
+        {
+            channel.truncate(10_000);
+        }
+        assertFalse(strategy.accept(cut), "Text in the truncated part found.");
+    }
+}
@@ -0,0 +1,84 @@
+package model.file;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.discover.DiscoveredFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ContentTypeFilterStrategyTest
+{
+    private static Path write(final FileSystem fileSystem, final String name, final byte[] content) throws IOException
+    {
+        final Path path = fileSystem.getPath("/source").resolve(name);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content);
+        return path;
+    }
+
+
+    @Test
+    @DisplayName("Accept: Types are detected from magic bytes regardless of the extension")
+    void accept_magicBytes() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final byte[] tar = new byte[1024];
+            System.arraycopy("ustar".getBytes(StandardCharsets.US_ASCII), 0, tar, 257, 5);
+
+            final Path pdf = write(fileSystem, "invoice.txt", "%PDF-1.7\n...".getBytes(StandardCharsets.US_ASCII));
+            final Path png = write(fileSystem, "image.jpg", new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0});
+            final Path gzip = write(fileSystem, "archive.zip", new byte[]{0x1F, (byte) 0x8B, 0x08});
+            final Path archive = write(fileSystem, "archive.bin", tar);
+            final Path text = write(fileSystem, "notes.pdf", "plain text".getBytes(StandardCharsets.US_ASCII));
+            final Path empty = write(fileSystem, "empty.pdf", new byte[0]);
+
+            final ContentTypeFilterStrategy strategy = new ContentTypeFilterStrategy();
+            strategy.setContentTypes(Set.of(ContentType.PDF, ContentType.PNG));
+
+            assertTrue(strategy.accept(DiscoveredFile.of(pdf)), "PDF rejected.");
+            assertTrue(strategy.accept(DiscoveredFile.of(png)), "PNG rejected.");
+            assertFalse(strategy.accept(DiscoveredFile.of(gzip)), "Gzip accepted.");
+            assertFalse(strategy.accept(DiscoveredFile.of(text)), "Text accepted.");
+            assertFalse(strategy.accept(DiscoveredFile.of(empty)), "Empty file accepted.");
+            assertEquals(ContentType.TAR, strategy.detect(archive, Files.readAttributes(archive, BasicFileAttributes.class)), "Tar not detected.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Detected types are cached until the file is modified")
+    void accept_cachedByModifiedTime() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path path = write(fileSystem, "file.bin", "%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+            final FileTime modifiedTime = Files.getLastModifiedTime(path);
+            final ContentTypeFilterStrategy strategy = new ContentTypeFilterStrategy();
+            strategy.setContentTypes(Set.of(ContentType.PDF));
+            assertTrue(strategy.accept(path), "PDF rejected.");
+
+            // 1. Same version of the file is served from the cache
+            Files.write(path, new byte[]{0x1F, (byte) 0x8B, 0x08, 0, 0, 0, 0, 0});
+            Files.setLastModifiedTime(path, modifiedTime);
+            assertTrue(strategy.accept(path), "Cached type not used.");
+
+            // 2. A modified file is read again
+            Files.setLastModifiedTime(path, FileTime.fromMillis(modifiedTime.toMillis() + 1000));
+            assertFalse(strategy.accept(path), "Modified file not read again.");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package model.file;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ExclusionListFilterStrategyTest
+{
+    @Test
+    @DisplayName("Accept: Listed file names are rejected, all others accepted")
+    void accept_fileName()
+    {
+        final List<String> names = IntStream.range(0, 100_000).mapToObj(i -> "listed-" + i + ".pdf").toList();
+        final ExclusionListFilterStrategy strategy = ExclusionListFilterStrategy.of(names, ExclusionListFilterStrategy.Key.FILE_NAME);
+
+        // 1. Every listed name is rejected, regardless of the directory
+        assertEquals(100_000, strategy.getSize(), "Unexpected number of entries.");
+        for (final String name : names)
+        {
+            assertFalse(strategy.accept(Path.of("dir", name)), "Listed file accepted: " + name);
+        }
+
+        // 2. Unlisted names are never rejected, including Bloom false positives
+        for (int i = 0; i < 100_000; i++)
+        {
+            assertTrue(strategy.accept(Path.of("dir", "unlisted-" + i + ".pdf")), "Unlisted file rejected.");
+        }
+        assertTrue(strategy.accept(Path.of("dir", "LISTED-1.pdf")), "Names compared case-insensitively.");
+        assertTrue(strategy.accept(Path.of("dir", "listed-1.pd")), "Prefix of a listed name rejected.");
+    }
+
+
+    @Test
+    @DisplayName("Accept: Entries with colliding hashes are compared exactly")
+    void accept_collisions()
+    {
+        // "Aa" and "BB" share their String hash code; the exact check must not rely on any hash
+        final ExclusionList list = ExclusionList.of(List.of("AaAa", "BBBB", "", "AaBB"));
+
+        assertTrue(list.contains("AaAa"), "Listed entry not found.");
+        assertTrue(list.contains("BBBB"), "Listed entry not found.");
+        assertTrue(list.contains("AaBB"), "Listed entry not found.");
+        assertTrue(list.contains(""), "Empty entry not found.");
+        assertFalse(list.contains("BBAa"), "Unlisted entry found.");
+        assertEquals(4, list.size(), "Unexpected number of entries.");
+    }
+
+
+    @Test
+    @DisplayName("Accept: Entries beyond ASCII are compared exactly")
+    void accept_unicode()
+    {
+        final ExclusionList list = ExclusionList.of(List.of("résumé.pdf", "日本語.txt", "\uD83D\uDE00.png", "\uD800.bin"));
+
+        // 1. Two-, three- and four-byte sequences as well as unpaired surrogates are found
+        assertTrue(list.contains("résumé.pdf"), "Listed entry not found.");
+        assertTrue(list.contains("日本語.txt"), "Listed entry not found.");
+        assertTrue(list.contains("\uD83D\uDE00.png"), "Listed entry not found.");
+        assertTrue(list.contains("\uD800.bin"), "Listed entry not found.");
+
+        // 2. Replacements and truncations are not
+        assertFalse(list.contains("?.bin"), "Replaced surrogate found.");
+        assertFalse(list.contains("\uD83D.png"), "Truncated pair found.");
+        assertFalse(list.contains("resume.pdf"), "Unlisted entry found.");
+    }
+
+
+    @Test
+    @DisplayName("Load: List files skip comments and blank lines")
+    void load() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path listFile = fileSystem.getPath("/exclusions.txt");
+            Files.write(listFile, List.of("# Retention hold", "", "  contract.pdf  ", "contract.pdf", "#hidden.txt"));
+            final ExclusionListFilterStrategy strategy = ExclusionListFilterStrategy.load(listFile, ExclusionListFilterStrategy.Key.FILE_NAME);
+
+            assertEquals(1, strategy.getSize(), "Unexpected number of entries.");
+            assertFalse(strategy.accept(fileSystem.getPath("/contract.pdf")), "Listed file accepted.");
+            assertTrue(strategy.accept(fileSystem.getPath("/#hidden.txt")), "Comment treated as entry.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Files with listed content hashes are rejected")
+    void accept_sha256() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path listed = fileSystem.getPath("/listed.txt");
+            final Path unlisted = fileSystem.getPath("/unlisted.txt");
+            Files.writeString(listed, "abc");
+            Files.writeString(unlisted, "abd");
+            final byte[] large = new byte[200_000];
+            large[150_000] = 1;
+            final Path largeFile = fileSystem.getPath("/large.bin");
+            Files.write(largeFile, large);
+
+            // 1. Hashes are compared case-insensitively
+            final List<String> hashes = new ArrayList<>();
+            hashes.add("BA7816BF8F01CFEA414140DE5DAE2223B00361A396177A9CB410FF61F20015AD");
+            hashes.add("cd1a7bb8e3ca8b1a0a1bcd5f6e3a4a9a0be05d5b7d86cb85e2b1f7f6d5fa8b3a");
+            final ExclusionListFilterStrategy strategy = ExclusionListFilterStrategy.of(hashes, ExclusionListFilterStrategy.Key.SHA_256);
+            assertFalse(strategy.accept(listed), "File with listed hash accepted.");
+            assertTrue(strategy.accept(unlisted), "File with unlisted hash rejected.");
+            assertTrue(strategy.accept(largeFile), "Large file with unlisted hash rejected.");
+
+            // 2. Files spanning several reads are hashed completely
+            final ExclusionListFilterStrategy largeStrategy = ExclusionListFilterStrategy.of(
+                    List.of(sha256(large)), ExclusionListFilterStrategy.Key.SHA_256);
+            assertFalse(largeStrategy.accept(largeFile), "Large file with listed hash accepted.");
+        }
+    }
+
+
+    private static String sha256(final byte[] content)
+    {
+        try
+        {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        }
+        catch (final NoSuchAlgorithmException exception)
+        {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
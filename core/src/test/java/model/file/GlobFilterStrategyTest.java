@@ -0,0 +1,72 @@
+package model.file;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class GlobFilterStrategyTest
+{
+    @Test
+    @DisplayName("Accept: Extension, literal and complex globs match the file name")
+    void accept_nameGlobs() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final GlobFilterStrategy strategy = new GlobFilterStrategy();
+            strategy.setIncludeGlobs(List.of("*.txt", "*.tar.gz", "Makefile", "report-??.{pdf,docx}"));
+            strategy.setExcludeGlobs(List.of("*.json", "secret.txt"));
+
+            assertTrue(strategy.accept(fileSystem.getPath("/source/notes.txt")), "Extension glob not matched.");
+            assertTrue(strategy.accept(fileSystem.getPath("/source/archive.v1.tar.gz")), "Multi-dot extension glob not matched.");
+            assertTrue(strategy.accept(fileSystem.getPath("/source/Makefile")), "Literal glob not matched.");
+            assertTrue(strategy.accept(fileSystem.getPath("/source/report-01.docx")), "Complex glob not matched.");
+            assertFalse(strategy.accept(fileSystem.getPath("/source/report-001.pdf")), "Complex glob matched.");
+            assertFalse(strategy.accept(fileSystem.getPath("/source/notes.TXT")), "Case-sensitive extension matched.");
+            assertFalse(strategy.accept(fileSystem.getPath("/source/secret.txt")), "Excluded file accepted.");
+            assertFalse(strategy.accept(fileSystem.getPath("/source/config.json")), "Excluded file accepted.");
+            assertFalse(strategy.accept(fileSystem.getPath("/source/txt")), "File without include match accepted.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Globs with separators match the relative path")
+    void accept_pathGlobs() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final GlobFilterStrategy strategy = new GlobFilterStrategy();
+            strategy.setBasePath(fileSystem.getPath("/source"));
+            strategy.setIncludeGlobs(List.of("**/logs/*.log", "docs/*"));
+
+            assertTrue(strategy.accept(fileSystem.getPath("/source/app/logs/server.log")), "Nested path glob not matched.");
+            assertTrue(strategy.accept(fileSystem.getPath("/source/docs/readme.md")), "Relative path glob not matched.");
+            assertFalse(strategy.accept(fileSystem.getPath("/source/docs/api/readme.md")), "Path glob matched across directories.");
+            assertFalse(strategy.accept(fileSystem.getPath("/source/app/server.log")), "Path glob matched file outside logs.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Globs follow the case sensitivity of the file system")
+    void accept_caseInsensitiveFileSystem() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.windows()))
+        {
+            final GlobFilterStrategy strategy = new GlobFilterStrategy();
+            strategy.setIncludeGlobs(List.of("*.txt", "Thumbs.db"));
+
+            assertTrue(strategy.accept(fileSystem.getPath("C:\\source\\NOTES.TXT")), "Extension glob not matched case-insensitively.");
+            assertTrue(strategy.accept(fileSystem.getPath("C:\\source\\thumbs.DB")), "Literal glob not matched case-insensitively.");
+            assertFalse(strategy.accept(fileSystem.getPath("C:\\source\\notes.md")), "Unrelated file accepted.");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package model.file;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.discover.DiscoveredFile;
+import model.file.discover.RecursiveDiscoverStrategy;
+import model.listener.Listener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class IgnoreFileFilterStrategyTest
+{
+    private static void write(final Path file, final String... lines) throws IOException
+    {
+        Files.createDirectories(file.getParent());
+        Files.write(file, List.of(lines));
+    }
+
+
+    private static IgnoreFileFilterStrategy create(final Path sourcePath)
+    {
+        final IgnoreFileFilterStrategy strategy = new IgnoreFileFilterStrategy();
+        strategy.setSourcePath(sourcePath);
+        return strategy;
+    }
+
+
+    @Test
+    @DisplayName("Accept: Rules match names at any level and paths relative to the ignore file")
+    void accept_rules() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source");
+            write(source.resolve(".fileflowignore"),
+                    "# Comment", "", "*.tmp", "/root-only.txt", "docs/*.md", "**/cache/*.bin", "report-[0-9].pdf", "\\#literal", "keep/");
+            write(source.resolve("a/b/file.txt"));
+            final IgnoreFileFilterStrategy strategy = create(source);
+
+            // 1. Unanchored rules match at any level
+            assertFalse(strategy.accept(source.resolve("file.tmp")), "Unanchored rule not applied.");
+            assertFalse(strategy.accept(source.resolve("a/b/file.tmp")), "Unanchored rule not applied below.");
+            assertFalse(strategy.accept(source.resolve("report-7.pdf")), "Character class not applied.");
+            assertTrue(strategy.accept(source.resolve("report-x.pdf")), "Character class too wide.");
+            assertFalse(strategy.accept(source.resolve("#literal")), "Escaped comment not applied.");
+
+            // 2. Anchored rules match the relative path only
+            assertFalse(strategy.accept(source.resolve("root-only.txt")), "Anchored rule not applied.");
+            assertTrue(strategy.accept(source.resolve("a/root-only.txt")), "Anchored rule applied below.");
+            assertFalse(strategy.accept(source.resolve("docs/readme.md")), "Inner slash rule not applied.");
+            assertTrue(strategy.accept(source.resolve("docs/nested/readme.md")), "Star matched a slash.");
+            assertFalse(strategy.accept(source.resolve("cache/data.bin")), "Double star did not match zero directories.");
+            assertFalse(strategy.accept(source.resolve("a/b/cache/data.bin")), "Double star did not match several directories.");
+
+            // 3. Directory rules do not apply to files, the ignore file itself and other files are accepted
+            assertTrue(strategy.accept(source.resolve("a/keep")), "Directory rule applied to a file.");
+            assertFalse(strategy.accept(source.resolve(".fileflowignore")), "Ignore file accepted.");
+            assertTrue(strategy.accept(source.resolve("a/b/file.txt")), "Unmatched file rejected.");
+            assertTrue(strategy.accept(fileSystem.getPath("/elsewhere/file.tmp")), "File outside the source rejected.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Deeper ignore files override and re-include inherited rules")
+    void accept_hierarchy() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source");
+            write(source.resolve(".fileflowignore"), "*.log", "build/");
+            write(source.resolve("service/.fileflowignore"), "!important.log", "/local.txt");
+            Files.createDirectories(source.resolve("service/build"));
+            final IgnoreFileFilterStrategy strategy = create(source);
+
+            assertFalse(strategy.accept(source.resolve("service/debug.log")), "Inherited rule not applied.");
+            assertTrue(strategy.accept(source.resolve("service/important.log")), "Negation of inherited rule not applied.");
+            assertFalse(strategy.accept(source.resolve("important.log")), "Negation applied above its ignore file.");
+            assertFalse(strategy.accept(source.resolve("service/local.txt")), "Rule not relative to its ignore file.");
+            assertTrue(strategy.accept(source.resolve("local.txt")), "Rule applied above its ignore file.");
+
+            // Files below ignored directories are rejected without a discovery pruning them
+            assertFalse(strategy.accept(source.resolve("service/build/output.txt")), "File in ignored directory accepted.");
+            assertFalse(strategy.accept(source.resolve("service/build/deep/output.txt")), "File below ignored directory accepted.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Ignored directories are pruned during the walk")
+    void discover_pruned() throws Exception
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source");
+            write(source.resolve(".fileflowignore"), "node_modules/", "*.tmp");
+            write(source.resolve("app/.fileflowignore"), "generated");
+            write(source.resolve("app/main.txt"));
+            write(source.resolve("app/scratch.tmp"));
+            write(source.resolve("app/generated/code.txt"));
+            write(source.resolve("node_modules/lib/index.js"));
+            write(source.resolve("readme.txt"));
+            final IgnoreFileFilterStrategy strategy = create(source);
+
+            // 1. Pruned directories are never listed, so the directory filter is not consulted for their subdirectories
+            final List<Path> visited = new ArrayList<>();
+            final RecursiveDiscoverStrategy discover = RecursiveDiscoverStrategy.builder()
+                    .directoryFilter((directory, attributes) -> {
+                        visited.add(directory);
+                        return strategy.accept(directory, attributes);
+                    })
+                    .build();
+            final Set<Path> discovered;
+            try (final Stream<DiscoveredFile> files = discover.stream(source, new Listener() {}))
+            {
+                discovered = files.filter(strategy::accept).map(DiscoveredFile::path).collect(Collectors.toSet());
+            }
+
+            // 2. Ignored files within listed directories are filtered
+            assertEquals(Set.of(source.resolve("app/main.txt"), source.resolve("readme.txt")), discovered, "Discovered files differ.");
+            assertFalse(visited.contains(source.resolve("node_modules/lib")), "Pruned directory listed.");
+        }
+    }
+}
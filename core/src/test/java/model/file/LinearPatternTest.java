@@ -0,0 +1,88 @@
+package model.file;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LinearPatternTest
+{
+    private static final List<Pattern> PATTERNS = List.of(
+            Pattern.compile("report-[0-9]{4}\\.pdf"),
+            Pattern.compile("(?:draft|final)_v\\d+(\\.\\d+)?\\.docx?"),
+            Pattern.compile("^[^.]+\\.(tmp|bak)$"),
+            Pattern.compile("IMG_\\d{2,3}\\.JPE?G", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(a|ab)(c|bcd)(d*)"),
+            Pattern.compile("x{2,}y?|z{0,2}"),
+            Pattern.compile("[\\w&&[^_]]+\\.[]a-c]"),
+            Pattern.compile("\\Q*.log\\E+"),
+            Pattern.compile("(?<year>\\d{4})-\\p{Upper}\\p{L}*"),
+            Pattern.compile(".*\\.(?:zip|7z)", Pattern.DOTALL),
+            Pattern.compile("*.*", Pattern.LITERAL),
+            Pattern.compile("café[\\x{1F600}-\\x{1F64F}]?\\.txt"),
+            Pattern.compile("")
+    );
+
+    private static final List<String> NAMES = List.of(
+            "report-2024.pdf", "report-24.pdf", "draft_v2.doc", "final_v1.10.docx", "draft_v.doc", "notes.tmp", "a.b.tmp",
+            "img_123.jpeg", "IMG_1.JPG", "abcd", "acdd", "abbcd", "xxx", "xxy", "zz", "zzz", "abc1.]", "a_b.c", "*.loggg", "*.log",
+            "2024-Report", "2024-report", "archive\n.zip", "archive.7z", "*.*", "café😀.txt", "café.txt",
+            "CAFÉ.txt", ""
+    );
+
+
+    @Test
+    @DisplayName("Matches: Supported patterns match like Pattern")
+    void matches_sameAsPattern()
+    {
+        final LinearPattern combined = LinearPattern.compile(PATTERNS);
+        for (final String name : NAMES)
+        {
+            boolean expected = false;
+            for (final Pattern pattern : PATTERNS)
+            {
+                final boolean matches = pattern.matcher(name).matches();
+                assertEquals(matches, LinearPattern.compile(List.of(pattern)).matches(name), "Differs for " + pattern + " on: " + name);
+                expected |= matches;
+            }
+            assertEquals(expected, combined.matches(name), "Combined patterns differ on: " + name);
+        }
+    }
+
+
+    @Test
+    @DisplayName("Compile: Constructs requiring backtracking are rejected")
+    void compile_unsupported()
+    {
+        for (final String regex : List.of("(a+)b\\1", "(?=a)a", "(?<!b)a", "(?>a+)b", "a*+b", "(?i)a", "a\\bb", "a^b", "a$b", "\\R"))
+        {
+            assertFalse(LinearPattern.isSupported(Pattern.compile(regex)), "Supported: " + regex);
+        }
+        assertFalse(LinearPattern.isSupported(Pattern.compile("a b", Pattern.COMMENTS)), "Comments supported.");
+        assertFalse(LinearPattern.isSupported(Pattern.compile("a{20000}")), "Huge repetition supported.");
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LinearPattern.compile(List.of(Pattern.compile(".*\\.txt"), Pattern.compile("(x)\\1"))));
+        assertTrue(exception.getMessage().contains("(x)\\1"), "Offending pattern not reported: " + exception.getMessage());
+    }
+
+
+    @Test
+    @DisplayName("Matches: Catastrophically backtracking patterns run in linear time")
+    void matches_linearTime()
+    {
+        final LinearPattern pattern = LinearPattern.compile(List.of(Pattern.compile("(a+)+b"), Pattern.compile("(a|aa)*c")));
+        final String name = "a".repeat(100_000);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertFalse(pattern.matches(name), "Matched without b or c."));
+        assertTrue(pattern.matches(name + "b"), "Not matched with b.");
+    }
+}
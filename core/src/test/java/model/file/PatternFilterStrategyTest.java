@@ -0,0 +1,195 @@
+package model.file;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+final class PatternFilterStrategyTest
+{
+    private static final List<Pattern> PATTERNS = List.of(
+            Pattern.compile("Thumbs\\.db"),
+            Pattern.compile(".*\\.txt"),
+            Pattern.compile(".*\\.tar\\.gz"),
+            Pattern.compile("report-[0-9]{4}\\.pdf"),
+            Pattern.compile(".*\\.JPG", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(a+)b\\1"),
+            Pattern.compile("*.log", Pattern.LITERAL),
+            Pattern.compile(".*_backup")
+    );
+
+    private static final List<String> NAMES = List.of(
+            "Thumbs.db", "thumbs.db", "notes.txt", "notes.txt.bak", ".txt", "archive.tar.gz", "archive.gz", "a.b.tar.gz",
+            "report-2024.pdf", "report-24.pdf", "photo.jpg", "photo.Jpg", "aabaa", "aaba", "*.log", "server.log", "db_backup",
+            "line\nbreak.txt", "README"
+    );
+
+
+    /**
+     * The matching semantics before the patterns were compiled, used as reference.
+     */
+    private static boolean matchesAny(final List<Pattern> patterns, final String name)
+    {
+        for (final Pattern pattern : patterns)
+        {
+            if (pattern.matcher(name).matches())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    @Test
+    @DisplayName("Accept: Compiled patterns match like the individual patterns")
+    void accept_sameAsIndividualPatterns()
+    {
+        final PatternFilterStrategy includes = new PatternFilterStrategy();
+        includes.setIncludePatterns(PATTERNS);
+        final PatternFilterStrategy excludes = new PatternFilterStrategy();
+        excludes.setExcludePatterns(PATTERNS);
+
+        for (final String name : NAMES)
+        {
+            final boolean expected = matchesAny(PATTERNS, name);
+            assertEquals(expected, includes.accept(Path.of("dir").resolve(name)),
+                    "Include differs for: " + name);
+            assertEquals(!expected, excludes.accept(Path.of(name)), "Exclude differs for: " + name);
+        }
+    }
+
+
+    @Test
+    @DisplayName("Accept: Excludes take priority over includes")
+    void accept_excludePriority()
+    {
+        final PatternFilterStrategy strategy = new PatternFilterStrategy();
+        strategy.setIncludePatterns(List.of(Pattern.compile(".*\\.txt")));
+        strategy.setExcludePatterns(List.of(Pattern.compile("secret\\.txt")));
+
+        assertTrue(strategy.accept(Path.of("notes.txt")), "Included file rejected.");
+        assertFalse(strategy.accept(Path.of("secret.txt")), "Excluded file accepted.");
+        assertFalse(strategy.accept(Path.of("notes.md")), "File without include match accepted.");
+        assertTrue(new PatternFilterStrategy().accept(Path.of("notes.md")), "Empty patterns reject files.");
+    }
+
+
+    @Test
+    @DisplayName("Accept: All engines match like the individual patterns")
+    void accept_engines()
+    {
+        for (final PatternFilterStrategy.Engine engine : List.of(PatternFilterStrategy.Engine.LINEAR_WITH_FALLBACK, PatternFilterStrategy.Engine.LINEAR))
+        {
+            final List<Pattern> patterns = engine == PatternFilterStrategy.Engine.LINEAR
+                    ? PATTERNS.stream().filter(pattern -> !pattern.pattern().contains("\\1")).toList()
+                    : PATTERNS;
+            final PatternFilterStrategy strategy = new PatternFilterStrategy();
+            strategy.setEngine(engine);
+            strategy.setIncludePatterns(patterns);
+
+            for (final String name : NAMES)
+            {
+                assertEquals(matchesAny(patterns, name), strategy.accept(Path.of(name)), engine + " differs for: " + name);
+            }
+        }
+    }
+
+
+    @Test
+    @DisplayName("Engine: The linear engine rejects unsupported patterns when they are set")
+    void engine_linearRejectsUnsupported()
+    {
+        final PatternFilterStrategy strategy = new PatternFilterStrategy();
+        strategy.setExcludePatterns(List.of(Pattern.compile("(a+)b\\1")));
+
+        // 1. Switching the engine validates the configured patterns and keeps the previous engine on failure
+        assertThrows(IllegalArgumentException.class, () -> strategy.setEngine(PatternFilterStrategy.Engine.LINEAR));
+        assertEquals(PatternFilterStrategy.Engine.BACKTRACKING, strategy.getEngine(), "Engine changed despite failure.");
+
+        // 2. Setting patterns validates them against the configured engine
+        strategy.setExcludePatterns(List.of());
+        strategy.setEngine(PatternFilterStrategy.Engine.LINEAR);
+        assertThrows(IllegalArgumentException.class, () -> strategy.setIncludePatterns(List.of(Pattern.compile("(?=a).*"))));
+        assertEquals(List.of(), strategy.getIncludePatterns(), "Rejected patterns kept.");
+    }
+
+
+    @Test
+    @DisplayName("Engine: Budgeted patterns exceeding the step budget are reported and reject the file")
+    void engine_budgetExceeded()
+    {
+        // Matching the back reference on a long run of a's backtracks quadratically
+        final Pattern hostile = Pattern.compile("(a+)+\\1b");
+        final String name = "a".repeat(5_000) + "c";
+        final PatternFilterStrategy excludes = new PatternFilterStrategy();
+        excludes.setEngine(PatternFilterStrategy.Engine.LINEAR_WITH_FALLBACK);
+        excludes.setStepBudget(10_000);
+        excludes.setExcludePatterns(List.of(hostile, Pattern.compile(".*\\.tmp")));
+        final PatternFilterStrategy includes = new PatternFilterStrategy();
+        includes.setEngine(PatternFilterStrategy.Engine.LINEAR_WITH_FALLBACK);
+        includes.setStepBudget(10_000);
+        includes.setIncludePatterns(List.of(hostile));
+
+        assertFalse(excludes.accept(Path.of(name)), "Undecided file accepted by exclude.");
+        assertFalse(includes.accept(Path.of(name)), "Undecided file accepted by include.");
+        assertTrue(excludes.accept(Path.of("notes.txt")), "Short name not decided within the budget.");
+        assertEquals(Set.of(hostile), excludes.getBudgetExceededPatterns(), "Offending pattern not reported.");
+    }
+
+
+    @Test
+    @DisplayName("Accept: Filtering does not allocate per file")
+    void accept_allocationFree()
+    {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Allocation measurement not supported.");
+        assumeTrue("/".equals(FileSystems.getDefault().getSeparator()), "File name views not supported.");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        final Path[] files = NAMES.stream().map(name -> Path.of("dir", name)).toArray(Path[]::new);
+
+        for (final PatternFilterStrategy.Engine engine : PatternFilterStrategy.Engine.values())
+        {
+            final PatternFilterStrategy strategy = new PatternFilterStrategy();
+            strategy.setEngine(engine);
+            strategy.setIncludePatterns(engine == PatternFilterStrategy.Engine.LINEAR
+                    ? PATTERNS.stream().filter(pattern -> !pattern.pattern().contains("\\1")).toList()
+                    : PATTERNS);
+            strategy.setExcludePatterns(List.of(Pattern.compile("secret-\\d+\\.txt"), Pattern.compile(".*\\.bak")));
+
+            // 1. Warm up, which creates the per-thread matchers and caches the string forms of the paths
+            for (int i = 0; i < 1_000; i++)
+            {
+                for (final Path file : files)
+                {
+                    strategy.accept(file);
+                }
+            }
+
+            // 2. Measure
+            final int rounds = 5_000;
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < rounds; i++)
+            {
+                for (final Path file : files)
+                {
+                    strategy.accept(file);
+                }
+            }
+            final long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            final double perFile = (double) allocated / (rounds * files.length);
+            assertTrue(perFile < 1, engine + " allocates " + perFile + " bytes per file.");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package model.file.conflict;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RenameConflictStrategyTest
+{
+    private static String resolve(final FileConflictStrategy strategy, final Path target)
+    {
+        final FileMove resolved = strategy.resolve(FileMove.UNRESOLVED(target.resolveSibling("source"), target));
+        assertTrue(resolved.isResolved(), "Conflict not resolved: " + target);
+        return resolved.targetFile().getFileName().toString();
+    }
+
+
+    @Test
+    @DisplayName("Resolve: Names are numbered before the extension, names without one at the end")
+    void resolve_names() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. Existing names, one of them already numbered
+            final Path target = fileSystem.getPath("/target");
+            Files.createDirectories(target);
+            for (final String name : List.of("report.pdf", "report_5.pdf", "Makefile", ".profile", "archive.tar.gz"))
+            {
+                Files.writeString(target.resolve(name), name);
+            }
+
+            // 2. Numbering continues after the highest number in use
+            final RenameConflictStrategy strategy = new RenameConflictStrategy();
+            assertEquals("report_6.pdf", resolve(strategy, target.resolve("report.pdf")), "Numbered name differs.");
+            assertEquals("report_7.pdf", resolve(strategy, target.resolve("report.pdf")), "Second numbered name differs.");
+
+            // 3. Names without an extension
+            assertEquals("Makefile_1", resolve(strategy, target.resolve("Makefile")), "Name without extension differs.");
+            assertEquals(".profile_1", resolve(strategy, target.resolve(".profile")), "Hidden file name differs.");
+            assertEquals("archive.tar_1.gz", resolve(strategy, target.resolve("archive.tar.gz")), "Double extension differs.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Resolve: Concurrent resolutions of the same name never choose the same name")
+    void resolve_concurrent() throws IOException, InterruptedException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path target = fileSystem.getPath("/target");
+            Files.createDirectories(target);
+            Files.writeString(target.resolve("file.txt"), "existing");
+            Files.writeString(target.resolve("file_2.txt"), "existing");
+
+            final RenameConflictStrategy strategy = new RenameConflictStrategy();
+            final Set<String> names = ConcurrentHashMap.newKeySet();
+            try (final ExecutorService executor = Executors.newFixedThreadPool(8))
+            {
+                for (int i = 0; i < 1000; i++)
+                {
+                    executor.execute(() -> assertTrue(names.add(resolve(strategy, target.resolve("file.txt"))), "Name chosen twice."));
+                }
+            }
+
+            assertEquals(1000, names.size(), "Number of distinct names differs.");
+            assertFalse(names.contains("file_2.txt"), "Existing name chosen.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Resolve: The predicate decides which names are taken")
+    void resolve_predicate() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path target = fileSystem.getPath("/target/notes");
+            final Set<String> planned = Set.of("notes", "notes_1", "notes_2");
+            final FileMove resolved = new RenameConflictStrategy().resolve(FileMove.UNRESOLVED(fileSystem.getPath("/source/notes"), target),
+                    path -> planned.contains(path.getFileName().toString()));
+            assertEquals(fileSystem.getPath("/target/notes_3"), resolved.targetFile(), "Resolved target differs.");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package model.file.copy;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
+import model.file.move.CrossDeviceTransfer;
+import model.listener.Listener;
+import model.listener.ListenerCollection;
+import model.listener.ProgressEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ChunkedCopyStrategyTest
+{
+    private static final int RANGE_SIZE = 64 * 1024;
+
+
+    @Test
+    @DisplayName("Copy: Large file copied in concurrent ranges is identical to the source")
+    void copy_ranges() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. A file of ten and a half ranges
+            final Path source = fileSystem.getPath("/source/large.bin");
+            final Path target = fileSystem.getPath("/target/nested/large.bin");
+            Files.createDirectories(source.getParent());
+            final byte[] content = new byte[10 * RANGE_SIZE + RANGE_SIZE / 2];
+            new Random(42).nextBytes(content);
+            Files.write(source, content);
+
+            // 2. Copy with four workers
+            final ChunkedCopyStrategy strategy = ChunkedCopyStrategy.builder()
+                    .rangeThreshold(RANGE_SIZE)
+                    .rangeSize(RANGE_SIZE)
+                    .rangeParallelism(4)
+                    .build();
+            final List<Double> progress = new ArrayList<>();
+            final FileMove copy = strategy.copy(DiscoveredFile.of(source), target, new Listener()
+            {
+                @Override
+                public void onProgress(final ProgressEvent event)
+                {
+                    progress.add(event.getProgress());
+                }
+            });
+
+            // 3. Identical copy, source retained, no partial file left
+            assertTrue(copy.isResolved(), "Copy not resolved.");
+            assertArrayEquals(content, Files.readAllBytes(target), "Copy differs from the source.");
+            assertTrue(Files.exists(source), "Source removed.");
+            assertFalse(Files.exists(target.resolveSibling(target.getFileName() + CrossDeviceTransfer.PARTIAL_SUFFIX)),
+                    "Partial file left behind.");
+            assertEquals(100.0, progress.getLast(), "Final progress differs.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Copy: Existing target is neither overwritten nor reported as copied")
+    void copy_existingTarget() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source.txt");
+            final Path target = fileSystem.getPath("/target.txt");
+            Files.writeString(source, "source");
+            Files.writeString(target, "target");
+
+            final FileMove copy = new ChunkedCopyStrategy().copy(DiscoveredFile.of(source), target, ListenerCollection.builder().build());
+            assertFalse(copy.isResolved(), "Conflict not reported.");
+            assertEquals("target", Files.readString(target), "Existing target overwritten.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Copy: Target directory removed after the first copy is created again")
+    void copy_removedTargetDirectoryRecreated() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. First copy creates the directory
+            final Path source = fileSystem.getPath("/source.txt");
+            Files.writeString(source, "source");
+            final ChunkedCopyStrategy strategy = new ChunkedCopyStrategy();
+            final FileMove first = strategy.copy(DiscoveredFile.of(source), fileSystem.getPath("/target/nested/first.txt"),
+                    ListenerCollection.builder().build());
+            assertTrue(first.isResolved(), "First copy not resolved.");
+
+            // 2. Directory removed externally
+            Files.delete(first.targetFile());
+            Files.delete(fileSystem.getPath("/target/nested"));
+
+            // 3. Second copy recreates it
+            final FileMove second = strategy.copy(DiscoveredFile.of(source), fileSystem.getPath("/target/nested/second.txt"),
+                    ListenerCollection.builder().build());
+            assertTrue(second.isResolved(), "Second copy not resolved.");
+            assertEquals("source", Files.readString(second.targetFile()), "Target content differs.");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package model.file.discover;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import exception.FileDiscoverException;
+import model.listener.Listener;
+import model.listener.ProgressEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class FlatDiscoverStrategyTest
+{
+    @Test
+    @DisplayName("Stream: Files removed after listing are skipped")
+    void stream_removedWhileListing() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. Four files, of which two are removed right after they were listed
+            final Path source = Files.createDirectories(fileSystem.getPath("/source"));
+            for (final String name : Set.of("keep1.txt", "keep2.txt", "gone1.txt", "gone2.txt"))
+            {
+                Files.writeString(source.resolve(name), name);
+            }
+            final Listener remover = new Listener()
+            {
+                @Override
+                public void onProgress(final ProgressEvent event)
+                {
+                    final Path path = fileSystem.getPath(event.getMessage().substring(0, event.getMessage().length() - 1));
+                    if (path.getFileName().toString().startsWith("gone"))
+                    {
+                        try
+                        {
+                            Files.delete(path);
+                        }
+                        catch (final IOException exception)
+                        {
+                            throw new UncheckedIOException(exception);
+                        }
+                    }
+                }
+            };
+
+            // 2. The remaining files are discovered without failing
+            try (final Stream<DiscoveredFile> files = new FlatDiscoverStrategy().stream(source, remover))
+            {
+                assertEquals(Set.of(source.resolve("keep1.txt"), source.resolve("keep2.txt")),
+                        files.map(DiscoveredFile::path).collect(Collectors.toSet()), "Discovered files differ.");
+            }
+        }
+    }
+}
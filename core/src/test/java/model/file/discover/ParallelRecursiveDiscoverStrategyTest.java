@@ -0,0 +1,188 @@
+package model.file.discover;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import exception.FileDiscoverException;
+import model.file.PatternDirectoryFilterStrategy;
+import model.listener.Listener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ParallelRecursiveDiscoverStrategyTest
+{
+    private static final Listener LISTENER = new Listener() {};
+
+
+    private static void createTree(final Path directory, final int depth, final int width, final int files) throws IOException
+    {
+        Files.createDirectories(directory);
+        for (int i = 0; i < files; i++)
+        {
+            Files.writeString(directory.resolve("file" + i + ".txt"), directory.toString());
+        }
+        if (depth == 0)
+        {
+            return;
+        }
+        for (int i = 0; i < width; i++)
+        {
+            createTree(directory.resolve("dir" + i), depth - 1, width, files);
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Same file set as the sequential recursive strategy")
+    void discover_sameFilesAsRecursive() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source");
+            createTree(source, 4, 3, 5);
+            Files.createDirectories(fileSystem.getPath("/source/empty"));
+            Files.createSymbolicLink(fileSystem.getPath("/source/link.txt"), fileSystem.getPath("/source/file0.txt"));
+            Files.createSymbolicLink(fileSystem.getPath("/source/dir0/linkdir"), fileSystem.getPath("/source/dir1"));
+
+            final List<Path> expected = new RecursiveDiscoverStrategy().discover(source, LISTENER);
+            final List<Path> actual = ParallelRecursiveDiscoverStrategy.builder()
+                    .parallelism(4)
+                    .queueCapacity(16)
+                    .build()
+                    .discover(source, LISTENER);
+
+            assertEquals(expected.size(), actual.size(), "Number of discovered files differs.");
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual), "Discovered files differ.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Same file set as the sequential recursive strategy with pruned directories")
+    void discover_directoryFilter() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source");
+            createTree(source, 3, 3, 2);
+
+            final PatternDirectoryFilterStrategy directoryFilter = new PatternDirectoryFilterStrategy();
+            directoryFilter.setExcludePatterns(List.of(Pattern.compile("dir1")));
+            final List<Path> expected = RecursiveDiscoverStrategy.builder().directoryFilter(directoryFilter).build().discover(source, LISTENER);
+            final List<Path> actual = ParallelRecursiveDiscoverStrategy.builder()
+                    .parallelism(4)
+                    .directoryFilter(directoryFilter)
+                    .build()
+                    .discover(source, LISTENER);
+
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual), "Discovered files differ.");
+            assertTrue(actual.stream().noneMatch(path -> path.toString().contains("dir1")), "Pruned directory discovered.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Closing the stream early does not block the producers")
+    void stream_closeEarly() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source");
+            createTree(source, 3, 4, 20);
+
+            final FileDiscoverStrategy strategy = ParallelRecursiveDiscoverStrategy.builder()
+                    .parallelism(2)
+                    .queueCapacity(4)
+                    .build();
+            try (final Stream<DiscoveredFile> files = strategy.stream(source, LISTENER))
+            {
+                assertEquals(10, files.limit(10).count(), "Unexpected number of files.");
+            }
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Regular file as source path is returned as is")
+    void discover_regularFileSource() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/source.txt");
+            Files.writeString(source, "content");
+
+            final Set<Path> actual = new HashSet<>(new ParallelRecursiveDiscoverStrategy().discover(source, LISTENER));
+
+            assertTrue(actual.contains(source) && actual.size() == 1, "Source file not discovered.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Entries removed after listing are skipped")
+    void discover_removedWhileListing() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. Entries sorted after the first directory are removed once it is reached, after the source was listed
+            final Path source = fileSystem.getPath("/source");
+            createTree(source.resolve("a"), 0, 0, 2);
+            createTree(source.resolve("gone"), 1, 2, 2);
+            Files.writeString(source.resolve("gone.txt"), "gone");
+            Files.writeString(source.resolve("kept.txt"), "kept");
+            final FileDiscoverStrategy strategy = ParallelRecursiveDiscoverStrategy.builder()
+                    .directoryFilter((directory, attributes) -> {
+                        if (directory.getFileName().toString().equals("a"))
+                        {
+                            try (final Stream<Path> paths = Files.walk(source.resolve("gone")))
+                            {
+                                for (final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                                {
+                                    Files.delete(path);
+                                }
+                                Files.delete(source.resolve("gone.txt"));
+                            }
+                            catch (final IOException exception)
+                            {
+                                throw new UncheckedIOException(exception);
+                            }
+                        }
+                        return true;
+                    })
+                    .build();
+
+            // 2. The remaining files are discovered without failing
+            assertEquals(Set.of(source.resolve("a/file0.txt"), source.resolve("a/file1.txt"), source.resolve("kept.txt")),
+                    Set.copyOf(strategy.discover(source, LISTENER)), "Discovered files differ.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Missing source path throws")
+    void discover_missingSourceThrows() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = fileSystem.getPath("/missing");
+            final FileDiscoverStrategy strategy = new ParallelRecursiveDiscoverStrategy();
+
+            assertThrows(FileDiscoverException.class, () -> strategy.discover(source, LISTENER));
+        }
+    }
+}
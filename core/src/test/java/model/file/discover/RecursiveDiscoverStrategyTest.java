@@ -0,0 +1,200 @@
+package model.file.discover;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import exception.FileDiscoverException;
+import model.file.PatternDirectoryFilterStrategy;
+import model.listener.Listener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RecursiveDiscoverStrategyTest
+{
+    private static final Listener LISTENER = new Listener() {};
+
+
+    private static void createTestingEnvironment(final FileSystem fileSystem) throws IOException
+    {
+        Files.createDirectories(fileSystem.getPath("/source/a/b"));
+        Files.createDirectories(fileSystem.getPath("/source/c"));
+        Files.writeString(fileSystem.getPath("/source/root.txt"), "root");
+        Files.writeString(fileSystem.getPath("/source/a/a.txt"), "a");
+        Files.writeString(fileSystem.getPath("/source/a/b/b.txt"), "b");
+        Files.writeString(fileSystem.getPath("/source/c/c.txt"), "c");
+    }
+
+
+    /**
+     * Moves the modification times of all directories an hour into the past, so that they are not considered racy by the index.
+     */
+    private static void age(final Path sourcePath, final int minutes) throws IOException
+    {
+        final FileTime time = FileTime.from(Instant.now().minus(60 + minutes, ChronoUnit.MINUTES));
+        try (final Stream<Path> paths = Files.walk(sourcePath))
+        {
+            for (final Path path : paths.filter(Files::isDirectory).toList())
+            {
+                Files.setLastModifiedTime(path, time);
+            }
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: All files without symbolic links")
+    void discover_allFiles() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            createTestingEnvironment(fileSystem);
+            Files.createSymbolicLink(fileSystem.getPath("/source/link.txt"), fileSystem.getPath("/source/root.txt"));
+
+            final List<Path> discovered = new RecursiveDiscoverStrategy().discover(fileSystem.getPath("/source"), LISTENER);
+
+            assertEquals(Set.of(
+                    fileSystem.getPath("/source/root.txt"),
+                    fileSystem.getPath("/source/a/a.txt"),
+                    fileSystem.getPath("/source/a/b/b.txt"),
+                    fileSystem.getPath("/source/c/c.txt")
+            ), Set.copyOf(discovered), "Discovered files differ.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Rejected directories are not descended into")
+    void discover_directoryFilter() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            createTestingEnvironment(fileSystem);
+            Files.createDirectories(fileSystem.getPath("/source/a/node_modules/lib"));
+            Files.writeString(fileSystem.getPath("/source/a/node_modules/lib/index.js"), "lib");
+            Files.createDirectories(fileSystem.getPath("/source/.git"));
+            Files.writeString(fileSystem.getPath("/source/.git/HEAD"), "head");
+
+            final PatternDirectoryFilterStrategy directoryFilter = new PatternDirectoryFilterStrategy();
+            directoryFilter.setExcludePatterns(List.of(Pattern.compile("node_modules"), Pattern.compile("\\.git")));
+            final List<Path> discovered = RecursiveDiscoverStrategy.builder()
+                    .directoryFilter(directoryFilter)
+                    .build()
+                    .discover(fileSystem.getPath("/source"), LISTENER);
+
+            assertEquals(Set.of(
+                    fileSystem.getPath("/source/root.txt"),
+                    fileSystem.getPath("/source/a/a.txt"),
+                    fileSystem.getPath("/source/a/b/b.txt"),
+                    fileSystem.getPath("/source/c/c.txt")
+            ), Set.copyOf(discovered), "Discovered files differ.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Index skips unchanged directories")
+    void discover_indexSkipsUnchangedDirectories() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            createTestingEnvironment(fileSystem);
+            final Path source = fileSystem.getPath("/source");
+            age(source, 0);
+
+            final DiscoverIndex index = new DiscoverIndex(fileSystem.getPath("/index.bin"));
+            final FileDiscoverStrategy strategy = RecursiveDiscoverStrategy.builder().index(index).build();
+
+            assertEquals(4, strategy.discover(source, LISTENER).size(), "First discovery not complete.");
+            assertFalse(Files.exists(index.getIndexFile()), "Index written before the discovery was committed.");
+            assertEquals(4, strategy.discover(source, LISTENER).size(), "Uncommitted discovery skipped.");
+            strategy.commit(source);
+            assertTrue(Files.exists(index.getIndexFile()), "Index not written.");
+            assertTrue(strategy.discover(source, LISTENER).isEmpty(), "Unchanged tree discovered again.");
+
+            // Only the changed nested directory is listed again
+            Files.writeString(fileSystem.getPath("/source/a/b/new.txt"), "new");
+            Files.setLastModifiedTime(fileSystem.getPath("/source/a/b"), FileTime.from(Instant.now().minus(30, ChronoUnit.MINUTES)));
+
+            final DiscoverIndex reloaded = new DiscoverIndex(fileSystem.getPath("/index.bin"));
+            final FileDiscoverStrategy reloadedStrategy = RecursiveDiscoverStrategy.builder().index(reloaded).build();
+            final List<Path> discovered = reloadedStrategy.discover(source, LISTENER);
+            reloadedStrategy.commit(source);
+
+            assertEquals(Set.of(fileSystem.getPath("/source/a/b/b.txt"), fileSystem.getPath("/source/a/b/new.txt")),
+                    Set.copyOf(discovered), "Changed directory not discovered.");
+
+            final SnapshotDiff changes = reloaded.changes(source);
+            assertEquals(List.of(fileSystem.getPath("/source/a/b/new.txt")), changes.added(), "Added files differ.");
+            assertTrue(changes.removed().isEmpty(), "Unexpected removed files.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Snapshot diff reports removed files and directories")
+    void diff_removedFiles() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            createTestingEnvironment(fileSystem);
+            final Path source = fileSystem.getPath("/source");
+            final DiscoverIndex index = new DiscoverIndex(fileSystem.getPath("/index.bin"));
+            final FileDiscoverStrategy strategy = RecursiveDiscoverStrategy.builder().index(index).build();
+            strategy.discover(source, LISTENER);
+            strategy.commit(source);
+
+            Files.delete(fileSystem.getPath("/source/c/c.txt"));
+            Files.delete(fileSystem.getPath("/source/c"));
+            Files.delete(fileSystem.getPath("/source/a/a.txt"));
+            strategy.discover(source, LISTENER);
+            strategy.commit(source);
+
+            final SnapshotDiff changes = index.changes(source);
+            assertTrue(changes.added().isEmpty(), "Unexpected added files.");
+            assertEquals(Set.of(fileSystem.getPath("/source/c/c.txt"), fileSystem.getPath("/source/a/a.txt")),
+                    Set.copyOf(changes.removed()), "Removed files differ.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Discover: Snapshot diff of the last commit is reported by a new index instance")
+    void diff_acrossInstances() throws IOException, FileDiscoverException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. Two discoveries with a file added and one removed in between
+            createTestingEnvironment(fileSystem);
+            final Path source = fileSystem.getPath("/source");
+            final FileDiscoverStrategy strategy = RecursiveDiscoverStrategy.builder()
+                    .index(new DiscoverIndex(fileSystem.getPath("/index.bin")))
+                    .build();
+            strategy.discover(source, LISTENER);
+            strategy.commit(source);
+            Files.writeString(fileSystem.getPath("/source/c/new.txt"), "new");
+            Files.delete(fileSystem.getPath("/source/root.txt"));
+            strategy.discover(source, LISTENER);
+            strategy.commit(source);
+
+            // 2. A new instance reports the same changes without discovering again
+            final SnapshotDiff changes = new DiscoverIndex(fileSystem.getPath("/index.bin")).changes(source);
+            assertEquals(List.of(fileSystem.getPath("/source/c/new.txt")), changes.added(), "Added files differ.");
+            assertEquals(List.of(fileSystem.getPath("/source/root.txt")), changes.removed(), "Removed files differ.");
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package model.file.move;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.conflict.FileMove;
+import model.file.discover.DiscoveredFile;
+import model.listener.Listener;
+import model.listener.ProgressEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CrossDeviceTransferTest
+{
+    private static final byte[] CONTENT = new byte[100];
+
+    static
+    {
+        for (int i = 0; i < CONTENT.length; i++)
+        {
+            CONTENT[i] = (byte) i;
+        }
+    }
+
+
+    private static Listener collect(final List<Double> progress)
+    {
+        return new Listener()
+        {
+            @Override
+            public void onProgress(final ProgressEvent event)
+            {
+                progress.add(event.getProgress());
+            }
+        };
+    }
+
+
+    @Test
+    @DisplayName("Transfer: Move to another file system is copied in chunks, verified and the source deleted")
+    void move_crossDevice() throws IOException
+    {
+        try (final FileSystem sourceSystem = Jimfs.newFileSystem(Configuration.unix());
+             final FileSystem targetSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. source and target on different file stores
+            final Path source = Files.createDirectories(sourceSystem.getPath("/source")).resolve("data.bin");
+            final Path target = Files.createDirectories(targetSystem.getPath("/target"));
+            Files.write(source, CONTENT);
+            final CrossDeviceTransfer transfer = CrossDeviceTransfer.builder().chunkSize(10).build();
+
+            // 2. move through the strategy
+            final List<Double> progress = new ArrayList<>();
+            final FileMoveStrategy strategy = FlatMoveStrategy.builder().crossDeviceTransfer(transfer).build();
+            final FileMove move = strategy.move(DiscoveredFile.of(source), target, collect(progress));
+
+            // 3. copied completely, partial file renamed and source deleted
+            assertTrue(move.isResolved(), "Move not resolved.");
+            assertArrayEquals(CONTENT, Files.readAllBytes(target.resolve("data.bin")), "Content differs.");
+            assertFalse(Files.exists(target.resolve("data.bin" + CrossDeviceTransfer.PARTIAL_SUFFIX)), "Partial file retained.");
+            assertFalse(Files.exists(source), "Source not deleted.");
+            assertEquals(10, progress.size(), "Progress not reported per chunk.");
+            assertEquals(100.0, progress.getLast(), "Progress not completed.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Transfer: Move on the same file store is renamed without copying")
+    void move_sameDevice() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. source and target on the same file store, the target name taken
+            final Path source = Files.createDirectories(fileSystem.getPath("/source")).resolve("data.bin");
+            final Path target = Files.createDirectories(fileSystem.getPath("/target")).resolve("data.bin");
+            final Path taken = target.resolveSibling("taken.bin");
+            Files.write(source, CONTENT);
+            Files.writeString(taken, "taken");
+            final CrossDeviceTransfer transfer = CrossDeviceTransfer.builder().chunkSize(10).build();
+            final List<Double> progress = new ArrayList<>();
+
+            // 2. an existing target is not replaced
+            assertThrows(FileAlreadyExistsException.class,
+                    () -> transfer.move(source, DiscoveredFile.readAttributes(source), taken, false, collect(progress)));
+            assertEquals("taken", Files.readString(taken), "Existing target replaced.");
+
+            // 3. renamed at once
+            transfer.move(source, DiscoveredFile.readAttributes(source), target, false, collect(progress));
+            assertArrayEquals(CONTENT, Files.readAllBytes(target), "Content differs.");
+            assertFalse(Files.exists(source), "Source not moved.");
+            assertTrue(progress.isEmpty(), "File copied instead of renamed.");
+        }
+    }
+
+
+    /**
+     * Returns a listener that aborts the transfer once half of the file was copied, like a crash would.
+     */
+    private static Listener interruptAtHalf()
+    {
+        return new Listener()
+        {
+            @Override
+            public void onProgress(final ProgressEvent event)
+            {
+                if (event.getProgress() >= 50)
+                {
+                    throw new IllegalStateException("Interrupted");
+                }
+            }
+        };
+    }
+
+
+    @Test
+    @DisplayName("Transfer: Partial copy is resumed at its last checkpoint unless the source was modified after it")
+    void transfer_resume() throws IOException
+    {
+        try (final FileSystem sourceSystem = Jimfs.newFileSystem(Configuration.unix());
+             final FileSystem targetSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = Files.createDirectories(sourceSystem.getPath("/source")).resolve("data.bin");
+            final Path target = Files.createDirectories(targetSystem.getPath("/target")).resolve("data.bin");
+            final Path partial = target.resolveSibling("data.bin" + CrossDeviceTransfer.PARTIAL_SUFFIX);
+            Files.write(source, CONTENT);
+            Files.setLastModifiedTime(source, FileTime.fromMillis(1_000));
+            final CrossDeviceTransfer transfer = CrossDeviceTransfer.builder().chunkSize(10).resumeThreshold(0).checkpointSize(20).build();
+
+            // 1. interrupted at half: the partial copy is retained
+            assertThrows(IllegalStateException.class, () -> transfer.transfer(source,
+                    Files.readAttributes(source, BasicFileAttributes.class), target, false, interruptAtHalf()), "Transfer not interrupted.");
+            assertEquals(50, Files.size(partial), "Partial copy not retained.");
+
+            // 2. the tail after the last checkpoint at 40 bytes was not written to the device before a crash
+            try (final FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE))
+            {
+                channel.write(ByteBuffer.allocate(10), 40);
+            }
+
+            // 3. same source: continued at the checkpoint
+            final List<Double> resumed = new ArrayList<>();
+            transfer.transfer(source, Files.readAttributes(source, BasicFileAttributes.class), target, false, collect(resumed));
+            assertEquals(50.0, resumed.getFirst(), "Partial copy not resumed at the checkpoint.");
+            assertArrayEquals(CONTENT, Files.readAllBytes(target), "Content differs.");
+            assertFalse(Files.exists(target.resolveSibling("data.bin" + CrossDeviceTransfer.SOURCE_SUFFIX)), "Source identity retained.");
+
+            // 4. source modified after the partial copy: copied from the start
+            Files.delete(target);
+            Files.write(source, CONTENT);
+            Files.setLastModifiedTime(source, FileTime.fromMillis(1_000));
+            assertThrows(IllegalStateException.class, () -> transfer.transfer(source,
+                    Files.readAttributes(source, BasicFileAttributes.class), target, false, interruptAtHalf()), "Transfer not interrupted.");
+            Files.setLastModifiedTime(source, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+            final List<Double> restarted = new ArrayList<>();
+            transfer.transfer(source, Files.readAttributes(source, BasicFileAttributes.class), target, false, collect(restarted));
+            assertEquals(10.0, restarted.getFirst(), "Outdated partial copy resumed.");
+            assertArrayEquals(CONTENT, Files.readAllBytes(target), "Content differs.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Transfer: Partial copy of another source with the same name, size and time is not resumed")
+    void transfer_resumeOtherSource() throws IOException
+    {
+        try (final FileSystem sourceSystem = Jimfs.newFileSystem(Configuration.unix());
+             final FileSystem targetSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = Files.createDirectories(sourceSystem.getPath("/source")).resolve("data.bin");
+            final Path target = Files.createDirectories(targetSystem.getPath("/target")).resolve("data.bin");
+            Files.write(source, CONTENT);
+            Files.setLastModifiedTime(source, FileTime.fromMillis(1_000));
+            final CrossDeviceTransfer transfer = CrossDeviceTransfer.builder().chunkSize(10).resumeThreshold(0).checkpointSize(20).build();
+
+            // 1. interrupted copy of the first file
+            assertThrows(IllegalStateException.class, () -> transfer.transfer(source,
+                    Files.readAttributes(source, BasicFileAttributes.class), target, false, interruptAtHalf()), "Transfer not interrupted.");
+
+            // 2. a different file moved into its place, with the same size and an older modification time than the partial copy
+            final byte[] other = new byte[CONTENT.length];
+            Arrays.fill(other, (byte) 7);
+            Files.delete(source);
+            Files.write(source, other);
+            Files.setLastModifiedTime(source, FileTime.fromMillis(1_000));
+
+            // 3. copied from the start, no prefix of the first file spliced in
+            final List<Double> progress = new ArrayList<>();
+            transfer.transfer(source, Files.readAttributes(source, BasicFileAttributes.class), target, false, collect(progress));
+            assertEquals(10.0, progress.getFirst(), "Partial copy of another source resumed.");
+            assertArrayEquals(other, Files.readAllBytes(target), "Content differs.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Transfer: Attributes are carried over to the copy if restored")
+    void move_crossDeviceAttributes() throws IOException
+    {
+        final Configuration configuration = Configuration.unix().toBuilder()
+                .setAttributeViews("basic", "owner", "posix", "unix", "user")
+                .build();
+        try (final FileSystem sourceSystem = Jimfs.newFileSystem(configuration);
+             final FileSystem targetSystem = Jimfs.newFileSystem(configuration))
+        {
+            // 1. source with custom permissions, times and a user-defined attribute
+            final Path source = Files.createDirectories(sourceSystem.getPath("/source")).resolve("data.bin");
+            final Path target = Files.createDirectories(targetSystem.getPath("/target"));
+            Files.write(source, CONTENT);
+            Files.setPosixFilePermissions(source, PosixFilePermissions.fromString("r--r-----"));
+            Files.setLastModifiedTime(source, FileTime.fromMillis(1_000));
+            Files.getFileAttributeView(source, UserDefinedFileAttributeView.class)
+                    .write("origin", StandardCharsets.UTF_8.encode("camera"));
+
+            // 2. move
+            final FileMove move = FlatMoveStrategy.builder().build().move(DiscoveredFile.of(source), target, new Listener() {});
+            assertTrue(move.isResolved(), "Move not resolved.");
+
+            // 3. attributes restored on the moved file
+            final Path moved = target.resolve("data.bin");
+            assertEquals("r--r-----", PosixFilePermissions.toString(Files.getPosixFilePermissions(moved)), "Permissions differ.");
+            assertEquals(FileTime.fromMillis(1_000), Files.getLastModifiedTime(moved), "Modification time differs.");
+            final UserDefinedFileAttributeView view = Files.getFileAttributeView(moved, UserDefinedFileAttributeView.class);
+            final ByteBuffer origin = ByteBuffer.allocate(view.size("origin"));
+            view.read("origin", origin);
+            assertEquals("camera", StandardCharsets.UTF_8.decode(origin.flip()).toString(), "User-defined attribute differs.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Transfer: Existing target is not overwritten and the source is retained")
+    void transfer_targetExists() throws IOException
+    {
+        try (final FileSystem sourceSystem = Jimfs.newFileSystem(Configuration.unix());
+             final FileSystem targetSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final Path source = Files.createDirectories(sourceSystem.getPath("/source")).resolve("data.bin");
+            final Path target = Files.createDirectories(targetSystem.getPath("/target")).resolve("data.bin");
+            Files.write(source, CONTENT);
+            Files.writeString(target, "existing");
+
+            final CrossDeviceTransfer transfer = new CrossDeviceTransfer();
+            assertThrows(FileAlreadyExistsException.class, () -> transfer.transfer(source,
+                    Files.readAttributes(source, BasicFileAttributes.class), target, true, new Listener() {}), "Target overwritten.");
+            assertEquals("existing", Files.readString(target), "Target modified.");
+            assertTrue(Files.exists(source), "Source deleted.");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package model.file.move;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.conflict.FileMove;
+import model.file.conflict.RenameConflictStrategy;
+import model.file.conflict.SkipConflictStrategy;
+import model.file.discover.DiscoveredFile;
+import model.listener.ListenerCollection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class MovePlannerTest
+{
+    private static List<Path> createSources(final FileSystem fileSystem) throws IOException
+    {
+        final List<Path> sources = new ArrayList<>();
+        for (final String directory : List.of("/source/a", "/source/b", "/source/c"))
+        {
+            Files.createDirectories(fileSystem.getPath(directory));
+            for (int i = 0; i < 50; i++)
+            {
+                final Path file = fileSystem.getPath(directory, "file" + i + ".txt");
+                Files.writeString(file, directory + i);
+                sources.add(file);
+            }
+        }
+        Files.createDirectories(fileSystem.getPath("/target"));
+        Files.writeString(fileSystem.getPath("/target/file0.txt"), "existing");
+        return sources;
+    }
+
+
+    @Test
+    @DisplayName("Plan: Flattened files with the same name are renamed before they are moved")
+    void plan_flattenedCollisionsRenamed() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. 150 files with 50 distinct names, one of them already present in the target
+            final List<Path> sources = createSources(fileSystem);
+            final FlatMoveStrategy strategy = new FlatMoveStrategy(false);
+            final MovePlanner planner = new MovePlanner(strategy, new RenameConflictStrategy(), fileSystem.getPath("/target"), true);
+
+            // 2. Every file is planned to a distinct target and moved there
+            final Set<Path> targets = new HashSet<>();
+            for (final Path source : sources)
+            {
+                final FileMove plan = planner.plan(source);
+                assertNotNull(plan, "Flat strategy reveals its targets.");
+                assertTrue(plan.isResolved(), "Conflict not resolved: " + plan);
+                assertTrue(targets.add(plan.targetFile()), "Target planned twice: " + plan.targetFile());
+                assertTrue(strategy.moveTo(DiscoveredFile.of(source), plan.targetFile(), ListenerCollection.builder().build()).isResolved(),
+                        "Planned move failed: " + plan);
+            }
+
+            // 3. Nothing left behind, nothing overwritten
+            try (final Stream<Path> files = Files.list(fileSystem.getPath("/target")))
+            {
+                assertEquals(151, files.count(), "Number of files in target differs.");
+            }
+            assertEquals("existing", Files.readString(fileSystem.getPath("/target/file0.txt")), "Existing file overwritten.");
+            for (final Path source : sources)
+            {
+                assertFalse(Files.exists(source), "Source not moved: " + source);
+            }
+        }
+    }
+
+
+    @Test
+    @DisplayName("Plan: Skipped conflicts are returned unresolved without touching the file system")
+    void plan_skippedConflictsUnresolved() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. Only the first file of each name is planned
+            final List<Path> sources = createSources(fileSystem);
+            final MovePlanner planner = new MovePlanner(new FlatMoveStrategy(false), new SkipConflictStrategy(), fileSystem.getPath("/target"),
+                    true);
+            final long resolved = sources.stream().map(planner::plan).filter(FileMove::isResolved).count();
+            assertEquals(49, resolved, "Number of planned moves differs.");
+
+            // 2. Planning does not move anything
+            assertTrue(sources.stream().allMatch(Files::exists), "Source moved while planning.");
+            assertTrue(planner.isOccupied(fileSystem.getPath("/target/file1.txt")), "Planned target not reserved.");
+            assertFalse(planner.isOccupied(fileSystem.getPath("/target/file50.txt")), "Free target reported as occupied.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Plan: Without reserving, only listed and renamed names are retained and collisions fail when moved")
+    void plan_unreservedCollisionsFailWhenMoved() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. Conflicts with the existing file are renamed, other targets are not reserved
+            final List<Path> sources = createSources(fileSystem);
+            final FlatMoveStrategy strategy = new FlatMoveStrategy(false);
+            final MovePlanner planner = new MovePlanner(strategy, new RenameConflictStrategy(), fileSystem.getPath("/target"), false);
+            final List<FileMove> plans = sources.stream().map(planner::plan).toList();
+            assertTrue(plans.stream().allMatch(FileMove::isResolved), "Conflict not resolved.");
+            assertEquals(52, plans.stream().map(FileMove::targetFile).distinct().count(), "Number of distinct targets differs.");
+            assertFalse(planner.isOccupied(fileSystem.getPath("/target/file1.txt")), "Unrenamed target reserved.");
+            assertTrue(planner.isOccupied(fileSystem.getPath("/target/file0_1.txt")), "Renamed target not reserved.");
+
+            // 2. The first move to each target succeeds, the others fail without overwriting it
+            long moved = 0;
+            for (final FileMove plan : plans)
+            {
+                if (strategy.moveTo(DiscoveredFile.of(plan.sourceFile()), plan.targetFile(), ListenerCollection.builder().build()).isResolved())
+                {
+                    moved++;
+                }
+            }
+            assertEquals(52, moved, "Number of moved files differs.");
+            assertEquals("existing", Files.readString(fileSystem.getPath("/target/file0.txt")), "Existing file overwritten.");
+            assertEquals("/source/a1", Files.readString(fileSystem.getPath("/target/file1.txt")), "First move overwritten.");
+        }
+    }
+}
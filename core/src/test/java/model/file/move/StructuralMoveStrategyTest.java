@@ -287,6 +287,39 @@ class StructuralMoveStrategyTest
                 assertTrue(result.isResolved(), "Result not as expected.");
             }
         }
+
+
+        @Test
+        @Order(8)
+        @DisplayName("Move: Target directory removed after the first move is created again - Unix")
+        void move_checkRemovedTargetDirectoryRecreated_unix() throws IOException
+        {
+            // 1. create the file system
+            try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+            {
+                createOneLayerTestingEnvironment(fileSystem, "/var1/var3", "/var2");
+                final Path first = fileSystem.getPath("/var1/var3/first.txt");
+                final Path second = fileSystem.getPath("/var1/var3/second.txt");
+                Files.writeString(first, first.toString());
+                Files.writeString(second, second.toString());
+                final FileMoveStrategy strategy = StructuralMoveStrategy.builder()
+                        .sourceDirectory(fileSystem.getPath("/var1"))
+                        .build();
+
+                // 2. first move creates the directory
+                final FileMove firstResult = strategy.move(first, fileSystem.getPath("/var2"));
+                assertTrue(firstResult.isResolved(), "First move not resolved.");
+
+                // 3. directory removed externally
+                Files.delete(firstResult.targetFile());
+                Files.delete(fileSystem.getPath("/var2/var3"));
+
+                // 4. second move recreates it
+                final FileMove secondResult = strategy.move(second, fileSystem.getPath("/var2"));
+                assertTrue(secondResult.isResolved(), "Second move not resolved.");
+                assertTrue(Files.exists(fileSystem.getPath("/var2/var3/second.txt")), "Target file not created.");
+            }
+        }
     }
 
     @Nested
@@ -0,0 +1,150 @@
+package model.file.watch;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.google.common.jimfs.WatchServiceConfiguration;
+import model.file.discover.DiscoveredFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class DirectoryWatcherTest
+{
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(100);
+
+
+    private static FileSystem createFileSystem() throws IOException
+    {
+        final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix().toBuilder()
+                .setWatchServiceConfiguration(WatchServiceConfiguration.polling(10, TimeUnit.MILLISECONDS))
+                .build());
+        Files.createDirectories(fileSystem.getPath("/source/nested"));
+        Files.writeString(fileSystem.getPath("/source/existing.txt"), "existing");
+        return fileSystem;
+    }
+
+
+    /**
+     * Runs the watcher on a separate thread and collects the paths of all reported files.
+     */
+    private static Thread start(final DirectoryWatcher watcher, final BlockingQueue<Path> reported)
+    {
+        return Thread.ofVirtual().start(() -> {
+            try
+            {
+                watcher.watch(files -> files.stream().map(DiscoveredFile::path).forEach(reported::add));
+            }
+            catch (final IOException | InterruptedException exception)
+            {
+                throw new IllegalStateException(exception);
+            }
+        });
+    }
+
+
+    private static Set<Path> await(final BlockingQueue<Path> reported, final int count) throws InterruptedException
+    {
+        final Set<Path> paths = new HashSet<>();
+        while (paths.size() < count)
+        {
+            final Path path = reported.poll(5, TimeUnit.SECONDS);
+            assertNotNull(path, "Timed out waiting for changed files.");
+            paths.add(path);
+        }
+        return paths;
+    }
+
+
+    @Test
+    @DisplayName("Watch: Recursive watcher reports new files in new and existing subdirectories")
+    void watch_recursive() throws IOException, InterruptedException
+    {
+        try (final FileSystem fileSystem = createFileSystem();
+             final DirectoryWatcher watcher = new DirectoryWatcher(fileSystem.getPath("/source"), true, QUIET_PERIOD))
+        {
+            final BlockingQueue<Path> reported = new LinkedBlockingQueue<>();
+            final Thread thread = start(watcher, reported);
+
+            // 1. Files created after the watcher started
+            Files.writeString(fileSystem.getPath("/source/new.txt"), "new");
+            Files.writeString(fileSystem.getPath("/source/nested/nested.txt"), "nested");
+            Files.createDirectories(fileSystem.getPath("/source/created/deep"));
+            Files.writeString(fileSystem.getPath("/source/created/deep/deep.txt"), "deep");
+
+            // 2. Existing files are not reported
+            assertEquals(Set.of(
+                    fileSystem.getPath("/source/new.txt"),
+                    fileSystem.getPath("/source/nested/nested.txt"),
+                    fileSystem.getPath("/source/created/deep/deep.txt")
+            ), await(reported, 3), "Reported files differ.");
+            assertFalse(reported.contains(fileSystem.getPath("/source/existing.txt")), "Existing file reported.");
+
+            // 3. Closing stops the watcher
+            watcher.close();
+            thread.join(Duration.ofSeconds(5));
+            assertFalse(thread.isAlive(), "Watcher still running after close.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Watch: Flat watcher ignores subdirectories")
+    void watch_flat() throws IOException, InterruptedException
+    {
+        try (final FileSystem fileSystem = createFileSystem();
+             final DirectoryWatcher watcher = new DirectoryWatcher(fileSystem.getPath("/source"), false, QUIET_PERIOD))
+        {
+            final BlockingQueue<Path> reported = new LinkedBlockingQueue<>();
+            start(watcher, reported);
+
+            Files.writeString(fileSystem.getPath("/source/nested/nested.txt"), "nested");
+            Files.writeString(fileSystem.getPath("/source/new.txt"), "new");
+
+            assertEquals(Set.of(fileSystem.getPath("/source/new.txt")), await(reported, 1), "Reported files differ.");
+            Thread.sleep(QUIET_PERIOD.multipliedBy(3).toMillis());
+            assertTrue(reported.isEmpty(), "Files of subdirectories reported: " + List.copyOf(reported));
+        }
+    }
+
+
+    @Test
+    @DisplayName("Watch: Batches are reported after the maximum delay while events keep arriving")
+    void watch_maxBatchDelay() throws IOException, InterruptedException
+    {
+        try (final FileSystem fileSystem = createFileSystem();
+             final DirectoryWatcher watcher = new DirectoryWatcher(fileSystem.getPath("/source"), false, QUIET_PERIOD,
+                     QUIET_PERIOD.multipliedBy(4), Integer.MAX_VALUE))
+        {
+            final BlockingQueue<Path> reported = new LinkedBlockingQueue<>();
+            start(watcher, reported);
+
+            // 1. A file is modified more often than the quiet period, while files are reported
+            final Path busy = fileSystem.getPath("/source/busy.txt");
+            final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (reported.isEmpty() && System.nanoTime() < deadline)
+            {
+                Files.writeString(busy, String.valueOf(System.nanoTime()));
+                Thread.sleep(QUIET_PERIOD.dividedBy(4).toMillis());
+            }
+
+            // 2. The busy file was reported before the modifications stopped
+            assertEquals(busy, reported.poll(), "Busy file not reported while modified.");
+        }
+    }
+}
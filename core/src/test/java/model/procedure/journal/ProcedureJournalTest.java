@@ -0,0 +1,178 @@
+package model.procedure.journal;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import model.file.AndFilterStrategy;
+import model.file.PatternFilterStrategy;
+import model.file.SizeFilterStrategy;
+import model.file.delete.HardDeleteStrategy;
+import model.file.delete.SoftDeleteStrategy;
+import model.file.discover.DiscoveredFile;
+import model.file.discover.RecursiveDiscoverStrategy;
+import model.procedure.types.DeleteProcedure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ProcedureJournalTest
+{
+    private static final String KEY = "move /source -> /target";
+
+
+    private static List<Path> createFiles(final FileSystem fileSystem, final int count) throws IOException
+    {
+        final Path source = Files.createDirectories(fileSystem.getPath("/source"));
+        final List<Path> files = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            files.add(Files.writeString(source.resolve("file" + i + ".txt"), "content"));
+        }
+        return files;
+    }
+
+
+    private static List<Path> pending(final ProcedureJournal journal, final FileSystem fileSystem) throws IOException
+    {
+        try (final Stream<DiscoveredFile> files = journal.pending(fileSystem))
+        {
+            return files.map(DiscoveredFile::path).toList();
+        }
+    }
+
+
+    @Test
+    @DisplayName("Replay: Completed, vanished and torn records are skipped")
+    void replay() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. plan four files and complete the first one
+            final List<Path> files = createFiles(fileSystem, 4);
+            final Path journalFile = fileSystem.getPath("/move.journal");
+            try (final ProcedureJournal journal = ProcedureJournal.open(journalFile, KEY, Duration.ofHours(1)))
+            {
+                assertFalse(journal.isPlanned(), "New journal planned.");
+                assertEquals(4, journal.plan(files.stream().map(file -> new DiscoveredFile(file, null))), "Unexpected plan size.");
+                try (final Stream<DiscoveredFile> pending = journal.pending(fileSystem))
+                {
+                    journal.complete(pending.findFirst().orElseThrow().path(), true);
+                }
+            }
+
+            // 2. a crash tears the last record, and the third file was processed before its completion was recorded
+            try (final FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.APPEND))
+            {
+                channel.write(ByteBuffer.wrap(new byte[] {3, 0, 0}));
+            }
+            Files.delete(files.get(2));
+
+            // 3. the replay continues with the remaining files, and later completions are appended behind the torn record
+            try (final ProcedureJournal journal = ProcedureJournal.open(journalFile, KEY, Duration.ZERO))
+            {
+                assertTrue(journal.isPlanned(), "Journal not planned.");
+                assertEquals(3, journal.getRemaining(), "Unexpected number of remaining files.");
+                assertEquals(List.of(files.get(1), files.get(3)), pending(journal, fileSystem), "Unexpected pending files.");
+                try (final Stream<DiscoveredFile> pending = journal.pending(fileSystem))
+                {
+                    journal.complete(pending.findFirst().orElseThrow().path(), true);
+                }
+            }
+            try (final ProcedureJournal journal = ProcedureJournal.open(journalFile, KEY, Duration.ZERO))
+            {
+                assertEquals(List.of(files.get(3)), pending(journal, fileSystem), "Unexpected pending files.");
+            }
+        }
+    }
+
+
+    @Test
+    @DisplayName("Open: Journals of other configurations and unfinished plans are discarded")
+    void open_discarded() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            final List<Path> files = createFiles(fileSystem, 2);
+            final Path journalFile = fileSystem.getPath("/move.journal");
+            try (final ProcedureJournal journal = ProcedureJournal.open(journalFile, KEY, Duration.ZERO))
+            {
+                journal.plan(files.stream().map(file -> new DiscoveredFile(file, null)));
+            }
+
+            // 1. another configuration starts over
+            try (final ProcedureJournal journal = ProcedureJournal.open(journalFile, "move /source -> /elsewhere", Duration.ZERO))
+            {
+                assertFalse(journal.isPlanned(), "Foreign journal replayed.");
+                journal.plan(files.stream().map(file -> new DiscoveredFile(file, null)));
+            }
+
+            // 2. a plan without its final marker starts over
+            try (final FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE))
+            {
+                channel.truncate(channel.size() - 1);
+            }
+            try (final ProcedureJournal journal = ProcedureJournal.open(journalFile, "move /source -> /elsewhere", Duration.ZERO))
+            {
+                assertFalse(journal.isPlanned(), "Unfinished plan replayed.");
+            }
+        }
+    }
+
+
+    private static DeleteProcedure procedure(final List<Pattern> excludePatterns)
+    {
+        final PatternFilterStrategy patterns = new PatternFilterStrategy();
+        patterns.setExcludePatterns(excludePatterns);
+        return DeleteProcedure.builder()
+                .id("delete")
+                .name("delete")
+                .sourcePath(Path.of("source"))
+                .discoverStrategy(new RecursiveDiscoverStrategy())
+                .filterStrategy(new AndFilterStrategy(patterns, SizeFilterStrategy.builder().maxSize(1024).build()))
+                .deleteStrategy(new HardDeleteStrategy())
+                .build();
+    }
+
+
+    @Test
+    @DisplayName("Key: Equal configurations have the same key, any change of a strategy changes it")
+    void key() throws IOException
+    {
+        try (final FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix()))
+        {
+            // 1. separately built, equally configured procedures
+            final DeleteProcedure procedure = procedure(List.of(Pattern.compile(".*\\.log")));
+            assertEquals(ProcedureJournal.key(procedure), ProcedureJournal.key(procedure(List.of(Pattern.compile(".*\\.log")))),
+                    "Keys of equal configurations differ.");
+
+            // 2. state gathered while filtering is not part of the configuration
+            final String key = ProcedureJournal.key(procedure);
+            for (final Path file : createFiles(fileSystem, 10))
+            {
+                procedure.getFilterStrategy().accept(file);
+            }
+            assertEquals(key, ProcedureJournal.key(procedure), "Key changed by filtering.");
+
+            // 3. changed filter, changed strategy
+            assertNotEquals(key, ProcedureJournal.key(procedure(List.of(Pattern.compile(".*\\.tmp")))), "Changed filter not detected.");
+            procedure.setDeleteStrategy(new SoftDeleteStrategy());
+            assertNotEquals(key, ProcedureJournal.key(procedure), "Changed delete strategy not detected.");
+        }
+    }
+}